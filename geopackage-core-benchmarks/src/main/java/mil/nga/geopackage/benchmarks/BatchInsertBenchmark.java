@@ -0,0 +1,640 @@
+package mil.nga.geopackage.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.attributes.AttributesColumn;
+import mil.nga.geopackage.attributes.AttributesTable;
+import mil.nga.geopackage.db.Bindings;
+import mil.nga.geopackage.db.GeoPackageCoreConnection;
+import mil.nga.geopackage.db.GeoPackageDataType;
+import mil.nga.geopackage.user.UserCompiledQuery;
+import mil.nga.geopackage.user.UserCoreConnection;
+import mil.nga.geopackage.user.UserCoreDao;
+import mil.nga.geopackage.user.UserCoreResult;
+import mil.nga.geopackage.user.UserCoreRow;
+import mil.nga.sf.proj.Projection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Batch insert benchmarks of the user DAO on an in memory SQLite database,
+ * comparing a row at a time {@link UserCoreDao#insert(UserCoreRow)} loop that
+ * prepares each statement with the batched
+ * {@link UserCoreDao#insert(Iterable)} inserting multiple row VALUES
+ * statements, each committing the rows in one transaction
+ *
+ * @author osbornb
+ * @since 3.4.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(BatchInsertBenchmark.ROWS)
+public class BatchInsertBenchmark {
+
+	/**
+	 * Rows inserted per invocation
+	 */
+	public static final int ROWS = 5000;
+
+	/**
+	 * Table name
+	 */
+	private static final String TABLE = "batch_insert";
+
+	/**
+	 * DAO batch size
+	 */
+	@Param({ "1000", "5000" })
+	public int batchSize;
+
+	/**
+	 * Connection
+	 */
+	private Connection connection;
+
+	/**
+	 * DAO
+	 */
+	private BenchmarkDao dao;
+
+	/**
+	 * Create the database, table, and DAO
+	 *
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE " + TABLE
+					+ " (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+					+ " count INTEGER, value REAL, name TEXT DEFAULT 'name')");
+		}
+		List<AttributesColumn> columns = new ArrayList<>();
+		columns.add(AttributesColumn.createPrimaryKeyColumn(0, "id"));
+		columns.add(AttributesColumn.createColumn(1, "count",
+				GeoPackageDataType.INTEGER));
+		columns.add(AttributesColumn.createColumn(2, "value",
+				GeoPackageDataType.REAL));
+		columns.add(AttributesColumn.createColumn(3, "name",
+				GeoPackageDataType.TEXT));
+		dao = new BenchmarkDao(new BenchmarkConnection(connection),
+				new AttributesTable(TABLE, columns), connection);
+		dao.setBatchSize(batchSize);
+	}
+
+	/**
+	 * Clear the inserted rows
+	 *
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	@Setup(Level.Iteration)
+	public void clear() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("DELETE FROM " + TABLE);
+		}
+	}
+
+	/**
+	 * Close the connection
+	 *
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	/**
+	 * Insert one row per DAO insert, preparing each statement as the row at a
+	 * time insert path does
+	 *
+	 * @return last inserted row id
+	 */
+	@Benchmark
+	public long rowAtATime() {
+		long id = 0;
+		dao.beginTransaction();
+		boolean successful = false;
+		try {
+			for (BenchmarkRow row : createRows()) {
+				id = dao.insert(row);
+			}
+			successful = true;
+		} finally {
+			dao.endTransaction(successful);
+		}
+		return id;
+	}
+
+	/**
+	 * Insert the rows with the batched DAO insert
+	 *
+	 * @return last inserted row id
+	 */
+	@Benchmark
+	public long daoBatch() {
+		long[] ids = dao.insert(createRows());
+		return ids[ids.length - 1];
+	}
+
+	/**
+	 * Create the rows to insert, leaving every tenth name unset for the
+	 * column default
+	 *
+	 * @return rows
+	 */
+	private List<BenchmarkRow> createRows() {
+		List<BenchmarkRow> rows = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			BenchmarkRow row = dao.newRow();
+			row.setValue(1, (long) i);
+			row.setValue(2, i * 0.5);
+			if (i % 10 != 0) {
+				row.setValue(3, "row " + i);
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	/**
+	 * Create a connection source running compiled statements on the JDBC
+	 * connection
+	 *
+	 * @param connection
+	 *            JDBC connection
+	 * @return connection source
+	 */
+	private static ConnectionSource createConnectionSource(
+			final Connection connection) {
+		final DatabaseConnection databaseConnection = proxy(
+				DatabaseConnection.class, new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method,
+							Object[] args) throws SQLException {
+						Object value = null;
+						switch (method.getName()) {
+						case "compileStatement":
+							value = createStatement(connection
+									.prepareStatement((String) args[0]));
+							break;
+						case "queryForLong":
+							try (Statement statement = connection
+									.createStatement();
+									ResultSet result = statement
+											.executeQuery((String) args[0])) {
+								result.next();
+								value = result.getLong(1);
+							}
+							break;
+						default:
+						}
+						return value;
+					}
+				});
+		return proxy(ConnectionSource.class, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				Object value = null;
+				if (method.getName().equals("getReadWriteConnection")) {
+					value = databaseConnection;
+				}
+				return value;
+			}
+		});
+	}
+
+	/**
+	 * Create a compiled statement over the prepared statement
+	 *
+	 * @param statement
+	 *            prepared statement
+	 * @return compiled statement
+	 */
+	private static CompiledStatement createStatement(
+			final PreparedStatement statement) {
+		return proxy(CompiledStatement.class, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args)
+					throws SQLException {
+				Object value = null;
+				switch (method.getName()) {
+				case "setObject":
+					int index = (Integer) args[0] + 1;
+					if (args[1] == null) {
+						statement.setNull(index, Types.NULL);
+					} else if (args[2] == SqlType.BYTE_ARRAY) {
+						statement.setBytes(index, (byte[]) args[1]);
+					} else {
+						statement.setObject(index, args[1]);
+					}
+					break;
+				case "runUpdate":
+					value = statement.executeUpdate();
+					break;
+				case "closeQuietly":
+					statement.close();
+					break;
+				default:
+				}
+				return value;
+			}
+		});
+	}
+
+	/**
+	 * Create an interface proxy
+	 *
+	 * @param type
+	 *            interface type
+	 * @param handler
+	 *            invocation handler
+	 * @param <T>
+	 *            interface type
+	 * @return proxy
+	 */
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(),
+				new Class<?>[] { type }, handler));
+	}
+
+	/**
+	 * Attributes row
+	 */
+	private static class BenchmarkRow
+			extends UserCoreRow<AttributesColumn, AttributesTable> {
+
+		/**
+		 * Constructor
+		 *
+		 * @param table
+		 *            table
+		 */
+		BenchmarkRow(AttributesTable table) {
+			super(table);
+		}
+
+	}
+
+	/**
+	 * Attributes result type, never instantiated by the insert benchmarks
+	 */
+	private interface BenchmarkResult extends
+			UserCoreResult<AttributesColumn, AttributesTable, BenchmarkRow> {
+	}
+
+	/**
+	 * Attributes DAO inserting single rows through statements prepared per
+	 * row on the JDBC connection
+	 */
+	private static class BenchmarkDao extends
+			UserCoreDao<AttributesColumn, AttributesTable, BenchmarkRow, BenchmarkResult> {
+
+		/**
+		 * JDBC connection
+		 */
+		private final Connection connection;
+
+		/**
+		 * Constructor
+		 *
+		 * @param db
+		 *            connection
+		 * @param table
+		 *            table
+		 * @param connection
+		 *            JDBC connection
+		 */
+		BenchmarkDao(GeoPackageCoreConnection db, AttributesTable table,
+				Connection connection) {
+			super("benchmark", db, new BenchmarkUserConnection(db), table);
+			this.connection = connection;
+		}
+
+		@Override
+		public BenchmarkRow newRow() {
+			return new BenchmarkRow(getTable());
+		}
+
+		@Override
+		public long insert(BenchmarkRow row) {
+			List<AttributesColumn> columns = getInsertColumns(row);
+			try (PreparedStatement statement = connection
+					.prepareStatement(buildInsertSQL(columns, 1))) {
+				for (int i = 0; i < columns.size(); i++) {
+					AttributesColumn column = columns.get(i);
+					statement.setObject(i + 1, getInsertValue(column,
+							row.getValue(column.getIndex())));
+				}
+				statement.executeUpdate();
+			} catch (SQLException e) {
+				throw new GeoPackageException("Failed to insert row", e);
+			}
+			try (Statement statement = connection.createStatement();
+					ResultSet result = statement
+							.executeQuery("SELECT last_insert_rowid()")) {
+				result.next();
+				return result.getLong(1);
+			} catch (SQLException e) {
+				throw new GeoPackageException("Failed to get the row id", e);
+			}
+		}
+
+		@Override
+		public void beginTransaction() {
+			try {
+				connection.setAutoCommit(false);
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to begin transaction", e);
+			}
+		}
+
+		@Override
+		public void endTransaction(boolean successful) {
+			try {
+				if (successful) {
+					connection.commit();
+				} else {
+					connection.rollback();
+				}
+				connection.setAutoCommit(true);
+			} catch (SQLException e) {
+				throw new GeoPackageException("Failed to end transaction", e);
+			}
+		}
+
+		@Override
+		public void commit() {
+			try {
+				connection.commit();
+			} catch (SQLException e) {
+				throw new GeoPackageException("Failed to commit", e);
+			}
+		}
+
+		@Override
+		public boolean inTransaction() {
+			try {
+				return !connection.getAutoCommit();
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to check the transaction state", e);
+			}
+		}
+
+		@Override
+		public int update(BenchmarkRow row) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BoundingBox getBoundingBox() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BoundingBox getBoundingBox(Projection projection) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		protected BenchmarkResult prepareResult(BenchmarkResult result) {
+			return result;
+		}
+
+	}
+
+	/**
+	 * Connection running compiled statements on the JDBC connection
+	 */
+	private static class BenchmarkConnection extends GeoPackageCoreConnection {
+
+		/**
+		 * Constructor
+		 *
+		 * @param connection
+		 *            JDBC connection
+		 */
+		BenchmarkConnection(Connection connection) {
+			super(createConnectionSource(connection));
+		}
+
+		@Override
+		public void execSQL(String sql) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void beginTransaction() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void endTransaction(boolean successful) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void commit() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean inTransaction() {
+			return false;
+		}
+
+		@Override
+		public int delete(String table, String whereClause,
+				String[] whereArgs) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int count(String table, String where, String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Integer min(String table, String column, String where,
+				String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Integer max(String table, String column, String where,
+				String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Object querySingleResult(String sql, String[] args,
+				int column, GeoPackageDataType dataType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Object> querySingleColumnResults(String sql,
+				String[] args, int column, GeoPackageDataType dataType,
+				Integer limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<List<Object>> queryResults(String sql, String[] args,
+				GeoPackageDataType[] dataTypes, Integer limit) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	/**
+	 * User connection inserting through the compiled statements of the
+	 * GeoPackage connection, which share the JDBC connection of the DAO
+	 * transactions
+	 */
+	private static class BenchmarkUserConnection extends
+			UserCoreConnection<AttributesColumn, AttributesTable, BenchmarkRow, BenchmarkResult> {
+
+		/**
+		 * GeoPackage connection
+		 */
+		private final GeoPackageCoreConnection db;
+
+		/**
+		 * Constructor
+		 *
+		 * @param db
+		 *            GeoPackage connection
+		 */
+		BenchmarkUserConnection(GeoPackageCoreConnection db) {
+			this.db = db;
+		}
+
+		@Override
+		public long insertBound(String sql, Bindings bindings) {
+			return db.insertBound(sql, bindings);
+		}
+
+		@Override
+		public BenchmarkResult rawQuery(String sql, String[] selectionArgs) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BenchmarkResult queryCompiled(UserCompiledQuery query,
+				String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BenchmarkResult rawQueryBound(String sql, Bindings bindings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BenchmarkResult queryCompiledBound(UserCompiledQuery query,
+				Bindings bindings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BenchmarkResult query(String table, String[] columns,
+				String selection, String[] selectionArgs, String groupBy,
+				String having, String orderBy) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BenchmarkResult query(String table, String[] columns,
+				String[] columnsAs, String selection, String[] selectionArgs,
+				String groupBy, String having, String orderBy) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BenchmarkResult query(String table, String[] columns,
+				String selection, String[] selectionArgs, String groupBy,
+				String having, String orderBy, String limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BenchmarkResult query(String table, String[] columns,
+				String[] columnsAs, String selection, String[] selectionArgs,
+				String groupBy, String having, String orderBy, String limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String querySQL(String table, String[] columns,
+				String selection, String groupBy, String having,
+				String orderBy) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String querySQL(String table, String[] columns,
+				String[] columnsAs, String selection, String groupBy,
+				String having, String orderBy) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String querySQL(String table, String[] columns,
+				String selection, String groupBy, String having,
+				String orderBy, String limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String querySQL(String table, String[] columns,
+				String[] columnsAs, String selection, String groupBy,
+				String having, String orderBy, String limit) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -0,0 +1,129 @@
+package mil.nga.geopackage.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.geopackage.style.ColorUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Color conversion benchmarks
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorUtilsBenchmark {
+
+	/**
+	 * Red
+	 */
+	public int red = 200;
+
+	/**
+	 * Green
+	 */
+	public int green = 100;
+
+	/**
+	 * Blue
+	 */
+	public int blue = 50;
+
+	/**
+	 * Hex color
+	 */
+	public String hex = "#C86432";
+
+	/**
+	 * Shorthand hex color
+	 */
+	public String shorthand = "#C63";
+
+	/**
+	 * Convert RGB to HSL
+	 * 
+	 * @return HSL
+	 */
+	@Benchmark
+	public float[] toHSL() {
+		return ColorUtils.toHSL(red, green, blue);
+	}
+
+	/**
+	 * Convert HSL to RGB
+	 * 
+	 * @return RGB
+	 */
+	@Benchmark
+	public int[] toRGB() {
+		return ColorUtils.toRGB(20.0f, 0.6f, 0.49f);
+	}
+
+	/**
+	 * Convert an integer color to hex
+	 * 
+	 * @return hex
+	 */
+	@Benchmark
+	public String toHex() {
+		return ColorUtils.toHex(red);
+	}
+
+	/**
+	 * Parse the RGB integer values from a hex color
+	 * 
+	 * @return RGB
+	 */
+	@Benchmark
+	public int[] hexToRGB() {
+		return new int[] { ColorUtils.toRGB(ColorUtils.getRed(hex)),
+				ColorUtils.toRGB(ColorUtils.getGreen(hex)),
+				ColorUtils.toRGB(ColorUtils.getBlue(hex)) };
+	}
+
+	/**
+	 * Combine RGB values into a hex color
+	 * 
+	 * @return hex color
+	 */
+	@Benchmark
+	public String toColor() {
+		return ColorUtils.toColor(ColorUtils.toHex(red),
+				ColorUtils.toHex(green), ColorUtils.toHex(blue));
+	}
+
+	/**
+	 * Expand a shorthand hex color
+	 * 
+	 * @return expanded hex color
+	 */
+	@Benchmark
+	public String expandShorthandHex() {
+		return ColorUtils.expandShorthandHex(shorthand);
+	}
+
+	/**
+	 * Shorthand a hex color when possible
+	 * 
+	 * @return shorthand hex color
+	 */
+	@Benchmark
+	public String shorthandHex() {
+		return ColorUtils.shorthandHex("#CC6633");
+	}
+
+}
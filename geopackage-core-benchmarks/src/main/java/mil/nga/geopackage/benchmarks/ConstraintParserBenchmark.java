@@ -0,0 +1,72 @@
+package mil.nga.geopackage.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.geopackage.db.table.ConstraintParser;
+import mil.nga.geopackage.db.table.TableConstraints;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Table SQL constraint parsing benchmarks
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstraintParserBenchmark {
+
+	/**
+	 * Simple feature table SQL
+	 */
+	public static final String FEATURE_TABLE_SQL = "CREATE TABLE \"features\" ("
+			+ "id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+			+ "geom GEOMETRY, " + "name TEXT NOT NULL DEFAULT 'none', "
+			+ "value REAL CHECK (value >= 0), "
+			+ "created DATETIME DEFAULT (strftime('%Y-%m-%dT%H:%M:%fZ','now')))";
+
+	/**
+	 * Tile matrix table SQL containing table constraints
+	 */
+	public static final String TILE_MATRIX_SQL = "CREATE TABLE gpkg_tile_matrix ("
+			+ "table_name TEXT NOT NULL, zoom_level INTEGER NOT NULL, "
+			+ "matrix_width INTEGER NOT NULL, matrix_height INTEGER NOT NULL, "
+			+ "tile_width INTEGER NOT NULL, tile_height INTEGER NOT NULL, "
+			+ "pixel_x_size DOUBLE NOT NULL, pixel_y_size DOUBLE NOT NULL, "
+			+ "CONSTRAINT pk_ttm PRIMARY KEY (table_name, zoom_level), "
+			+ "CONSTRAINT fk_tmm_table_name FOREIGN KEY (table_name) "
+			+ "REFERENCES gpkg_contents(table_name))";
+
+	/**
+	 * Table SQL to parse
+	 */
+	@Param({ "FEATURE", "TILE_MATRIX" })
+	public String table;
+
+	/**
+	 * Parse the table constraints
+	 * 
+	 * @return table constraints
+	 */
+	@Benchmark
+	public TableConstraints getConstraints() {
+		String sql = "FEATURE".equals(table) ? FEATURE_TABLE_SQL
+				: TILE_MATRIX_SQL;
+		return ConstraintParser.getConstraints(sql);
+	}
+
+}
@@ -0,0 +1,379 @@
+package mil.nga.geopackage.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.geopackage.GeoPackageCore;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.core.srs.SpatialReferenceSystem;
+import mil.nga.geopackage.extension.coverage.CoverageDataAlgorithm;
+import mil.nga.geopackage.extension.coverage.CoverageDataCore;
+import mil.nga.geopackage.extension.coverage.CoverageDataGrid;
+import mil.nga.geopackage.extension.coverage.CoverageDataImage;
+import mil.nga.geopackage.extension.coverage.CoverageDataRequest;
+import mil.nga.geopackage.extension.coverage.CoverageDataSourcePixel;
+import mil.nga.geopackage.extension.coverage.GriddedCoverage;
+import mil.nga.geopackage.extension.coverage.GriddedCoverageDao;
+import mil.nga.geopackage.extension.coverage.GriddedCoverageEncodingType;
+import mil.nga.geopackage.extension.coverage.GriddedTile;
+import mil.nga.geopackage.tiles.matrixset.TileMatrixSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coverage data interpolation benchmarks for each coverage data algorithm,
+ * resampling an in memory source tile to a destination size
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoverageDataInterpolationBenchmark {
+
+	/**
+	 * Interpolation algorithm
+	 */
+	@Param({ "NEAREST_NEIGHBOR", "BILINEAR", "BICUBIC" })
+	public CoverageDataAlgorithm algorithm;
+
+	/**
+	 * Source tile width and height
+	 */
+	@Param({ "256" })
+	public int sourceSize;
+
+	/**
+	 * Destination width and height
+	 */
+	@Param({ "100", "500" })
+	public int destinationSize;
+
+	/**
+	 * Resampling coverage data
+	 */
+	private ResamplingCoverageData coverageData;
+
+	/**
+	 * Source coverage data grid values as [y][x]
+	 */
+	private double[][] source;
+
+	/**
+	 * Setup the coverage data and source values
+	 */
+	@Setup
+	public void setup() {
+		coverageData = new ResamplingCoverageData(createGeoPackage(),
+				createTileMatrixSet());
+		coverageData.setAlgorithm(algorithm);
+
+		Random random = new Random(sourceSize);
+		source = new double[sourceSize][sourceSize];
+		for (int y = 0; y < sourceSize; y++) {
+			for (int x = 0; x < sourceSize; x++) {
+				source[y][x] = 1000.0 + random.nextDouble() * 500.0;
+			}
+		}
+	}
+
+	/**
+	 * Resample the source values to the destination size
+	 * 
+	 * @return resampled values
+	 */
+	@Benchmark
+	public double[][] resample() {
+		return coverageData.resample(source, destinationSize,
+				destinationSize);
+	}
+
+	/**
+	 * Create a GeoPackage supplying only the coverage data DAOs
+	 * 
+	 * @return GeoPackage
+	 */
+	private static GeoPackageCore createGeoPackage() {
+
+		final GriddedCoverageDao griddedCoverageDao;
+		try {
+			griddedCoverageDao = new GriddedCoverageDao(null,
+					GriddedCoverage.class) {
+
+				@Override
+				public boolean isTableExists() {
+					return true;
+				}
+
+				@Override
+				public GriddedCoverage query(TileMatrixSet tileMatrixSet) {
+					GriddedCoverage griddedCoverage = new GriddedCoverage();
+					griddedCoverage.setGridCellEncodingType(
+							GriddedCoverageEncodingType.CENTER);
+					return griddedCoverage;
+				}
+
+			};
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to create Gridded Coverage DAO", e);
+		}
+
+		return (GeoPackageCore) Proxy.newProxyInstance(
+				GeoPackageCore.class.getClassLoader(),
+				new Class<?>[] { GeoPackageCore.class },
+				new InvocationHandler() {
+
+					@Override
+					public Object invoke(Object proxy, Method method,
+							Object[] args) {
+						if (method.getName().equals("getGriddedCoverageDao")) {
+							return griddedCoverageDao;
+						}
+						return null;
+					}
+
+				});
+	}
+
+	/**
+	 * Create a WGS84 tile matrix set
+	 * 
+	 * @return tile matrix set
+	 */
+	private static TileMatrixSet createTileMatrixSet() {
+		SpatialReferenceSystem srs = new SpatialReferenceSystem();
+		srs.setOrganization("EPSG");
+		srs.setOrganizationCoordsysId(4326);
+		TileMatrixSet tileMatrixSet = new TileMatrixSet();
+		tileMatrixSet.setSrs(srs);
+		tileMatrixSet.setMinX(-180.0);
+		tileMatrixSet.setMinY(-90.0);
+		tileMatrixSet.setMaxX(180.0);
+		tileMatrixSet.setMaxY(90.0);
+		return tileMatrixSet;
+	}
+
+	/**
+	 * Coverage data resampling in memory values with the core interpolation
+	 * methods
+	 */
+	private static class ResamplingCoverageData
+			extends CoverageDataCore<CoverageDataImage> {
+
+		/**
+		 * Constructor
+		 * 
+		 * @param geoPackage
+		 *            GeoPackage
+		 * @param tileMatrixSet
+		 *            tile matrix set
+		 */
+		ResamplingCoverageData(GeoPackageCore geoPackage,
+				TileMatrixSet tileMatrixSet) {
+			super(geoPackage, tileMatrixSet);
+		}
+
+		/**
+		 * Resample the source values
+		 * 
+		 * @param source
+		 *            source values as [y][x]
+		 * @param width
+		 *            destination width
+		 * @param height
+		 *            destination height
+		 * @return resampled values as [y][x]
+		 */
+		double[][] resample(double[][] source, int width, int height) {
+
+			int sourceHeight = source.length;
+			int sourceWidth = source[0].length;
+			float widthRatio = sourceWidth / (float) width;
+			float heightRatio = sourceHeight / (float) height;
+
+			double[][] values = new double[height][width];
+			for (int y = 0; y < height; y++) {
+				float ySource = getYSource(y, 0, 0, heightRatio);
+				for (int x = 0; x < width; x++) {
+					float xSource = getXSource(x, 0, 0, widthRatio);
+					double value;
+					switch (getAlgorithm()) {
+					case NEAREST_NEIGHBOR:
+						value = getNearestNeighborValue(source, xSource,
+								ySource);
+						break;
+					case BILINEAR:
+						value = getBilinearValue(source, xSource, ySource);
+						break;
+					case BICUBIC:
+						value = getBicubicValue(source, xSource, ySource);
+						break;
+					default:
+						throw new UnsupportedOperationException(
+								"Algorithm is not supported: "
+										+ getAlgorithm());
+					}
+					values[y][x] = value;
+				}
+			}
+
+			return values;
+		}
+
+		/**
+		 * Get the nearest neighbor value
+		 * 
+		 * @param source
+		 *            source values
+		 * @param xSource
+		 *            x source pixel
+		 * @param ySource
+		 *            y source pixel
+		 * @return value
+		 */
+		private double getNearestNeighborValue(double[][] source,
+				float xSource, float ySource) {
+			double value = CoverageDataGrid.NO_DATA;
+			List<int[]> neighbors = getNearestNeighbors(xSource, ySource);
+			for (int[] neighbor : neighbors) {
+				value = getSourceValue(source, neighbor[0], neighbor[1]);
+				if (!CoverageDataGrid.isNoData(value)) {
+					break;
+				}
+			}
+			return value;
+		}
+
+		/**
+		 * Get the bilinear interpolation value
+		 * 
+		 * @param source
+		 *            source values
+		 * @param xSource
+		 *            x source pixel
+		 * @param ySource
+		 *            y source pixel
+		 * @return value
+		 */
+		private double getBilinearValue(double[][] source, float xSource,
+				float ySource) {
+			CoverageDataSourcePixel xPixel = getXSourceMinAndMax(xSource);
+			CoverageDataSourcePixel yPixel = getYSourceMinAndMax(ySource);
+			double[][] values = getSourceValues(source, xPixel.getMin(),
+					yPixel.getMin(), 2);
+			return getBilinearInterpolationValue(xPixel.getOffset(),
+					yPixel.getOffset(), xPixel.getMin(), xPixel.getMax(),
+					yPixel.getMin(), yPixel.getMax(), values);
+		}
+
+		/**
+		 * Get the bicubic interpolation value
+		 * 
+		 * @param source
+		 *            source values
+		 * @param xSource
+		 *            x source pixel
+		 * @param ySource
+		 *            y source pixel
+		 * @return value
+		 */
+		private double getBicubicValue(double[][] source, float xSource,
+				float ySource) {
+			CoverageDataSourcePixel xPixel = getXSourceMinAndMax(xSource);
+			CoverageDataSourcePixel yPixel = getYSourceMinAndMax(ySource);
+			double[][] values = getSourceValues(source, xPixel.getMin() - 1,
+					yPixel.getMin() - 1, 4);
+			return getBicubicInterpolationValue(values, xPixel, yPixel);
+		}
+
+		/**
+		 * Get a square of source values, clamping to the source edges
+		 * 
+		 * @param source
+		 *            source values
+		 * @param minX
+		 *            min x
+		 * @param minY
+		 *            min y
+		 * @param size
+		 *            square size
+		 * @return values as [y][x]
+		 */
+		private static double[][] getSourceValues(double[][] source,
+				int minX, int minY, int size) {
+			double[][] values = new double[size][size];
+			for (int y = 0; y < size; y++) {
+				for (int x = 0; x < size; x++) {
+					values[y][x] = getSourceValue(source, minX + x, minY + y);
+				}
+			}
+			return values;
+		}
+
+		/**
+		 * Get a source value, clamping to the source edges
+		 * 
+		 * @param source
+		 *            source values
+		 * @param x
+		 *            x pixel
+		 * @param y
+		 *            y pixel
+		 * @return value
+		 */
+		private static double getSourceValue(double[][] source, int x, int y) {
+			int row = Math.min(Math.max(y, 0), source.length - 1);
+			int column = Math.min(Math.max(x, 0), source[row].length - 1);
+			return source[row][column];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Double getValue(GriddedTile griddedTile,
+				CoverageDataImage image, int x, int y) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CoverageDataGrid getGridValues(CoverageDataRequest request,
+				Integer width, Integer height) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CoverageDataGrid getGridValuesUnbounded(
+				CoverageDataRequest request) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
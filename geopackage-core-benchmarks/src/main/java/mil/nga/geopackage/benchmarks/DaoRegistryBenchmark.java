@@ -0,0 +1,284 @@
+package mil.nga.geopackage.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.core.contents.ContentsDao;
+import mil.nga.geopackage.core.srs.SpatialReferenceSystemDao;
+import mil.nga.geopackage.db.GeoPackageCoreConnection;
+import mil.nga.geopackage.db.GeoPackageDataType;
+import mil.nga.geopackage.factory.GeoPackageCoreImpl;
+import mil.nga.geopackage.tiles.matrix.TileMatrixDao;
+import mil.nga.sf.proj.Projection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.j256.ormlite.db.BaseDatabaseType;
+import com.j256.ormlite.support.ConnectionSource;
+
+/**
+ * GeoPackage DAO getter benchmarks, as called within per feature and per tile
+ * loops. Run with "-prof gc" for allocation rates.
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaoRegistryBenchmark {
+
+	/**
+	 * GeoPackage
+	 */
+	private GeoPackageCoreImpl geoPackage;
+
+	/**
+	 * Setup the GeoPackage on a connection without a database
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		geoPackage = new BenchmarkGeoPackage(
+				new BenchmarkConnection(createConnectionSource()));
+	}
+
+	/**
+	 * Close the GeoPackage
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		geoPackage.close();
+	}
+
+	/**
+	 * Get the spatial reference system DAO
+	 * 
+	 * @return DAO
+	 */
+	@Benchmark
+	public SpatialReferenceSystemDao spatialReferenceSystemDao() {
+		return geoPackage.getSpatialReferenceSystemDao();
+	}
+
+	/**
+	 * Get the contents DAO
+	 * 
+	 * @return DAO
+	 */
+	@Benchmark
+	public ContentsDao contentsDao() {
+		return geoPackage.getContentsDao();
+	}
+
+	/**
+	 * Get the tile matrix DAO
+	 * 
+	 * @return DAO
+	 */
+	@Benchmark
+	public TileMatrixDao tileMatrixDao() {
+		return geoPackage.getTileMatrixDao();
+	}
+
+	/**
+	 * Create a connection source supplying only the database type needed to
+	 * build DAOs
+	 * 
+	 * @return connection source
+	 */
+	private static ConnectionSource createConnectionSource() {
+		final BaseDatabaseType databaseType = new BaseDatabaseType() {
+
+			@Override
+			public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
+				return false;
+			}
+
+			@Override
+			protected String getDriverClassName() {
+				return null;
+			}
+
+			@Override
+			public String getDatabaseName() {
+				return "SQLite";
+			}
+
+		};
+		return (ConnectionSource) Proxy.newProxyInstance(
+				ConnectionSource.class.getClassLoader(),
+				new Class<?>[] { ConnectionSource.class },
+				new InvocationHandler() {
+
+					@Override
+					public Object invoke(Object proxy, Method method,
+							Object[] args) {
+						switch (method.getName()) {
+						case "getDatabaseType":
+							return databaseType;
+						case "isOpen":
+						case "isSingleConnection":
+							return true;
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						default:
+							return null;
+						}
+					}
+
+				});
+	}
+
+	/**
+	 * GeoPackage without feature bounding box or transaction support
+	 */
+	private static class BenchmarkGeoPackage extends GeoPackageCoreImpl {
+
+		/**
+		 * Constructor
+		 * 
+		 * @param database
+		 *            connection
+		 */
+		BenchmarkGeoPackage(GeoPackageCoreConnection database) {
+			super("benchmark", null, database, null, true);
+		}
+
+		@Override
+		protected BoundingBox getFeatureBoundingBox(Projection projection,
+				String table, boolean manual) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void execSQL(String sql) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void beginTransaction() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void endTransaction(boolean successful) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void commit() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean inTransaction() {
+			return false;
+		}
+
+	}
+
+	/**
+	 * Connection without a database
+	 */
+	private static class BenchmarkConnection extends GeoPackageCoreConnection {
+
+		/**
+		 * Constructor
+		 * 
+		 * @param connectionSource
+		 *            connection source
+		 */
+		BenchmarkConnection(ConnectionSource connectionSource) {
+			super(connectionSource);
+		}
+
+		@Override
+		public void execSQL(String sql) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void beginTransaction() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void endTransaction(boolean successful) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void commit() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean inTransaction() {
+			return false;
+		}
+
+		@Override
+		public int delete(String table, String whereClause,
+				String[] whereArgs) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int count(String table, String where, String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Integer min(String table, String column, String where,
+				String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Integer max(String table, String column, String where,
+				String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Object querySingleResult(String sql, String[] args,
+				int column, GeoPackageDataType dataType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Object> querySingleColumnResults(String sql,
+				String[] args, int column, GeoPackageDataType dataType,
+				Integer limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<List<Object>> queryResults(String sql, String[] args,
+				GeoPackageDataType[] dataTypes, Integer limit) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
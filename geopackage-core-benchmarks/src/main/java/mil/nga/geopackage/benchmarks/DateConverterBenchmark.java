@@ -0,0 +1,120 @@
+package mil.nga.geopackage.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.geopackage.db.DateConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Date and date time parsing and formatting benchmarks
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateConverterBenchmark {
+
+	/**
+	 * Date converter
+	 */
+	private DateConverter dateConverter;
+
+	/**
+	 * Date time converter
+	 */
+	private DateConverter dateTimeConverter;
+
+	/**
+	 * Date to format
+	 */
+	private Date date;
+
+	/**
+	 * Setup the converters
+	 */
+	@Setup
+	public void setup() {
+		dateConverter = DateConverter.dateConverter();
+		dateTimeConverter = DateConverter.dateTimeConverter();
+		date = new Date(1577836800123L);
+	}
+
+	/**
+	 * Format a date
+	 * 
+	 * @return date string
+	 */
+	@Benchmark
+	public String formatDate() {
+		return dateConverter.stringValue(date);
+	}
+
+	/**
+	 * Parse a date
+	 * 
+	 * @return date
+	 */
+	@Benchmark
+	public Date parseDate() {
+		return dateConverter.dateValue("2020-01-01");
+	}
+
+	/**
+	 * Format a date time
+	 * 
+	 * @return date time string
+	 */
+	@Benchmark
+	public String formatDateTime() {
+		return dateTimeConverter.stringValue(date);
+	}
+
+	/**
+	 * Parse a date time with milliseconds
+	 * 
+	 * @return date
+	 */
+	@Benchmark
+	public Date parseDateTime() {
+		return dateTimeConverter.dateValue("2020-01-01T00:00:00.123Z");
+	}
+
+	/**
+	 * Parse a date time using the secondary format
+	 * 
+	 * @return date
+	 */
+	@Benchmark
+	public Date parseDateTimeFallback() {
+		return dateTimeConverter.dateValue("2020-01-01T00:00:00Z");
+	}
+
+	/**
+	 * Parse a date time from multiple threads sharing a converter
+	 * 
+	 * @return date
+	 */
+	@Benchmark
+	@Threads(4)
+	public Date parseDateTimeContended() {
+		return dateTimeConverter.dateValue("2020-01-01T00:00:00.123Z");
+	}
+
+}
@@ -0,0 +1,190 @@
+package mil.nga.geopackage.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.sf.Geometry;
+import mil.nga.sf.GeometryEnvelope;
+import mil.nga.sf.LineString;
+import mil.nga.sf.MultiPolygon;
+import mil.nga.sf.Point;
+import mil.nga.sf.Polygon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Geometry data encode and decode benchmarks across geometry types and
+ * sizes
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryDataBenchmark {
+
+	/**
+	 * Geometry type
+	 */
+	@Param({ "POINT", "LINESTRING", "POLYGON", "MULTIPOLYGON" })
+	public String type;
+
+	/**
+	 * Number of points per line or ring
+	 */
+	@Param({ "10", "1000" })
+	public int points;
+
+	/**
+	 * Geometry data to encode
+	 */
+	private GeoPackageGeometryData geometryData;
+
+	/**
+	 * Encoded geometry data bytes
+	 */
+	private byte[] bytes;
+
+	/**
+	 * Encode buffer
+	 */
+	private ByteBuffer buffer;
+
+	/**
+	 * Setup the geometry data and encoded bytes
+	 * 
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Setup
+	public void setup() throws IOException {
+		Random random = new Random(points);
+		Geometry geometry;
+		switch (type) {
+		case "POINT":
+			geometry = new Point(random.nextDouble() * 360 - 180,
+					random.nextDouble() * 180 - 90);
+			break;
+		case "LINESTRING":
+			geometry = createLineString(random, points, false);
+			break;
+		case "POLYGON":
+			geometry = createPolygon(random, points);
+			break;
+		case "MULTIPOLYGON":
+			MultiPolygon multiPolygon = new MultiPolygon();
+			for (int i = 0; i < 10; i++) {
+				multiPolygon.addPolygon(createPolygon(random, points));
+			}
+			geometry = multiPolygon;
+			break;
+		default:
+			throw new IllegalArgumentException("Unsupported type: " + type);
+		}
+		geometryData = new GeoPackageGeometryData(4326);
+		geometryData.setGeometry(geometry);
+		geometryData.setEnvelope(geometry.getEnvelope());
+		bytes = geometryData.toBytes();
+		buffer = ByteBuffer.allocate(bytes.length);
+	}
+
+	/**
+	 * Encode geometry data to a new byte array
+	 * 
+	 * @return bytes
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Benchmark
+	public byte[] encode() throws IOException {
+		return geometryData.toBytes();
+	}
+
+	/**
+	 * Encode geometry data into a reused buffer
+	 * 
+	 * @return bytes written
+	 */
+	@Benchmark
+	public int encodeBuffer() {
+		buffer.clear();
+		return geometryData.toByteBuffer(buffer);
+	}
+
+	/**
+	 * Decode geometry data bytes including the geometry
+	 * 
+	 * @return geometry
+	 */
+	@Benchmark
+	public Geometry decode() {
+		return new GeoPackageGeometryData(bytes).getGeometry();
+	}
+
+	/**
+	 * Lazily decode geometry data bytes for the envelope only
+	 * 
+	 * @return envelope
+	 */
+	@Benchmark
+	public GeometryEnvelope decodeEnvelope() {
+		return new GeoPackageGeometryData(bytes, true).getOrBuildEnvelope();
+	}
+
+	/**
+	 * Create a random line string
+	 * 
+	 * @param random
+	 *            random
+	 * @param count
+	 *            point count
+	 * @param closed
+	 *            true to close the line as a ring
+	 * @return line string
+	 */
+	private static LineString createLineString(Random random, int count,
+			boolean closed) {
+		LineString lineString = new LineString();
+		for (int i = 0; i < count; i++) {
+			lineString.addPoint(new Point(random.nextDouble() * 360 - 180,
+					random.nextDouble() * 180 - 90));
+		}
+		if (closed) {
+			lineString.addPoint(lineString.getPoint(0));
+		}
+		return lineString;
+	}
+
+	/**
+	 * Create a random single ring polygon
+	 * 
+	 * @param random
+	 *            random
+	 * @param count
+	 *            ring point count
+	 * @return polygon
+	 */
+	private static Polygon createPolygon(Random random, int count) {
+		Polygon polygon = new Polygon();
+		polygon.addRing(createLineString(random, count, true));
+		return polygon;
+	}
+
+}
@@ -0,0 +1,164 @@
+package mil.nga.geopackage.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
+import mil.nga.geopackage.tiles.TileGrid;
+import mil.nga.sf.Point;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tile bounding box and tile grid math benchmarks
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileBoundingBoxUtilsBenchmark {
+
+	/**
+	 * Zoom level
+	 */
+	@Param({ "4", "12", "18" })
+	public int zoom;
+
+	/**
+	 * WGS84 bounding box
+	 */
+	private BoundingBox wgs84BoundingBox;
+
+	/**
+	 * Web Mercator bounding box
+	 */
+	private BoundingBox webMercatorBoundingBox;
+
+	/**
+	 * Tile grid of the bounding box at the zoom level
+	 */
+	private TileGrid tileGrid;
+
+	/**
+	 * Tile column within the grid
+	 */
+	private long x;
+
+	/**
+	 * Tile row within the grid
+	 */
+	private long y;
+
+	/**
+	 * Setup the bounding boxes and tile grid
+	 */
+	@Setup
+	public void setup() {
+		wgs84BoundingBox = new BoundingBox(-105.3, 39.5, -104.6, 40.1);
+		webMercatorBoundingBox = TileBoundingBoxUtils
+				.toWebMercator(wgs84BoundingBox);
+		tileGrid = TileBoundingBoxUtils.getTileGrid(webMercatorBoundingBox,
+				zoom);
+		x = tileGrid.getMinX();
+		y = tileGrid.getMinY();
+	}
+
+	/**
+	 * Web Mercator tile grid from a bounding box
+	 * 
+	 * @return tile grid
+	 */
+	@Benchmark
+	public TileGrid tileGrid() {
+		return TileBoundingBoxUtils.getTileGrid(webMercatorBoundingBox, zoom);
+	}
+
+	/**
+	 * WGS84 tile grid from a bounding box
+	 * 
+	 * @return tile grid
+	 */
+	@Benchmark
+	public TileGrid tileGridWGS84() {
+		return TileBoundingBoxUtils.getTileGridWGS84(wgs84BoundingBox, zoom);
+	}
+
+	/**
+	 * Web Mercator tile grid of a single point
+	 * 
+	 * @return tile grid
+	 */
+	@Benchmark
+	public TileGrid tileGridFromWGS84Point() {
+		return TileBoundingBoxUtils.getTileGridFromWGS84(
+				new Point(-105.0, 39.7), zoom);
+	}
+
+	/**
+	 * Web Mercator bounding box of a tile
+	 * 
+	 * @return bounding box
+	 */
+	@Benchmark
+	public BoundingBox webMercatorBoundingBox() {
+		return TileBoundingBoxUtils.getWebMercatorBoundingBox(x, y, zoom);
+	}
+
+	/**
+	 * Web Mercator bounding box of a tile grid
+	 * 
+	 * @return bounding box
+	 */
+	@Benchmark
+	public BoundingBox webMercatorBoundingBoxGrid() {
+		return TileBoundingBoxUtils.getWebMercatorBoundingBox(tileGrid, zoom);
+	}
+
+	/**
+	 * WGS84 bounding box of a tile
+	 * 
+	 * @return bounding box
+	 */
+	@Benchmark
+	public BoundingBox boundingBox() {
+		return TileBoundingBoxUtils.getBoundingBox((int) x, (int) y, zoom);
+	}
+
+	/**
+	 * Convert a WGS84 bounding box to Web Mercator
+	 * 
+	 * @return bounding box
+	 */
+	@Benchmark
+	public BoundingBox toWebMercator() {
+		return TileBoundingBoxUtils.toWebMercator(wgs84BoundingBox);
+	}
+
+	/**
+	 * Tile matrix tile grid from a total bounding box
+	 * 
+	 * @return tile grid
+	 */
+	@Benchmark
+	public TileGrid matrixTileGrid() {
+		long tiles = TileBoundingBoxUtils.tilesPerSide(zoom);
+		return TileBoundingBoxUtils.getTileGrid(wgs84BoundingBox, tiles,
+				tiles, new BoundingBox(-105.0, 39.7, -104.9, 39.8));
+	}
+
+}
@@ -1,8 +1,13 @@
 package mil.nga.geopackage;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
@@ -10,7 +15,9 @@ import java.util.logging.Logger;
 
 /**
  * Abstract GeoPackage Core Cache for maintaining and reusing open GeoPackage
- * connections
+ * connections. The cache is thread safe and optionally bounded by a max size,
+ * closing the least recently used unpinned GeoPackages and reopening them on
+ * demand through a {@link Loader}.
  * 
  * @author osbornb
  *
@@ -26,14 +33,65 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 			.getLogger(GeoPackageCoreCache.class.getName());
 
 	/**
-	 * Cache of GeoPackage names and GeoPackages
+	 * Loader for opening GeoPackages by name on a cache miss
+	 * 
+	 * @param <T>
+	 *            templated GeoPackage object
+	 * @since 3.4.1
 	 */
-	private Map<String, T> cache = new HashMap<String, T>();
+	public interface Loader<T extends GeoPackageCore> {
+
+		/**
+		 * Open the GeoPackage
+		 * 
+		 * @param name
+		 *            GeoPackage name
+		 * @return opened GeoPackage or null if not found
+		 */
+		public T open(String name);
+
+	}
+
+	/**
+	 * Cache of GeoPackage names and GeoPackages in least recently used order
+	 */
+	private final Map<String, T> cache = new LinkedHashMap<String, T>(16,
+			0.75f, true);
+
+	/**
+	 * Pin counts of GeoPackage names in active use
+	 */
+	private final Map<String, Integer> pins = new HashMap<>();
 
 	/**
 	 * Close quietly flag
 	 */
-	private boolean closeQuietly = true;
+	private volatile boolean closeQuietly = true;
+
+	/**
+	 * Max number of cached GeoPackages, 0 for unbounded
+	 */
+	private int maxSize = 0;
+
+	/**
+	 * GeoPackage loader
+	 */
+	private volatile Loader<T> loader;
+
+	/**
+	 * Cache hits
+	 */
+	private long hits = 0;
+
+	/**
+	 * Cache misses
+	 */
+	private long misses = 0;
+
+	/**
+	 * Least recently used evictions
+	 */
+	private long evictions = 0;
 
 	/**
 	 * Constructor
@@ -42,6 +100,20 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 
 	}
 
+	/**
+	 * Constructor
+	 * 
+	 * @param maxSize
+	 *            max number of open GeoPackages, 0 for unbounded
+	 * @param loader
+	 *            GeoPackage loader for reopening on demand, may be null
+	 * @since 3.4.1
+	 */
+	public GeoPackageCoreCache(int maxSize, Loader<T> loader) {
+		setMaxSize(maxSize);
+		this.loader = loader;
+	}
+
 	/**
 	 * Is close quietly mode enabled
 	 * 
@@ -63,6 +135,108 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 		this.closeQuietly = closeQuietly;
 	}
 
+	/**
+	 * Get the max number of cached open GeoPackages
+	 * 
+	 * @return max size, 0 for unbounded
+	 * @since 3.4.1
+	 */
+	public int getMaxSize() {
+		synchronized (cache) {
+			return maxSize;
+		}
+	}
+
+	/**
+	 * Set the max number of cached open GeoPackages, closing the least
+	 * recently used unpinned GeoPackages over the max
+	 * 
+	 * @param maxSize
+	 *            max size, 0 for unbounded
+	 * @since 3.4.1
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new GeoPackageException(
+					"Max size can not be negative, size: " + maxSize);
+		}
+		List<T> evicted = null;
+		synchronized (cache) {
+			this.maxSize = maxSize;
+			evicted = evict(null);
+		}
+		closeEvicted(evicted);
+	}
+
+	/**
+	 * Get the GeoPackage loader
+	 * 
+	 * @return loader or null
+	 * @since 3.4.1
+	 */
+	public Loader<T> getLoader() {
+		return loader;
+	}
+
+	/**
+	 * Set the GeoPackage loader for opening GeoPackages on a cache miss
+	 * 
+	 * @param loader
+	 *            loader or null
+	 * @since 3.4.1
+	 */
+	public void setLoader(Loader<T> loader) {
+		this.loader = loader;
+	}
+
+	/**
+	 * Get the number of cached GeoPackages
+	 * 
+	 * @return size
+	 * @since 3.4.1
+	 */
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	/**
+	 * Get the number of cache hits
+	 * 
+	 * @return hits
+	 * @since 3.4.1
+	 */
+	public long getHits() {
+		synchronized (cache) {
+			return hits;
+		}
+	}
+
+	/**
+	 * Get the number of cache misses
+	 * 
+	 * @return misses
+	 * @since 3.4.1
+	 */
+	public long getMisses() {
+		synchronized (cache) {
+			return misses;
+		}
+	}
+
+	/**
+	 * Get the number of least recently used evictions
+	 * 
+	 * @return evictions
+	 * @since 3.4.1
+	 */
+	public long getEvictions() {
+		synchronized (cache) {
+			return evictions;
+		}
+	}
+
 	/**
 	 * Get the names of the cached GeoPackages
 	 * 
@@ -70,7 +244,9 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	 * @since 1.0.1
 	 */
 	public Set<String> getNames() {
-		return cache.keySet();
+		synchronized (cache) {
+			return new LinkedHashSet<>(cache.keySet());
+		}
 	}
 
 	/**
@@ -80,7 +256,9 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	 * @since 1.0.1
 	 */
 	public Collection<T> getGeoPackages() {
-		return cache.values();
+		synchronized (cache) {
+			return new ArrayList<>(cache.values());
+		}
 	}
 
 	/**
@@ -92,18 +270,112 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	 * @since 3.1.0
 	 */
 	public boolean has(String name) {
-		return cache.containsKey(name);
+		synchronized (cache) {
+			return cache.containsKey(name);
+		}
 	}
 
 	/**
-	 * Get the GeoPackage with name
+	 * Get the GeoPackage with name. When the cache is bounded, use
+	 * {@link #pin(String)} for GeoPackages held in active use so they are not
+	 * closed by eviction.
 	 * 
 	 * @param name
 	 *            GeoPackage name
 	 * @return cached GeoPackage
 	 */
 	public T get(String name) {
-		return cache.get(name);
+		synchronized (cache) {
+			T geoPackage = cache.get(name);
+			if (geoPackage != null) {
+				hits++;
+			} else {
+				misses++;
+			}
+			return geoPackage;
+		}
+	}
+
+	/**
+	 * Get the GeoPackage with name, opening and caching it with the
+	 * {@link Loader} if not cached
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @return GeoPackage or null if not cached and not loaded
+	 * @since 3.4.1
+	 */
+	public T getOrOpen(String name) {
+		T geoPackage = get(name);
+		if (geoPackage == null) {
+			geoPackage = load(name, false);
+		}
+		return geoPackage;
+	}
+
+	/**
+	 * Get and pin the GeoPackage with name, opening it with the
+	 * {@link Loader} if not cached. Pinned GeoPackages are in active use and
+	 * are not evicted until each pin is released with {@link #unpin(String)}.
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @return pinned GeoPackage or null if not cached and not loaded
+	 * @since 3.4.1
+	 */
+	public T pin(String name) {
+		T geoPackage = null;
+		synchronized (cache) {
+			geoPackage = cache.get(name);
+			if (geoPackage != null) {
+				hits++;
+				addPin(name);
+			} else {
+				misses++;
+			}
+		}
+		if (geoPackage == null) {
+			geoPackage = load(name, true);
+		}
+		return geoPackage;
+	}
+
+	/**
+	 * Release a pin on the GeoPackage with name, allowing it to be evicted
+	 * once no pins remain
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @since 3.4.1
+	 */
+	public void unpin(String name) {
+		List<T> evicted = null;
+		synchronized (cache) {
+			Integer count = pins.get(name);
+			if (count != null) {
+				if (count > 1) {
+					pins.put(name, count - 1);
+				} else {
+					pins.remove(name);
+					evicted = evict(null);
+				}
+			}
+		}
+		closeEvicted(evicted);
+	}
+
+	/**
+	 * Determine if the GeoPackage with name is pinned
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @return true if pinned
+	 * @since 3.4.1
+	 */
+	public boolean isPinned(String name) {
+		synchronized (cache) {
+			return pins.containsKey(name);
+		}
 	}
 
 	/**
@@ -114,17 +386,22 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	 * @return true if exists
 	 */
 	public boolean exists(String name) {
-		return cache.containsKey(name);
+		return has(name);
 	}
 
 	/**
 	 * Close all GeoPackages in the cache
 	 */
 	public void closeAll() {
-		for (T geoPackage : cache.values()) {
+		List<T> geoPackages;
+		synchronized (cache) {
+			geoPackages = new ArrayList<>(cache.values());
+			cache.clear();
+			pins.clear();
+		}
+		for (T geoPackage : geoPackages) {
 			close(geoPackage);
 		}
-		cache.clear();
 	}
 
 	/**
@@ -134,7 +411,12 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	 *            GeoPackage
 	 */
 	public void add(T geoPackage) {
-		cache.put(geoPackage.getName(), geoPackage);
+		List<T> evicted = null;
+		synchronized (cache) {
+			cache.put(geoPackage.getName(), geoPackage);
+			evicted = evict(geoPackage.getName());
+		}
+		closeEvicted(evicted);
 	}
 
 	/**
@@ -159,7 +441,10 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	 * @return removed GeoPackage
 	 */
 	public T remove(String name) {
-		return cache.remove(name);
+		synchronized (cache) {
+			pins.remove(name);
+			return cache.remove(name);
+		}
 	}
 
 	/**
@@ -169,7 +454,10 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	 * @since 1.0.1
 	 */
 	public void clear() {
-		cache.clear();
+		synchronized (cache) {
+			cache.clear();
+			pins.clear();
+		}
 	}
 
 	/**
@@ -207,7 +495,7 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	 * @since 1.0.1
 	 */
 	public void closeRetain(Collection<String> retain) {
-		Set<String> close = new HashSet<>(cache.keySet());
+		Set<String> close = new HashSet<>(getNames());
 		close.removeAll(retain);
 		for (String name : close) {
 			close(name);
@@ -259,7 +547,7 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	public boolean closeIfCached(T geoPackage) {
 		boolean closed = false;
 		if (geoPackage != null) {
-			T cached = get(geoPackage.getName());
+			T cached = peek(geoPackage.getName());
 			if (cached != null && cached == geoPackage) {
 				closed = close(geoPackage.getName());
 			}
@@ -279,7 +567,7 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 	public boolean closeIfNotCached(T geoPackage) {
 		boolean closed = false;
 		if (geoPackage != null) {
-			T cached = get(geoPackage.getName());
+			T cached = peek(geoPackage.getName());
 			if (cached == null || cached != geoPackage) {
 				close(geoPackage);
 				closed = true;
@@ -288,4 +576,117 @@ public abstract class GeoPackageCoreCache<T extends GeoPackageCore> {
 		return closed;
 	}
 
+	/**
+	 * Get the cached GeoPackage without counting a hit or miss
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @return cached GeoPackage
+	 */
+	private T peek(String name) {
+		synchronized (cache) {
+			return cache.get(name);
+		}
+	}
+
+	/**
+	 * Open the GeoPackage with the loader and cache it. When another thread
+	 * cached the same name first, the newly opened GeoPackage is closed and
+	 * the cached instance is returned.
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @param pin
+	 *            true to pin the GeoPackage
+	 * @return GeoPackage or null if not loaded
+	 */
+	private T load(String name, boolean pin) {
+
+		Loader<T> loader = this.loader;
+		if (loader == null) {
+			return null;
+		}
+
+		T opened = loader.open(name);
+		if (opened == null) {
+			return null;
+		}
+
+		T geoPackage = null;
+		List<T> evicted = null;
+		synchronized (cache) {
+			geoPackage = cache.get(name);
+			if (geoPackage == null) {
+				geoPackage = opened;
+				opened = null;
+				cache.put(name, geoPackage);
+			}
+			if (pin) {
+				addPin(name);
+			}
+			evicted = evict(name);
+		}
+		if (opened != null) {
+			close(opened);
+		}
+		closeEvicted(evicted);
+
+		return geoPackage;
+	}
+
+	/**
+	 * Increment the pin count of the name, called while synchronized
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 */
+	private void addPin(String name) {
+		Integer count = pins.get(name);
+		pins.put(name, count != null ? count + 1 : 1);
+	}
+
+	/**
+	 * Remove the least recently used unpinned GeoPackages over the max size,
+	 * called while synchronized
+	 * 
+	 * @param retain
+	 *            GeoPackage name being returned to the caller to retain, or
+	 *            null
+	 * @return evicted GeoPackages to close, or null
+	 */
+	private List<T> evict(String retain) {
+		List<T> evicted = null;
+		if (maxSize > 0 && cache.size() > maxSize) {
+			Iterator<Map.Entry<String, T>> iterator = cache.entrySet()
+					.iterator();
+			while (cache.size() > maxSize && iterator.hasNext()) {
+				Map.Entry<String, T> entry = iterator.next();
+				if (!pins.containsKey(entry.getKey())
+						&& !entry.getKey().equals(retain)) {
+					iterator.remove();
+					if (evicted == null) {
+						evicted = new ArrayList<>();
+					}
+					evicted.add(entry.getValue());
+					evictions++;
+				}
+			}
+		}
+		return evicted;
+	}
+
+	/**
+	 * Close the evicted GeoPackages outside of synchronization
+	 * 
+	 * @param evicted
+	 *            evicted GeoPackages or null
+	 */
+	private void closeEvicted(List<T> evicted) {
+		if (evicted != null) {
+			for (T geoPackage : evicted) {
+				close(geoPackage);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,404 @@
+package mil.nga.geopackage.db;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import mil.nga.geopackage.GeoPackageException;
+
+/**
+ * Ordered, typed SQL bind parameters. Integer, float, text, blob, and null
+ * values keep their storage class so connections can bind them natively
+ * instead of as text, avoiding SQLite affinity conversions when comparing
+ * against INTEGER, REAL, and BLOB columns. Types are the
+ * {@link ResultUtils} field type constants.
+ *
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class Bindings {
+
+	/**
+	 * Default initial capacity
+	 */
+	private static final int DEFAULT_CAPACITY = 4;
+
+	/**
+	 * Field types
+	 */
+	private int[] types;
+
+	/**
+	 * Integer values
+	 */
+	private long[] longs;
+
+	/**
+	 * Float values
+	 */
+	private double[] doubles;
+
+	/**
+	 * Text and blob values
+	 */
+	private Object[] objects;
+
+	/**
+	 * Number of bound values
+	 */
+	private int size = 0;
+
+	/**
+	 * Constructor
+	 */
+	public Bindings() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            initial capacity
+	 */
+	public Bindings(int capacity) {
+		capacity = Math.max(capacity, 1);
+		types = new int[capacity];
+		longs = new long[capacity];
+		doubles = new double[capacity];
+		objects = new Object[capacity];
+	}
+
+	/**
+	 * Create bindings from the values, see {@link #bind(Object)}
+	 *
+	 * @param values
+	 *            values
+	 * @return bindings
+	 */
+	public static Bindings of(Object... values) {
+		Bindings bindings = new Bindings(values.length);
+		for (Object value : values) {
+			bindings.bind(value);
+		}
+		return bindings;
+	}
+
+	/**
+	 * Create bindings from the non null values, matching the where clauses
+	 * built for field values where null values are checked with "IS NULL"
+	 *
+	 * @param values
+	 *            values
+	 * @return bindings
+	 */
+	public static Bindings ofNonNull(Collection<Object> values) {
+		Bindings bindings = new Bindings(values.size());
+		for (Object value : values) {
+			if (value != null) {
+				bindings.bind(value);
+			}
+		}
+		return bindings;
+	}
+
+	/**
+	 * Bind a null value
+	 *
+	 * @return this bindings
+	 */
+	public Bindings bindNull() {
+		add(ResultUtils.FIELD_TYPE_NULL);
+		return this;
+	}
+
+	/**
+	 * Bind an integer value
+	 *
+	 * @param value
+	 *            integer value
+	 * @return this bindings
+	 */
+	public Bindings bind(long value) {
+		longs[add(ResultUtils.FIELD_TYPE_INTEGER)] = value;
+		return this;
+	}
+
+	/**
+	 * Bind a float value
+	 *
+	 * @param value
+	 *            float value
+	 * @return this bindings
+	 */
+	public Bindings bind(double value) {
+		doubles[add(ResultUtils.FIELD_TYPE_FLOAT)] = value;
+		return this;
+	}
+
+	/**
+	 * Bind a boolean value as an integer of 1 or 0
+	 *
+	 * @param value
+	 *            boolean value
+	 * @return this bindings
+	 */
+	public Bindings bind(boolean value) {
+		return bind(value ? 1L : 0L);
+	}
+
+	/**
+	 * Bind a text value
+	 *
+	 * @param value
+	 *            text value
+	 * @return this bindings
+	 */
+	public Bindings bind(String value) {
+		if (value == null) {
+			bindNull();
+		} else {
+			objects[add(ResultUtils.FIELD_TYPE_STRING)] = value;
+		}
+		return this;
+	}
+
+	/**
+	 * Bind a blob value
+	 *
+	 * @param value
+	 *            blob value
+	 * @return this bindings
+	 */
+	public Bindings bind(byte[] value) {
+		if (value == null) {
+			bindNull();
+		} else {
+			objects[add(ResultUtils.FIELD_TYPE_BLOB)] = value;
+		}
+		return this;
+	}
+
+	/**
+	 * Bind a value by its Java type. Integral numbers bind as integers, other
+	 * numbers as floats, booleans as integers, byte arrays as blobs, null as
+	 * null, and all other values as their text representation.
+	 *
+	 * @param value
+	 *            value
+	 * @return this bindings
+	 */
+	public Bindings bind(Object value) {
+		if (value == null) {
+			bindNull();
+		} else if (value instanceof Long || value instanceof Integer
+				|| value instanceof Short || value instanceof Byte) {
+			bind(((Number) value).longValue());
+		} else if (value instanceof Number) {
+			bind(((Number) value).doubleValue());
+		} else if (value instanceof Boolean) {
+			bind(((Boolean) value).booleanValue());
+		} else if (value instanceof byte[]) {
+			bind((byte[]) value);
+		} else {
+			bind(value.toString());
+		}
+		return this;
+	}
+
+	/**
+	 * Bind all values of the other bindings
+	 *
+	 * @param bindings
+	 *            bindings, may be null
+	 * @return this bindings
+	 */
+	public Bindings bindAll(Bindings bindings) {
+		if (bindings != null) {
+			int count = bindings.size;
+			for (int i = 0; i < count; i++) {
+				int index = add(bindings.types[i]);
+				longs[index] = bindings.longs[i];
+				doubles[index] = bindings.doubles[i];
+				objects[index] = bindings.objects[i];
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Get the number of bound values
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Check if no values are bound
+	 *
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Get the field type of the bound value, one of
+	 * {@link ResultUtils#FIELD_TYPE_NULL},
+	 * {@link ResultUtils#FIELD_TYPE_INTEGER},
+	 * {@link ResultUtils#FIELD_TYPE_FLOAT},
+	 * {@link ResultUtils#FIELD_TYPE_STRING}, or
+	 * {@link ResultUtils#FIELD_TYPE_BLOB}
+	 *
+	 * @param index
+	 *            zero based index
+	 * @return field type
+	 */
+	public int getType(int index) {
+		validateIndex(index);
+		return types[index];
+	}
+
+	/**
+	 * Get the integer value
+	 *
+	 * @param index
+	 *            zero based index
+	 * @return integer value
+	 */
+	public long getLong(int index) {
+		validateType(index, ResultUtils.FIELD_TYPE_INTEGER);
+		return longs[index];
+	}
+
+	/**
+	 * Get the float value
+	 *
+	 * @param index
+	 *            zero based index
+	 * @return float value
+	 */
+	public double getDouble(int index) {
+		validateType(index, ResultUtils.FIELD_TYPE_FLOAT);
+		return doubles[index];
+	}
+
+	/**
+	 * Get the text value
+	 *
+	 * @param index
+	 *            zero based index
+	 * @return text value
+	 */
+	public String getString(int index) {
+		validateType(index, ResultUtils.FIELD_TYPE_STRING);
+		return (String) objects[index];
+	}
+
+	/**
+	 * Get the blob value
+	 *
+	 * @param index
+	 *            zero based index
+	 * @return blob value
+	 */
+	public byte[] getBlob(int index) {
+		validateType(index, ResultUtils.FIELD_TYPE_BLOB);
+		return (byte[]) objects[index];
+	}
+
+	/**
+	 * Get the bound value as an object: Long, Double, String, byte[], or null
+	 *
+	 * @param index
+	 *            zero based index
+	 * @return value
+	 */
+	public Object getValue(int index) {
+		Object value = null;
+		switch (getType(index)) {
+		case ResultUtils.FIELD_TYPE_INTEGER:
+			value = longs[index];
+			break;
+		case ResultUtils.FIELD_TYPE_FLOAT:
+			value = doubles[index];
+			break;
+		case ResultUtils.FIELD_TYPE_STRING:
+		case ResultUtils.FIELD_TYPE_BLOB:
+			value = objects[index];
+			break;
+		default:
+		}
+		return value;
+	}
+
+	/**
+	 * Get the bound values as objects, see {@link #getValue(int)}
+	 *
+	 * @return values
+	 */
+	public Object[] getValues() {
+		Object[] values = new Object[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = getValue(i);
+		}
+		return values;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return Arrays.deepToString(getValues());
+	}
+
+	/**
+	 * Add a value of the type, growing the arrays as needed
+	 *
+	 * @param type
+	 *            field type
+	 * @return value index
+	 */
+	private int add(int type) {
+		if (size == types.length) {
+			int capacity = types.length * 2;
+			types = Arrays.copyOf(types, capacity);
+			longs = Arrays.copyOf(longs, capacity);
+			doubles = Arrays.copyOf(doubles, capacity);
+			objects = Arrays.copyOf(objects, capacity);
+		}
+		types[size] = type;
+		return size++;
+	}
+
+	/**
+	 * Validate the index is bound
+	 *
+	 * @param index
+	 *            index
+	 */
+	private void validateIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * Validate the index is bound with the type
+	 *
+	 * @param index
+	 *            index
+	 * @param type
+	 *            expected field type
+	 */
+	private void validateType(int index, int type) {
+		if (getType(index) != type) {
+			throw new GeoPackageException("Bind argument at index " + index
+					+ " is type " + types[index] + ", not " + type);
+		}
+	}
+
+}
@@ -0,0 +1,304 @@
+package mil.nga.geopackage.db;
+
+import java.sql.SQLException;
+
+import mil.nga.geopackage.GeoPackageException;
+
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Result over the database results of a compiled statement. Closing the
+ * result closes only the database results, leaving the statement open for
+ * reuse.
+ *
+ * @author osbornb
+ * @since 3.4.1
+ */
+class CompiledStatementResult implements Result {
+
+	/**
+	 * Database results
+	 */
+	private final DatabaseResults results;
+
+	/**
+	 * Current position
+	 */
+	private int position = -1;
+
+	/**
+	 * Last read column index
+	 */
+	private int lastColumn = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param results
+	 *            database results
+	 */
+	CompiledStatementResult(DatabaseResults results) {
+		this.results = results;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValue(int index) {
+		return ResultUtils.getValue(this, index);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValue(int index, GeoPackageDataType dataType) {
+		return ResultUtils.getValue(this, index, dataType);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean moveToNext() {
+		try {
+			boolean next = results.next();
+			if (next) {
+				position++;
+			}
+			return next;
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to move to the next result row", e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean moveToFirst() {
+		try {
+			boolean first = results.first();
+			if (first) {
+				position = 0;
+			}
+			return first;
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to move to the first result row", e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean moveToPosition(int position) {
+		try {
+			boolean moved = results.moveAbsolute(position);
+			if (moved) {
+				this.position = position;
+			}
+			return moved;
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to move to the result row at position "
+							+ position, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getColumnCount() {
+		try {
+			return results.getColumnCount();
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to get the result column count", e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getType(int columnIndex) {
+
+		Object value;
+		try {
+			value = results.getObject(columnIndex);
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to get the result column type at index "
+							+ columnIndex, e);
+		}
+
+		int type;
+		if (value == null) {
+			type = ResultUtils.FIELD_TYPE_NULL;
+		} else if (value instanceof Long || value instanceof Integer
+				|| value instanceof Short || value instanceof Byte) {
+			type = ResultUtils.FIELD_TYPE_INTEGER;
+		} else if (value instanceof Number) {
+			type = ResultUtils.FIELD_TYPE_FLOAT;
+		} else if (value instanceof byte[]) {
+			type = ResultUtils.FIELD_TYPE_BLOB;
+		} else {
+			type = ResultUtils.FIELD_TYPE_STRING;
+		}
+
+		return type;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getColumnIndex(String columnName) {
+		try {
+			return results.findColumn(columnName);
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to find the result column: " + columnName, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getString(int columnIndex) {
+		lastColumn = columnIndex;
+		try {
+			return results.getString(columnIndex);
+		} catch (SQLException e) {
+			throw readFailure(columnIndex, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getLong(int columnIndex) {
+		lastColumn = columnIndex;
+		try {
+			return results.getLong(columnIndex);
+		} catch (SQLException e) {
+			throw readFailure(columnIndex, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getInt(int columnIndex) {
+		lastColumn = columnIndex;
+		try {
+			return results.getInt(columnIndex);
+		} catch (SQLException e) {
+			throw readFailure(columnIndex, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public short getShort(int columnIndex) {
+		lastColumn = columnIndex;
+		try {
+			return results.getShort(columnIndex);
+		} catch (SQLException e) {
+			throw readFailure(columnIndex, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double getDouble(int columnIndex) {
+		lastColumn = columnIndex;
+		try {
+			return results.getDouble(columnIndex);
+		} catch (SQLException e) {
+			throw readFailure(columnIndex, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float getFloat(int columnIndex) {
+		lastColumn = columnIndex;
+		try {
+			return results.getFloat(columnIndex);
+		} catch (SQLException e) {
+			throw readFailure(columnIndex, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public byte[] getBlob(int columnIndex) {
+		lastColumn = columnIndex;
+		try {
+			return results.getBytes(columnIndex);
+		} catch (SQLException e) {
+			throw readFailure(columnIndex, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean wasNull() {
+		try {
+			return results.wasNull(lastColumn);
+		} catch (SQLException e) {
+			throw readFailure(lastColumn, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+		results.closeQuietly();
+	}
+
+	/**
+	 * Create a read failure exception
+	 *
+	 * @param columnIndex
+	 *            column index
+	 * @param e
+	 *            SQL exception
+	 * @return exception
+	 */
+	private static GeoPackageException readFailure(int columnIndex,
+			SQLException e) {
+		return new GeoPackageException(
+				"Failed to read the result column at index " + columnIndex, e);
+	}
+
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.regex.Pattern;
 
+import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.db.master.SQLiteMaster;
 import mil.nga.geopackage.db.master.SQLiteMasterColumn;
 import mil.nga.geopackage.db.master.SQLiteMasterQuery;
@@ -19,6 +20,14 @@ import mil.nga.geopackage.user.UserTable;
  */
 public class CoreSQLUtils {
 
+	/**
+	 * Maximum number of bind variables in a single statement, the SQLite
+	 * SQLITE_MAX_VARIABLE_NUMBER default prior to version 3.32.0
+	 * 
+	 * @since 3.4.1
+	 */
+	public static final int MAX_BIND_VARIABLES = 999;
+
 	/**
 	 * Pattern for matching numbers
 	 */
@@ -448,6 +457,83 @@ public class CoreSQLUtils {
 		return "DROP TABLE IF EXISTS " + CoreSQLUtils.quoteWrap(tableName);
 	}
 
+	/**
+	 * Create the insert SQL for one or more rows of values with a bind
+	 * parameter for each column value. Without column names, a single row
+	 * of column default values is inserted.
+	 * 
+	 * @param tableName
+	 *            table name
+	 * @param columnNames
+	 *            column names
+	 * @param rowCount
+	 *            number of rows in the VALUES list
+	 * @return insert SQL
+	 * @since 3.4.1
+	 */
+	public static String insertSQL(String tableName, String[] columnNames,
+			int rowCount) {
+
+		if (rowCount < 1) {
+			throw new GeoPackageException(
+					"Insert row count must be positive, count: " + rowCount);
+		}
+		if (columnNames.length == 0) {
+			if (rowCount > 1) {
+				throw new GeoPackageException(
+						"Insert of default values supports a single row, count: "
+								+ rowCount);
+			}
+			return "INSERT INTO " + quoteWrap(tableName) + " DEFAULT VALUES";
+		}
+		if ((long) rowCount * columnNames.length > MAX_BIND_VARIABLES) {
+			throw new GeoPackageException("Insert of " + rowCount
+					+ " rows with " + columnNames.length
+					+ " columns exceeds the bind variable limit of "
+					+ MAX_BIND_VARIABLES);
+		}
+
+		StringBuilder row = new StringBuilder("(");
+		for (int i = 0; i < columnNames.length; i++) {
+			if (i > 0) {
+				row.append(", ");
+			}
+			row.append("?");
+		}
+		row.append(")");
+
+		StringBuilder sql = new StringBuilder();
+		sql.append("INSERT INTO ").append(quoteWrap(tableName)).append(" (");
+		for (int i = 0; i < columnNames.length; i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+			sql.append(quoteWrap(columnNames[i]));
+		}
+		sql.append(") VALUES ");
+		for (int i = 0; i < rowCount; i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+			sql.append(row);
+		}
+
+		return sql.toString();
+	}
+
+	/**
+	 * Get the maximum number of rows in a single multiple row insert
+	 * statement within the bind variable limit
+	 * 
+	 * @param columnCount
+	 *            column values per row
+	 * @return max rows per insert
+	 * @since 3.4.1
+	 */
+	public static int maxInsertRows(int columnCount) {
+		return Math.max(1, MAX_BIND_VARIABLES / Math.max(1, columnCount));
+	}
+
 	/**
 	 * Drop the view if it exists
 	 * 
@@ -1,16 +1,27 @@
 package mil.nga.geopackage.db;
 
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.TimeZone;
 
 import mil.nga.geopackage.GeoPackageException;
 
 /**
- * Date converter between database date formats and date objects
+ * Date converter between database date formats and date objects. Converters
+ * are immutable and thread safe. The standard date and date time formats are
+ * formatted with cached date time formatters and parsed directly by their
+ * string shape, with remaining formats and values handled by thread confined
+ * simple date formats.
  * 
  * @author osbornb
  * @since 1.3.0
@@ -97,13 +108,25 @@ public class DateConverter {
 		return converter;
 	}
 
+	/**
+	 * Shared date converter
+	 */
+	private static final DateConverter DATE_CONVERTER = new DateConverter(
+			DATE_FORMAT, DATE_FORMAT2);
+
+	/**
+	 * Shared date time converter
+	 */
+	private static final DateConverter DATETIME_CONVERTER = new DateConverter(
+			DATETIME_FORMAT, DATETIME_FORMAT2);
+
 	/**
 	 * Get a date converter
 	 * 
 	 * @return date converter
 	 */
 	public static DateConverter dateConverter() {
-		return new DateConverter(DATE_FORMAT, DATE_FORMAT2);
+		return DATE_CONVERTER;
 	}
 
 	/**
@@ -112,7 +135,7 @@ public class DateConverter {
 	 * @return date converter
 	 */
 	public static DateConverter dateTimeConverter() {
-		return new DateConverter(DATETIME_FORMAT, DATETIME_FORMAT2);
+		return DATETIME_CONVERTER;
 	}
 
 	/**
@@ -128,9 +151,264 @@ public class DateConverter {
 	}
 
 	/**
-	 * Simple date formatters
+	 * Milliseconds per day
+	 */
+	private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+	/**
+	 * Min time (inclusive) handled by the fast path, the first full
+	 * Gregorian year. Earlier dates use the Julian calendar in the simple
+	 * date format.
+	 */
+	private static final long MIN_FAST_TIME = LocalDate.of(1583, 1, 1)
+			.toEpochDay() * MILLIS_PER_DAY;
+
+	/**
+	 * Max time (exclusive) handled by the fast path, the first five digit
+	 * year
+	 */
+	private static final long MAX_FAST_TIME = LocalDate.of(10000, 1, 1)
+			.toEpochDay() * MILLIS_PER_DAY;
+
+	/**
+	 * Thread confined simple date formats by format, used for custom formats
+	 * and values outside of the fast path
+	 */
+	private static final ThreadLocal<Map<String, SimpleDateFormat>> simpleDateFormats = new ThreadLocal<Map<String, SimpleDateFormat>>() {
+		@Override
+		protected Map<String, SimpleDateFormat> initialValue() {
+			return new HashMap<>();
+		}
+	};
+
+	/**
+	 * Known date layouts with a fast path formatter and parser
+	 */
+	private static enum Layout {
+
+		/**
+		 * {@link DateConverter#DATE_FORMAT}
+		 */
+		DATE(DATE_FORMAT, '-', false, false),
+
+		/**
+		 * {@link DateConverter#DATE_FORMAT2}
+		 */
+		DATE2(DATE_FORMAT2, '/', false, false),
+
+		/**
+		 * {@link DateConverter#DATETIME_FORMAT}
+		 */
+		DATETIME(DATETIME_FORMAT, '-', true, true),
+
+		/**
+		 * {@link DateConverter#DATETIME_FORMAT2}
+		 */
+		DATETIME2(DATETIME_FORMAT2, '-', true, false);
+
+		/**
+		 * Format
+		 */
+		private final String format;
+
+		/**
+		 * Date separator
+		 */
+		private final char separator;
+
+		/**
+		 * True when including the time
+		 */
+		private final boolean time;
+
+		/**
+		 * True when including milliseconds
+		 */
+		private final boolean millis;
+
+		/**
+		 * Formatted string length
+		 */
+		private final int length;
+
+		/**
+		 * Immutable formatter
+		 */
+		private final DateTimeFormatter formatter;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param format
+		 *            format
+		 * @param separator
+		 *            date separator
+		 * @param time
+		 *            true when including the time
+		 * @param millis
+		 *            true when including milliseconds
+		 */
+		private Layout(String format, char separator, boolean time,
+				boolean millis) {
+			this.format = format;
+			this.separator = separator;
+			this.time = time;
+			this.millis = millis;
+			this.length = time ? (millis ? 24 : 20) : 10;
+			this.formatter = DateTimeFormatter.ofPattern(format)
+					.withZone(ZoneOffset.UTC);
+		}
+
+		/**
+		 * Get the layout of the format
+		 * 
+		 * @param format
+		 *            format
+		 * @return layout or null if not a known layout
+		 */
+		public static Layout fromFormat(String format) {
+			Layout layout = null;
+			for (Layout value : values()) {
+				if (value.format.equals(format)) {
+					layout = value;
+					break;
+				}
+			}
+			return layout;
+		}
+
+		/**
+		 * Get the layout exactly matching the shape of the date string
+		 * 
+		 * @param date
+		 *            date string
+		 * @return layout or null if not a known layout
+		 */
+		public static Layout fromShape(String date) {
+			Layout layout = null;
+			switch (date.length()) {
+			case 10:
+				if (DATE.matches(date)) {
+					layout = DATE;
+				} else if (DATE2.matches(date)) {
+					layout = DATE2;
+				}
+				break;
+			case 20:
+				if (DATETIME2.matches(date)) {
+					layout = DATETIME2;
+				}
+				break;
+			case 24:
+				if (DATETIME.matches(date)) {
+					layout = DATETIME;
+				}
+				break;
+			default:
+			}
+			return layout;
+		}
+
+		/**
+		 * Determine if the date string has the exact shape of this layout
+		 * 
+		 * @param date
+		 *            date string
+		 * @return true if matches
+		 */
+		private boolean matches(String date) {
+			boolean matches = date.length() == length && isDigits(date, 0, 4)
+					&& date.charAt(4) == separator && isDigits(date, 5, 7)
+					&& date.charAt(7) == separator && isDigits(date, 8, 10);
+			if (matches && time) {
+				matches = date.charAt(10) == 'T' && isDigits(date, 11, 13)
+						&& date.charAt(13) == ':' && isDigits(date, 14, 16)
+						&& date.charAt(16) == ':' && isDigits(date, 17, 19);
+				if (matches && millis) {
+					matches = date.charAt(19) == '.'
+							&& isDigits(date, 20, 23);
+				}
+				matches = matches && date.charAt(length - 1) == 'Z';
+			}
+			return matches;
+		}
+
+		/**
+		 * Determine if a simple date format of this layout may parse a
+		 * leading portion of a date string of the provided layout
+		 * 
+		 * @param layout
+		 *            date string layout
+		 * @return true if a prefix
+		 */
+		public boolean isPrefixOf(Layout layout) {
+			return !time && layout.time && separator == layout.separator;
+		}
+
+		/**
+		 * Parse a date string with the exact shape of this layout
+		 * 
+		 * @param date
+		 *            date string
+		 * @return time in milliseconds, or null if out of range for the fast
+		 *         path
+		 */
+		public Long parse(String date) {
+
+			Long value = null;
+
+			int year = toInt(date, 0, 4);
+			int month = toInt(date, 5, 7);
+			int day = toInt(date, 8, 10);
+			int hour = 0;
+			int minute = 0;
+			int second = 0;
+			int milli = 0;
+			if (time) {
+				hour = toInt(date, 11, 13);
+				minute = toInt(date, 14, 16);
+				second = toInt(date, 17, 19);
+				if (millis) {
+					milli = toInt(date, 20, 23);
+				}
+			}
+
+			// Out of range values are leniently rolled by the simple date
+			// format
+			if (year >= 1583 && month >= 1 && month <= 12 && day >= 1
+					&& day <= Month.of(month).length(Year.isLeap(year))
+					&& hour < 24 && minute < 60 && second < 60) {
+				long epochDay = LocalDate.of(year, month, day).toEpochDay();
+				value = epochDay * MILLIS_PER_DAY
+						+ ((hour * 60 + minute) * 60 + second) * 1000L
+						+ milli;
+			}
+
+			return value;
+		}
+
+		/**
+		 * Format the time
+		 * 
+		 * @param time
+		 *            time in milliseconds within the fast path range
+		 * @return formatted date string
+		 */
+		public String format(long time) {
+			return formatter.format(Instant.ofEpochMilli(time));
+		}
+
+	}
+
+	/**
+	 * Formats
+	 */
+	private final String[] formats;
+
+	/**
+	 * Known layouts of the formats, null for custom formats
 	 */
-	private final List<SimpleDateFormat> formatters = new ArrayList<>();
+	private final Layout[] layouts;
 
 	/**
 	 * Constructor
@@ -139,10 +417,10 @@ public class DateConverter {
 	 *            date format
 	 */
 	private DateConverter(String... formats) {
-		for (String format : formats) {
-			SimpleDateFormat sdf = new SimpleDateFormat(format);
-			sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-			formatters.add(sdf);
+		this.formats = formats.clone();
+		layouts = new Layout[formats.length];
+		for (int i = 0; i < formats.length; i++) {
+			layouts[i] = Layout.fromFormat(formats[i]);
 		}
 	}
 
@@ -156,9 +434,13 @@ public class DateConverter {
 	public String stringValue(Date date) {
 		String value = null;
 		if (date != null) {
-			SimpleDateFormat sdf = formatters.get(0);
-			synchronized (sdf) {
-				value = sdf.format(date);
+			long time = date.getTime();
+			Layout layout = layouts[0];
+			if (layout != null && time >= MIN_FAST_TIME
+					&& time < MAX_FAST_TIME) {
+				value = layout.format(time);
+			} else {
+				value = getSimpleDateFormat(formats[0]).format(date);
 			}
 		}
 		return value;
@@ -175,32 +457,105 @@ public class DateConverter {
 		Date value = null;
 		if (date != null) {
 
-			// Try each simple date formatter in order
-			ParseException exception = null;
-			for (SimpleDateFormat sdf : formatters) {
-				try {
-					synchronized (sdf) {
-						value = sdf.parse(date);
+			Layout shape = Layout.fromShape(date);
+
+			// Try each format in order, parsing known layouts directly and
+			// skipping formats unable to parse the known shape
+			int errorIndex = -1;
+			for (int i = 0; i < formats.length; i++) {
+
+				Layout layout = layouts[i];
+				if (layout != null && shape != null) {
+					if (layout == shape) {
+						Long time = layout.parse(date);
+						if (time != null) {
+							value = new Date(time);
+							break;
+						}
+					} else if (!layout.isPrefixOf(shape)) {
+						continue;
 					}
+				}
+
+				ParsePosition position = new ParsePosition(0);
+				value = getSimpleDateFormat(formats[i]).parse(date, position);
+				if (value != null) {
 					break;
-				} catch (ParseException e) {
-					if (exception == null) {
-						exception = e;
-					}
+				}
+				if (errorIndex < 0) {
+					errorIndex = position.getErrorIndex();
 				}
 			}
 
 			// If no value could be parsed throw the first expected parse
 			// format exception
 			if (value == null) {
-				throw new GeoPackageException(
-						"Failed to parse date string: " + date, exception);
+				throw new GeoPackageException("Failed to parse date string: "
+						+ date, new ParseException("Unparseable date: \""
+						+ date + "\"", Math.max(errorIndex, 0)));
 			}
 
 		}
 		return value;
 	}
 
+	/**
+	 * Get the thread confined simple date format
+	 * 
+	 * @param format
+	 *            format
+	 * @return simple date format
+	 */
+	private static SimpleDateFormat getSimpleDateFormat(String format) {
+		Map<String, SimpleDateFormat> formats = simpleDateFormats.get();
+		SimpleDateFormat sdf = formats.get(format);
+		if (sdf == null) {
+			sdf = new SimpleDateFormat(format);
+			sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+			formats.put(format, sdf);
+		}
+		return sdf;
+	}
+
+	/**
+	 * Determine if the characters in the range are all digits
+	 * 
+	 * @param value
+	 *            string value
+	 * @param start
+	 *            start index (inclusive)
+	 * @param end
+	 *            end index (exclusive)
+	 * @return true if digits
+	 */
+	private static boolean isDigits(String value, int start, int end) {
+		boolean digits = true;
+		for (int i = start; digits && i < end; i++) {
+			char c = value.charAt(i);
+			digits = c >= '0' && c <= '9';
+		}
+		return digits;
+	}
+
+	/**
+	 * Parse the digits in the range as an integer
+	 * 
+	 * @param value
+	 *            string value
+	 * @param start
+	 *            start index (inclusive)
+	 * @param end
+	 *            end index (exclusive)
+	 * @return integer value
+	 */
+	private static int toInt(String value, int start, int end) {
+		int result = 0;
+		for (int i = start; i < end; i++) {
+			result = result * 10 + (value.charAt(i) - '0');
+		}
+		return result;
+	}
+
 	/**
 	 * Determine if the date/time string value is a SQLite function
 	 * 
@@ -0,0 +1,518 @@
+package mil.nga.geopackage.db;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import mil.nga.geopackage.GeoPackageException;
+
+/**
+ * Pool of read only GeoPackage connections alongside the single primary
+ * writer connection. Readers are opened on demand up to the max size by a
+ * connection factory, configured as query only, and leased to one thread at
+ * a time. Idle readers are kept open and reused most recently returned first,
+ * along with any per connection resources such as read DAOs or compiled
+ * statements.
+ * 
+ * Concurrent readers only proceed alongside the writer when the database uses
+ * write-ahead logging, see {@link #enableWriteAheadLogging()}.
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class GeoPackageConnectionPool implements Closeable {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger logger = Logger
+			.getLogger(GeoPackageConnectionPool.class.getName());
+
+	/**
+	 * Default max number of read connections
+	 */
+	public static final int DEFAULT_MAX_READERS = 4;
+
+	/**
+	 * Factory for opening read connections to the same database as the
+	 * primary connection
+	 */
+	public interface ConnectionFactory {
+
+		/**
+		 * Open a read connection
+		 * 
+		 * @return connection
+		 */
+		public GeoPackageCoreConnection open();
+
+	}
+
+	/**
+	 * Leased read connection. Close the lease to return the connection to the
+	 * pool.
+	 */
+	public static class Lease implements Closeable {
+
+		/**
+		 * Pool
+		 */
+		private final GeoPackageConnectionPool pool;
+
+		/**
+		 * Pooled reader
+		 */
+		private final Reader reader;
+
+		/**
+		 * Released flag
+		 */
+		private boolean released = false;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param pool
+		 *            pool
+		 * @param reader
+		 *            pooled reader
+		 */
+		private Lease(GeoPackageConnectionPool pool, Reader reader) {
+			this.pool = pool;
+			this.reader = reader;
+		}
+
+		/**
+		 * Get the read connection
+		 * 
+		 * @return connection
+		 */
+		public GeoPackageCoreConnection getConnection() {
+			checkLeased();
+			return reader.connection;
+		}
+
+		/**
+		 * Get a resource reused across leases of this connection
+		 * 
+		 * @param <T>
+		 *            resource type
+		 * @param key
+		 *            resource key
+		 * @return resource or null
+		 */
+		public <T> T getResource(Object key) {
+			checkLeased();
+			@SuppressWarnings("unchecked")
+			T resource = (T) reader.resources.get(key);
+			return resource;
+		}
+
+		/**
+		 * Set a resource reused across leases of this connection. Closeable
+		 * resources are closed with the connection.
+		 * 
+		 * @param key
+		 *            resource key
+		 * @param resource
+		 *            resource
+		 */
+		public void setResource(Object key, Object resource) {
+			checkLeased();
+			reader.resources.put(key, resource);
+		}
+
+		/**
+		 * Determine if the lease has been released
+		 * 
+		 * @return true if released
+		 */
+		public boolean isReleased() {
+			return released;
+		}
+
+		/**
+		 * Release the connection back to the pool
+		 */
+		@Override
+		public void close() {
+			if (!released) {
+				released = true;
+				pool.release(reader);
+			}
+		}
+
+		/**
+		 * Verify the lease has not been released
+		 */
+		private void checkLeased() {
+			if (released) {
+				throw new GeoPackageException(
+						"Connection lease has been released");
+			}
+		}
+
+	}
+
+	/**
+	 * Pooled read connection and its reused resources
+	 */
+	private static class Reader {
+
+		/**
+		 * Connection
+		 */
+		private final GeoPackageCoreConnection connection;
+
+		/**
+		 * Resources reused across leases
+		 */
+		private final Map<Object, Object> resources = new HashMap<>();
+
+		/**
+		 * Constructor
+		 * 
+		 * @param connection
+		 *            connection
+		 */
+		private Reader(GeoPackageCoreConnection connection) {
+			this.connection = connection;
+		}
+
+		/**
+		 * Close the resources and connection
+		 */
+		private void close() {
+			for (Object resource : resources.values()) {
+				if (resource instanceof AutoCloseable) {
+					try {
+						((AutoCloseable) resource).close();
+					} catch (Exception e) {
+						logger.log(Level.WARNING,
+								"Failed to close pooled connection resource",
+								e);
+					}
+				}
+			}
+			resources.clear();
+			connection.close();
+		}
+
+	}
+
+	/**
+	 * Primary writer connection
+	 */
+	private final GeoPackageCoreConnection primary;
+
+	/**
+	 * Read connection factory
+	 */
+	private final ConnectionFactory factory;
+
+	/**
+	 * Max number of read connections
+	 */
+	private final int maxReaders;
+
+	/**
+	 * Idle read connections, most recently returned first
+	 */
+	private final LinkedBlockingDeque<Reader> idle = new LinkedBlockingDeque<>();
+
+	/**
+	 * Number of open read connections
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Number of leased read connections
+	 */
+	private final AtomicInteger leased = new AtomicInteger();
+
+	/**
+	 * Busy timeout in milliseconds set on new read connections, 0 to leave
+	 * unchanged
+	 */
+	private volatile int busyTimeout = 0;
+
+	/**
+	 * Closed flag
+	 */
+	private volatile boolean closed = false;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param primary
+	 *            primary writer connection
+	 * @param factory
+	 *            read connection factory
+	 */
+	public GeoPackageConnectionPool(GeoPackageCoreConnection primary,
+			ConnectionFactory factory) {
+		this(primary, factory, DEFAULT_MAX_READERS);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param primary
+	 *            primary writer connection
+	 * @param factory
+	 *            read connection factory
+	 * @param maxReaders
+	 *            max number of read connections
+	 */
+	public GeoPackageConnectionPool(GeoPackageCoreConnection primary,
+			ConnectionFactory factory, int maxReaders) {
+		if (maxReaders < 1) {
+			throw new GeoPackageException(
+					"Max readers must be positive: " + maxReaders);
+		}
+		this.primary = primary;
+		this.factory = factory;
+		this.maxReaders = maxReaders;
+	}
+
+	/**
+	 * Get the primary writer connection
+	 * 
+	 * @return primary connection
+	 */
+	public GeoPackageCoreConnection getPrimary() {
+		return primary;
+	}
+
+	/**
+	 * Get the max number of read connections
+	 * 
+	 * @return max readers
+	 */
+	public int getMaxReaders() {
+		return maxReaders;
+	}
+
+	/**
+	 * Get the number of open read connections
+	 * 
+	 * @return open readers
+	 */
+	public int getSize() {
+		return size.get();
+	}
+
+	/**
+	 * Get the number of leased read connections
+	 * 
+	 * @return leased readers
+	 */
+	public int getLeased() {
+		return leased.get();
+	}
+
+	/**
+	 * Get the number of idle read connections
+	 * 
+	 * @return idle readers
+	 */
+	public int getIdle() {
+		return idle.size();
+	}
+
+	/**
+	 * Get the busy timeout set on new read connections
+	 * 
+	 * @return busy timeout in milliseconds, 0 if unchanged
+	 */
+	public int getBusyTimeout() {
+		return busyTimeout;
+	}
+
+	/**
+	 * Set the busy timeout set on new read connections
+	 * 
+	 * @param busyTimeout
+	 *            busy timeout in milliseconds, 0 to leave unchanged
+	 */
+	public void setBusyTimeout(int busyTimeout) {
+		this.busyTimeout = busyTimeout;
+	}
+
+	/**
+	 * Enable write-ahead logging on the primary connection so readers do not
+	 * block on or block the writer
+	 * 
+	 * @return true if enabled or already enabled
+	 */
+	public boolean enableWriteAheadLogging() {
+		return primary.enableWriteAheadLogging();
+	}
+
+	/**
+	 * Determine if the database uses write-ahead logging
+	 * 
+	 * @return true if write-ahead logging
+	 */
+	public boolean isWriteAheadLogging() {
+		return primary.isWriteAheadLogging();
+	}
+
+	/**
+	 * Lease a read connection, waiting as needed for one to be returned
+	 * 
+	 * @return lease
+	 */
+	public Lease lease() {
+		Lease lease = null;
+		try {
+			while (lease == null) {
+				lease = lease(1, TimeUnit.SECONDS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted waiting for a read connection", e);
+		}
+		return lease;
+	}
+
+	/**
+	 * Lease a read connection, waiting up to the timeout for one to be
+	 * returned
+	 * 
+	 * @param timeout
+	 *            timeout
+	 * @param unit
+	 *            timeout unit
+	 * @return lease, or null if the timeout elapsed
+	 * @throws InterruptedException
+	 *             upon interruption while waiting
+	 */
+	public Lease lease(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		checkOpen();
+
+		Reader reader = idle.pollFirst();
+		if (reader == null) {
+			reader = open();
+			if (reader == null) {
+				reader = idle.pollFirst(timeout, unit);
+			}
+		}
+
+		Lease lease = null;
+		if (reader != null) {
+			if (closed) {
+				closeReader(reader);
+				checkOpen();
+			}
+			leased.incrementAndGet();
+			lease = new Lease(this, reader);
+		}
+		return lease;
+	}
+
+	/**
+	 * Open a new read connection if below the max size
+	 * 
+	 * @return reader or null if at the max size
+	 */
+	private Reader open() {
+		Reader reader = null;
+		int current;
+		while ((current = size.get()) < maxReaders) {
+			if (size.compareAndSet(current, current + 1)) {
+				try {
+					GeoPackageCoreConnection connection = factory.open();
+					configure(connection);
+					reader = new Reader(connection);
+				} catch (RuntimeException e) {
+					size.decrementAndGet();
+					throw e;
+				}
+				break;
+			}
+		}
+		return reader;
+	}
+
+	/**
+	 * Configure a new read connection
+	 * 
+	 * @param connection
+	 *            read connection
+	 */
+	protected void configure(GeoPackageCoreConnection connection) {
+		connection.setQueryOnly(true);
+		if (busyTimeout > 0) {
+			connection.setBusyTimeout(busyTimeout);
+		}
+	}
+
+	/**
+	 * Return a read connection to the pool
+	 * 
+	 * @param reader
+	 *            reader
+	 */
+	private void release(Reader reader) {
+		leased.decrementAndGet();
+		if (closed) {
+			closeReader(reader);
+		} else {
+			idle.offerFirst(reader);
+			if (closed && idle.remove(reader)) {
+				closeReader(reader);
+			}
+		}
+	}
+
+	/**
+	 * Close a reader and reduce the pool size
+	 * 
+	 * @param reader
+	 *            reader
+	 */
+	private void closeReader(Reader reader) {
+		size.decrementAndGet();
+		reader.close();
+	}
+
+	/**
+	 * Verify the pool is open
+	 */
+	private void checkOpen() {
+		if (closed) {
+			throw new GeoPackageException("Connection pool is closed");
+		}
+	}
+
+	/**
+	 * Determine if the pool is closed
+	 * 
+	 * @return true if closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Close the pool and idle read connections. Leased read connections are
+	 * closed when returned. The primary connection is not closed.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		Reader reader;
+		while ((reader = idle.pollFirst()) != null) {
+			closeReader(reader);
+		}
+	}
+
+}
@@ -3,11 +3,19 @@ package mil.nga.geopackage.db;
 import java.io.Closeable;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
 
 import mil.nga.geopackage.GeoPackageConstants;
 import mil.nga.geopackage.GeoPackageException;
@@ -29,11 +37,35 @@ public abstract class GeoPackageCoreConnection implements Closeable {
 	private static final Logger logger = Logger
 			.getLogger(GeoPackageCoreConnection.class.getName());
 
+	/**
+	 * Write-ahead logging journal mode
+	 * 
+	 * @since 3.4.1
+	 */
+	public static final String JOURNAL_MODE_WAL = "wal";
+
+	/**
+	 * SQLite journal modes
+	 */
+	private static final List<String> JOURNAL_MODES = Arrays.asList(
+			"delete", "truncate", "persist", "memory", JOURNAL_MODE_WAL, "off");
+
 	/**
 	 * Connection source
 	 */
 	protected final ConnectionSource connectionSource;
 
+	/**
+	 * Prepared statements by SQL, reused across compiled query executions
+	 */
+	private final StatementCache<CachedStatement> statementCache = new StatementCache<>(
+			new StatementCache.Closer<CachedStatement>() {
+				@Override
+				public void close(CachedStatement statement) {
+					statement.statement.closeQuietly();
+				}
+			});
+
 	/**
 	 * Constructor
 	 *
@@ -64,6 +96,16 @@ public abstract class GeoPackageCoreConnection implements Closeable {
 		return connectionSource;
 	}
 
+	/**
+	 * Get the prepared statement cache used by the compiled query methods
+	 * 
+	 * @return statement cache
+	 * @since 3.4.1
+	 */
+	public StatementCache<?> getStatementCache() {
+		return statementCache;
+	}
+
 	/**
 	 * Execute the sql
 	 * 
@@ -183,6 +225,96 @@ public abstract class GeoPackageCoreConnection implements Closeable {
 		return CoreSQLUtils.foreignKeys(this, on);
 	}
 
+	/**
+	 * Query for the journal mode
+	 * 
+	 * @return journal mode, lower case
+	 * @since 3.4.1
+	 */
+	public String getJournalMode() {
+		return toLowerCase(querySingleTypedResult("PRAGMA journal_mode", null,
+				GeoPackageDataType.TEXT));
+	}
+
+	/**
+	 * Change the journal mode
+	 * 
+	 * @param journalMode
+	 *            journal mode, one of DELETE, TRUNCATE, PERSIST, MEMORY, WAL
+	 *            or OFF
+	 * @return resulting journal mode, lower case
+	 * @since 3.4.1
+	 */
+	public String setJournalMode(String journalMode) {
+		String mode = toLowerCase(journalMode);
+		if (mode == null || !JOURNAL_MODES.contains(mode)) {
+			throw new GeoPackageException("Unsupported journal mode: "
+					+ journalMode + ", expected one of " + JOURNAL_MODES);
+		}
+		return toLowerCase(querySingleTypedResult(
+				"PRAGMA journal_mode = " + mode, null,
+				GeoPackageDataType.TEXT));
+	}
+
+	/**
+	 * Determine if the database uses write-ahead logging, allowing readers
+	 * on other connections to run concurrently with the writer
+	 * 
+	 * @return true if write-ahead logging
+	 * @since 3.4.1
+	 */
+	public boolean isWriteAheadLogging() {
+		return JOURNAL_MODE_WAL.equals(getJournalMode());
+	}
+
+	/**
+	 * Enable write-ahead logging
+	 * 
+	 * @return true if enabled or already enabled, false if not supported such
+	 *         as for in memory databases
+	 * @since 3.4.1
+	 */
+	public boolean enableWriteAheadLogging() {
+		boolean enabled = isWriteAheadLogging();
+		if (!enabled) {
+			enabled = JOURNAL_MODE_WAL.equals(setJournalMode(JOURNAL_MODE_WAL));
+		}
+		return enabled;
+	}
+
+	/**
+	 * Change the query only state, preventing changes to the database
+	 * 
+	 * @param on
+	 *            true to turn on, false to turn off
+	 * @since 3.4.1
+	 */
+	public void setQueryOnly(boolean on) {
+		execSQL("PRAGMA query_only = " + on);
+	}
+
+	/**
+	 * Set the busy timeout to wait on database locks
+	 * 
+	 * @param milliseconds
+	 *            busy timeout in milliseconds
+	 * @since 3.4.1
+	 */
+	public void setBusyTimeout(int milliseconds) {
+		querySingleResult("PRAGMA busy_timeout = " + milliseconds, null);
+	}
+
+	/**
+	 * Lower case the value
+	 * 
+	 * @param value
+	 *            value
+	 * @return lower case value or null
+	 */
+	private static String toLowerCase(String value) {
+		return value != null ? value.toLowerCase(Locale.US) : null;
+	}
+
 	/**
 	 * Perform a foreign key check
 	 * 
@@ -234,6 +366,83 @@ public abstract class GeoPackageCoreConnection implements Closeable {
 	 */
 	public abstract int count(String table, String where, String[] args);
 
+	/**
+	 * Delete rows in the table with typed bind arguments, bound natively
+	 * through a prepared statement reused across calls with the same SQL
+	 * 
+	 * @param table
+	 *            table name
+	 * @param whereClause
+	 *            where clause
+	 * @param bindings
+	 *            typed where arguments
+	 * @return rows deleted
+	 * @since 3.4.1
+	 */
+	public int deleteBound(String table, String whereClause,
+			Bindings bindings) {
+		StringBuilder sql = new StringBuilder("DELETE FROM ");
+		sql.append(CoreSQLUtils.quoteWrap(table));
+		if (whereClause != null) {
+			sql.append(" WHERE ").append(whereClause);
+		}
+		return runCompiled(sql.toString(), StatementType.DELETE,
+				binder(bindings), new StatementRunner<Integer>() {
+					@Override
+					public Integer run(DatabaseConnection connection,
+							CompiledStatement statement) throws SQLException {
+						return statement.runUpdate();
+					}
+				});
+	}
+
+	/**
+	 * Get a count of results with typed bind arguments, bound natively
+	 * through a prepared statement reused across calls with the same SQL
+	 * 
+	 * @param table
+	 *            table name
+	 * @param where
+	 *            where clause
+	 * @param bindings
+	 *            typed where arguments
+	 * @return count
+	 * @since 3.4.1
+	 */
+	public int countBound(String table, String where, Bindings bindings) {
+		StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM ");
+		sql.append(CoreSQLUtils.quoteWrap(table));
+		if (where != null) {
+			sql.append(" WHERE ").append(where);
+		}
+		Object count = querySingleResultBound(sql.toString(), bindings);
+		return count != null ? ((Number) count).intValue() : 0;
+	}
+
+	/**
+	 * Run the insert SQL with typed bind arguments, bound natively through a
+	 * prepared statement reused across calls with the same SQL
+	 * 
+	 * @param sql
+	 *            insert sql statement
+	 * @param bindings
+	 *            typed arguments
+	 * @return row id of the last inserted row
+	 * @since 3.4.1
+	 */
+	public long insertBound(String sql, Bindings bindings) {
+		return runCompiled(sql, StatementType.UPDATE, binder(bindings),
+				new StatementRunner<Long>() {
+					@Override
+					public Long run(DatabaseConnection connection,
+							CompiledStatement statement) throws SQLException {
+						statement.runUpdate();
+						return connection
+								.queryForLong("SELECT last_insert_rowid()");
+					}
+				});
+	}
+
 	/**
 	 * Get the min result of the column
 	 * 
@@ -273,6 +482,7 @@ public abstract class GeoPackageCoreConnection implements Closeable {
 	 */
 	@Override
 	public void close() {
+		statementCache.clear();
 		GeoPackageDaoManager.unregisterDaos(connectionSource);
 		connectionSource.closeQuietly();
 	}
@@ -451,6 +661,43 @@ public abstract class GeoPackageCoreConnection implements Closeable {
 	public abstract Object querySingleResult(String sql, String[] args,
 			int column, GeoPackageDataType dataType);
 
+	/**
+	 * Query the SQL for a single result object in the first column with typed
+	 * bind arguments
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param bindings
+	 *            typed arguments
+	 * @return result, null if no result
+	 * @since 3.4.1
+	 */
+	public Object querySingleResultBound(String sql, Bindings bindings) {
+		return querySingleResultBound(sql, bindings, 0, null);
+	}
+
+	/**
+	 * Query the SQL for a single result object with typed bind arguments and
+	 * the expected data type. The arguments are bound natively through a
+	 * prepared statement reused across calls with the same SQL.
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param bindings
+	 *            typed arguments
+	 * @param column
+	 *            column index
+	 * @param dataType
+	 *            GeoPackage data type
+	 * @return result, null if no result
+	 * @since 3.4.1
+	 */
+	public Object querySingleResultBound(String sql, Bindings bindings,
+			int column, GeoPackageDataType dataType) {
+		return querySingleResultCompiled(sql, binder(bindings), column,
+				dataType);
+	}
+
 	/**
 	 * Query the SQL for a single result typed object with the expected data
 	 * type
@@ -919,6 +1166,153 @@ public abstract class GeoPackageCoreConnection implements Closeable {
 	public abstract List<List<Object>> queryResults(String sql, String[] args,
 			GeoPackageDataType[] dataTypes, Integer limit);
 
+	/**
+	 * Query for values with typed bind arguments
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param bindings
+	 *            typed arguments
+	 * @return results
+	 * @since 3.4.1
+	 */
+	public List<List<Object>> queryResultsBound(String sql,
+			Bindings bindings) {
+		return queryResultsBound(sql, bindings, null, null);
+	}
+
+	/**
+	 * Query for values with typed bind arguments up to the limit. The
+	 * arguments are bound natively through a prepared statement reused
+	 * across calls with the same SQL.
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param bindings
+	 *            typed arguments
+	 * @param dataTypes
+	 *            column data types
+	 * @param limit
+	 *            result row limit
+	 * @return results
+	 * @since 3.4.1
+	 */
+	public List<List<Object>> queryResultsBound(String sql, Bindings bindings,
+			GeoPackageDataType[] dataTypes, Integer limit) {
+		return queryResultsCompiled(sql, binder(bindings), dataTypes, limit);
+	}
+
+	/**
+	 * Query the SQL for a single result object through a prepared statement
+	 * reused across calls with the same SQL
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param args
+	 *            arguments
+	 * @param column
+	 *            column index
+	 * @param dataType
+	 *            GeoPackage data type
+	 * @return result, null if no result
+	 * @since 3.4.1
+	 */
+	public Object querySingleResultCompiled(String sql, final String[] args,
+			int column, GeoPackageDataType dataType) {
+		return querySingleResultCompiled(sql, new StatementBinder() {
+			@Override
+			public void bind(CompiledStatement statement) throws SQLException {
+				bindArgs(statement, args);
+			}
+		}, column, dataType);
+	}
+
+	/**
+	 * Query the SQL for a single result object through a cached prepared
+	 * statement
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param binder
+	 *            argument binder
+	 * @param column
+	 *            column index
+	 * @param dataType
+	 *            GeoPackage data type
+	 * @return result, null if no result
+	 */
+	private Object querySingleResultCompiled(String sql,
+			StatementBinder binder, final int column,
+			final GeoPackageDataType dataType) {
+		return runCompiled(sql, StatementType.SELECT, binder,
+				new StatementRunner<Object>() {
+					@Override
+					public Object run(DatabaseConnection connection,
+							CompiledStatement statement) throws SQLException {
+						return ResultUtils.buildSingleResult(
+								new CompiledStatementResult(
+										statement.runQuery(null)),
+								column, dataType);
+					}
+				});
+	}
+
+	/**
+	 * Query for values up to the limit through a prepared statement reused
+	 * across calls with the same SQL
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param args
+	 *            arguments
+	 * @param dataTypes
+	 *            column data types
+	 * @param limit
+	 *            result row limit
+	 * @return results
+	 * @since 3.4.1
+	 */
+	public List<List<Object>> queryResultsCompiled(String sql,
+			final String[] args, GeoPackageDataType[] dataTypes,
+			Integer limit) {
+		return queryResultsCompiled(sql, new StatementBinder() {
+			@Override
+			public void bind(CompiledStatement statement) throws SQLException {
+				bindArgs(statement, args);
+			}
+		}, dataTypes, limit);
+	}
+
+	/**
+	 * Query for values up to the limit through a cached prepared statement
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param binder
+	 *            argument binder
+	 * @param dataTypes
+	 *            column data types
+	 * @param limit
+	 *            result row limit
+	 * @return results
+	 */
+	private List<List<Object>> queryResultsCompiled(String sql,
+			StatementBinder binder, final GeoPackageDataType[] dataTypes,
+			final Integer limit) {
+		return runCompiled(sql, StatementType.SELECT, binder,
+				new StatementRunner<List<List<Object>>>() {
+					@Override
+					public List<List<Object>> run(
+							DatabaseConnection connection,
+							CompiledStatement statement) throws SQLException {
+						return ResultUtils.buildResults(
+								new CompiledStatementResult(
+										statement.runQuery(null)),
+								dataTypes, limit);
+					}
+				});
+	}
+
 	/**
 	 * Query for typed values up to the limit
 	 * 
@@ -1022,4 +1416,198 @@ public abstract class GeoPackageCoreConnection implements Closeable {
 		return userVersion;
 	}
 
+	/**
+	 * Run the SQL through a prepared statement taken from the statement
+	 * cache, compiling it on a miss. The statement is released back to the
+	 * cache after a successful run and closed after a failure.
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param type
+	 *            statement type
+	 * @param binder
+	 *            statement argument binder
+	 * @param runner
+	 *            statement runner
+	 * @param <T>
+	 *            run result type
+	 * @return run result
+	 */
+	private <T> T runCompiled(String sql, StatementType type,
+			StatementBinder binder, StatementRunner<T> runner) {
+
+		T value = null;
+
+		DatabaseConnection connection = null;
+		CachedStatement cached = null;
+		try {
+			connection = connectionSource.getReadWriteConnection(null);
+			cached = statementCache.take(sql);
+			if (cached != null && cached.connection != connection) {
+				// Compiled on a different connection
+				cached.statement.closeQuietly();
+				cached = null;
+			}
+			if (cached == null) {
+				cached = new CachedStatement(connection,
+						connection.compileStatement(sql, type,
+								new FieldType[0],
+								DatabaseConnection.DEFAULT_RESULT_FLAGS,
+								false));
+			}
+			binder.bind(cached.statement);
+			value = runner.run(connection, cached.statement);
+			statementCache.release(sql, cached);
+			cached = null;
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to run compiled statement. SQL: " + sql, e);
+		} finally {
+			if (cached != null) {
+				cached.statement.closeQuietly();
+			}
+			if (connection != null) {
+				try {
+					connectionSource.releaseConnection(connection);
+				} catch (SQLException e) {
+					logger.log(Level.WARNING,
+							"Failed to release compiled statement connection",
+							e);
+				}
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * Bind the text arguments to the compiled statement
+	 * 
+	 * @param statement
+	 *            compiled statement
+	 * @param args
+	 *            arguments, may be null
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	private static void bindArgs(CompiledStatement statement, String[] args)
+			throws SQLException {
+		if (args != null) {
+			for (int i = 0; i < args.length; i++) {
+				statement.setObject(i, args[i], SqlType.STRING);
+			}
+		}
+	}
+
+	/**
+	 * Create a binder binding the typed arguments natively by storage class
+	 * 
+	 * @param bindings
+	 *            typed arguments, may be null
+	 * @return binder
+	 */
+	private static StatementBinder binder(final Bindings bindings) {
+		return new StatementBinder() {
+			@Override
+			public void bind(CompiledStatement statement) throws SQLException {
+				if (bindings != null) {
+					for (int i = 0; i < bindings.size(); i++) {
+						switch (bindings.getType(i)) {
+						case ResultUtils.FIELD_TYPE_INTEGER:
+							statement.setObject(i, bindings.getLong(i),
+									SqlType.LONG);
+							break;
+						case ResultUtils.FIELD_TYPE_FLOAT:
+							statement.setObject(i, bindings.getDouble(i),
+									SqlType.DOUBLE);
+							break;
+						case ResultUtils.FIELD_TYPE_STRING:
+							statement.setObject(i, bindings.getString(i),
+									SqlType.STRING);
+							break;
+						case ResultUtils.FIELD_TYPE_BLOB:
+							statement.setObject(i, bindings.getBlob(i),
+									SqlType.BYTE_ARRAY);
+							break;
+						default:
+							statement.setObject(i, null, SqlType.STRING);
+						}
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Compiled statement argument binder
+	 */
+	private interface StatementBinder {
+
+		/**
+		 * Bind the arguments to the statement
+		 * 
+		 * @param statement
+		 *            compiled statement
+		 * @throws SQLException
+		 *             upon failure
+		 */
+		void bind(CompiledStatement statement) throws SQLException;
+
+	}
+
+	/**
+	 * Compiled statement runner
+	 * 
+	 * @param <T>
+	 *            run result type
+	 */
+	private interface StatementRunner<T> {
+
+		/**
+		 * Run the bound statement
+		 * 
+		 * @param connection
+		 *            database connection the statement was compiled on
+		 * @param statement
+		 *            compiled statement
+		 * @return run result
+		 * @throws SQLException
+		 *             upon failure
+		 */
+		T run(DatabaseConnection connection, CompiledStatement statement)
+				throws SQLException;
+
+	}
+
+	/**
+	 * Cached prepared statement and the connection it was compiled on
+	 */
+	private static class CachedStatement {
+
+		/**
+		 * Database connection
+		 */
+		private final DatabaseConnection connection;
+
+		/**
+		 * Compiled statement
+		 */
+		private final CompiledStatement statement;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param connection
+		 *            database connection
+		 * @param statement
+		 *            compiled statement
+		 */
+		CachedStatement(DatabaseConnection connection,
+				CompiledStatement statement) {
+			this.connection = connection;
+			this.statement = statement;
+		}
+
+	}
+
 }
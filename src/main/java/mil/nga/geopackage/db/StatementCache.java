@@ -0,0 +1,262 @@
+package mil.nga.geopackage.db;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded least recently used cache of prepared statements by SQL for a
+ * single connection. Statements are taken from the cache for exclusive use
+ * and released back when done, so a statement is never used by two threads at
+ * once. Statements evicted or released in excess are closed.
+ * 
+ * @param <S>
+ *            prepared statement type
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class StatementCache<S> {
+
+	/**
+	 * Default max number of cached statements
+	 */
+	public static final int DEFAULT_MAX_SIZE = 32;
+
+	/**
+	 * Statement closer, called for statements leaving the cache
+	 * 
+	 * @param <S>
+	 *            prepared statement type
+	 */
+	public interface Closer<S> {
+
+		/**
+		 * Close the statement
+		 * 
+		 * @param statement
+		 *            prepared statement
+		 */
+		public void close(S statement);
+
+	}
+
+	/**
+	 * Statement closer
+	 */
+	private final Closer<S> closer;
+
+	/**
+	 * Idle statements by SQL in access order
+	 */
+	private final LinkedHashMap<String, S> statements = new LinkedHashMap<>(
+			16, 0.75f, true);
+
+	/**
+	 * Max number of cached statements
+	 */
+	private int maxSize;
+
+	/**
+	 * Cache hits
+	 */
+	private long hits = 0;
+
+	/**
+	 * Cache misses
+	 */
+	private long misses = 0;
+
+	/**
+	 * Cache evictions
+	 */
+	private long evictions = 0;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param closer
+	 *            statement closer
+	 */
+	public StatementCache(Closer<S> closer) {
+		this(closer, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param closer
+	 *            statement closer
+	 * @param maxSize
+	 *            max number of cached statements
+	 */
+	public StatementCache(Closer<S> closer, int maxSize) {
+		this.closer = closer;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Take the cached statement for the SQL for exclusive use
+	 * 
+	 * @param sql
+	 *            SQL
+	 * @return statement, or null if not cached or already in use
+	 */
+	public S take(String sql) {
+		S statement;
+		synchronized (statements) {
+			statement = statements.remove(sql);
+			if (statement != null) {
+				hits++;
+			} else {
+				misses++;
+			}
+		}
+		return statement;
+	}
+
+	/**
+	 * Release a statement back to the cache after use, evicting the least
+	 * recently used statements over the max size
+	 * 
+	 * @param sql
+	 *            SQL
+	 * @param statement
+	 *            statement
+	 */
+	public void release(String sql, S statement) {
+		List<S> closing = new ArrayList<>();
+		synchronized (statements) {
+			S previous = statements.put(sql, statement);
+			if (previous != null && previous != statement) {
+				closing.add(previous);
+			}
+			Iterator<S> iterator = statements.values().iterator();
+			while (statements.size() > maxSize && iterator.hasNext()) {
+				closing.add(iterator.next());
+				iterator.remove();
+				evictions++;
+			}
+		}
+		close(closing);
+	}
+
+	/**
+	 * Remove and close the cached statement for the SQL
+	 * 
+	 * @param sql
+	 *            SQL
+	 */
+	public void remove(String sql) {
+		S statement;
+		synchronized (statements) {
+			statement = statements.remove(sql);
+		}
+		if (statement != null) {
+			closer.close(statement);
+		}
+	}
+
+	/**
+	 * Remove and close all cached statements
+	 */
+	public void clear() {
+		List<S> closing;
+		synchronized (statements) {
+			closing = new ArrayList<>(statements.values());
+			statements.clear();
+		}
+		close(closing);
+	}
+
+	/**
+	 * Get the number of cached statements
+	 * 
+	 * @return size
+	 */
+	public int size() {
+		synchronized (statements) {
+			return statements.size();
+		}
+	}
+
+	/**
+	 * Get the max number of cached statements
+	 * 
+	 * @return max size
+	 */
+	public int getMaxSize() {
+		synchronized (statements) {
+			return maxSize;
+		}
+	}
+
+	/**
+	 * Set the max number of cached statements, evicting as needed
+	 * 
+	 * @param maxSize
+	 *            max size
+	 */
+	public void setMaxSize(int maxSize) {
+		List<S> closing = new ArrayList<>();
+		synchronized (statements) {
+			this.maxSize = maxSize;
+			Iterator<Map.Entry<String, S>> iterator = statements.entrySet()
+					.iterator();
+			while (statements.size() > maxSize && iterator.hasNext()) {
+				closing.add(iterator.next().getValue());
+				iterator.remove();
+				evictions++;
+			}
+		}
+		close(closing);
+	}
+
+	/**
+	 * Get the number of cache hits
+	 * 
+	 * @return hits
+	 */
+	public long getHits() {
+		synchronized (statements) {
+			return hits;
+		}
+	}
+
+	/**
+	 * Get the number of cache misses
+	 * 
+	 * @return misses
+	 */
+	public long getMisses() {
+		synchronized (statements) {
+			return misses;
+		}
+	}
+
+	/**
+	 * Get the number of evicted statements
+	 * 
+	 * @return evictions
+	 */
+	public long getEvictions() {
+		synchronized (statements) {
+			return evictions;
+		}
+	}
+
+	/**
+	 * Close the statements
+	 * 
+	 * @param closing
+	 *            statements to close
+	 */
+	private void close(List<S> closing) {
+		for (S statement : closing) {
+			closer.close(statement);
+		}
+	}
+
+}
@@ -11,6 +11,7 @@ import mil.nga.geopackage.db.GeoPackageCoreConnection;
 import mil.nga.geopackage.db.GeoPackageDataType;
 import mil.nga.geopackage.features.user.FeatureTable;
 import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.geopackage.geom.GeometryEnvelopeScanner;
 import mil.nga.geopackage.io.ResourceIOUtils;
 import mil.nga.geopackage.property.GeoPackageProperties;
 import mil.nga.geopackage.property.PropertyConstants;
@@ -1117,6 +1118,20 @@ public abstract class RTreeIndexCoreExtension extends BaseExtension {
 		return envelope;
 	}
 
+	/**
+	 * Get or scan a geometry envelope from GeoPackage geometry bytes without
+	 * reading the geometry. Intended for the ST_* SQL functions, which are
+	 * called once per row while loading the RTree index.
+	 * 
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @return geometry envelope or null if empty
+	 * @since 3.4.1
+	 */
+	protected GeometryEnvelope getEnvelope(byte[] bytes) {
+		return GeometryEnvelopeScanner.getOrScanEnvelope(bytes);
+	}
+
 	/**
 	 * Get the RTree Table name for the feature table and geometry column
 	 * 
@@ -2,8 +2,14 @@ package mil.nga.geopackage.extension.coverage;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackageConstants;
@@ -21,6 +27,7 @@ import mil.nga.geopackage.tiles.user.TileTable;
 import mil.nga.sf.proj.Projection;
 import mil.nga.sf.proj.ProjectionTransform;
 
+import org.locationtech.proj4j.CoordinateTransform;
 import org.locationtech.proj4j.ProjCoordinate;
 
 /**
@@ -134,6 +141,35 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	 */
 	protected GriddedCoverageEncodingType encoding = GriddedCoverageEncodingType.CENTER;
 
+	/**
+	 * Executor for reprojecting bands of rows in parallel, null to reproject
+	 * on the calling thread
+	 */
+	protected Executor reprojectionExecutor;
+
+	/**
+	 * Number of row bands reprojected in parallel, 0 or less to use the
+	 * reprojection executor parallelism
+	 */
+	protected int reprojectionBands = 0;
+
+	/**
+	 * Max source pixel error when approximating reprojection transforms, 0 or
+	 * less to transform every pixel exactly
+	 */
+	protected double reprojectionMaxError = 0;
+
+	/**
+	 * Decoded tile cache, null when not caching
+	 */
+	protected CoverageDataTileCache tileCache;
+
+	/**
+	 * Executor for decoding and sampling fetched tiles in parallel, null to
+	 * sample on the fetching thread
+	 */
+	protected Executor tileExecutor;
+
 	/**
 	 * Constructor
 	 * 
@@ -203,9 +239,39 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	public abstract Double getValue(GriddedTile griddedTile, TImage image,
 			int x, int y);
 
+	/**
+	 * Get the requested coverage data values as a primitive grid with the
+	 * requested width and height
+	 * 
+	 * @param request
+	 *            coverage data request
+	 * @param width
+	 *            coverage data request width
+	 * @param height
+	 *            coverage data request height
+	 * @return coverage data grid or null
+	 * @since 3.4.1
+	 */
+	public abstract CoverageDataGrid getGridValues(
+			CoverageDataRequest request, Integer width, Integer height);
+
+	/**
+	 * Get the requested unbounded coverage data values as a primitive grid.
+	 * Unbounded results retrieves and returns each coverage data pixel. The
+	 * grid size equals the width and height of all matching pixels.
+	 * 
+	 * @param request
+	 *            coverage data request
+	 * @return coverage data grid or null
+	 * @since 3.4.1
+	 */
+	public abstract CoverageDataGrid getGridValuesUnbounded(
+			CoverageDataRequest request);
+
 	/**
 	 * Get the requested coverage data values with the requested width and
-	 * height
+	 * height. The results are backed by the primitive grid and boxed only when
+	 * the boxed values are requested.
 	 * 
 	 * @param request
 	 *            coverage data request
@@ -215,8 +281,10 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	 *            coverage data request height
 	 * @return coverage data results
 	 */
-	public abstract CoverageDataResults getValues(CoverageDataRequest request,
-			Integer width, Integer height);
+	public CoverageDataResults getValues(CoverageDataRequest request,
+			Integer width, Integer height) {
+		return toResults(getGridValues(request, width, height));
+	}
 
 	/**
 	 * Get the requested unbounded coverage data values. Unbounded results
@@ -227,8 +295,9 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	 *            coverage data request
 	 * @return coverage data results
 	 */
-	public abstract CoverageDataResults getValuesUnbounded(
-			CoverageDataRequest request);
+	public CoverageDataResults getValuesUnbounded(CoverageDataRequest request) {
+		return toResults(getGridValuesUnbounded(request));
+	}
 
 	/**
 	 * Get the Tile Matrix Set
@@ -437,6 +506,338 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 		this.encoding = encoding;
 	}
 
+	/**
+	 * Get the reprojection executor
+	 * 
+	 * @return executor or null
+	 * @since 3.4.1
+	 */
+	public Executor getReprojectionExecutor() {
+		return reprojectionExecutor;
+	}
+
+	/**
+	 * Set the executor for reprojecting bands of requested rows in parallel.
+	 * Each band uses its own coordinate transform. When null, reprojection
+	 * runs on the calling thread.
+	 * 
+	 * @param reprojectionExecutor
+	 *            executor or null
+	 * @since 3.4.1
+	 */
+	public void setReprojectionExecutor(Executor reprojectionExecutor) {
+		this.reprojectionExecutor = reprojectionExecutor;
+	}
+
+	/**
+	 * Get the number of row bands reprojected in parallel
+	 * 
+	 * @return bands, 0 or less to use the reprojection executor parallelism
+	 * @since 3.4.1
+	 */
+	public int getReprojectionBands() {
+		return reprojectionBands;
+	}
+
+	/**
+	 * Set the number of row bands reprojected in parallel. When 0 or less,
+	 * the bands match the parallelism of the reprojection executor.
+	 * 
+	 * @param reprojectionBands
+	 *            bands, 0 or less to use the reprojection executor
+	 *            parallelism
+	 * @since 3.4.1
+	 */
+	public void setReprojectionBands(int reprojectionBands) {
+		this.reprojectionBands = reprojectionBands;
+	}
+
+	/**
+	 * Get the number of row bands to reproject in parallel, the set band
+	 * count or the parallelism of the reprojection executor
+	 * 
+	 * @return bands
+	 */
+	private int getReprojectionBandCount() {
+		int bands = reprojectionBands;
+		if (bands <= 0) {
+			int processors = Runtime.getRuntime().availableProcessors();
+			if (reprojectionExecutor instanceof ForkJoinPool) {
+				bands = ((ForkJoinPool) reprojectionExecutor)
+						.getParallelism();
+			} else if (reprojectionExecutor instanceof ThreadPoolExecutor) {
+				ThreadPoolExecutor pool = (ThreadPoolExecutor) reprojectionExecutor;
+				bands = Math.max(pool.getCorePoolSize(),
+						Math.min(pool.getMaximumPoolSize(), processors));
+			} else {
+				bands = processors;
+			}
+		}
+		return Math.max(1, bands);
+	}
+
+	/**
+	 * Get the max source pixel error when approximating reprojection
+	 * transforms
+	 * 
+	 * @return max pixel error, 0 or less when exact
+	 * @since 3.4.1
+	 */
+	public double getReprojectionMaxError() {
+		return reprojectionMaxError;
+	}
+
+	/**
+	 * Set the max source pixel error when approximating reprojection
+	 * transforms. When greater than 0, each requested row is transformed
+	 * exactly at its end points and midpoints, linearly interpolating between
+	 * them wherever the interpolated midpoint is within the max error of the
+	 * exact midpoint, and subdividing otherwise. Suited to transforms that
+	 * are nearly affine over the request, such as EPSG:4326 coverages
+	 * requested in Web Mercator.
+	 * 
+	 * @param reprojectionMaxError
+	 *            max pixel error, 0 or less to transform every pixel exactly
+	 * @since 3.4.1
+	 */
+	public void setReprojectionMaxError(double reprojectionMaxError) {
+		this.reprojectionMaxError = reprojectionMaxError;
+	}
+
+	/**
+	 * Get the decoded tile cache
+	 * 
+	 * @return tile cache or null
+	 * @since 3.4.1
+	 */
+	public CoverageDataTileCache getTileCache() {
+		return tileCache;
+	}
+
+	/**
+	 * Set the decoded tile cache. The cache may be shared with other coverage
+	 * data instances of the GeoPackage.
+	 * 
+	 * @param tileCache
+	 *            tile cache or null to stop caching
+	 * @since 3.4.1
+	 */
+	public void setTileCache(CoverageDataTileCache tileCache) {
+		this.tileCache = tileCache;
+	}
+
+	/**
+	 * Get the tile executor
+	 * 
+	 * @return executor or null
+	 * @since 3.4.1
+	 */
+	public Executor getTileExecutor() {
+		return tileExecutor;
+	}
+
+	/**
+	 * Set the executor for decoding and sampling fetched tiles in parallel
+	 * while the fetching thread continues reading tiles
+	 * 
+	 * @param tileExecutor
+	 *            executor or null to sample on the fetching thread
+	 * @since 3.4.1
+	 */
+	public void setTileExecutor(Executor tileExecutor) {
+		this.tileExecutor = tileExecutor;
+	}
+
+	/**
+	 * Sample the fetched tiles into the preallocated grid, in parallel on the
+	 * tile executor when set or on the calling thread when not
+	 * 
+	 * @param tiles
+	 *            fetched tiles, iterated on the calling thread
+	 * @param sampler
+	 *            tile sampler, writing only the grid region of each tile
+	 * @param grid
+	 *            preallocated coverage data grid
+	 * @param <T>
+	 *            fetched tile type
+	 * @return coverage data grid
+	 * @since 3.4.1
+	 */
+	protected <T> CoverageDataGrid sampleTiles(Iterator<T> tiles,
+			CoverageDataTilePipeline.TileSampler<T> sampler,
+			CoverageDataGrid grid) {
+		if (tileExecutor != null) {
+			new CoverageDataTilePipeline<T>(tileExecutor).sample(tiles,
+					sampler, grid);
+		} else {
+			while (tiles.hasNext()) {
+				sampler.sample(tiles.next(), grid);
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Get the unbounded results base grid row of a tile row
+	 * 
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param row
+	 *            tile row
+	 * @param minRow
+	 *            min tile row
+	 * @param firstHeight
+	 *            height of the results from the min tile row
+	 * @return base grid row
+	 * @since 3.4.1
+	 */
+	protected int getUnboundedBaseRow(TileMatrix tileMatrix, long row,
+			long minRow, int firstHeight) {
+		int baseRow = 0;
+		if (minRow < row) {
+			baseRow = firstHeight
+					+ (int) ((row - minRow - 1) * tileMatrix.getTileHeight());
+		}
+		return baseRow;
+	}
+
+	/**
+	 * Get the unbounded results base grid column of a tile column
+	 * 
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param column
+	 *            tile column
+	 * @param minColumn
+	 *            min tile column
+	 * @param firstWidth
+	 *            width of the results from the min tile column
+	 * @return base grid column
+	 * @since 3.4.1
+	 */
+	protected int getUnboundedBaseColumn(TileMatrix tileMatrix, long column,
+			long minColumn, int firstWidth) {
+		int baseColumn = 0;
+		if (minColumn < column) {
+			baseColumn = firstWidth
+					+ (int) ((column - minColumn - 1) * tileMatrix
+							.getTileWidth());
+		}
+		return baseColumn;
+	}
+
+	/**
+	 * Get a decoded tile from the tile cache
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param column
+	 *            tile column
+	 * @param row
+	 *            tile row
+	 * @return cached tile or null
+	 * @since 3.4.1
+	 */
+	protected CoverageDataTile getCachedTile(long zoomLevel, long column,
+			long row) {
+		CoverageDataTile tile = null;
+		if (tileCache != null) {
+			tile = tileCache.get(tileMatrixSet.getTableName(), zoomLevel,
+					column, row);
+		}
+		return tile;
+	}
+
+	/**
+	 * Add a decoded tile to the tile cache if caching
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param column
+	 *            tile column
+	 * @param row
+	 *            tile row
+	 * @param tile
+	 *            decoded tile
+	 * @since 3.4.1
+	 */
+	protected void cacheTile(long zoomLevel, long column, long row,
+			CoverageDataTile tile) {
+		if (tileCache != null) {
+			tileCache.put(tileMatrixSet.getTableName(), zoomLevel, column,
+					row, tile);
+		}
+	}
+
+	/**
+	 * Invalidate a cached decoded tile after the tile is written or deleted
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param column
+	 *            tile column
+	 * @param row
+	 *            tile row
+	 * @since 3.4.1
+	 */
+	public void invalidateTile(long zoomLevel, long column, long row) {
+		if (tileCache != null) {
+			tileCache.invalidate(tileMatrixSet.getTableName(), zoomLevel,
+					column, row);
+		}
+	}
+
+	/**
+	 * Invalidate all cached decoded tiles of the coverage data table
+	 * 
+	 * @since 3.4.1
+	 */
+	public void invalidateTiles() {
+		if (tileCache != null) {
+			tileCache.invalidate(tileMatrixSet.getTableName());
+		}
+	}
+
+	/**
+	 * Get the coverage data value of the decoded tile pixel
+	 * 
+	 * @param tile
+	 *            decoded tile
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @return coverage data value
+	 * @since 3.4.1
+	 */
+	public Double getValue(CoverageDataTile tile, int x, int y) {
+		return CoverageDataGrid.toBoxed(getGridValue(tile, x, y));
+	}
+
+	/**
+	 * Get the primitive coverage data value of the decoded tile pixel
+	 * 
+	 * @param tile
+	 *            decoded tile
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @return coverage data value or NaN for data null
+	 * @since 3.4.1
+	 */
+	public double getGridValue(CoverageDataTile tile, int x, int y) {
+		double value;
+		if (tile.isFloat()) {
+			value = getGridValue(tile.getGriddedTile(), getPixelValue(
+					tile.getFloatPixelValues(), tile.getWidth(), x, y));
+		} else {
+			value = getGridValue(tile.getGriddedTile(), getUnsignedPixelValue(
+					tile.getPixelValues(), tile.getWidth(), x, y));
+		}
+		return value;
+	}
+
 	/**
 	 * Get or create the extension
 	 * 
@@ -611,60 +1012,327 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 			ProjectionTransform transformRequestToCoverage,
 			BoundingBox coverageBoundingBox) {
 
-		final double requestedWidthUnitsPerPixel = (requestBoundingBox
-				.getMaxLongitude() - requestBoundingBox.getMinLongitude())
-				/ requestedCoverageWidth;
-		final double requestedHeightUnitsPerPixel = (requestBoundingBox
-				.getMaxLatitude() - requestBoundingBox.getMinLatitude())
-				/ requestedCoverageHeight;
-
-		final double tilesDistanceWidth = coverageBoundingBox.getMaxLongitude()
-				- coverageBoundingBox.getMinLongitude();
-		final double tilesDistanceHeight = coverageBoundingBox.getMaxLatitude()
-				- coverageBoundingBox.getMinLatitude();
-
 		final int width = values[0].length;
 		final int height = values.length;
 
+		int[] pixels = getReprojectedPixels(width, height,
+				requestedCoverageWidth, requestedCoverageHeight,
+				requestBoundingBox, transformRequestToCoverage,
+				coverageBoundingBox);
+
 		Double[][] projectedValues = new Double[requestedCoverageHeight][requestedCoverageWidth];
 
 		// Retrieve each coverage data value in the unprojected coverage data
+		int index = 0;
 		for (int y = 0; y < requestedCoverageHeight; y++) {
 			for (int x = 0; x < requestedCoverageWidth; x++) {
-
-				double longitude = requestBoundingBox.getMinLongitude()
-						+ (x * requestedWidthUnitsPerPixel);
-				double latitude = requestBoundingBox.getMaxLatitude()
-						- (y * requestedHeightUnitsPerPixel);
-				ProjCoordinate fromCoord = new ProjCoordinate(longitude,
-						latitude);
-				ProjCoordinate toCoord = transformRequestToCoverage
-						.transform(fromCoord);
-				double projectedLongitude = toCoord.x;
-				double projectedLatitude = toCoord.y;
-
-				int xPixel = (int) Math
-						.round(((projectedLongitude - coverageBoundingBox
-								.getMinLongitude()) / tilesDistanceWidth)
-								* width);
-				int yPixel = (int) Math
-						.round(((coverageBoundingBox.getMaxLatitude() - projectedLatitude) / tilesDistanceHeight)
-								* height);
-
-				xPixel = Math.max(0, xPixel);
-				xPixel = Math.min(width - 1, xPixel);
-
-				yPixel = Math.max(0, yPixel);
-				yPixel = Math.min(height - 1, yPixel);
-
-				Double coverageData = values[yPixel][xPixel];
-				projectedValues[y][x] = coverageData;
+				int pixel = pixels[index++];
+				projectedValues[y][x] = values[pixel / width][pixel % width];
 			}
 		}
 
 		return projectedValues;
 	}
 
+	/**
+	 * Reproject the coverage data grid to the requested projection
+	 *
+	 * @param grid
+	 *            coverage data grid
+	 * @param requestedCoverageWidth
+	 *            requested coverage data width
+	 * @param requestedCoverageHeight
+	 *            requested coverage data height
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @param transformRequestToCoverage
+	 *            transformation from request to coverage data
+	 * @param coverageBoundingBox
+	 *            coverage data bounding box
+	 * @return projected coverage data grid
+	 * @since 3.4.1
+	 */
+	protected CoverageDataGrid reprojectCoverageData(CoverageDataGrid grid,
+			int requestedCoverageWidth, int requestedCoverageHeight,
+			BoundingBox requestBoundingBox,
+			ProjectionTransform transformRequestToCoverage,
+			BoundingBox coverageBoundingBox) {
+
+		int[] pixels = getReprojectedPixels(grid.getWidth(), grid.getHeight(),
+				requestedCoverageWidth, requestedCoverageHeight,
+				requestBoundingBox, transformRequestToCoverage,
+				coverageBoundingBox);
+
+		double[] values = grid.getValues();
+		double[] projectedValues = new double[pixels.length];
+		for (int i = 0; i < pixels.length; i++) {
+			projectedValues[i] = values[pixels[i]];
+		}
+
+		return new CoverageDataGrid(projectedValues, requestedCoverageWidth,
+				requestedCoverageHeight, grid.getTileMatrix());
+	}
+
+	/**
+	 * Get the row major source pixel index, [row * width + column], of each
+	 * requested pixel when reprojecting coverage data to the requested
+	 * projection
+	 *
+	 * @param width
+	 *            coverage data width
+	 * @param height
+	 *            coverage data height
+	 * @param requestedCoverageWidth
+	 *            requested coverage data width
+	 * @param requestedCoverageHeight
+	 *            requested coverage data height
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @param transformRequestToCoverage
+	 *            transformation from request to coverage data
+	 * @param coverageBoundingBox
+	 *            coverage data bounding box
+	 * @return row major source pixel indices of the requested pixels
+	 * @since 3.4.1
+	 */
+	protected int[] getReprojectedPixels(int width, int height,
+			int requestedCoverageWidth, int requestedCoverageHeight,
+			BoundingBox requestBoundingBox,
+			ProjectionTransform transformRequestToCoverage,
+			BoundingBox coverageBoundingBox) {
+
+		final int[] pixels = new int[requestedCoverageWidth
+				* requestedCoverageHeight];
+
+		final ReprojectionGrid grid = new ReprojectionGrid(width, height,
+				requestedCoverageWidth, requestBoundingBox,
+				requestedCoverageHeight, coverageBoundingBox,
+				reprojectionMaxError);
+
+		if (reprojectionExecutor == null || requestedCoverageHeight < 2) {
+			grid.reproject(transformRequestToCoverage.getTransform(), 0,
+					requestedCoverageHeight, pixels);
+		} else {
+
+			// Reproject bands of rows in parallel, each with its own
+			// transform as coordinate transforms are not thread safe
+			final Projection fromProjection = transformRequestToCoverage
+					.getFromProjection();
+			final Projection toProjection = transformRequestToCoverage
+					.getToProjection();
+			int bands = Math.min(requestedCoverageHeight,
+					getReprojectionBandCount());
+			int bandHeight = (int) Math.ceil(requestedCoverageHeight
+					/ (double) bands);
+			List<CompletableFuture<Void>> futures = new ArrayList<>();
+			for (int row = 0; row < requestedCoverageHeight; row += bandHeight) {
+				final int startRow = row;
+				final int endRow = Math.min(requestedCoverageHeight, row
+						+ bandHeight);
+				futures.add(CompletableFuture.runAsync(new Runnable() {
+					@Override
+					public void run() {
+						grid.reproject(
+								fromProjection.getTransformation(toProjection)
+										.getTransform(), startRow, endRow,
+								pixels);
+					}
+				}, reprojectionExecutor));
+			}
+			try {
+				CompletableFuture.allOf(
+						futures.toArray(new CompletableFuture<?>[0]))
+						.join();
+			} catch (CompletionException e) {
+				throw new GeoPackageException(
+						"Failed to reproject coverage data", e.getCause());
+			}
+		}
+
+		return pixels;
+	}
+
+	/**
+	 * Reprojection of requested pixels to coverage data source pixels,
+	 * transforming a row at a time through reused coordinates
+	 */
+	private static class ReprojectionGrid {
+
+		private final int width;
+		private final int height;
+		private final int requestedWidth;
+		private final double minLongitude;
+		private final double maxLatitude;
+		private final double widthUnitsPerPixel;
+		private final double heightUnitsPerPixel;
+		private final double coverageMinLongitude;
+		private final double coverageMaxLatitude;
+		private final double coverageWidth;
+		private final double coverageHeight;
+		private final double maxError;
+
+		ReprojectionGrid(int width, int height, int requestedWidth,
+				BoundingBox requestBoundingBox, int requestedHeight,
+				BoundingBox coverageBoundingBox, double maxError) {
+			this.width = width;
+			this.height = height;
+			this.requestedWidth = requestedWidth;
+			minLongitude = requestBoundingBox.getMinLongitude();
+			maxLatitude = requestBoundingBox.getMaxLatitude();
+			widthUnitsPerPixel = (requestBoundingBox.getMaxLongitude() - minLongitude)
+					/ requestedWidth;
+			heightUnitsPerPixel = (maxLatitude - requestBoundingBox
+					.getMinLatitude()) / requestedHeight;
+			coverageMinLongitude = coverageBoundingBox.getMinLongitude();
+			coverageMaxLatitude = coverageBoundingBox.getMaxLatitude();
+			coverageWidth = coverageBoundingBox.getMaxLongitude()
+					- coverageMinLongitude;
+			coverageHeight = coverageMaxLatitude
+					- coverageBoundingBox.getMinLatitude();
+			this.maxError = maxError;
+		}
+
+		/**
+		 * Reproject the rows into the row major source pixel indices
+		 * 
+		 * @param transform
+		 *            coordinate transform used only by this call
+		 * @param startRow
+		 *            start row, inclusive
+		 * @param endRow
+		 *            end row, exclusive
+		 * @param pixels
+		 *            source pixel indices
+		 */
+		void reproject(CoordinateTransform transform, int startRow,
+				int endRow, int[] pixels) {
+
+			ProjCoordinate from = new ProjCoordinate();
+			ProjCoordinate to = new ProjCoordinate();
+			double[] xSource = new double[requestedWidth];
+			double[] ySource = new double[requestedWidth];
+
+			for (int y = startRow; y < endRow; y++) {
+
+				double latitude = maxLatitude - (y * heightUnitsPerPixel);
+
+				if (maxError > 0 && requestedWidth > 2) {
+					transform(transform, from, to, 0, latitude, xSource,
+							ySource);
+					transform(transform, from, to, requestedWidth - 1,
+							latitude, xSource, ySource);
+					approximate(transform, from, to, 0, requestedWidth - 1,
+							latitude, xSource, ySource);
+				} else {
+					for (int x = 0; x < requestedWidth; x++) {
+						transform(transform, from, to, x, latitude, xSource,
+								ySource);
+					}
+				}
+
+				int index = y * requestedWidth;
+				for (int x = 0; x < requestedWidth; x++) {
+					int xPixel = (int) Math.round(xSource[x]);
+					xPixel = Math.max(0, xPixel);
+					xPixel = Math.min(width - 1, xPixel);
+
+					int yPixel = (int) Math.round(ySource[x]);
+					yPixel = Math.max(0, yPixel);
+					yPixel = Math.min(height - 1, yPixel);
+
+					pixels[index++] = yPixel * width + xPixel;
+				}
+			}
+		}
+
+		/**
+		 * Exactly transform the requested pixel to a fractional source pixel
+		 * 
+		 * @param transform
+		 *            coordinate transform
+		 * @param from
+		 *            reused from coordinate
+		 * @param to
+		 *            reused to coordinate
+		 * @param x
+		 *            requested x pixel
+		 * @param latitude
+		 *            requested row latitude
+		 * @param xSource
+		 *            row fractional x source pixels
+		 * @param ySource
+		 *            row fractional y source pixels
+		 */
+		private void transform(CoordinateTransform transform,
+				ProjCoordinate from, ProjCoordinate to, int x,
+				double latitude, double[] xSource, double[] ySource) {
+			from.x = minLongitude + (x * widthUnitsPerPixel);
+			from.y = latitude;
+			transform.transform(from, to);
+			xSource[x] = ((to.x - coverageMinLongitude) / coverageWidth)
+					* width;
+			ySource[x] = ((coverageMaxLatitude - to.y) / coverageHeight)
+					* height;
+		}
+
+		/**
+		 * Fill the source pixels between the exactly transformed start and
+		 * end pixels, interpolating when the midpoint is within the max error
+		 * 
+		 * @param transform
+		 *            coordinate transform
+		 * @param from
+		 *            reused from coordinate
+		 * @param to
+		 *            reused to coordinate
+		 * @param start
+		 *            exactly transformed start x pixel
+		 * @param end
+		 *            exactly transformed end x pixel
+		 * @param latitude
+		 *            requested row latitude
+		 * @param xSource
+		 *            row fractional x source pixels
+		 * @param ySource
+		 *            row fractional y source pixels
+		 */
+		private void approximate(CoordinateTransform transform,
+				ProjCoordinate from, ProjCoordinate to, int start, int end,
+				double latitude, double[] xSource, double[] ySource) {
+
+			if (end - start < 2) {
+				return;
+			}
+
+			int middle = (start + end) >>> 1;
+			transform(transform, from, to, middle, latitude, xSource, ySource);
+
+			double ratio = (middle - start) / (double) (end - start);
+			double xError = Math.abs(xSource[start]
+					+ (xSource[end] - xSource[start]) * ratio - xSource[middle]);
+			double yError = Math.abs(ySource[start]
+					+ (ySource[end] - ySource[start]) * ratio - ySource[middle]);
+
+			if (xError <= maxError && yError <= maxError) {
+				for (int x = start + 1; x < end; x++) {
+					if (x != middle) {
+						double xRatio = (x - start) / (double) (end - start);
+						xSource[x] = xSource[start]
+								+ (xSource[end] - xSource[start]) * xRatio;
+						ySource[x] = ySource[start]
+								+ (ySource[end] - ySource[start]) * xRatio;
+					}
+				}
+			} else {
+				approximate(transform, from, to, start, middle, latitude,
+						xSource, ySource);
+				approximate(transform, from, to, middle, end, latitude,
+						xSource, ySource);
+			}
+		}
+
+	}
+
 	/**
 	 * Format the unbounded results from coverage data tiles into a single
 	 * double array of coverage data
@@ -736,13 +1404,8 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 						.entrySet()) {
 
 					// Determine the starting base row for this tile
-					long row = rows.getKey();
-					int baseRow = 0;
-					if (minRow < row) {
-						baseRow = firstHeight
-								+ (int) ((row - minRow - 1) * tileMatrix
-										.getTileHeight());
-					}
+					int baseRow = getUnboundedBaseRow(tileMatrix,
+							rows.getKey(), minRow, firstHeight);
 
 					// Get the row's columns map
 					Map<Long, Double[][]> columnsMap = rows.getValue();
@@ -751,13 +1414,8 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 							.entrySet()) {
 
 						// Determine the starting base column for this tile
-						long column = columns.getKey();
-						int baseColumn = 0;
-						if (minColumn < column) {
-							baseColumn = firstWidth
-									+ (int) ((column - minColumn - 1) * tileMatrix
-											.getTileWidth());
-						}
+						int baseColumn = getUnboundedBaseColumn(tileMatrix,
+								columns.getKey(), minColumn, firstWidth);
 
 						// Get the tiles coverage data values
 						Double[][] localValues = columns.getValue();
@@ -782,6 +1440,112 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 		return values;
 	}
 
+	/**
+	 * Format the unbounded results from coverage data tile grids into a single
+	 * coverage data grid
+	 * 
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param rowsMap
+	 *            rows map
+	 * @param tileCount
+	 *            tile count
+	 * @param minRow
+	 *            min row
+	 * @param maxRow
+	 *            max row
+	 * @param minColumn
+	 *            min column
+	 * @param maxColumn
+	 *            max column
+	 * @return coverage data grid
+	 * @since 3.4.1
+	 */
+	protected CoverageDataGrid formatUnboundedGrid(TileMatrix tileMatrix,
+			Map<Long, Map<Long, CoverageDataGrid>> rowsMap, int tileCount,
+			long minRow, long maxRow, long minColumn, long maxColumn) {
+
+		// Handle formatting the results
+		CoverageDataGrid grid = null;
+		if (!rowsMap.isEmpty()) {
+
+			// If only one tile result, use the coverage data as the result
+			if (tileCount == 1) {
+				grid = rowsMap.get(minRow).get(minColumn);
+			} else {
+
+				// Else, combine all results into a single coverage data grid
+
+				// Get the top left and bottom right coverage data grids
+				CoverageDataGrid topLeft = rowsMap.get(minRow).get(minColumn);
+				CoverageDataGrid bottomRight = rowsMap.get(maxRow).get(
+						maxColumn);
+
+				// Determine the width and height of the top left coverage data
+				// grid
+				int firstWidth = topLeft.getWidth();
+				int firstHeight = topLeft.getHeight();
+
+				// Determine the final grid width and height
+				int width = firstWidth;
+				int height = firstHeight;
+				if (minColumn < maxColumn) {
+					width += bottomRight.getWidth();
+					long middleColumns = maxColumn - minColumn - 1;
+					if (middleColumns > 0) {
+						width += (middleColumns * tileMatrix.getTileWidth());
+					}
+				}
+				if (minRow < maxRow) {
+					height += bottomRight.getHeight();
+					long middleRows = maxRow - minRow - 1;
+					if (middleRows > 0) {
+						height += (middleRows * tileMatrix.getTileHeight());
+					}
+				}
+
+				// Create the coverage data grid, missing tiles are no data
+				grid = new CoverageDataGrid(width, height, tileMatrix);
+				double[] values = grid.getValues();
+
+				// Copy the coverage data values from each tile grid into the
+				// final grid
+				for (Map.Entry<Long, Map<Long, CoverageDataGrid>> rows : rowsMap
+						.entrySet()) {
+
+					// Determine the starting base row for this tile
+					int baseRow = getUnboundedBaseRow(tileMatrix,
+							rows.getKey(), minRow, firstHeight);
+
+					for (Map.Entry<Long, CoverageDataGrid> columns : rows
+							.getValue().entrySet()) {
+
+						// Determine the starting base column for this tile
+						int baseColumn = getUnboundedBaseColumn(tileMatrix,
+								columns.getKey(), minColumn, firstWidth);
+
+						// Copy each local grid row to the global row and
+						// column location
+						CoverageDataGrid localGrid = columns.getValue();
+						int localWidth = localGrid.getWidth();
+						double[] localValues = localGrid.getValues();
+						for (int localRow = 0; localRow < localGrid
+								.getHeight(); localRow++) {
+							System.arraycopy(localValues,
+									localRow * localWidth, values,
+									(baseRow + localRow) * width + baseColumn,
+									localWidth);
+						}
+					}
+
+				}
+			}
+
+		}
+
+		return grid;
+	}
+
 	/**
 	 * Determine the x source pixel location
 	 * 
@@ -1073,7 +1837,63 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	}
 
 	/**
-	 * Get the Bilinear Interpolation coverage data value
+	 * Get the Bilinear Interpolation coverage data grid value
+	 * 
+	 * @param sourcePixelX
+	 *            source pixel x
+	 * @param sourcePixelY
+	 *            source pixel y
+	 * @param values
+	 *            2 x 2 coverage data values as [y][x], no data as
+	 *            {@link CoverageDataGrid#NO_DATA}
+	 * @return coverage data value or {@link CoverageDataGrid#NO_DATA}
+	 * @since 3.4.1
+	 */
+	protected double getBilinearInterpolationValue(
+			CoverageDataSourcePixel sourcePixelX,
+			CoverageDataSourcePixel sourcePixelY, double[][] values) {
+		return getBilinearInterpolationValue(sourcePixelX.getOffset(),
+				sourcePixelY.getOffset(), sourcePixelX.getMin(),
+				sourcePixelX.getMax(), sourcePixelY.getMin(),
+				sourcePixelY.getMax(), values);
+	}
+
+	/**
+	 * Get the Bilinear Interpolation coverage data value
+	 * 
+	 * @param offsetX
+	 *            x source pixel offset
+	 * @param offsetY
+	 *            y source pixel offset
+	 * @param minX
+	 *            min x value
+	 * @param maxX
+	 *            max x value
+	 * @param minY
+	 *            min y value
+	 * @param maxY
+	 *            max y value
+	 * @param values
+	 *            2 x 2 coverage data values as [y][x]
+	 * @return coverage data value
+	 */
+	protected Double getBilinearInterpolationValue(float offsetX,
+			float offsetY, float minX, float maxX, float minY, float maxY,
+			Double[][] values) {
+
+		Double value = null;
+
+		if (values != null) {
+			value = getBilinearInterpolationValue(offsetX, offsetY, minX, maxX,
+					minY, maxY, values[0][0], values[0][1], values[1][0],
+					values[1][1]);
+		}
+
+		return value;
+	}
+
+	/**
+	 * Get the Bilinear Interpolation coverage data grid value
 	 * 
 	 * @param offsetX
 	 *            x source pixel offset
@@ -1088,14 +1908,16 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	 * @param maxY
 	 *            max y value
 	 * @param values
-	 *            2 x 2 coverage data values as [y][x]
-	 * @return coverage data value
+	 *            2 x 2 coverage data values as [y][x], no data as
+	 *            {@link CoverageDataGrid#NO_DATA}
+	 * @return coverage data value or {@link CoverageDataGrid#NO_DATA}
+	 * @since 3.4.1
 	 */
-	protected Double getBilinearInterpolationValue(float offsetX,
+	protected double getBilinearInterpolationValue(float offsetX,
 			float offsetY, float minX, float maxX, float minY, float maxY,
-			Double[][] values) {
+			double[][] values) {
 
-		Double value = null;
+		double value = CoverageDataGrid.NO_DATA;
 
 		if (values != null) {
 			value = getBilinearInterpolationValue(offsetX, offsetY, minX, maxX,
@@ -1135,17 +1957,57 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 			float offsetY, float minX, float maxX, float minY, float maxY,
 			Double topLeft, Double topRight, Double bottomLeft,
 			Double bottomRight) {
+		return CoverageDataGrid.toBoxed(getBilinearInterpolationValue(offsetX,
+				offsetY, minX, maxX, minY, maxY,
+				CoverageDataGrid.toPrimitive(topLeft),
+				CoverageDataGrid.toPrimitive(topRight),
+				CoverageDataGrid.toPrimitive(bottomLeft),
+				CoverageDataGrid.toPrimitive(bottomRight)));
+	}
 
-		Double value = null;
+	/**
+	 * Get the Bilinear Interpolation coverage data grid value
+	 * 
+	 * @param offsetX
+	 *            x source pixel offset
+	 * @param offsetY
+	 *            y source pixel offset
+	 * @param minX
+	 *            min x value
+	 * @param maxX
+	 *            max x value
+	 * @param minY
+	 *            min y value
+	 * @param maxY
+	 *            max y value
+	 * @param topLeft
+	 *            top left coverage value
+	 * @param topRight
+	 *            top right coverage value
+	 * @param bottomLeft
+	 *            bottom left coverage value
+	 * @param bottomRight
+	 *            bottom right coverage value
+	 * @return coverage data value or {@link CoverageDataGrid#NO_DATA}
+	 * @since 3.4.1
+	 */
+	protected double getBilinearInterpolationValue(float offsetX,
+			float offsetY, float minX, float maxX, float minY, float maxY,
+			double topLeft, double topRight, double bottomLeft,
+			double bottomRight) {
 
-		if (topLeft != null && (topRight != null || minX == maxX)
-				&& (bottomLeft != null || minY == maxY)
-				&& (bottomRight != null || (minX == maxX && minY == maxY))) {
+		double value = CoverageDataGrid.NO_DATA;
+
+		if (!CoverageDataGrid.isNoData(topLeft)
+				&& (!CoverageDataGrid.isNoData(topRight) || minX == maxX)
+				&& (!CoverageDataGrid.isNoData(bottomLeft) || minY == maxY)
+				&& (!CoverageDataGrid.isNoData(bottomRight)
+						|| (minX == maxX && minY == maxY))) {
 
 			float diffX = maxX - minX;
 
 			double topRow;
-			Double bottomRow;
+			double bottomRow;
 			if (diffX == 0) {
 				topRow = topLeft;
 				bottomRow = bottomLeft;
@@ -1160,17 +2022,14 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 
 			float diffY = maxY - minY;
 
-			double result;
 			if (diffY == 0) {
-				result = topRow;
+				value = topRow;
 			} else {
 				float diffTop = offsetY;
 				float diffBottom = diffY - offsetY;
-				result = ((diffBottom / diffY) * topRow)
+				value = ((diffBottom / diffY) * topRow)
 						+ ((diffTop / diffY) * bottomRow);
 			}
-
-			value = result;
 		}
 
 		return value;
@@ -1195,6 +2054,27 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 				sourcePixelY.getOffset());
 	}
 
+	/**
+	 * Get the bicubic interpolation coverage data grid value from the 4 x 4
+	 * coverage data values
+	 * 
+	 * @param values
+	 *            coverage data values as [y][x], no data as
+	 *            {@link CoverageDataGrid#NO_DATA}
+	 * @param sourcePixelX
+	 *            source pixel x
+	 * @param sourcePixelY
+	 *            source pixel y
+	 * @return bicubic coverage data value or {@link CoverageDataGrid#NO_DATA}
+	 * @since 3.4.1
+	 */
+	protected double getBicubicInterpolationValue(double[][] values,
+			CoverageDataSourcePixel sourcePixelX,
+			CoverageDataSourcePixel sourcePixelY) {
+		return getBicubicInterpolationValue(values, sourcePixelX.getOffset(),
+				sourcePixelY.getOffset());
+	}
+
 	/**
 	 * Get the bicubic interpolation coverage data value from the 4 x 4 coverage
 	 * data values
@@ -1209,26 +2089,37 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	 */
 	protected Double getBicubicInterpolationValue(Double[][] values,
 			float offsetX, float offsetY) {
-
-		Double value = null;
-
-		Double[] rowValues = new Double[4];
-
+		double[][] gridValues = new double[4][4];
 		for (int y = 0; y < 4; y++) {
-			Double rowValue = getCubicInterpolationValue(values[y][0],
-					values[y][1], values[y][2], values[y][3], offsetX);
-			if (rowValue == null) {
-				rowValues = null;
-				break;
+			for (int x = 0; x < 4; x++) {
+				gridValues[y][x] = CoverageDataGrid.toPrimitive(values[y][x]);
 			}
-			rowValues[y] = rowValue;
-		}
-
-		if (rowValues != null) {
-			value = getCubicInterpolationValue(rowValues, offsetY);
 		}
+		return CoverageDataGrid.toBoxed(getBicubicInterpolationValue(
+				gridValues, offsetX, offsetY));
+	}
 
-		return value;
+	/**
+	 * Get the bicubic interpolation coverage data grid value from the 4 x 4
+	 * coverage data values
+	 * 
+	 * @param values
+	 *            coverage data values as [y][x], no data as
+	 *            {@link CoverageDataGrid#NO_DATA}
+	 * @param offsetX
+	 *            x source pixel offset
+	 * @param offsetY
+	 *            y source pixel offset
+	 * @return bicubic coverage data value or {@link CoverageDataGrid#NO_DATA}
+	 * @since 3.4.1
+	 */
+	protected double getBicubicInterpolationValue(double[][] values,
+			float offsetX, float offsetY) {
+		return getCubicInterpolationValue(
+				getCubicInterpolationValue(values[0], offsetX),
+				getCubicInterpolationValue(values[1], offsetX),
+				getCubicInterpolationValue(values[2], offsetX),
+				getCubicInterpolationValue(values[3], offsetX), offsetY);
 	}
 
 	/**
@@ -1249,6 +2140,27 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 		return value;
 	}
 
+	/**
+	 * Interpolate 4 grid values using the offset between value1 and value2
+	 * 
+	 * @param values
+	 *            coverage data values, no data as
+	 *            {@link CoverageDataGrid#NO_DATA}
+	 * @param offset
+	 *            offset between the middle two pixels
+	 * @return value coverage data value or {@link CoverageDataGrid#NO_DATA}
+	 * @since 3.4.1
+	 */
+	protected double getCubicInterpolationValue(double[] values,
+			double offset) {
+		double value = CoverageDataGrid.NO_DATA;
+		if (values != null) {
+			value = getCubicInterpolationValue(values[0], values[1], values[2],
+					values[3], offset);
+		}
+		return value;
+	}
+
 	/**
 	 * Interpolate 4 values using the offset between value1 and value2
 	 * 
@@ -1266,11 +2178,38 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	 */
 	protected Double getCubicInterpolationValue(Double value0, Double value1,
 			Double value2, Double value3, double offset) {
+		return CoverageDataGrid.toBoxed(getCubicInterpolationValue(
+				CoverageDataGrid.toPrimitive(value0),
+				CoverageDataGrid.toPrimitive(value1),
+				CoverageDataGrid.toPrimitive(value2),
+				CoverageDataGrid.toPrimitive(value3), offset));
+	}
 
-		Double value = null;
+	/**
+	 * Interpolate 4 grid values using the offset between value1 and value2
+	 * 
+	 * @param value0
+	 *            index 0 value
+	 * @param value1
+	 *            index 1 value
+	 * @param value2
+	 *            index 2 value
+	 * @param value3
+	 *            index 3 value
+	 * @param offset
+	 *            offset between the middle two pixels
+	 * @return value coverage data value or {@link CoverageDataGrid#NO_DATA}
+	 * @since 3.4.1
+	 */
+	protected double getCubicInterpolationValue(double value0, double value1,
+			double value2, double value3, double offset) {
 
-		if (value0 != null && value1 != null && value2 != null
-				&& value3 != null) {
+		double value = CoverageDataGrid.NO_DATA;
+
+		if (!CoverageDataGrid.isNoData(value0)
+				&& !CoverageDataGrid.isNoData(value1)
+				&& !CoverageDataGrid.isNoData(value2)
+				&& !CoverageDataGrid.isNoData(value3)) {
 
 			double coefficient0 = 2 * value1;
 			double coefficient1 = value2 - value0;
@@ -1503,6 +2442,97 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 		return values;
 	}
 
+	/**
+	 * Get the primitive coverage data value for the unsigned short pixel
+	 * value
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param unsignedPixelValue
+	 *            pixel value as an unsigned 16 bit integer
+	 * @return coverage data value or NaN for data null
+	 * @since 3.4.1
+	 */
+	public double getGridValue(GriddedTile griddedTile, int unsignedPixelValue) {
+
+		double value = CoverageDataGrid.NO_DATA;
+		if (!isDataNull(unsignedPixelValue)) {
+			value = pixelValueToGridValue(griddedTile, unsignedPixelValue);
+		}
+
+		return value;
+	}
+
+	/**
+	 * Get the primitive coverage data values from the "unsigned short" pixel
+	 * values
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param pixelValues
+	 *            pixel values as "unsigned shorts"
+	 * @return coverage data values, NaN for data null
+	 * @since 3.4.1
+	 */
+	public double[] getGridValues(GriddedTile griddedTile, short[] pixelValues) {
+		double[] values = new double[pixelValues.length];
+		for (int i = 0; i < pixelValues.length; i++) {
+			values[i] = getGridValue(griddedTile,
+					getUnsignedPixelValue(pixelValues[i]));
+		}
+		return values;
+	}
+
+	/**
+	 * Get the primitive coverage data values from the "unsigned short" pixel
+	 * values
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param unsignedPixelValues
+	 *            pixel values as 16 bit integers
+	 * @return coverage data values, NaN for data null
+	 * @since 3.4.1
+	 */
+	public double[] getGridValues(GriddedTile griddedTile,
+			int[] unsignedPixelValues) {
+		double[] values = new double[unsignedPixelValues.length];
+		for (int i = 0; i < unsignedPixelValues.length; i++) {
+			values[i] = getGridValue(griddedTile, unsignedPixelValues[i]);
+		}
+		return values;
+	}
+
+	/**
+	 * Convert integer coverage typed pixel value to a primitive coverage data
+	 * value through scales and offsets
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param pixelValue
+	 *            pixel value
+	 * @return coverage data value
+	 */
+	private double pixelValueToGridValue(GriddedTile griddedTile,
+			double pixelValue) {
+
+		double value = pixelValue;
+
+		if (griddedCoverage != null
+				&& griddedCoverage.getDataType() == GriddedCoverageDataType.INTEGER) {
+
+			if (griddedTile != null) {
+				value *= griddedTile.getScale();
+				value += griddedTile.getOffset();
+			}
+			value *= griddedCoverage.getScale();
+			value += griddedCoverage.getOffset();
+
+		}
+
+		return value;
+	}
+
 	/**
 	 * Create the coverage data tile table with metadata
 	 * 
@@ -1538,14 +2568,14 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	 * @param griddedTile
 	 *            gridded tile
 	 * @param value
-	 *            coverage data value
+	 *            coverage data value, null or NaN for data null
 	 * @return 16 bit integer pixel value
 	 */
 	public int getUnsignedPixelValue(GriddedTile griddedTile, Double value) {
 
 		int unsignedPixelValue = 0;
 
-		if (value == null) {
+		if (value == null || CoverageDataGrid.isNoData(value)) {
 			if (griddedCoverage != null) {
 				unsignedPixelValue = griddedCoverage.getDataNull().intValue();
 			}
@@ -1654,19 +2684,57 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 		return values;
 	}
 
+	/**
+	 * Get the primitive coverage data value for the pixel value
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param pixelValue
+	 *            pixel value
+	 * @return coverage data value or NaN for data null
+	 * @since 3.4.1
+	 */
+	public double getGridValue(GriddedTile griddedTile, float pixelValue) {
+
+		double value = CoverageDataGrid.NO_DATA;
+		if (!isDataNull(pixelValue)) {
+			value = pixelValueToGridValue(griddedTile, pixelValue);
+		}
+
+		return value;
+	}
+
+	/**
+	 * Get the primitive coverage data values from the pixel values
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param pixelValues
+	 *            pixel values
+	 * @return coverage data values, NaN for data null
+	 * @since 3.4.1
+	 */
+	public double[] getGridValues(GriddedTile griddedTile, float[] pixelValues) {
+		double[] values = new double[pixelValues.length];
+		for (int i = 0; i < pixelValues.length; i++) {
+			values[i] = getGridValue(griddedTile, pixelValues[i]);
+		}
+		return values;
+	}
+
 	/**
 	 * Get the pixel value of the coverage data value
 	 * 
 	 * @param griddedTile
 	 *            gridded tile
 	 * @param value
-	 *            coverage data value
+	 *            coverage data value, null or NaN for data null
 	 * @return pixel value
 	 */
 	public float getFloatPixelValue(GriddedTile griddedTile, Double value) {
 
 		double pixel = 0;
-		if (value == null) {
+		if (value == null || CoverageDataGrid.isNoData(value)) {
 			if (griddedCoverage != null) {
 				pixel = griddedCoverage.getDataNull();
 			}
@@ -1760,6 +2828,80 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 		return getValuesUnbounded(request);
 	}
 
+	/**
+	 * Get the requested coverage data values as a primitive grid
+	 * 
+	 * @param request
+	 *            coverage data request
+	 * @return coverage data grid or null
+	 * @since 3.4.1
+	 */
+	public CoverageDataGrid getGridValues(CoverageDataRequest request) {
+		return getGridValues(request, width, height);
+	}
+
+	/**
+	 * Get the coverage data values within the bounding box as a primitive
+	 * grid
+	 * 
+	 * @param requestBoundingBox
+	 *            request bounding box
+	 * @return coverage data grid or null
+	 * @since 3.4.1
+	 */
+	public CoverageDataGrid getGridValues(BoundingBox requestBoundingBox) {
+		return getGridValues(new CoverageDataRequest(requestBoundingBox));
+	}
+
+	/**
+	 * Get the coverage data values within the bounding box as a primitive
+	 * grid with the requested width and height
+	 * 
+	 * @param requestBoundingBox
+	 *            request bounding box
+	 * @param width
+	 *            coverage data request width
+	 * @param height
+	 *            coverage data request height
+	 * @return coverage data grid or null
+	 * @since 3.4.1
+	 */
+	public CoverageDataGrid getGridValues(BoundingBox requestBoundingBox,
+			Integer width, Integer height) {
+		return getGridValues(new CoverageDataRequest(requestBoundingBox),
+				width, height);
+	}
+
+	/**
+	 * Get the unbounded coverage data values within the bounding box as a
+	 * primitive grid
+	 * 
+	 * @param requestBoundingBox
+	 *            request bounding box
+	 * @return coverage data grid or null
+	 * @since 3.4.1
+	 */
+	public CoverageDataGrid getGridValuesUnbounded(
+			BoundingBox requestBoundingBox) {
+		return getGridValuesUnbounded(new CoverageDataRequest(
+				requestBoundingBox));
+	}
+
+	/**
+	 * Get the coverage data results backed by the primitive grid
+	 * 
+	 * @param grid
+	 *            coverage data grid or null
+	 * @return coverage data results or null
+	 */
+	private static CoverageDataResults toResults(CoverageDataGrid grid) {
+		CoverageDataResults results = null;
+		if (grid != null) {
+			results = new CoverageDataResults(grid);
+		}
+		return results;
+	}
+
 	/**
 	 * Get the bilinear interpolation coverage data value
 	 * 
@@ -1804,18 +2946,12 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 		CoverageDataSourcePixel sourcePixelX = getXSourceMinAndMax(xSource);
 		CoverageDataSourcePixel sourcePixelY = getYSourceMinAndMax(ySource);
 
-		Double[][] values = new Double[2][2];
+		double[][] values = new double[2][2];
 		populateValues(griddedTile, image, leftLastColumns, topLeftRows,
 				topRows, sourcePixelX, sourcePixelY, values);
 
-		Double value = null;
-
-		if (values != null) {
-			value = getBilinearInterpolationValue(sourcePixelX, sourcePixelY,
-					values);
-		}
-
-		return value;
+		return CoverageDataGrid.toBoxed(getBilinearInterpolationValue(
+				sourcePixelX, sourcePixelY, values));
 	}
 
 	/**
@@ -1867,18 +3003,12 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 		sourcePixelY.setMin(sourcePixelY.getMin() - 1);
 		sourcePixelY.setMax(sourcePixelY.getMax() + 1);
 
-		Double[][] values = new Double[4][4];
+		double[][] values = new double[4][4];
 		populateValues(griddedTile, image, leftLastColumns, topLeftRows,
 				topRows, sourcePixelX, sourcePixelY, values);
 
-		Double value = null;
-
-		if (values != null) {
-			value = getBicubicInterpolationValue(values, sourcePixelX,
-					sourcePixelY);
-		}
-
-		return value;
+		return CoverageDataGrid.toBoxed(getBicubicInterpolationValue(values,
+				sourcePixelX, sourcePixelY));
 	}
 
 	/**
@@ -1899,12 +3029,13 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	 * @param pixelY
 	 *            source y pixel
 	 * @param values
-	 *            values to populate
+	 *            values to populate, no data as
+	 *            {@link CoverageDataGrid#NO_DATA}
 	 */
 	private void populateValues(GriddedTile griddedTile, TImage image,
 			Double[][] leftLastColumns, Double[][] topLeftRows,
 			Double[][] topRows, CoverageDataSourcePixel pixelX,
-			CoverageDataSourcePixel pixelY, Double[][] values) {
+			CoverageDataSourcePixel pixelY, double[][] values) {
 
 		populateValues(griddedTile, image, leftLastColumns, topLeftRows,
 				topRows, pixelX.getMin(), pixelX.getMax(), pixelY.getMin(),
@@ -1933,24 +3064,21 @@ public abstract class CoverageDataCore<TImage extends CoverageDataImage>
 	 * @param maxY
 	 *            max y coordinate
 	 * @param values
-	 *            values to populate
+	 *            values to populate, no data as
+	 *            {@link CoverageDataGrid#NO_DATA}
 	 */
 	private void populateValues(GriddedTile griddedTile, TImage image,
 			Double[][] leftLastColumns, Double[][] topLeftRows,
 			Double[][] topRows, int minX, int maxX, int minY, int maxY,
-			Double[][] values) {
+			double[][] values) {
 
-		for (int yLocation = maxY; values != null && yLocation >= minY; yLocation--) {
+		for (int yLocation = maxY; yLocation >= minY; yLocation--) {
 			for (int xLocation = maxX; xLocation >= minX; xLocation--) {
 				Double value = getValueOverBorders(griddedTile, image,
 						leftLastColumns, topLeftRows, topRows, xLocation,
 						yLocation);
-				if (value == null) {
-					values = null;
-					break;
-				} else {
-					values[yLocation - minY][xLocation - minX] = value;
-				}
+				values[yLocation - minY][xLocation - minX] = CoverageDataGrid
+						.toPrimitive(value);
 			}
 		}
 	}
@@ -0,0 +1,267 @@
+package mil.nga.geopackage.extension.coverage;
+
+import java.util.Arrays;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.tiles.matrix.TileMatrix;
+
+/**
+ * Tiled Gridded Coverage Data primitive grid of coverage data values from a
+ * requested area from a tile matrix zoom level. Values are stored in a single
+ * row major double array, with {@link Double#NaN} marking no data where the
+ * boxed results use null.
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class CoverageDataGrid {
+
+	/**
+	 * No data value
+	 */
+	public static final double NO_DATA = Double.NaN;
+
+	/**
+	 * Coverage data values stored row major as [row * width + column]
+	 */
+	private final double[] values;
+
+	/**
+	 * Tile matrix used to find the coverage data values
+	 */
+	private final TileMatrix tileMatrix;
+
+	/**
+	 * Coverage data grid height
+	 */
+	private final int height;
+
+	/**
+	 * Coverage data grid width
+	 */
+	private final int width;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param values
+	 *            row major coverage data values
+	 * @param width
+	 *            grid width
+	 * @param height
+	 *            grid height
+	 * @param tileMatrix
+	 *            tile matrix
+	 */
+	public CoverageDataGrid(double[] values, int width, int height,
+			TileMatrix tileMatrix) {
+		if (values.length != width * height) {
+			throw new GeoPackageException(
+					"Coverage data values length does not match the grid size. Length: "
+							+ values.length + ", Width: " + width
+							+ ", Height: " + height);
+		}
+		this.values = values;
+		this.width = width;
+		this.height = height;
+		this.tileMatrix = tileMatrix;
+	}
+
+	/**
+	 * Constructor, creating a grid filled with no data values
+	 * 
+	 * @param width
+	 *            grid width
+	 * @param height
+	 *            grid height
+	 * @param tileMatrix
+	 *            tile matrix
+	 */
+	public CoverageDataGrid(int width, int height, TileMatrix tileMatrix) {
+		this(newNoDataValues(width * height), width, height, tileMatrix);
+	}
+
+	/**
+	 * Constructor, unboxing coverage data values stored as [row][column]
+	 * 
+	 * @param values
+	 *            coverage data values
+	 * @param tileMatrix
+	 *            tile matrix
+	 */
+	public CoverageDataGrid(Double[][] values, TileMatrix tileMatrix) {
+		this(toPrimitive(values), values[0].length, values.length,
+				tileMatrix);
+	}
+
+	/**
+	 * Get the row major coverage data values, no data values are NaN
+	 * 
+	 * @return coverage data values
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+	/**
+	 * Get the tile matrix used to find the coverage data values
+	 * 
+	 * @return tile matrix
+	 */
+	public TileMatrix getTileMatrix() {
+		return tileMatrix;
+	}
+
+	/**
+	 * Get the grid height
+	 * 
+	 * @return height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get the grid width
+	 * 
+	 * @return width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the coverage data value at the row and column
+	 * 
+	 * @param row
+	 *            row index
+	 * @param column
+	 *            column index
+	 * @return coverage data value or NaN for no data
+	 */
+	public double getValue(int row, int column) {
+		return values[row * width + column];
+	}
+
+	/**
+	 * Set the coverage data value at the row and column
+	 * 
+	 * @param row
+	 *            row index
+	 * @param column
+	 *            column index
+	 * @param value
+	 *            coverage data value or NaN for no data
+	 */
+	public void setValue(int row, int column, double value) {
+		values[row * width + column] = value;
+	}
+
+	/**
+	 * Check if the coverage data value at the row and column is no data
+	 * 
+	 * @param row
+	 *            row index
+	 * @param column
+	 *            column index
+	 * @return true if no data
+	 */
+	public boolean isNoData(int row, int column) {
+		return isNoData(getValue(row, column));
+	}
+
+	/**
+	 * Get the zoom level of the grid
+	 * 
+	 * @return zoom level
+	 */
+	public long getZoomLevel() {
+		return tileMatrix.getZoomLevel();
+	}
+
+	/**
+	 * Get the coverage data values boxed as [row][column], no data values are
+	 * null
+	 * 
+	 * @return coverage data values
+	 */
+	public Double[][] toBoxedValues() {
+		Double[][] boxed = new Double[height][width];
+		for (int row = 0; row < height; row++) {
+			int rowOffset = row * width;
+			for (int column = 0; column < width; column++) {
+				boxed[row][column] = toBoxed(values[rowOffset + column]);
+			}
+		}
+		return boxed;
+	}
+
+	/**
+	 * Check if the value is no data
+	 * 
+	 * @param value
+	 *            coverage data value
+	 * @return true if no data
+	 */
+	public static boolean isNoData(double value) {
+		return Double.isNaN(value);
+	}
+
+	/**
+	 * Convert a boxed coverage data value to a primitive value
+	 * 
+	 * @param value
+	 *            coverage data value or null
+	 * @return coverage data value or NaN for no data
+	 */
+	public static double toPrimitive(Double value) {
+		return value != null ? value : NO_DATA;
+	}
+
+	/**
+	 * Convert a primitive coverage data value to a boxed value
+	 * 
+	 * @param value
+	 *            coverage data value or NaN
+	 * @return coverage data value or null for no data
+	 */
+	public static Double toBoxed(double value) {
+		return isNoData(value) ? null : value;
+	}
+
+	/**
+	 * Unbox coverage data values stored as [row][column] into a row major
+	 * array
+	 * 
+	 * @param values
+	 *            coverage data values
+	 * @return row major coverage data values
+	 */
+	private static double[] toPrimitive(Double[][] values) {
+		int height = values.length;
+		int width = values[0].length;
+		double[] primitive = new double[width * height];
+		for (int row = 0; row < height; row++) {
+			Double[] rowValues = values[row];
+			int rowOffset = row * width;
+			for (int column = 0; column < width; column++) {
+				primitive[rowOffset + column] = toPrimitive(rowValues[column]);
+			}
+		}
+		return primitive;
+	}
+
+	/**
+	 * Create a values array filled with no data
+	 * 
+	 * @param length
+	 *            values length
+	 * @return no data values
+	 */
+	private static double[] newNoDataValues(int length) {
+		double[] values = new double[length];
+		Arrays.fill(values, NO_DATA);
+		return values;
+	}
+
+}
@@ -4,7 +4,9 @@ import mil.nga.geopackage.tiles.matrix.TileMatrix;
 
 /**
  * Tiled Gridded Coverage Data results containing the coverage values from a
- * requested area from a tile matrix zoom level
+ * requested area from a tile matrix zoom level. Backed by either boxed values
+ * or a primitive {@link CoverageDataGrid}, converting to the other form on
+ * request.
  * 
  * @author osbornb
  * @since 2.0.1
@@ -14,7 +16,12 @@ public class CoverageDataResults {
 	/**
 	 * Double array of coverage data values stored as [row][column]
 	 */
-	private final Double[][] values;
+	private Double[][] values;
+
+	/**
+	 * Primitive coverage data values grid
+	 */
+	private CoverageDataGrid grid;
 
 	/**
 	 * Tile matrix used to find the coverage data values
@@ -46,15 +53,45 @@ public class CoverageDataResults {
 		width = values[0].length;
 	}
 
+	/**
+	 * Constructor
+	 * 
+	 * @param grid
+	 *            primitive coverage data values grid
+	 * @since 3.4.1
+	 */
+	public CoverageDataResults(CoverageDataGrid grid) {
+		this.grid = grid;
+		this.tileMatrix = grid.getTileMatrix();
+		height = grid.getHeight();
+		width = grid.getWidth();
+	}
+
 	/**
 	 * Get the double array of coverage data values stored as [row][column]
 	 * 
 	 * @return coverage data values
 	 */
 	public Double[][] getValues() {
+		if (values == null) {
+			values = grid.toBoxedValues();
+		}
 		return values;
 	}
 
+	/**
+	 * Get the primitive coverage data values grid
+	 * 
+	 * @return coverage data grid
+	 * @since 3.4.1
+	 */
+	public CoverageDataGrid getGrid() {
+		if (grid == null) {
+			grid = new CoverageDataGrid(values, tileMatrix);
+		}
+		return grid;
+	}
+
 	/**
 	 * Get the tile matrix used to find the coverage data values
 	 * 
@@ -92,7 +129,13 @@ public class CoverageDataResults {
 	 * @return coverage data value
 	 */
 	public Double getValue(int row, int column) {
-		return values[row][column];
+		Double value = null;
+		if (values != null) {
+			value = values[row][column];
+		} else {
+			value = CoverageDataGrid.toBoxed(grid.getValue(row, column));
+		}
+		return value;
 	}
 
 	/**
@@ -0,0 +1,150 @@
+package mil.nga.geopackage.extension.coverage;
+
+/**
+ * Decoded Tiled Gridded Coverage Data tile, holding the tile pixel values and
+ * the gridded tile scale and offset. Pixel values are "unsigned short" values
+ * for integer coverage data or float values for float coverage data.
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class CoverageDataTile {
+
+	/**
+	 * Gridded tile
+	 */
+	private final GriddedTile griddedTile;
+
+	/**
+	 * Tile width
+	 */
+	private final int width;
+
+	/**
+	 * Tile height
+	 */
+	private final int height;
+
+	/**
+	 * "Unsigned short" pixel values for integer coverage data
+	 */
+	private final short[] pixelValues;
+
+	/**
+	 * Float pixel values for float coverage data
+	 */
+	private final float[] floatPixelValues;
+
+	/**
+	 * Constructor for integer coverage data
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param width
+	 *            tile width
+	 * @param height
+	 *            tile height
+	 * @param pixelValues
+	 *            "unsigned short" pixel values
+	 */
+	public CoverageDataTile(GriddedTile griddedTile, int width, int height,
+			short[] pixelValues) {
+		this.griddedTile = griddedTile;
+		this.width = width;
+		this.height = height;
+		this.pixelValues = pixelValues;
+		this.floatPixelValues = null;
+	}
+
+	/**
+	 * Constructor for float coverage data
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param width
+	 *            tile width
+	 * @param height
+	 *            tile height
+	 * @param pixelValues
+	 *            float pixel values
+	 */
+	public CoverageDataTile(GriddedTile griddedTile, int width, int height,
+			float[] pixelValues) {
+		this.griddedTile = griddedTile;
+		this.width = width;
+		this.height = height;
+		this.pixelValues = null;
+		this.floatPixelValues = pixelValues;
+	}
+
+	/**
+	 * Get the gridded tile
+	 * 
+	 * @return gridded tile
+	 */
+	public GriddedTile getGriddedTile() {
+		return griddedTile;
+	}
+
+	/**
+	 * Get the tile width
+	 * 
+	 * @return width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the tile height
+	 * 
+	 * @return height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Is the tile float coverage data
+	 * 
+	 * @return true if float pixel values
+	 */
+	public boolean isFloat() {
+		return floatPixelValues != null;
+	}
+
+	/**
+	 * Get the "unsigned short" pixel values for integer coverage data
+	 * 
+	 * @return pixel values or null
+	 */
+	public short[] getPixelValues() {
+		return pixelValues;
+	}
+
+	/**
+	 * Get the float pixel values for float coverage data
+	 * 
+	 * @return pixel values or null
+	 */
+	public float[] getFloatPixelValues() {
+		return floatPixelValues;
+	}
+
+	/**
+	 * Get the approximate memory size of the decoded tile in bytes
+	 * 
+	 * @return byte size
+	 */
+	public long getByteSize() {
+		long size = 64;
+		if (pixelValues != null) {
+			size += 2L * pixelValues.length;
+		}
+		if (floatPixelValues != null) {
+			size += 4L * floatPixelValues.length;
+		}
+		return size;
+	}
+
+}
@@ -0,0 +1,309 @@
+package mil.nga.geopackage.extension.coverage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread safe cache of decoded Tiled Gridded Coverage Data tiles keyed by
+ * table name, zoom level, tile column, and tile row. Tiles are evicted in
+ * least recently used order when the cached tile bytes exceed the memory
+ * budget. A single cache may be shared by the coverage data instances of a
+ * GeoPackage, and tile writers must invalidate the tiles they change.
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class CoverageDataTileCache {
+
+	/**
+	 * Default memory budget in bytes
+	 */
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+	/**
+	 * Cached tiles in least to most recently used order
+	 */
+	private final LinkedHashMap<Key, CoverageDataTile> tiles = new LinkedHashMap<>(
+			16, 0.75f, true);
+
+	/**
+	 * Memory budget in bytes
+	 */
+	private long maxBytes;
+
+	/**
+	 * Cached tile bytes
+	 */
+	private long bytes = 0;
+
+	/**
+	 * Cache hits
+	 */
+	private long hits = 0;
+
+	/**
+	 * Cache misses
+	 */
+	private long misses = 0;
+
+	/**
+	 * Evicted tiles
+	 */
+	private long evictions = 0;
+
+	/**
+	 * Constructor, with the default memory budget
+	 */
+	public CoverageDataTileCache() {
+		this(DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param maxBytes
+	 *            memory budget in bytes
+	 */
+	public CoverageDataTileCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Get a cached tile
+	 * 
+	 * @param tableName
+	 *            coverage data table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param column
+	 *            tile column
+	 * @param row
+	 *            tile row
+	 * @return cached tile or null
+	 */
+	public synchronized CoverageDataTile get(String tableName,
+			long zoomLevel, long column, long row) {
+		CoverageDataTile tile = tiles.get(new Key(tableName, zoomLevel,
+				column, row));
+		if (tile != null) {
+			hits++;
+		} else {
+			misses++;
+		}
+		return tile;
+	}
+
+	/**
+	 * Cache a tile, evicting least recently used tiles over the memory
+	 * budget. Tiles larger than the memory budget are not cached.
+	 * 
+	 * @param tableName
+	 *            coverage data table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param column
+	 *            tile column
+	 * @param row
+	 *            tile row
+	 * @param tile
+	 *            decoded tile
+	 */
+	public synchronized void put(String tableName, long zoomLevel,
+			long column, long row, CoverageDataTile tile) {
+		Key key = new Key(tableName, zoomLevel, column, row);
+		CoverageDataTile previous = tiles.remove(key);
+		if (previous != null) {
+			bytes -= previous.getByteSize();
+		}
+		long tileBytes = tile.getByteSize();
+		if (tileBytes <= maxBytes) {
+			tiles.put(key, tile);
+			bytes += tileBytes;
+			evict();
+		}
+	}
+
+	/**
+	 * Invalidate a cached tile
+	 * 
+	 * @param tableName
+	 *            coverage data table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param column
+	 *            tile column
+	 * @param row
+	 *            tile row
+	 * @return true if a cached tile was removed
+	 */
+	public synchronized boolean invalidate(String tableName, long zoomLevel,
+			long column, long row) {
+		CoverageDataTile tile = tiles.remove(new Key(tableName, zoomLevel,
+				column, row));
+		if (tile != null) {
+			bytes -= tile.getByteSize();
+		}
+		return tile != null;
+	}
+
+	/**
+	 * Invalidate all cached tiles of a table
+	 * 
+	 * @param tableName
+	 *            coverage data table name
+	 * @return number of removed tiles
+	 */
+	public synchronized int invalidate(String tableName) {
+		int count = 0;
+		Iterator<Map.Entry<Key, CoverageDataTile>> iterator = tiles
+				.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Key, CoverageDataTile> entry = iterator.next();
+			if (entry.getKey().tableName.equals(tableName)) {
+				bytes -= entry.getValue().getByteSize();
+				iterator.remove();
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Clear all cached tiles
+	 */
+	public synchronized void clear() {
+		tiles.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * Get the memory budget
+	 * 
+	 * @return max bytes
+	 */
+	public synchronized long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Set the memory budget, evicting least recently used tiles over it
+	 * 
+	 * @param maxBytes
+	 *            max bytes
+	 */
+	public synchronized void setMaxBytes(long maxBytes) {
+		this.maxBytes = maxBytes;
+		evict();
+	}
+
+	/**
+	 * Get the cached tile bytes
+	 * 
+	 * @return bytes
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Get the number of cached tiles
+	 * 
+	 * @return tile count
+	 */
+	public synchronized int size() {
+		return tiles.size();
+	}
+
+	/**
+	 * Get the number of cache hits
+	 * 
+	 * @return hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Get the number of cache misses
+	 * 
+	 * @return misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Get the number of evicted tiles
+	 * 
+	 * @return evictions
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Reset the hit, miss, and eviction counts
+	 */
+	public synchronized void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	/**
+	 * Evict least recently used tiles until within the memory budget
+	 */
+	private void evict() {
+		Iterator<CoverageDataTile> iterator = tiles.values().iterator();
+		while (bytes > maxBytes && iterator.hasNext()) {
+			bytes -= iterator.next().getByteSize();
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Cache key of table name, zoom level, tile column, and tile row
+	 */
+	private static class Key {
+
+		private final String tableName;
+		private final long zoomLevel;
+		private final long column;
+		private final long row;
+
+		Key(String tableName, long zoomLevel, long column, long row) {
+			this.tableName = tableName;
+			this.zoomLevel = zoomLevel;
+			this.column = column;
+			this.row = row;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + tableName.hashCode();
+			result = prime * result + (int) (zoomLevel ^ (zoomLevel >>> 32));
+			result = prime * result + (int) (column ^ (column >>> 32));
+			result = prime * result + (int) (row ^ (row >>> 32));
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return zoomLevel == other.zoomLevel && column == other.column
+					&& row == other.row && tableName.equals(other.tableName);
+		}
+
+	}
+
+}
@@ -0,0 +1,147 @@
+package mil.nga.geopackage.extension.coverage;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import mil.nga.geopackage.GeoPackageException;
+
+/**
+ * Tiled Gridded Coverage Data tile pipeline. The calling thread streams
+ * fetched tiles, such as tile blobs read from a result set, while executor
+ * worker threads concurrently decode and sample each tile directly into its
+ * own region of a preallocated coverage data grid. The number of fetched
+ * tiles waiting on or being processed by workers is bounded to limit memory.
+ * 
+ * @param <T>
+ *            fetched tile type
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class CoverageDataTilePipeline<T> {
+
+	/**
+	 * Default max fetched tiles pending on workers
+	 */
+	public static final int DEFAULT_MAX_PENDING = 16;
+
+	/**
+	 * Tile sampler, decoding a fetched tile and writing its samples into the
+	 * grid
+	 * 
+	 * @param <T>
+	 *            fetched tile type
+	 */
+	public interface TileSampler<T> {
+
+		/**
+		 * Decode the fetched tile and write its coverage data values into the
+		 * grid. Called concurrently on worker threads, so writes must be
+		 * limited to the grid region covered by the tile.
+		 * 
+		 * @param tile
+		 *            fetched tile
+		 * @param grid
+		 *            coverage data grid
+		 */
+		public void sample(T tile, CoverageDataGrid grid);
+
+	}
+
+	/**
+	 * Worker executor
+	 */
+	private final Executor executor;
+
+	/**
+	 * Max fetched tiles pending on workers
+	 */
+	private final int maxPending;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param executor
+	 *            worker executor
+	 */
+	public CoverageDataTilePipeline(Executor executor) {
+		this(executor, DEFAULT_MAX_PENDING);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param executor
+	 *            worker executor
+	 * @param maxPending
+	 *            max fetched tiles pending on workers
+	 */
+	public CoverageDataTilePipeline(Executor executor, int maxPending) {
+		this.executor = executor;
+		this.maxPending = Math.max(1, maxPending);
+	}
+
+	/**
+	 * Stream the fetched tiles to the workers and wait for all tiles to be
+	 * sampled into the grid. Fetching stops at the first sampling failure.
+	 * 
+	 * @param tiles
+	 *            fetched tiles, iterated on the calling thread
+	 * @param sampler
+	 *            tile sampler
+	 * @param grid
+	 *            preallocated coverage data grid
+	 * @return coverage data grid
+	 */
+	public CoverageDataGrid sample(Iterator<T> tiles,
+			final TileSampler<T> sampler, final CoverageDataGrid grid) {
+
+		final Semaphore pending = new Semaphore(maxPending);
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		try {
+			while (failure.get() == null && tiles.hasNext()) {
+				final T tile = tiles.next();
+				pending.acquire();
+				try {
+					executor.execute(new Runnable() {
+						@Override
+						public void run() {
+							try {
+								if (failure.get() == null) {
+									sampler.sample(tile, grid);
+								}
+							} catch (Throwable e) {
+								failure.compareAndSet(null, e);
+							} finally {
+								pending.release();
+							}
+						}
+					});
+				} catch (RuntimeException e) {
+					pending.release();
+					throw e;
+				}
+			}
+
+			// Wait for all pending tiles to finish
+			pending.acquire(maxPending);
+			pending.release(maxPending);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted while sampling coverage data tiles", e);
+		}
+
+		if (failure.get() != null) {
+			throw new GeoPackageException(
+					"Failed to sample coverage data tile", failure.get());
+		}
+
+		return grid;
+	}
+
+}
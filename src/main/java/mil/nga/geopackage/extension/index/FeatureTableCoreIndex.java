@@ -24,6 +24,8 @@ import mil.nga.geopackage.extension.ExtensionScopeType;
 import mil.nga.geopackage.extension.Extensions;
 import mil.nga.geopackage.extension.ExtensionsDao;
 import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.geopackage.geom.GeometryEnvelopeScanner;
+import mil.nga.geopackage.geom.GeometryEnvelopePipeline;
 import mil.nga.geopackage.io.GeoPackageProgress;
 import mil.nga.geopackage.property.GeoPackageProperties;
 import mil.nga.geopackage.property.PropertyConstants;
@@ -107,6 +109,28 @@ public abstract class FeatureTableCoreIndex extends BaseExtension {
 	 */
 	protected double tolerance = .00000000000001;
 
+	/**
+	 * Bulk index mode, write full table index builds through a reused
+	 * prepared statement in chunked transactions
+	 */
+	protected boolean bulkIndex = false;
+
+	/**
+	 * Bulk writer active during a full table index build
+	 */
+	private GeometryIndexBulkWriter bulkWriter;
+
+	/**
+	 * Number of worker threads scanning geometry envelopes during a full
+	 * table index build, 1 or less to scan on the indexing thread
+	 */
+	protected int envelopeParallelism = 1;
+
+	/**
+	 * Envelope pipeline active during a full table index build
+	 */
+	private GeometryEnvelopePipeline envelopePipeline;
+
 	/**
 	 * Constructor
 	 * 
@@ -213,6 +237,56 @@ public abstract class FeatureTableCoreIndex extends BaseExtension {
 		this.tolerance = tolerance;
 	}
 
+	/**
+	 * Is bulk index mode enabled
+	 * 
+	 * @return true if bulk indexing
+	 * @since 3.4.1
+	 */
+	public boolean isBulkIndex() {
+		return bulkIndex;
+	}
+
+	/**
+	 * Set the bulk index mode. When enabled, full table index builds write
+	 * geometry indices through a single reused "INSERT OR REPLACE" prepared
+	 * statement without per row existence checks, committing every
+	 * {@link #getChunkLimit()} rows and reporting rows per second to the
+	 * progress through {@link GeoPackageProgress#setRate(double)}
+	 * 
+	 * @param bulkIndex
+	 *            true to bulk index
+	 * @since 3.4.1
+	 */
+	public void setBulkIndex(boolean bulkIndex) {
+		this.bulkIndex = bulkIndex;
+	}
+
+	/**
+	 * Get the envelope scanning parallelism
+	 * 
+	 * @return number of envelope scanning worker threads
+	 * @since 3.4.1
+	 */
+	public int getEnvelopeParallelism() {
+		return envelopeParallelism;
+	}
+
+	/**
+	 * Set the envelope scanning parallelism. When greater than 1, geometry
+	 * bytes indexed through {@link #index(TableIndex, long, byte[])} during a
+	 * full table index build have their envelopes scanned by fork join worker
+	 * threads while the indexing thread continues reading, and the indices
+	 * are written on the indexing thread in read order.
+	 * 
+	 * @param envelopeParallelism
+	 *            number of envelope scanning worker threads
+	 * @since 3.4.1
+	 */
+	public void setEnvelopeParallelism(int envelopeParallelism) {
+		this.envelopeParallelism = envelopeParallelism;
+	}
+
 	/**
 	 * Index the feature table if needed
 	 *
@@ -236,7 +310,24 @@ public abstract class FeatureTableCoreIndex extends BaseExtension {
 			TableIndex tableIndex = getOrCreateTableIndex();
 			createOrClearGeometryIndices();
 			geoPackage.unindexGeometryIndexTable();
-			count = indexTable(tableIndex);
+			if (bulkIndex) {
+				bulkWriter = new GeometryIndexBulkWriter(geometryIndexDao,
+						tableName, chunkLimit, progress);
+			}
+			if (envelopeParallelism > 1) {
+				envelopePipeline = createEnvelopePipeline(tableIndex);
+			}
+			boolean indexed = false;
+			try {
+				count = indexTable(tableIndex);
+				indexed = true;
+			} finally {
+				try {
+					closeEnvelopePipeline(indexed);
+				} finally {
+					closeBulkWriter(indexed);
+				}
+			}
 			geoPackage.indexGeometryIndexTable();
 		}
 		return count;
@@ -273,20 +364,81 @@ public abstract class FeatureTableCoreIndex extends BaseExtension {
 			// Get or build the envelope
 			GeometryEnvelope envelope = geomData.getOrBuildEnvelope();
 
-			// Create the new index row
-			if (envelope != null) {
-				GeometryIndex geometryIndex = geometryIndexDao
-						.populate(tableIndex, geomId, envelope);
-				try {
-					geometryIndexDao.createOrUpdate(geometryIndex);
-					indexed = true;
-				} catch (SQLException e) {
-					throw new GeoPackageException(
-							"Failed to create or update Geometry Index. GeoPackage: "
-									+ geoPackage.getName() + ", Table Name: "
-									+ tableName + ", Geom Id: " + geomId,
-							e);
-				}
+			indexed = index(tableIndex, geomId, envelope);
+		}
+
+		return indexed;
+	}
+
+	/**
+	 * Index the geometry id and GeoPackage geometry bytes. The envelope is
+	 * read from the header or scanned from the Well-Known Binary bytes without
+	 * reading the geometry. During a full table index build with an
+	 * {@link #getEnvelopeParallelism()} greater than 1, the envelope is
+	 * scanned by a worker thread and the index is written in order by a later
+	 * call on this thread.
+	 * 
+	 * @param tableIndex
+	 *            table index
+	 * @param geomId
+	 *            geometry id
+	 * @param geometryBytes
+	 *            GeoPackage geometry bytes
+	 * 
+	 * @return true if indexed or queued to be indexed
+	 * @since 3.4.1
+	 */
+	protected boolean index(TableIndex tableIndex, long geomId,
+			byte[] geometryBytes) {
+
+		boolean indexed = false;
+
+		if (geometryBytes != null) {
+			if (envelopePipeline != null) {
+				indexed = envelopePipeline.add(geomId, geometryBytes);
+			} else {
+				GeometryEnvelope envelope = GeometryEnvelopeScanner
+						.getOrScanEnvelope(geometryBytes);
+				indexed = index(tableIndex, geomId, envelope);
+			}
+		}
+
+		return indexed;
+	}
+
+	/**
+	 * Index the geometry id and envelope
+	 * 
+	 * @param tableIndex
+	 *            table index
+	 * @param geomId
+	 *            geometry id
+	 * @param envelope
+	 *            geometry envelope
+	 * 
+	 * @return true if indexed
+	 */
+	private boolean index(TableIndex tableIndex, long geomId,
+			GeometryEnvelope envelope) {
+
+		boolean indexed = false;
+
+		// Create the new index row
+		if (envelope != null && bulkWriter != null) {
+			bulkWriter.write(geomId, envelope);
+			indexed = true;
+		} else if (envelope != null) {
+			GeometryIndex geometryIndex = geometryIndexDao.populate(tableIndex,
+					geomId, envelope);
+			try {
+				geometryIndexDao.createOrUpdate(geometryIndex);
+				indexed = true;
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to create or update Geometry Index. GeoPackage: "
+								+ geoPackage.getName() + ", Table Name: "
+								+ tableName + ", Geom Id: " + geomId,
+						e);
 			}
 		}
 
@@ -298,6 +450,14 @@ public abstract class FeatureTableCoreIndex extends BaseExtension {
 	 */
 	protected void updateLastIndexed() {
 
+		// Write pending pipelined and bulk written indices first
+		if (envelopePipeline != null) {
+			envelopePipeline.flush();
+		}
+		if (bulkWriter != null) {
+			bulkWriter.flush();
+		}
+
 		TableIndex tableIndex = new TableIndex();
 		tableIndex.setTableName(tableName);
 		tableIndex.setLastIndexed(new Date());
@@ -313,6 +473,66 @@ public abstract class FeatureTableCoreIndex extends BaseExtension {
 		}
 	}
 
+	/**
+	 * Create an envelope pipeline writing indices on the indexing thread
+	 * 
+	 * @param tableIndex
+	 *            table index
+	 * @return envelope pipeline
+	 */
+	private GeometryEnvelopePipeline createEnvelopePipeline(
+			final TableIndex tableIndex) {
+		return new GeometryEnvelopePipeline(envelopeParallelism, chunkLimit,
+				new GeometryEnvelopePipeline.Writer() {
+					@Override
+					public void write(long id, GeometryEnvelope envelope) {
+						index(tableIndex, id, envelope);
+					}
+				});
+	}
+
+	/**
+	 * Close the envelope pipeline if active, writing pending envelopes when
+	 * indexing succeeded or discarding them when it failed
+	 * 
+	 * @param indexed
+	 *            true if indexing succeeded
+	 */
+	private void closeEnvelopePipeline(boolean indexed) {
+		if (envelopePipeline != null) {
+			try {
+				if (indexed) {
+					envelopePipeline.close();
+				} else {
+					envelopePipeline.cancel();
+				}
+			} finally {
+				envelopePipeline = null;
+			}
+		}
+	}
+
+	/**
+	 * Close the bulk writer if active, committing the open chunk when
+	 * indexing succeeded or rolling it back when it failed
+	 * 
+	 * @param indexed
+	 *            true if indexing succeeded
+	 */
+	private void closeBulkWriter(boolean indexed) {
+		if (bulkWriter != null) {
+			try {
+				if (indexed) {
+					bulkWriter.close();
+				} else {
+					bulkWriter.abort();
+				}
+			} finally {
+				bulkWriter = null;
+			}
+		}
+	}
+
 	/**
 	 * Delete the feature table index
 	 * 
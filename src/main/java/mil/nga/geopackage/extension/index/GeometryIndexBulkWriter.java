@@ -0,0 +1,323 @@
+package mil.nga.geopackage.extension.index;
+
+import java.io.Closeable;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.io.GeoPackageProgress;
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * Geometry Index bulk writer. Writes geometry index rows for a single feature
+ * table through one reused prepared "INSERT OR REPLACE" statement, without
+ * per row existence queries. Rows are committed in chunked transactions when
+ * the connection is not already within a caller managed transaction.
+ * Intended for full table index builds after the table indices have been
+ * cleared.
+ *
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class GeometryIndexBulkWriter implements Closeable {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger logger = Logger
+			.getLogger(GeometryIndexBulkWriter.class.getName());
+
+	/**
+	 * Insert or replace SQL
+	 */
+	private static final String INSERT_SQL = "INSERT OR REPLACE INTO "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.TABLE_NAME) + " ("
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_TABLE_NAME) + ", "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_GEOM_ID) + ", "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_MIN_X) + ", "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_MAX_X) + ", "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_MIN_Y) + ", "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_MAX_Y) + ", "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_MIN_Z) + ", "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_MAX_Z) + ", "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_MIN_M) + ", "
+			+ CoreSQLUtils.quoteWrap(GeometryIndex.COLUMN_MAX_M)
+			+ ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	/**
+	 * Connection source
+	 */
+	private final ConnectionSource connectionSource;
+
+	/**
+	 * Feature table name
+	 */
+	private final String tableName;
+
+	/**
+	 * Rows per committed chunk
+	 */
+	private final int chunkLimit;
+
+	/**
+	 * Progress
+	 */
+	private final GeoPackageProgress progress;
+
+	/**
+	 * Database connection
+	 */
+	private DatabaseConnection connection;
+
+	/**
+	 * Reused insert statement
+	 */
+	private CompiledStatement statement;
+
+	/**
+	 * True when this writer began the current transaction
+	 */
+	private boolean transaction = false;
+
+	/**
+	 * Rows written in the current chunk
+	 */
+	private int chunkCount = 0;
+
+	/**
+	 * Total rows written
+	 */
+	private long count = 0;
+
+	/**
+	 * Start time of the first write in nanoseconds
+	 */
+	private long startTime = -1;
+
+	/**
+	 * Constructor
+	 *
+	 * @param geometryIndexDao
+	 *            geometry index DAO
+	 * @param tableName
+	 *            feature table name
+	 * @param chunkLimit
+	 *            rows per committed chunk
+	 * @param progress
+	 *            progress to report rates to, may be null
+	 */
+	public GeometryIndexBulkWriter(GeometryIndexDao geometryIndexDao,
+			String tableName, int chunkLimit, GeoPackageProgress progress) {
+		this.connectionSource = geometryIndexDao.getConnectionSource();
+		this.tableName = tableName;
+		this.chunkLimit = Math.max(1, chunkLimit);
+		this.progress = progress;
+	}
+
+	/**
+	 * Get the feature table name
+	 *
+	 * @return table name
+	 */
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * Get the total number of written rows
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Write the geometry index row for the geometry id and envelope
+	 *
+	 * @param geomId
+	 *            geometry id
+	 * @param envelope
+	 *            geometry envelope
+	 */
+	public void write(long geomId, GeometryEnvelope envelope) {
+		try {
+			if (statement == null) {
+				open();
+			}
+			if (chunkCount == 0) {
+				beginChunk();
+			}
+
+			statement.setObject(0, tableName, SqlType.STRING);
+			statement.setObject(1, geomId, SqlType.LONG);
+			statement.setObject(2, envelope.getMinX(), SqlType.DOUBLE);
+			statement.setObject(3, envelope.getMaxX(), SqlType.DOUBLE);
+			statement.setObject(4, envelope.getMinY(), SqlType.DOUBLE);
+			statement.setObject(5, envelope.getMaxY(), SqlType.DOUBLE);
+			statement.setObject(6, envelope.hasZ() ? envelope.getMinZ() : null,
+					SqlType.DOUBLE);
+			statement.setObject(7, envelope.hasZ() ? envelope.getMaxZ() : null,
+					SqlType.DOUBLE);
+			statement.setObject(8, envelope.hasM() ? envelope.getMinM() : null,
+					SqlType.DOUBLE);
+			statement.setObject(9, envelope.hasM() ? envelope.getMaxM() : null,
+					SqlType.DOUBLE);
+			statement.runUpdate();
+
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to bulk write Geometry Index. Table Name: "
+							+ tableName + ", Geom Id: " + geomId,
+					e);
+		}
+
+		count++;
+		if (++chunkCount >= chunkLimit) {
+			flush();
+		}
+	}
+
+	/**
+	 * Commit the current chunk of written rows
+	 */
+	public void flush() {
+		if (chunkCount > 0) {
+			try {
+				if (transaction) {
+					connection.commit(null);
+					connection.setAutoCommit(true);
+					transaction = false;
+				}
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to commit bulk Geometry Index chunk. Table Name: "
+								+ tableName,
+						e);
+			}
+			chunkCount = 0;
+			if (progress != null) {
+				progress.setRate(getRate());
+			}
+		}
+	}
+
+	/**
+	 * Roll back the current chunk of written rows when this writer began the
+	 * chunk transaction. Rows written within a caller managed transaction are
+	 * left for the caller to roll back.
+	 */
+	public void rollback() {
+		count -= chunkCount;
+		chunkCount = 0;
+		if (transaction) {
+			transaction = false;
+			try {
+				connection.rollback(null);
+				connection.setAutoCommit(true);
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to roll back bulk Geometry Index chunk. Table Name: "
+								+ tableName,
+						e);
+			}
+		}
+	}
+
+	/**
+	 * Get the average rows per second written since the first write
+	 *
+	 * @return rows per second
+	 */
+	public double getRate() {
+		double rate = 0;
+		if (startTime >= 0) {
+			long elapsed = System.nanoTime() - startTime;
+			if (elapsed > 0) {
+				rate = count / (elapsed / 1000000000.0);
+			}
+		}
+		return rate;
+	}
+
+	/**
+	 * Commit remaining rows and release the statement and connection
+	 */
+	@Override
+	public void close() {
+		try {
+			flush();
+		} finally {
+			release();
+		}
+	}
+
+	/**
+	 * Roll back remaining rows and release the statement and connection, for
+	 * use when indexing fails
+	 */
+	public void abort() {
+		try {
+			rollback();
+		} finally {
+			release();
+		}
+	}
+
+	/**
+	 * Release the statement and connection
+	 */
+	private void release() {
+		if (statement != null) {
+			statement.closeQuietly();
+			statement = null;
+		}
+		if (connection != null) {
+			try {
+				connectionSource.releaseConnection(connection);
+			} catch (SQLException e) {
+				logger.log(Level.WARNING,
+						"Failed to release bulk Geometry Index connection", e);
+			}
+			connection = null;
+		}
+	}
+
+	/**
+	 * Open the connection and compile the insert statement
+	 *
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	private void open() throws SQLException {
+		connection = connectionSource
+				.getReadWriteConnection(GeometryIndex.TABLE_NAME);
+		statement = connection.compileStatement(INSERT_SQL,
+				StatementType.UPDATE, new FieldType[0],
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		startTime = System.nanoTime();
+	}
+
+	/**
+	 * Begin a chunk transaction unless the caller is already managing one
+	 *
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	private void beginChunk() throws SQLException {
+		if (connection.isAutoCommitSupported() && connection.isAutoCommit()) {
+			connection.setAutoCommit(false);
+			transaction = true;
+		}
+	}
+
+}
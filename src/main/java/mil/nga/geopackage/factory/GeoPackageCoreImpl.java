@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.j256.ormlite.dao.BaseDaoImpl;
 import com.j256.ormlite.dao.DaoManager;
@@ -26,6 +28,7 @@ import mil.nga.geopackage.core.srs.SpatialReferenceSystemSqlMm;
 import mil.nga.geopackage.core.srs.SpatialReferenceSystemSqlMmDao;
 import mil.nga.geopackage.db.AlterTable;
 import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.GeoPackageConnectionPool;
 import mil.nga.geopackage.db.GeoPackageCoreConnection;
 import mil.nga.geopackage.db.GeoPackageTableCreator;
 import mil.nga.geopackage.db.table.Constraint;
@@ -109,6 +112,16 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	protected final boolean writable;
 
+	/**
+	 * Read only connection pool
+	 */
+	private GeoPackageConnectionPool readPool;
+
+	/**
+	 * Registry of created and wired DAOs by data class
+	 */
+	private final ConcurrentMap<Class<?>, BaseDaoImpl<?, ?>> daos = new ConcurrentHashMap<>();
+
 	/**
 	 * Constructor
 	 *
@@ -138,6 +151,10 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public void close() {
+		daos.clear();
+		if (readPool != null) {
+			readPool.close();
+		}
 		database.close();
 	}
 
@@ -165,6 +182,27 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 		return database;
 	}
 
+	/**
+	 * Get the read only connection pool
+	 * 
+	 * @return read connection pool, null if not set
+	 * @since 3.4.1
+	 */
+	public GeoPackageConnectionPool getReadPool() {
+		return readPool;
+	}
+
+	/**
+	 * Set the read only connection pool, closed with the GeoPackage
+	 * 
+	 * @param readPool
+	 *            read connection pool
+	 * @since 3.4.1
+	 */
+	public void setReadPool(GeoPackageConnectionPool readPool) {
+		this.readPool = readPool;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -556,9 +594,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public SpatialReferenceSystemDao getSpatialReferenceSystemDao() {
-		SpatialReferenceSystemDao dao = createDao(SpatialReferenceSystem.class);
-		dao.setCrsWktExtension(new CrsWktExtension(this));
-		return dao;
+		return getDao(SpatialReferenceSystem.class);
 	}
 
 	/**
@@ -567,7 +603,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	@Override
 	public SpatialReferenceSystemSqlMmDao getSpatialReferenceSystemSqlMmDao() {
 
-		SpatialReferenceSystemSqlMmDao dao = createDao(
+		SpatialReferenceSystemSqlMmDao dao = getDao(
 				SpatialReferenceSystemSqlMm.class);
 		verifyTableExists(dao);
 
@@ -580,7 +616,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	@Override
 	public SpatialReferenceSystemSfSqlDao getSpatialReferenceSystemSfSqlDao() {
 
-		SpatialReferenceSystemSfSqlDao dao = createDao(
+		SpatialReferenceSystemSfSqlDao dao = getDao(
 				SpatialReferenceSystemSfSql.class);
 		verifyTableExists(dao);
 
@@ -592,9 +628,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public ContentsDao getContentsDao() {
-		ContentsDao dao = createDao(Contents.class);
-		dao.setDatabase(database);
-		return dao;
+		return getDao(Contents.class);
 	}
 
 	/**
@@ -602,7 +636,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public GeometryColumnsDao getGeometryColumnsDao() {
-		return createDao(GeometryColumns.class);
+		return getDao(GeometryColumns.class);
 	}
 
 	/**
@@ -611,7 +645,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	@Override
 	public GeometryColumnsSqlMmDao getGeometryColumnsSqlMmDao() {
 
-		GeometryColumnsSqlMmDao dao = createDao(GeometryColumnsSqlMm.class);
+		GeometryColumnsSqlMmDao dao = getDao(GeometryColumnsSqlMm.class);
 		verifyTableExists(dao);
 
 		return dao;
@@ -623,7 +657,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	@Override
 	public GeometryColumnsSfSqlDao getGeometryColumnsSfSqlDao() {
 
-		GeometryColumnsSfSqlDao dao = createDao(GeometryColumnsSfSql.class);
+		GeometryColumnsSfSqlDao dao = getDao(GeometryColumnsSfSql.class);
 		verifyTableExists(dao);
 
 		return dao;
@@ -779,7 +813,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public TileMatrixSetDao getTileMatrixSetDao() {
-		return createDao(TileMatrixSet.class);
+		return getDao(TileMatrixSet.class);
 	}
 
 	/**
@@ -809,7 +843,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public TileMatrixDao getTileMatrixDao() {
-		return createDao(TileMatrix.class);
+		return getDao(TileMatrix.class);
 	}
 
 	/**
@@ -945,7 +979,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public DataColumnsDao getDataColumnsDao() {
-		return createDao(DataColumns.class);
+		return getDao(DataColumns.class);
 	}
 
 	/**
@@ -975,7 +1009,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public DataColumnConstraintsDao getDataColumnConstraintsDao() {
-		return createDao(DataColumnConstraints.class);
+		return getDao(DataColumnConstraints.class);
 	}
 
 	/**
@@ -1009,7 +1043,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public MetadataDao getMetadataDao() {
-		return createDao(Metadata.class);
+		return getDao(Metadata.class);
 	}
 
 	/**
@@ -1045,7 +1079,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public MetadataReferenceDao getMetadataReferenceDao() {
-		return createDao(MetadataReference.class);
+		return getDao(MetadataReference.class);
 	}
 
 	/**
@@ -1074,7 +1108,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public ExtensionsDao getExtensionsDao() {
-		return createDao(Extensions.class);
+		return getDao(Extensions.class);
 	}
 
 	/**
@@ -1141,6 +1175,48 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 		return dao;
 	}
 
+	/**
+	 * Get the registered DAO for the data class, creating, wiring, and
+	 * registering it on first use. DAOs are reused until the GeoPackage is
+	 * closed.
+	 * 
+	 * @param <T>
+	 *            data class type
+	 * @param <S>
+	 *            DAO type
+	 * @param type
+	 *            data class
+	 * @return DAO
+	 */
+	private <T, S extends BaseDaoImpl<T, ?>> S getDao(Class<T> type) {
+		@SuppressWarnings("unchecked")
+		S dao = (S) daos.get(type);
+		if (dao == null) {
+			S created = createDao(type);
+			initializeDao(created);
+			@SuppressWarnings("unchecked")
+			S existing = (S) daos.putIfAbsent(type, created);
+			dao = existing != null ? existing : created;
+		}
+		return dao;
+	}
+
+	/**
+	 * Wire a newly created DAO before it is registered for reuse
+	 * 
+	 * @param dao
+	 *            DAO
+	 * @since 3.4.1
+	 */
+	protected void initializeDao(BaseDaoImpl<?, ?> dao) {
+		if (dao instanceof SpatialReferenceSystemDao) {
+			((SpatialReferenceSystemDao) dao)
+					.setCrsWktExtension(new CrsWktExtension(this));
+		} else if (dao instanceof ContentsDao) {
+			((ContentsDao) dao).setDatabase(database);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1538,7 +1614,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public GriddedCoverageDao getGriddedCoverageDao() {
-		return createDao(GriddedCoverage.class);
+		return getDao(GriddedCoverage.class);
 	}
 
 	/**
@@ -1567,7 +1643,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public GriddedTileDao getGriddedTileDao() {
-		return createDao(GriddedTile.class);
+		return getDao(GriddedTile.class);
 	}
 
 	/**
@@ -1597,7 +1673,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public TableIndexDao getTableIndexDao() {
-		return createDao(TableIndex.class);
+		return getDao(TableIndex.class);
 	}
 
 	/**
@@ -1627,7 +1703,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public GeometryIndexDao getGeometryIndexDao() {
-		return createDao(GeometryIndex.class);
+		return getDao(GeometryIndex.class);
 	}
 
 	/**
@@ -1701,7 +1777,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public FeatureTileLinkDao getFeatureTileLinkDao() {
-		return createDao(FeatureTileLink.class);
+		return getDao(FeatureTileLink.class);
 	}
 
 	/**
@@ -1841,7 +1917,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public TileScalingDao getTileScalingDao() {
-		return createDao(TileScaling.class);
+		return getDao(TileScaling.class);
 	}
 
 	/**
@@ -1871,7 +1947,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public ExtendedRelationsDao getExtendedRelationsDao() {
-		return createDao(ExtendedRelation.class);
+		return getDao(ExtendedRelation.class);
 	}
 
 	/**
@@ -1900,7 +1976,7 @@ public abstract class GeoPackageCoreImpl implements GeoPackageCore {
 	 */
 	@Override
 	public ContentsIdDao getContentsIdDao() {
-		return createDao(ContentsId.class);
+		return getDao(ContentsId.class);
 	}
 
 	/**
@@ -2,7 +2,10 @@ package mil.nga.geopackage.features;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -99,6 +102,49 @@ public abstract class FeatureCoreGenerator {
 	 */
 	protected SpatialReferenceSystem srs;
 
+	/**
+	 * Number of features sampled to infer the table schema before writing, 0
+	 * to add columns as new properties are encountered
+	 */
+	protected int schemaSampleSize = 0;
+
+	/**
+	 * Schema columns, in the order of the values passed to
+	 * {@link #saveFeature(Geometry, Object[])}
+	 */
+	protected final List<FeatureColumn> schemaColumns = new ArrayList<>();
+
+	/**
+	 * Schema column indices by column name
+	 */
+	private final Map<String, Integer> schemaIndices = new HashMap<>();
+
+	/**
+	 * Reused schema feature values, null until the schema is inferred
+	 */
+	private Object[] schemaValues;
+
+	/**
+	 * Reused schema feature values by column name, saved by default through
+	 * {@link #saveFeature(Geometry, Map)}
+	 */
+	private final Map<String, Object> schemaValueMap = new HashMap<>();
+
+	/**
+	 * Sampled feature geometries awaiting the inferred schema
+	 */
+	private final List<Geometry> sampleGeometries = new ArrayList<>();
+
+	/**
+	 * Sampled feature properties awaiting the inferred schema
+	 */
+	private final List<Map<String, Object>> sampleProperties = new ArrayList<>();
+
+	/**
+	 * Index of the next sampled feature to write
+	 */
+	private int sampleIndex = 0;
+
 	/**
 	 * Constructor
 	 *
@@ -263,6 +309,51 @@ public abstract class FeatureCoreGenerator {
 		return srs;
 	}
 
+	/**
+	 * Get the number of features sampled to infer the table schema
+	 * 
+	 * @return schema sample size, 0 when not sampling
+	 * @since 3.4.1
+	 */
+	public int getSchemaSampleSize() {
+		return schemaSampleSize;
+	}
+
+	/**
+	 * Set the number of features sampled to infer the table schema. When
+	 * positive, features are held until the sample size is reached, the
+	 * columns and types of all sampled properties are inferred, and the table
+	 * is created once. Features are then written through
+	 * {@link #saveFeature(Geometry, Object[])} with values at precomputed
+	 * column indices in a reused array. Properties not seen in the sample
+	 * still add columns. Call {@link #finishFeatures()} after the last
+	 * feature to write samples when fewer features were created.
+	 * 
+	 * @param schemaSampleSize
+	 *            schema sample size, 0 to add columns as new properties are
+	 *            encountered
+	 * @since 3.4.1
+	 */
+	public void setSchemaSampleSize(int schemaSampleSize) {
+		if (schemaSampleSize < 0) {
+			throw new GeoPackageException(
+					"Schema sample size can not be negative, size: "
+							+ schemaSampleSize);
+		}
+		this.schemaSampleSize = schemaSampleSize;
+	}
+
+	/**
+	 * Get the schema columns, in the order of the values passed to
+	 * {@link #saveFeature(Geometry, Object[])}
+	 * 
+	 * @return schema columns, empty until the schema is inferred
+	 * @since 3.4.1
+	 */
+	public List<FeatureColumn> getSchemaColumns() {
+		return Collections.unmodifiableList(schemaColumns);
+	}
+
 	/**
 	 * Generate the features
 	 * 
@@ -298,6 +389,43 @@ public abstract class FeatureCoreGenerator {
 	protected abstract void saveFeature(Geometry geometry,
 			Map<String, Object> values);
 
+	/**
+	 * Save the feature with values indexed by the {@link #getSchemaColumns()}
+	 * when sampling the schema. The values array is reused for the next
+	 * feature and must not be retained. Override to copy the values into a
+	 * reused row and write rows in bulk, flushed by {@link #flushFeatures()}.
+	 * By default the values are mapped by column name into a map reused for
+	 * each feature, which must also not be retained, and saved with
+	 * {@link #saveFeature(Geometry, Map)}.
+	 * 
+	 * @param geometry
+	 *            geometry
+	 * @param values
+	 *            values indexed by schema column
+	 * @since 3.4.1
+	 */
+	protected void saveFeature(Geometry geometry, Object[] values) {
+		schemaValueMap.clear();
+		for (int i = 0; i < schemaColumns.size(); i++) {
+			if (values[i] != null) {
+				schemaValueMap.put(schemaColumns.get(i).getName(), values[i]);
+			}
+		}
+		saveFeature(geometry, schemaValueMap);
+	}
+
+	/**
+	 * Flush saved features, called before the transaction of created features
+	 * is committed
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 * @since 3.4.1
+	 */
+	protected void flushFeatures() throws SQLException {
+		// Override if saved features are buffered
+	}
+
 	/**
 	 * Create the feature
 	 *
@@ -315,20 +443,179 @@ public abstract class FeatureCoreGenerator {
 			createSrs();
 		}
 
-		if (geometryColumns == null) {
-			createTable(properties);
+		if (schemaSampleSize > 0) {
+
+			if (schemaValues != null) {
+				writeSamples();
+				createSchemaFeature(geometry, properties);
+			} else {
+				sampleGeometries.add(geometry);
+				sampleProperties.add(properties);
+				if (sampleGeometries.size() >= schemaSampleSize) {
+					createSchema();
+				}
+			}
+
+		} else {
+
+			if (geometryColumns == null) {
+				createTable(properties);
+			}
+
+			Map<String, Object> values = new HashMap<>();
+
+			for (Entry<String, Object> property : properties.entrySet()) {
+				String column = property.getKey();
+				Object value = getValue(column, property.getValue());
+				values.put(column, value);
+			}
+
+			saveFeature(geometry, values);
+		}
+
+	}
+
+	/**
+	 * Finish creating features, writing sampled features still awaiting the
+	 * schema when fewer than the schema sample size were created, and
+	 * flushing saved features. Call after the last feature is created.
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 * @since 3.4.1
+	 */
+	public void finishFeatures() throws SQLException {
+
+		if (sampleIndex < sampleGeometries.size()) {
+			geoPackage.beginTransaction();
+			try {
+				createSchema();
+				flushFeatures();
+			} catch (SQLException | RuntimeException e) {
+				geoPackage.failTransaction();
+				throw e;
+			} finally {
+				geoPackage.endTransaction();
+			}
+		}
+
+	}
+
+	/**
+	 * Infer the schema from the sampled features and create the table once,
+	 * and write the sampled features not yet written
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	private void createSchema() throws SQLException {
+
+		if (schemaValues == null) {
+
+			// Set first so a failed table creation is not repeated, columns
+			// added after grow the values
+			schemaValues = new Object[0];
+
+			Map<String, GeoPackageDataType> types = new LinkedHashMap<>();
+			for (Map<String, Object> properties : sampleProperties) {
+				for (Entry<String, Object> property : properties
+						.entrySet()) {
+					String column = property.getKey();
+					types.put(column, getSchemaType(types.get(column),
+							property.getValue()));
+				}
+			}
+
+			List<FeatureColumn> featureColumns = new ArrayList<>();
+			for (Entry<String, GeoPackageDataType> type : types.entrySet()) {
+				GeoPackageDataType dataType = type.getValue();
+				if (dataType == null) {
+					dataType = GeoPackageDataType.TEXT;
+				}
+				featureColumns.add(
+						FeatureColumn.createColumn(type.getKey(), dataType));
+			}
+
+			if (geometryColumns == null) {
+				createTable(featureColumns);
+			}
+
+			for (FeatureColumn featureColumn : featureColumns) {
+				FeatureColumn tableColumn = columns
+						.get(featureColumn.getName());
+				if (tableColumn == null) {
+					insertColumn(featureColumn);
+					tableColumn = featureColumn;
+				}
+				addSchemaColumn(tableColumn);
+			}
+		}
+
+		writeSamples();
+	}
+
+	/**
+	 * Write the sampled features not yet written, advancing past each sample
+	 * before it is saved so a failed sample is not written again
+	 */
+	private void writeSamples() {
+
+		while (sampleIndex < sampleGeometries.size()) {
+			int index = sampleIndex++;
+			Geometry geometry = sampleGeometries.set(index, null);
+			Map<String, Object> properties = sampleProperties.set(index,
+					null);
+			createSchemaFeature(geometry, properties);
 		}
 
-		Map<String, Object> values = new HashMap<>();
+		if (sampleIndex > 0) {
+			sampleGeometries.clear();
+			sampleProperties.clear();
+			sampleIndex = 0;
+		}
+	}
+
+	/**
+	 * Create the feature using the schema column indices
+	 * 
+	 * @param geometry
+	 *            geometry
+	 * @param properties
+	 *            properties
+	 */
+	private void createSchemaFeature(Geometry geometry,
+			Map<String, Object> properties) {
+
+		Arrays.fill(schemaValues, null);
 
 		for (Entry<String, Object> property : properties.entrySet()) {
-			String column = property.getKey();
-			Object value = getValue(column, property.getValue());
-			values.put(column, value);
+			Object value = property.getValue();
+			Integer index = schemaIndices.get(property.getKey());
+			if (index == null) {
+				index = addSchemaColumn(getColumn(property.getKey(), value));
+			}
+			schemaValues[index] = getSchemaValue(value,
+					schemaColumns.get(index).getDataType());
 		}
 
-		saveFeature(geometry, values);
+		saveFeature(geometry, schemaValues);
+	}
 
+	/**
+	 * Add a schema column
+	 * 
+	 * @param featureColumn
+	 *            feature column
+	 * @return schema column index
+	 */
+	private int addSchemaColumn(FeatureColumn featureColumn) {
+		int index = schemaColumns.size();
+		schemaColumns.add(featureColumn);
+		schemaIndices.put(featureColumn.getName(), index);
+		if (schemaValues != null && schemaValues.length <= index) {
+			schemaValues = Arrays.copyOf(schemaValues, index + 1);
+		}
+		return index;
 	}
 
 	/**
@@ -371,6 +658,27 @@ public abstract class FeatureCoreGenerator {
 	protected void createTable(Map<String, Object> properties)
 			throws SQLException {
 
+		List<FeatureColumn> featureColumns = new ArrayList<>();
+		for (Entry<String, Object> property : properties.entrySet()) {
+			featureColumns
+					.add(createColumn(property.getKey(), property.getValue()));
+		}
+
+		createTable(featureColumns);
+	}
+
+	/**
+	 * Create the feature table
+	 * 
+	 * @param featureColumns
+	 *            feature columns
+	 * @throws SQLException
+	 *             upon error
+	 * @since 3.4.1
+	 */
+	protected void createTable(List<FeatureColumn> featureColumns)
+			throws SQLException {
+
 		// Create a new geometry columns or update an existing
 		GeometryColumnsDao geometryColumnsDao = geoPackage
 				.getGeometryColumnsDao();
@@ -387,13 +695,8 @@ public abstract class FeatureCoreGenerator {
 
 			if (geometryColumns == null) {
 
-				List<FeatureColumn> featureColumns = new ArrayList<>();
-				for (Entry<String, Object> property : properties.entrySet()) {
-					String column = property.getKey();
-					FeatureColumn featureColumn = createColumn(column,
-							property.getValue());
-					featureColumns.add(featureColumn);
-					columns.put(column, featureColumn);
+				for (FeatureColumn featureColumn : featureColumns) {
+					columns.put(featureColumn.getName(), featureColumn);
 				}
 
 				// Create the feature table
@@ -457,24 +760,34 @@ public abstract class FeatureCoreGenerator {
 		FeatureColumn featureColumn = columns.get(column);
 
 		if (featureColumn == null) {
-			boolean inTransaction = geoPackage.inTransaction();
-			if (inTransaction) {
-				geoPackage.endTransaction();
-			}
-			try {
-				featureColumn = createColumn(column, value);
-				addColumn(featureColumn);
-				columns.put(column, featureColumn);
-			} finally {
-				if (inTransaction) {
-					geoPackage.beginTransaction();
-				}
-			}
+			featureColumn = createColumn(column, value);
+			insertColumn(featureColumn);
 		}
 
 		return featureColumn;
 	}
 
+	/**
+	 * Add the column to the table outside of any active transaction
+	 * 
+	 * @param featureColumn
+	 *            feature column
+	 */
+	private void insertColumn(FeatureColumn featureColumn) {
+		boolean inTransaction = geoPackage.inTransaction();
+		if (inTransaction) {
+			geoPackage.endTransaction();
+		}
+		try {
+			addColumn(featureColumn);
+			columns.put(featureColumn.getName(), featureColumn);
+		} finally {
+			if (inTransaction) {
+				geoPackage.beginTransaction();
+			}
+		}
+	}
+
 	/**
 	 * Create a feature column
 	 * 
@@ -595,6 +908,120 @@ public abstract class FeatureCoreGenerator {
 		return value;
 	}
 
+	/**
+	 * Get the schema type after sampling the value. Integer values infer
+	 * {@link GeoPackageDataType#INT} and floating point values
+	 * {@link GeoPackageDataType#DOUBLE} columns, as later features may hold
+	 * larger values with the same SQLite storage. Integer and floating point
+	 * samples infer a double column, other mixed samples a text column.
+	 * 
+	 * @param type
+	 *            type inferred from previous samples, null if none
+	 * @param value
+	 *            sampled value
+	 * @return inferred type, null if only null values have been sampled
+	 * @since 3.4.1
+	 */
+	public static GeoPackageDataType getSchemaType(GeoPackageDataType type,
+			Object value) {
+
+		if (value != null) {
+
+			GeoPackageDataType valueType = getType(value);
+			switch (valueType) {
+			case TINYINT:
+			case SMALLINT:
+			case MEDIUMINT:
+				valueType = GeoPackageDataType.INT;
+				break;
+			case FLOAT:
+				valueType = GeoPackageDataType.DOUBLE;
+				break;
+			default:
+			}
+
+			if (type == null) {
+				type = valueType;
+			} else if (type != valueType) {
+				if ((type == GeoPackageDataType.INT
+						|| type == GeoPackageDataType.DOUBLE)
+						&& (valueType == GeoPackageDataType.INT
+								|| valueType == GeoPackageDataType.DOUBLE)) {
+					type = GeoPackageDataType.DOUBLE;
+				} else {
+					type = GeoPackageDataType.TEXT;
+				}
+			}
+		}
+
+		return type;
+	}
+
+	/**
+	 * Get the value for the schema column data type, converting numbers to
+	 * the column number type. Integer columns only accept whole numbers within
+	 * the type range.
+	 * 
+	 * @param value
+	 *            value
+	 * @param type
+	 *            data type
+	 * @return column value
+	 * @since 3.4.1
+	 */
+	public static Object getSchemaValue(Object value,
+			GeoPackageDataType type) {
+
+		if (value instanceof Number && type != null) {
+
+			Number number = (Number) value;
+			Number columnValue = null;
+			boolean integral = true;
+			switch (type) {
+			case TINYINT:
+				columnValue = number.byteValue();
+				break;
+			case SMALLINT:
+				columnValue = number.shortValue();
+				break;
+			case MEDIUMINT:
+				columnValue = number.intValue();
+				break;
+			case INT:
+			case INTEGER:
+				columnValue = number.longValue();
+				break;
+			case FLOAT:
+				columnValue = number.floatValue();
+				integral = false;
+				break;
+			case DOUBLE:
+			case REAL:
+				columnValue = number.doubleValue();
+				integral = false;
+				break;
+			default:
+			}
+
+			if (columnValue != null) {
+				if (integral && (columnValue.longValue() != number.longValue()
+						|| number.doubleValue() != number.longValue())) {
+					throw new GeoPackageException("Value " + value
+							+ " does not fit the inferred column type " + type
+							+ ", increase the schema sample size");
+				}
+				value = columnValue;
+			} else {
+				value = getValue(value, type);
+			}
+
+		} else {
+			value = getValue(value, type);
+		}
+
+		return value;
+	}
+
 	/**
 	 * Add a projection
 	 * 
@@ -2,21 +2,39 @@ package mil.nga.geopackage.features;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackageCore;
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.db.DateConverter;
 import mil.nga.geopackage.io.GeoPackageIOUtils;
+import mil.nga.geopackage.io.HttpTransport;
 import mil.nga.geopackage.property.GeoPackageProperties;
 import mil.nga.geopackage.property.PropertyConstants;
 import mil.nga.oapi.features.json.Collection;
@@ -25,6 +43,7 @@ import mil.nga.oapi.features.json.FeatureCollection;
 import mil.nga.oapi.features.json.FeaturesConverter;
 import mil.nga.oapi.features.json.Link;
 import mil.nga.sf.geojson.Feature;
+import mil.nga.sf.geojson.FeatureConverter;
 import mil.nga.sf.proj.Projection;
 import mil.nga.sf.proj.ProjectionConstants;
 import mil.nga.sf.proj.ProjectionFactory;
@@ -106,6 +125,138 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 	 */
 	protected Integer totalLimit = null;
 
+	/**
+	 * Default number of pages buffered between feature harvest pipeline
+	 * stages
+	 * 
+	 * @since 3.4.1
+	 */
+	public static final int DEFAULT_PIPELINE_QUEUE_SIZE = 2;
+
+	/**
+	 * GeoJSON features member
+	 */
+	private static final String FEATURES = "features";
+
+	/**
+	 * GeoJSON type member
+	 */
+	private static final String TYPE = "type";
+
+	/**
+	 * GeoJSON feature collection type
+	 */
+	private static final String FEATURE_COLLECTION = "FeatureCollection";
+
+	/**
+	 * Accept header value for requests
+	 */
+	private static final String ACCEPT = "application/json,application/geo+json";
+
+	/**
+	 * Pipeline end of pages marker
+	 */
+	private static final Object PIPELINE_END = new Object();
+
+	/**
+	 * Pipeline stage failure passed to the writer
+	 */
+	private static class PipelineFailure {
+
+		/**
+		 * Failure
+		 */
+		private final Exception exception;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param exception
+		 *            failure
+		 */
+		PipelineFailure(Exception exception) {
+			this.exception = exception;
+		}
+
+		/**
+		 * Get the failure as a GeoPackage exception
+		 * 
+		 * @return exception
+		 */
+		GeoPackageException getException() {
+			GeoPackageException geoPackageException;
+			if (exception instanceof GeoPackageException) {
+				geoPackageException = (GeoPackageException) exception;
+			} else {
+				geoPackageException = new GeoPackageException(
+						"Failed to harvest features", exception);
+			}
+			return geoPackageException;
+		}
+
+	}
+
+	/**
+	 * Pages buffered between feature harvest pipeline stages
+	 */
+	protected int pipelineQueueSize = DEFAULT_PIPELINE_QUEUE_SIZE;
+
+	/**
+	 * Default number of features per streamed batch
+	 * 
+	 * @since 3.4.1
+	 */
+	public static final int DEFAULT_STREAM_BATCH_SIZE = 500;
+
+	/**
+	 * Stream parse feature responses incrementally instead of reading and
+	 * parsing each page as a whole
+	 */
+	protected boolean streaming = false;
+
+	/**
+	 * Features per streamed batch
+	 */
+	protected int streamBatchSize = DEFAULT_STREAM_BATCH_SIZE;
+
+	/**
+	 * Default number of concurrent partition requests
+	 * 
+	 * @since 3.4.1
+	 */
+	public static final int DEFAULT_PARTITION_PARALLELISM = 4;
+
+	/**
+	 * Number of rows and columns in the grid of bounding box partitions
+	 * requested concurrently, 1 for a single sequential request
+	 */
+	protected int partitionGrid = 1;
+
+	/**
+	 * Number of concurrent partition requests
+	 */
+	protected int partitionParallelism = DEFAULT_PARTITION_PARALLELISM;
+
+	/**
+	 * Handler of feature batches parsed from a streamed response
+	 * 
+	 * @since 3.4.1
+	 */
+	protected interface FeatureBatchHandler {
+
+		/**
+		 * Handle the batch of parsed features
+		 * 
+		 * @param features
+		 *            features
+		 * @throws InterruptedException
+		 *             upon interruption
+		 */
+		public void features(List<Feature> features)
+				throws InterruptedException;
+
+	}
+
 	/**
 	 * Download attempts per feature request
 	 */
@@ -113,6 +264,11 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 			PropertyConstants.FEATURE_GENERATOR,
 			PropertyConstants.FEATURE_GENERATOR_DOWNLOAD_ATTEMPTS);
 
+	/**
+	 * HTTP transport for requests
+	 */
+	protected HttpTransport transport = new HttpTransport();
+
 	/**
 	 * Constructor
 	 * 
@@ -277,6 +433,166 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 		this.downloadAttempts = downloadAttempts;
 	}
 
+	/**
+	 * Get the HTTP transport
+	 * 
+	 * @return HTTP transport
+	 * @since 3.4.1
+	 */
+	public HttpTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * Set the HTTP transport, such as one configured with a response cache
+	 * directory to revalidate unchanged pages on repeated harvests
+	 * 
+	 * @param transport
+	 *            HTTP transport
+	 * @since 3.4.1
+	 */
+	public void setTransport(HttpTransport transport) {
+		if (transport == null) {
+			throw new GeoPackageException("HTTP transport is required");
+		}
+		this.transport = transport;
+	}
+
+	/**
+	 * Get the number of pages buffered between feature harvest pipeline
+	 * stages
+	 * 
+	 * @return pipeline queue size
+	 * @since 3.4.1
+	 */
+	public int getPipelineQueueSize() {
+		return pipelineQueueSize;
+	}
+
+	/**
+	 * Set the number of pages buffered between feature harvest pipeline
+	 * stages
+	 * 
+	 * @param pipelineQueueSize
+	 *            pipeline queue size
+	 * @since 3.4.1
+	 */
+	public void setPipelineQueueSize(int pipelineQueueSize) {
+		if (pipelineQueueSize < 1) {
+			throw new GeoPackageException(
+					"Pipeline queue size must be positive, size: "
+							+ pipelineQueueSize);
+		}
+		this.pipelineQueueSize = pipelineQueueSize;
+	}
+
+	/**
+	 * Get the number of rows and columns in the grid of bounding box
+	 * partitions
+	 * 
+	 * @return partition grid size, 1 when not partitioned
+	 * @since 3.4.1
+	 */
+	public int getPartitionGrid() {
+		return partitionGrid;
+	}
+
+	/**
+	 * Set the number of rows and columns in the grid of bounding box
+	 * partitions. When greater than 1, the bounding box (or the world bounds
+	 * when not set) is split into a grid of sub boxes requested concurrently,
+	 * and features returned by multiple partitions are deduplicated by id.
+	 * 
+	 * @param partitionGrid
+	 *            partition grid size, 1 to not partition
+	 * @since 3.4.1
+	 */
+	public void setPartitionGrid(int partitionGrid) {
+		if (partitionGrid < 1) {
+			throw new GeoPackageException(
+					"Partition grid must be positive, grid: "
+							+ partitionGrid);
+		}
+		this.partitionGrid = partitionGrid;
+	}
+
+	/**
+	 * Get the number of concurrent partition requests
+	 * 
+	 * @return partition parallelism
+	 * @since 3.4.1
+	 */
+	public int getPartitionParallelism() {
+		return partitionParallelism;
+	}
+
+	/**
+	 * Set the number of concurrent partition requests
+	 * 
+	 * @param partitionParallelism
+	 *            partition parallelism
+	 * @since 3.4.1
+	 */
+	public void setPartitionParallelism(int partitionParallelism) {
+		if (partitionParallelism < 1) {
+			throw new GeoPackageException(
+					"Partition parallelism must be positive, parallelism: "
+							+ partitionParallelism);
+		}
+		this.partitionParallelism = partitionParallelism;
+	}
+
+	/**
+	 * Is streaming mode enabled, parsing features incrementally from the
+	 * response stream in batches
+	 * 
+	 * @return true if streaming
+	 * @since 3.4.1
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * Set the streaming mode. When streaming, features are parsed one at a
+	 * time from the response stream and written in batches of the
+	 * {@link #getStreamBatchSize()}, so memory use is set by the batch size
+	 * instead of the page size.
+	 * 
+	 * @param streaming
+	 *            true to stream
+	 * @since 3.4.1
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Get the number of features per streamed batch
+	 * 
+	 * @return stream batch size
+	 * @since 3.4.1
+	 */
+	public int getStreamBatchSize() {
+		return streamBatchSize;
+	}
+
+	/**
+	 * Set the number of features per streamed batch
+	 * 
+	 * @param streamBatchSize
+	 *            stream batch size
+	 * @since 3.4.1
+	 */
+	public void setStreamBatchSize(int streamBatchSize) {
+		if (streamBatchSize < 1) {
+			throw new GeoPackageException(
+					"Stream batch size must be positive, size: "
+							+ streamBatchSize);
+		}
+		this.streamBatchSize = streamBatchSize;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -321,6 +637,246 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 							+ projection.getCode());
 		}
 
+		int count;
+		if (partitionGrid > 1) {
+			count = generatePartitionedFeatures(url);
+		} else {
+			count = generateFeatures(buildItemsUrl(url, boundingBox), 0);
+		}
+
+		finishFeatures();
+
+		if (progress != null && !progress.isActive()
+				&& progress.cleanupOnCancel()) {
+			geoPackage.deleteTableQuietly(tableName);
+			count = 0;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Generate features by requesting a grid of bounding box partitions
+	 * concurrently, following the next links within each partition. Features
+	 * returned by multiple partitions, such as those straddling partition
+	 * edges, are written once by feature id. Features without an id are not
+	 * deduplicated. The calling thread writes the features.
+	 * 
+	 * @param url
+	 *            collection URL
+	 * @return feature count
+	 * @throws SQLException
+	 *             upon failure
+	 * @since 3.4.1
+	 */
+	protected int generatePartitionedFeatures(String url)
+			throws SQLException {
+
+		BoundingBox partitionBox = boundingBox;
+		if (partitionBox == null) {
+			if (requestProjection(boundingBoxProjection)) {
+				LOGGER.log(Level.WARNING,
+						"Partitioned requests require a bounding box when "
+								+ "the bounding box projection is not the default");
+				return generateFeatures(buildItemsUrl(url, null), 0);
+			}
+			partitionBox = new BoundingBox(-180.0, -90.0, 180.0, 90.0);
+		}
+		List<BoundingBox> partitions = partition(partitionBox, partitionGrid);
+
+		final BlockingQueue<Object> batches = new ArrayBlockingQueue<>(
+				pipelineQueueSize * partitionParallelism);
+		final Set<String> ids = ConcurrentHashMap.newKeySet();
+		final AtomicBoolean stopped = new AtomicBoolean();
+		final AtomicInteger remaining = new AtomicInteger(partitions.size());
+
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(partitionParallelism, partitions.size()),
+				new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "OAPI Features "
+								+ id + " " + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		int count = 0;
+		try {
+
+			for (BoundingBox partition : partitions) {
+				final String itemsUrl = buildItemsUrl(url, partition);
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							harvestPartition(itemsUrl, ids, stopped, batches);
+						} finally {
+							if (remaining.decrementAndGet() == 0) {
+								endPartitions(batches);
+							}
+						}
+					}
+				});
+			}
+
+			while (isActive()) {
+
+				Object item = batches.take();
+				if (item == PIPELINE_END) {
+					break;
+				} else if (item instanceof PipelineFailure) {
+					throw ((PipelineFailure) item).getException();
+				}
+
+				@SuppressWarnings("unchecked")
+				List<Feature> features = (List<Feature>) item;
+				if (totalLimit != null && count + features.size() > totalLimit) {
+					features = features.subList(0, totalLimit - count);
+				}
+				count += createFeatures(features);
+
+				if (totalLimit != null && count >= totalLimit) {
+					break;
+				}
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted generating features. URL: " + url, e);
+		} finally {
+			stopped.set(true);
+			executor.shutdownNow();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Partition worker, requesting the partition items and following next
+	 * links, passing features not yet seen by id to the writer
+	 * 
+	 * @param itemsUrl
+	 *            partition items URL
+	 * @param ids
+	 *            concurrent set of seen feature ids
+	 * @param stopped
+	 *            writer stopped flag
+	 * @param batches
+	 *            feature batches
+	 */
+	private void harvestPartition(String itemsUrl, Set<String> ids,
+			AtomicBoolean stopped, BlockingQueue<Object> batches) {
+		Deque<String> links = new ArrayDeque<>();
+		try {
+			try {
+				String url = buildItemsRequestUrl(itemsUrl, 0);
+				while (url != null && !stopped.get() && isActive()) {
+
+					FeatureCollection featureCollection = FeaturesConverter
+							.toFeatureCollection(urlRequest(url));
+
+					List<Feature> features = new ArrayList<>();
+					for (Feature feature : featureCollection
+							.getFeatureCollection().getFeatures()) {
+						String featureId = feature.getId();
+						if (featureId == null || ids.add(featureId)) {
+							features.add(feature);
+						}
+					}
+					if (!features.isEmpty()) {
+						batches.put(features);
+					}
+
+					List<Link> nextLinks = featureCollection.getRelationLinks()
+							.get(FeatureCollection.LINK_RELATION_NEXT);
+					if (nextLinks != null) {
+						for (int i = nextLinks.size() - 1; i >= 0; i--) {
+							links.push(nextLinks.get(i).getHref());
+						}
+					}
+					String next = links.poll();
+					url = next != null ? buildItemsRequestUrl(next, 0) : null;
+				}
+			} catch (InterruptedException e) {
+				throw e;
+			} catch (Exception e) {
+				stopped.set(true);
+				batches.put(new PipelineFailure(e));
+			}
+		} catch (InterruptedException e) {
+			// Pipeline stopped
+		}
+	}
+
+	/**
+	 * End the partitioned harvest after the last partition, waiting for queue
+	 * space behind the batches not yet written
+	 * 
+	 * @param batches
+	 *            feature batches
+	 */
+	private static void endPartitions(BlockingQueue<Object> batches) {
+		try {
+			batches.put(PIPELINE_END);
+		} catch (InterruptedException e) {
+			// Pipeline stopped
+		}
+	}
+
+	/**
+	 * Split the bounding box into a grid of equally sized partitions
+	 * 
+	 * @param boundingBox
+	 *            bounding box
+	 * @param grid
+	 *            number of rows and columns
+	 * @return partitions ordered by row then column
+	 * @since 3.4.1
+	 */
+	public static List<BoundingBox> partition(BoundingBox boundingBox,
+			int grid) {
+
+		List<BoundingBox> partitions = new ArrayList<>(grid * grid);
+
+		double minLongitude = boundingBox.getMinLongitude();
+		double minLatitude = boundingBox.getMinLatitude();
+		double width = (boundingBox.getMaxLongitude() - minLongitude) / grid;
+		double height = (boundingBox.getMaxLatitude() - minLatitude) / grid;
+
+		for (int row = 0; row < grid; row++) {
+			double maxLatitude = row + 1 == grid ? boundingBox.getMaxLatitude()
+					: minLatitude + (row + 1) * height;
+			for (int column = 0; column < grid; column++) {
+				double maxLongitude = column + 1 == grid
+						? boundingBox.getMaxLongitude()
+						: minLongitude + (column + 1) * width;
+				partitions.add(new BoundingBox(minLongitude + column * width,
+						minLatitude + row * height, maxLongitude,
+						maxLatitude));
+			}
+		}
+
+		return partitions;
+	}
+
+	/**
+	 * Build the items URL for the collection URL with the time, bounding box,
+	 * and projection parameters
+	 * 
+	 * @param url
+	 *            collection URL
+	 * @param boundingBox
+	 *            bounding box in the bounding box projection, or null
+	 * @return items URL
+	 * @since 3.4.1
+	 */
+	protected String buildItemsUrl(String url, BoundingBox boundingBox) {
+
 		StringBuilder urlBuilder = new StringBuilder(url);
 
 		urlBuilder.append("/items");
@@ -375,17 +931,7 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 			urlBuilder.append(getCrs(projection).toString());
 		}
 
-		String urlValue = urlBuilder.toString();
-
-		int count = generateFeatures(urlValue, 0);
-
-		if (progress != null && !progress.isActive()
-				&& progress.cleanupOnCancel()) {
-			geoPackage.deleteTableQuietly(tableName);
-			count = 0;
-		}
-
-		return count;
+		return urlBuilder.toString();
 	}
 
 	/**
@@ -526,7 +1072,12 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 	}
 
 	/**
-	 * Generate features
+	 * Generate features from the items URL and all following next links. Pages
+	 * are harvested through a pipeline: a fetcher thread downloads the next
+	 * page as soon as its link is known, a parser thread decodes pages and
+	 * resolves the next link, and the calling thread writes the parsed pages.
+	 * Bounded queues of {@link #getPipelineQueueSize()} pages between the
+	 * stages apply backpressure, so downloads overlap with writes.
 	 * 
 	 * @param urlString
 	 *            URL
@@ -539,6 +1090,266 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 	public int generateFeatures(String urlString, int currentCount)
 			throws SQLException {
 
+		if (streaming) {
+			return generateStreamedFeatures(urlString, currentCount);
+		}
+
+		final BlockingQueue<Object> requests = new ArrayBlockingQueue<>(1);
+		final BlockingQueue<Object> pages = new ArrayBlockingQueue<>(
+				pipelineQueueSize);
+		final BlockingQueue<Object> collections = new ArrayBlockingQueue<>(
+				pipelineQueueSize);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2,
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"OAPI Features " + id);
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		try {
+
+			requests.add(buildItemsRequestUrl(urlString, currentCount));
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					fetchPages(requests, pages);
+				}
+			});
+			final int startCount = currentCount;
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					parsePages(pages, requests, collections, startCount);
+				}
+			});
+
+			boolean first = currentCount == 0;
+			while (isActive()) {
+
+				Object item = collections.take();
+				if (item == PIPELINE_END) {
+					break;
+				} else if (item instanceof PipelineFailure) {
+					throw ((PipelineFailure) item).getException();
+				}
+
+				FeatureCollection featureCollection = (FeatureCollection) item;
+
+				if (first && progress != null) {
+					Integer max = totalLimit;
+					Integer numberMatched = featureCollection
+							.getNumberMatched();
+					if (numberMatched != null) {
+						if (max == null) {
+							max = numberMatched;
+						} else {
+							max = Math.min(max, numberMatched);
+						}
+					}
+					if (max != null) {
+						progress.setMax(max);
+					}
+				}
+				first = false;
+
+				if (isActive()) {
+					int returned = getReturnedCount(featureCollection,
+							featureCollection.getFeatureCollection()
+									.getFeatures().size());
+					createFeatures(featureCollection);
+					currentCount += returned;
+				}
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted generating features. URL: " + urlString, e);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return currentCount;
+	}
+
+	/**
+	 * Generate features from the items URL and all following next links,
+	 * stream parsing each response. A fetcher thread parses features from the
+	 * response stream into batches and the calling thread writes them, with
+	 * at most {@link #getPipelineQueueSize()} batches buffered between them.
+	 * 
+	 * @param urlString
+	 *            URL
+	 * @param currentCount
+	 *            current count
+	 * @return current result count
+	 * @since 3.4.1
+	 */
+	protected int generateStreamedFeatures(final String urlString,
+			final int currentCount) {
+
+		final BlockingQueue<Object> batches = new ArrayBlockingQueue<>(
+				pipelineQueueSize);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor(
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"OAPI Features " + id);
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		int count = currentCount;
+		try {
+
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					streamPages(urlString, currentCount, batches);
+				}
+			});
+
+			boolean first = currentCount == 0;
+			while (isActive()) {
+
+				Object item = batches.take();
+				if (item == PIPELINE_END) {
+					break;
+				} else if (item instanceof PipelineFailure) {
+					throw ((PipelineFailure) item).getException();
+				} else if (item instanceof FeatureCollection) {
+					// Page metadata, parsed from the end of the response
+					FeatureCollection featureCollection = (FeatureCollection) item;
+					count += featureCollection.getNumberReturned();
+					if (first && progress != null) {
+						Integer max = totalLimit;
+						Integer numberMatched = featureCollection
+								.getNumberMatched();
+						if (numberMatched != null) {
+							max = max == null ? numberMatched
+									: Math.min(max, numberMatched);
+						}
+						if (max != null) {
+							progress.setMax(max);
+						}
+					}
+					first = false;
+				} else {
+					@SuppressWarnings("unchecked")
+					List<Feature> features = (List<Feature>) item;
+					createFeatures(features);
+				}
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted generating features. URL: " + urlString, e);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Streaming fetcher stage, stream parsing each page into feature batches
+	 * followed by the page metadata, and following the next links
+	 * 
+	 * @param urlString
+	 *            URL
+	 * @param currentCount
+	 *            current count
+	 * @param batches
+	 *            feature batches and page metadata
+	 */
+	private void streamPages(String urlString, int currentCount,
+			final BlockingQueue<Object> batches) {
+		Deque<String> links = new ArrayDeque<>();
+		try {
+			try {
+				String url = buildItemsRequestUrl(urlString, currentCount);
+				while (url != null && isActive()) {
+
+					final int[] streamed = new int[1];
+					FeatureCollection featureCollection = streamRequest(url,
+							new FeatureBatchHandler() {
+								@Override
+								public void features(List<Feature> features)
+										throws InterruptedException {
+									streamed[0] += features.size();
+									batches.put(features);
+								}
+							});
+					int returned = getReturnedCount(featureCollection,
+							streamed[0]);
+					featureCollection.setNumberReturned(returned);
+					batches.put(featureCollection);
+					currentCount += returned;
+
+					List<Link> nextLinks = featureCollection.getRelationLinks()
+							.get(FeatureCollection.LINK_RELATION_NEXT);
+					if (nextLinks != null) {
+						for (int i = nextLinks.size() - 1; i >= 0; i--) {
+							links.push(nextLinks.get(i).getHref());
+						}
+					}
+					String next = links.poll();
+					url = null;
+					if (next != null && (totalLimit == null
+							|| totalLimit > currentCount)) {
+						url = buildItemsRequestUrl(next, currentCount);
+					}
+				}
+				batches.put(PIPELINE_END);
+			} catch (InterruptedException e) {
+				throw e;
+			} catch (Exception e) {
+				batches.put(new PipelineFailure(e));
+			}
+		} catch (InterruptedException e) {
+			// Pipeline stopped
+		}
+	}
+
+	/**
+	 * Get the number of features returned in a page, counted toward the total
+	 * limit and the next request limits by every pipeline stage: the number
+	 * returned reported by the server, or the number of page features when
+	 * not reported
+	 * 
+	 * @param featureCollection
+	 *            feature collection page
+	 * @param features
+	 *            number of page features
+	 * @return returned count
+	 */
+	private static int getReturnedCount(FeatureCollection featureCollection,
+			int features) {
+		Integer numberReturned = featureCollection.getNumberReturned();
+		return numberReturned != null ? numberReturned : features;
+	}
+
+	/**
+	 * Build the items request URL, setting the request limit from the limit
+	 * and remaining total limit
+	 * 
+	 * @param urlString
+	 *            URL
+	 * @param currentCount
+	 *            current count
+	 * @return request URL
+	 * @since 3.4.1
+	 */
+	protected String buildItemsRequestUrl(String urlString, int currentCount) {
+
 		StringBuilder urlBuilder = new StringBuilder(urlString);
 
 		int paramIndex = urlString.lastIndexOf("?");
@@ -567,52 +1378,102 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 			}
 		}
 
-		String features = null;
-		if (isActive()) {
-			features = urlRequest(urlBuilder.toString());
-		}
-
-		if (features != null && isActive()) {
-
-			FeatureCollection featureCollection = FeaturesConverter
-					.toFeatureCollection(features);
+		return urlBuilder.toString();
+	}
 
-			if (currentCount == 0 && progress != null) {
-				Integer max = totalLimit;
-				Integer numberMatched = featureCollection.getNumberMatched();
-				if (numberMatched != null) {
-					if (max == null) {
-						max = numberMatched;
-					} else {
-						max = Math.min(max, numberMatched);
+	/**
+	 * Fetcher stage, downloading each requested URL until the end of the
+	 * requests
+	 * 
+	 * @param requests
+	 *            request URLs
+	 * @param pages
+	 *            downloaded pages
+	 */
+	private void fetchPages(BlockingQueue<Object> requests,
+			BlockingQueue<Object> pages) {
+		try {
+			try {
+				while (isActive()) {
+					Object request = requests.take();
+					if (request == PIPELINE_END) {
+						break;
 					}
+					pages.put(urlRequest((String) request));
 				}
-				if (max != null) {
-					progress.setMax(max);
-				}
+				pages.put(PIPELINE_END);
+			} catch (InterruptedException e) {
+				throw e;
+			} catch (Exception e) {
+				pages.put(new PipelineFailure(e));
 			}
+		} catch (InterruptedException e) {
+			// Pipeline stopped
+		}
+	}
 
-			createFeatures(featureCollection);
-
-			Integer numberReturned = featureCollection.getNumberReturned();
-			if (numberReturned != null) {
-				currentCount += numberReturned;
-			}
+	/**
+	 * Parser stage, decoding each page, requesting the next link, and passing
+	 * the feature collection to the writer
+	 * 
+	 * @param pages
+	 *            downloaded pages
+	 * @param requests
+	 *            request URLs
+	 * @param collections
+	 *            parsed feature collections
+	 * @param currentCount
+	 *            current count
+	 */
+	private void parsePages(BlockingQueue<Object> pages,
+			BlockingQueue<Object> requests, BlockingQueue<Object> collections,
+			int currentCount) {
+		Deque<String> links = new ArrayDeque<>();
+		try {
+			try {
+				while (true) {
 
-			List<Link> nextLinks = featureCollection.getRelationLinks()
-					.get(FeatureCollection.LINK_RELATION_NEXT);
-			if (nextLinks != null) {
-				for (Link nextLink : nextLinks) {
-					if (totalLimit != null && totalLimit <= currentCount) {
+					Object page = pages.take();
+					if (page == PIPELINE_END
+							|| page instanceof PipelineFailure) {
+						collections.put(page);
 						break;
 					}
-					currentCount = generateFeatures(nextLink.getHref(),
-							currentCount);
+
+					FeatureCollection featureCollection = FeaturesConverter
+							.toFeatureCollection((String) page);
+
+					currentCount += getReturnedCount(featureCollection,
+							featureCollection.getFeatureCollection()
+									.getFeatures().size());
+
+					// Follow next links in order, depth first
+					List<Link> nextLinks = featureCollection.getRelationLinks()
+							.get(FeatureCollection.LINK_RELATION_NEXT);
+					if (nextLinks != null) {
+						for (int i = nextLinks.size() - 1; i >= 0; i--) {
+							links.push(nextLinks.get(i).getHref());
+						}
+					}
+					String next = links.poll();
+					if (next != null && (totalLimit == null
+							|| totalLimit > currentCount)) {
+						requests.put(buildItemsRequestUrl(next, currentCount));
+					} else {
+						requests.put(PIPELINE_END);
+					}
+
+					collections.put(featureCollection);
 				}
+			} catch (InterruptedException e) {
+				throw e;
+			} catch (Exception e) {
+				collections.put(new PipelineFailure(e));
+				requests.offer(PIPELINE_END);
 			}
+		} catch (InterruptedException e) {
+			// Pipeline stopped
 		}
-
-		return currentCount;
 	}
 
 	/**
@@ -673,45 +1534,173 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 
 		String response = null;
 
-		HttpURLConnection connection = null;
+		try (InputStream responseStream = openStream(urlValue, url)) {
+			response = GeoPackageIOUtils.streamString(responseStream);
+		} catch (IOException e) {
+			throw new GeoPackageException("Failed request. URL: " + urlValue,
+					e);
+		}
+
+		return response;
+	}
+
+	/**
+	 * Open the URL response stream through the HTTP transport, verifying the
+	 * response is OK
+	 * 
+	 * @param urlValue
+	 *            URL string value
+	 * @param url
+	 *            URL
+	 * @return response stream, closed by the caller to release the connection
+	 * @throws IOException
+	 *             upon failure
+	 * @since 3.4.1
+	 */
+	protected InputStream openStream(String urlValue, URL url)
+			throws IOException {
+		LOGGER.log(Level.INFO, urlValue);
+		return transport.get(url, ACCEPT);
+	}
+
+	/**
+	 * Perform a URL request, stream parsing the features response. Opening
+	 * the connection is attempted up to the download attempts, failures after
+	 * features have been handled are not retried.
+	 * 
+	 * @param urlValue
+	 *            URL string value
+	 * @param handler
+	 *            feature batch handler
+	 * @return feature collection page metadata without features
+	 * @throws InterruptedException
+	 *             upon interruption
+	 * @since 3.4.1
+	 */
+	protected FeatureCollection streamRequest(String urlValue,
+			FeatureBatchHandler handler) throws InterruptedException {
+
+		URL url;
 		try {
-			LOGGER.log(Level.INFO, urlValue);
-			connection = (HttpURLConnection) url.openConnection();
-			connection.setRequestProperty("Accept",
-					"application/json,application/geo+json");
-			connection.connect();
-
-			int responseCode = connection.getResponseCode();
-			if (responseCode == HttpURLConnection.HTTP_MOVED_PERM
-					|| responseCode == HttpURLConnection.HTTP_MOVED_TEMP
-					|| responseCode == HttpURLConnection.HTTP_SEE_OTHER) {
-				String redirect = connection.getHeaderField("Location");
-				connection.disconnect();
-				url = new URL(redirect);
-				connection = (HttpURLConnection) url.openConnection();
-				connection.connect();
-			}
+			url = new URL(urlValue);
+		} catch (MalformedURLException e) {
+			throw new GeoPackageException("Failed request. URL: " + urlValue,
+					e);
+		}
 
-			if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
-				throw new GeoPackageException("Failed request. URL: " + urlValue
-						+ ", Response Code: " + connection.getResponseCode()
-						+ ", Response Message: "
-						+ connection.getResponseMessage());
+		InputStream stream = null;
+		int attempt = 1;
+		while (stream == null) {
+			try {
+				stream = openStream(urlValue, url);
+			} catch (Exception e) {
+				if (attempt < downloadAttempts) {
+					LOGGER.log(Level.WARNING,
+							"Failed to download features after attempt "
+									+ attempt + " of " + downloadAttempts
+									+ ". URL: " + urlValue,
+							e);
+					attempt++;
+				} else {
+					throw new GeoPackageException(
+							"Failed to download features after "
+									+ downloadAttempts + " attempts. URL: "
+									+ urlValue,
+							e);
+				}
 			}
+		}
 
-			InputStream responseStream = connection.getInputStream();
-			response = GeoPackageIOUtils.streamString(responseStream);
-
+		try {
+			return streamFeatures(stream, handler);
 		} catch (IOException e) {
 			throw new GeoPackageException("Failed request. URL: " + urlValue,
 					e);
 		} finally {
-			if (connection != null) {
-				connection.disconnect();
+			GeoPackageIOUtils.closeQuietly(stream);
+		}
+	}
+
+	/**
+	 * Stream parse a features response, passing batches of the
+	 * {@link #getStreamBatchSize()} features to the handler as they are read.
+	 * Only a single feature and the current batch are held in memory.
+	 * 
+	 * @param stream
+	 *            features response stream
+	 * @param handler
+	 *            feature batch handler
+	 * @return feature collection page metadata without features
+	 * @throws IOException
+	 *             upon read failure
+	 * @throws InterruptedException
+	 *             upon interruption
+	 * @since 3.4.1
+	 */
+	protected FeatureCollection streamFeatures(InputStream stream,
+			FeatureBatchHandler handler)
+			throws IOException, InterruptedException {
+
+		ObjectNode metadata = FeatureConverter.mapper.createObjectNode();
+
+		try (JsonParser parser = FeatureConverter.mapper.getFactory()
+				.createParser(stream)) {
+
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new GeoPackageException(
+						"Features response is not a JSON object");
+			}
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+				String field = parser.getCurrentName();
+				JsonToken token = parser.nextToken();
+
+				if (field.equals(FEATURES)) {
+					if (token == JsonToken.START_ARRAY) {
+						List<Feature> batch = new ArrayList<>(
+								streamBatchSize);
+						JsonToken element;
+						while ((element = parser
+								.nextToken()) != JsonToken.END_ARRAY) {
+							if (element != JsonToken.START_OBJECT) {
+								throw new GeoPackageException(
+										"Features array element is not a JSON object: "
+												+ element);
+							}
+							JsonNode node = parser.readValueAsTree();
+							batch.add(FeatureConverter.toFeature(node));
+							if (batch.size() >= streamBatchSize) {
+								handler.features(batch);
+								batch = new ArrayList<>(streamBatchSize);
+							}
+						}
+						if (!batch.isEmpty()) {
+							handler.features(batch);
+						}
+					} else {
+						parser.skipChildren();
+					}
+				} else {
+					JsonNode value = parser.readValueAsTree();
+					metadata.set(field, value);
+				}
+
+			}
+
+			// Read to the end of the response, completing any response cache
+			if (parser.nextToken() != null) {
+				throw new GeoPackageException(
+						"Unexpected content after the features response object");
 			}
 		}
 
-		return response;
+		metadata.putArray(FEATURES);
+		if (!metadata.has(TYPE)) {
+			metadata.put(TYPE, FEATURE_COLLECTION);
+		}
+
+		return FeaturesConverter.toFeatureCollection(metadata);
 	}
 
 	/**
@@ -743,13 +1732,36 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 	 */
 	protected int createFeatures(FeatureCollection featureCollection) {
 
+		int count = createFeatures(
+				featureCollection.getFeatureCollection().getFeatures());
+
+		Integer numberReturned = featureCollection.getNumberReturned();
+		if (numberReturned != null && numberReturned != count) {
+			LOGGER.log(Level.WARNING,
+					"Feature Collection number returned does not match number of features created. Number Returned: "
+							+ numberReturned + ", Created: " + count);
+		}
+		featureCollection.setNumberReturned(count);
+
+		return count;
+	}
+
+	/**
+	 * Create the features
+	 * 
+	 * @param features
+	 *            features
+	 * @return features created
+	 * @since 3.4.1
+	 */
+	protected int createFeatures(List<Feature> features) {
+
 		int count = 0;
 
 		geoPackage.beginTransaction();
 		try {
 
-			for (Feature feature : featureCollection.getFeatureCollection()
-					.getFeatures()) {
+			for (Feature feature : features) {
 
 				if (!isActive()) {
 					break;
@@ -768,11 +1780,14 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 				}
 
 				if (count > 0 && count % transactionLimit == 0) {
+					flushFeatures();
 					geoPackage.commit();
 				}
 
 			}
 
+			flushFeatures();
+
 		} catch (Exception e) {
 			LOGGER.log(Level.WARNING, "Failed to create features", e);
 			geoPackage.failTransaction();
@@ -780,14 +1795,6 @@ public abstract class OAPIFeatureCoreGenerator extends FeatureCoreGenerator {
 			geoPackage.endTransaction();
 		}
 
-		Integer numberReturned = featureCollection.getNumberReturned();
-		if (numberReturned != null && numberReturned != count) {
-			LOGGER.log(Level.WARNING,
-					"Feature Collection number returned does not match number of features created. Number Returned: "
-							+ numberReturned + ", Created: " + count);
-		}
-		featureCollection.setNumberReturned(count);
-
 		return count;
 	}
 
@@ -1,9 +1,10 @@
 package mil.nga.geopackage.geom;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 
 import mil.nga.geopackage.GeoPackageConstants;
 import mil.nga.geopackage.GeoPackageException;
@@ -29,6 +30,12 @@ public class GeoPackageGeometryData {
 	 */
 	private byte[] bytes;
 
+	/**
+	 * Byte buffer of the entire GeoPackage geometry, wrapping the bytes or a
+	 * slice of a populating buffer
+	 */
+	private ByteBuffer buffer;
+
 	/**
 	 * True if an extended geometry, false if standard
 	 */
@@ -64,6 +71,18 @@ public class GeoPackageGeometryData {
 	 */
 	private Geometry geometry;
 
+	/**
+	 * True when the Well-Known Binary geometry read is pending in lazy mode
+	 */
+	private boolean geometryPending = false;
+
+	/**
+	 * True when populated through {@link #fromByteBuffer(ByteBuffer)}, reading
+	 * the Well-Known Binary geometry with {@link GeometryBufferReader} instead
+	 * of the sf-wkb {@link GeometryReader}
+	 */
+	private boolean bufferCodec = false;
+
 	/**
 	 * Constructor
 	 * 
@@ -86,6 +105,45 @@ public class GeoPackageGeometryData {
 		fromBytes(bytes);
 	}
 
+	/**
+	 * Constructor
+	 * 
+	 * @param bytes
+	 *            geometry bytes
+	 * @param lazy
+	 *            true to read only the header and envelope, deferring the
+	 *            geometry read until first requested
+	 * @since 3.4.1
+	 */
+	public GeoPackageGeometryData(byte[] bytes, boolean lazy) {
+		fromBytes(bytes, lazy);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param buffer
+	 *            geometry byte buffer, remaining bytes are read
+	 * @since 3.4.1
+	 */
+	public GeoPackageGeometryData(ByteBuffer buffer) {
+		fromByteBuffer(buffer);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param buffer
+	 *            geometry byte buffer, remaining bytes are read
+	 * @param lazy
+	 *            true to read only the header and envelope, deferring the
+	 *            geometry read until first requested
+	 * @since 3.4.1
+	 */
+	public GeoPackageGeometryData(ByteBuffer buffer, boolean lazy) {
+		fromByteBuffer(buffer, lazy);
+	}
+
 	/**
 	 * Populate the geometry data from the bytes
 	 * 
@@ -93,19 +151,116 @@ public class GeoPackageGeometryData {
 	 *            geometry bytes
 	 */
 	public void fromBytes(byte[] bytes) {
+		fromBytes(bytes, false);
+	}
+
+	/**
+	 * Populate the geometry data from the bytes. When lazy, only the header
+	 * and envelope are read and the Well-Known Binary geometry is read on the
+	 * first call to {@link #getGeometry()}. The bytes must not be modified
+	 * while the geometry read is pending.
+	 * 
+	 * @param bytes
+	 *            geometry bytes
+	 * @param lazy
+	 *            true to read only the header and envelope, deferring the
+	 *            geometry read until first requested
+	 * @since 3.4.1
+	 */
+	public void fromBytes(byte[] bytes, boolean lazy) {
+		read(bytes, ByteBuffer.wrap(bytes), false, lazy);
+	}
+
+	/**
+	 * Populate the geometry data from the remaining bytes of the buffer,
+	 * heap or direct, without copying them into a byte array. The buffer
+	 * position and byte order are not modified. The buffer contents must not
+	 * be modified while referenced by this geometry data, and
+	 * {@link #getBytes()} copies the bytes on first request. The Well-Known
+	 * Binary geometry is decoded with {@link GeometryBufferReader}, while
+	 * {@link #fromBytes(byte[])} uses the sf-wkb reader.
+	 * 
+	 * @param buffer
+	 *            geometry byte buffer
+	 * @since 3.4.1
+	 */
+	public void fromByteBuffer(ByteBuffer buffer) {
+		fromByteBuffer(buffer, false);
+	}
+
+	/**
+	 * Populate the geometry data from the remaining bytes of the buffer,
+	 * heap or direct, without copying them into a byte array. The buffer
+	 * position and byte order are not modified. The buffer contents must not
+	 * be modified while referenced by this geometry data, and
+	 * {@link #getBytes()} copies the bytes on first request.
+	 * 
+	 * @param buffer
+	 *            geometry byte buffer
+	 * @param lazy
+	 *            true to read only the header and envelope, deferring the
+	 *            geometry read until first requested
+	 * @since 3.4.1
+	 */
+	public void fromByteBuffer(ByteBuffer buffer, boolean lazy) {
+		read(null, buffer.slice(), true, lazy);
+	}
+
+	/**
+	 * Populate the geometry data from the buffer starting at position 0
+	 * 
+	 * @param bytes
+	 *            geometry bytes wrapped by the buffer, null when populated
+	 *            from a buffer
+	 * @param buffer
+	 *            geometry byte buffer
+	 * @param bufferCodec
+	 *            true to read the geometry with {@link GeometryBufferReader}
+	 * @param lazy
+	 *            true to defer the geometry read
+	 */
+	private void read(byte[] bytes, ByteBuffer buffer, boolean bufferCodec,
+			boolean lazy) {
+
 		this.bytes = bytes;
+		this.buffer = buffer;
+		this.bufferCodec = bufferCodec;
+		geometry = null;
+		geometryPending = false;
 
-		ByteReader reader = new ByteReader(bytes);
+		ByteBuffer reader = buffer.duplicate();
 
-		// Get 2 bytes as the magic number and validate
-		String magic = null;
 		try {
-			magic = reader.readString(2);
-		} catch (UnsupportedEncodingException e) {
+			readHeader(reader);
+		} catch (BufferUnderflowException e) {
 			throw new GeoPackageException(
-					"Unexpected GeoPackage Geometry magic number character encoding: Expected: "
-							+ GeoPackageConstants.GEO_PACKAGE_GEOMETRY_MAGIC_NUMBER);
+					"Unexpected end of GeoPackage Geometry header bytes", e);
+		}
+
+		// Read the Well-Known Binary Geometry if not marked as empty
+		if (!empty) {
+			if (lazy) {
+				geometryPending = true;
+			} else {
+				geometry = readGeometry();
+			}
 		}
+
+	}
+
+	/**
+	 * Populate the header values and envelope from the buffer
+	 * 
+	 * @param reader
+	 *            byte buffer, positioned at the start of the WKB bytes when
+	 *            done
+	 */
+	private void readHeader(ByteBuffer reader) {
+
+		// Get 2 bytes as the magic number and validate
+		byte[] magicBytes = new byte[2];
+		reader.get(magicBytes);
+		String magic = new String(magicBytes, StandardCharsets.UTF_8);
 		if (!magic
 				.equals(GeoPackageConstants.GEO_PACKAGE_GEOMETRY_MAGIC_NUMBER)) {
 			throw new GeoPackageException(
@@ -116,7 +271,7 @@ public class GeoPackageGeometryData {
 		}
 
 		// Get a byte as the version and validate, value of 0 = version 1
-		byte version = reader.readByte();
+		byte version = reader.get();
 		if (version != GeoPackageConstants.GEO_PACKAGE_GEOMETRY_VERSION_1) {
 			throw new GeoPackageException(
 					"Unexpected GeoPackage Geometry version: "
@@ -126,24 +281,18 @@ public class GeoPackageGeometryData {
 		}
 
 		// Get a flags byte and then read the flag values
-		byte flags = reader.readByte();
+		byte flags = reader.get();
 		int envelopeIndicator = readFlags(flags);
-		reader.setByteOrder(byteOrder);
+		reader.order(byteOrder);
 
 		// Read the 5th - 8th bytes as the srs id
-		srsId = reader.readInt();
+		srsId = reader.getInt();
 
 		// Read the envelope
 		envelope = readEnvelope(envelopeIndicator, reader);
 
 		// Save off where the WKB bytes start
-		wkbGeometryIndex = reader.getNextByte();
-
-		// Read the Well-Known Binary Geometry if not marked as empty
-		if (!empty) {
-			geometry = GeometryReader.readGeometry(reader);
-		}
-
+		wkbGeometryIndex = reader.position();
 	}
 
 	/**
@@ -155,40 +304,137 @@ public class GeoPackageGeometryData {
 	 */
 	public byte[] toBytes() throws IOException {
 
+		// Write the header and envelope
+		byte[] header = new byte[getHeaderByteSize()];
+		wkbGeometryIndex = writeHeader(ByteBuffer.wrap(header));
+
 		ByteWriter writer = new ByteWriter();
+		try {
 
-		// Write GP as the 2 byte magic number
-		writer.writeString(GeoPackageConstants.GEO_PACKAGE_GEOMETRY_MAGIC_NUMBER);
+			for (byte headerByte : header) {
+				writer.writeByte(headerByte);
+			}
+			writer.setByteOrder(byteOrder);
 
-		// Write a byte as the version, value of 0 = version 1
-		writer.writeByte(GeoPackageConstants.GEO_PACKAGE_GEOMETRY_VERSION_1);
+			// Write the Well-Known Binary Geometry if not marked as empty
+			if (!empty) {
+				GeometryWriter.writeGeometry(writer, getGeometry());
+			}
 
-		// Build and write a flags byte
-		byte flags = buildFlagsByte();
-		writer.writeByte(flags);
-		writer.setByteOrder(byteOrder);
+			// Get the bytes
+			bytes = writer.getBytes();
 
-		// Write the 4 byte srs id int
-		writer.writeInt(srsId);
+		} finally {
+			writer.close();
+		}
 
-		// Write the envelope
-		writeEnvelope(writer);
+		buffer = ByteBuffer.wrap(bytes);
+		bufferCodec = false;
 
-		// Save off where the WKB bytes start
-		wkbGeometryIndex = writer.size();
+		return bytes;
+	}
+
+	/**
+	 * Write the geometry into the buffer, heap or direct, starting at the
+	 * buffer position. The position is advanced past the written bytes and
+	 * the buffer byte order is not modified. Allows a single buffer to be
+	 * reused across many geometries. Unlike {@link #toBytes()}, the geometry
+	 * data does not reference the written bytes, and the Well-Known Binary
+	 * geometry is encoded with {@link GeometryBufferWriter} instead of the
+	 * sf-wkb writer.
+	 * 
+	 * @param buffer
+	 *            byte buffer with at least {@link #getByteSize()} bytes
+	 *            remaining
+	 * @return number of bytes written
+	 * @throws java.nio.BufferOverflowException
+	 *             if the buffer does not have enough bytes remaining
+	 * @since 3.4.1
+	 */
+	public int toByteBuffer(ByteBuffer buffer) {
+
+		ByteOrder originalOrder = buffer.order();
+		int start = buffer.position();
+
+		try {
+			writeHeader(buffer);
+
+			// Write the Well-Known Binary Geometry if not marked as empty
+			if (!empty) {
+				GeometryBufferWriter.writeGeometry(buffer, getGeometry());
+			}
+		} finally {
+			buffer.order(originalOrder);
+		}
+
+		return buffer.position() - start;
+	}
 
-		// Write the Well-Known Binary Geometry if not marked as empty
+	/**
+	 * Get the number of bytes the geometry occupies when written, including
+	 * the GeoPackage header and WKB bytes
+	 * 
+	 * @return byte size
+	 * @since 3.4.1
+	 */
+	public int getByteSize() {
+		int size = getHeaderByteSize();
 		if (!empty) {
-			GeometryWriter.writeGeometry(writer, geometry);
+			size += GeometryBufferWriter.getByteSize(getGeometry());
 		}
+		return size;
+	}
 
-		// Get the bytes
-		bytes = writer.getBytes();
+	/**
+	 * Get the number of GeoPackage header and envelope bytes
+	 * 
+	 * @return header byte size
+	 */
+	private int getHeaderByteSize() {
+		int size = 8;
+		if (envelope != null) {
+			size += 32;
+			if (envelope.hasZ()) {
+				size += 16;
+			}
+			if (envelope.hasM()) {
+				size += 16;
+			}
+		}
+		return size;
+	}
 
-		// Close the writer
-		writer.close();
+	/**
+	 * Write the GeoPackage header and envelope to the buffer, setting the
+	 * buffer byte order
+	 * 
+	 * @param buffer
+	 *            byte buffer
+	 * @return number of header bytes written
+	 */
+	private int writeHeader(ByteBuffer buffer) {
 
-		return bytes;
+		int start = buffer.position();
+
+		// Write GP as the 2 byte magic number
+		buffer.put(GeoPackageConstants.GEO_PACKAGE_GEOMETRY_MAGIC_NUMBER
+				.getBytes(StandardCharsets.UTF_8));
+
+		// Write a byte as the version, value of 0 = version 1
+		buffer.put(GeoPackageConstants.GEO_PACKAGE_GEOMETRY_VERSION_1);
+
+		// Build and write a flags byte
+		byte flags = buildFlagsByte();
+		buffer.put(flags);
+		buffer.order(byteOrder);
+
+		// Write the 4 byte srs id int
+		buffer.putInt(srsId);
+
+		// Write the envelope
+		writeEnvelope(buffer);
+
+		return buffer.position() - start;
 	}
 
 	/**
@@ -277,17 +523,17 @@ public class GeoPackageGeometryData {
 	 * @return geometry envelope
 	 */
 	private GeometryEnvelope readEnvelope(int envelopeIndicator,
-			ByteReader reader) {
+			ByteBuffer reader) {
 
 		GeometryEnvelope envelope = null;
 
 		if (envelopeIndicator > 0) {
 
 			// Read x and y values and create envelope
-			double minX = reader.readDouble();
-			double maxX = reader.readDouble();
-			double minY = reader.readDouble();
-			double maxY = reader.readDouble();
+			double minX = reader.getDouble();
+			double maxX = reader.getDouble();
+			double minY = reader.getDouble();
+			double maxY = reader.getDouble();
 
 			boolean hasZ = false;
 			Double minZ = null;
@@ -300,15 +546,15 @@ public class GeoPackageGeometryData {
 			// Read z values
 			if (envelopeIndicator == 2 || envelopeIndicator == 4) {
 				hasZ = true;
-				minZ = reader.readDouble();
-				maxZ = reader.readDouble();
+				minZ = reader.getDouble();
+				maxZ = reader.getDouble();
 			}
 
 			// Read m values
 			if (envelopeIndicator == 3 || envelopeIndicator == 4) {
 				hasM = true;
-				minM = reader.readDouble();
-				maxM = reader.readDouble();
+				minM = reader.getDouble();
+				maxM = reader.getDouble();
 			}
 
 			envelope = new GeometryEnvelope(hasZ, hasM);
@@ -336,29 +582,28 @@ public class GeoPackageGeometryData {
 	 * Write the envelope bytes
 	 * 
 	 * @param writer
-	 *            byte writer
-	 * @throws IOException
+	 *            byte buffer
 	 */
-	private void writeEnvelope(ByteWriter writer) throws IOException {
+	private void writeEnvelope(ByteBuffer writer) {
 
 		if (envelope != null) {
 
 			// Write x and y values
-			writer.writeDouble(envelope.getMinX());
-			writer.writeDouble(envelope.getMaxX());
-			writer.writeDouble(envelope.getMinY());
-			writer.writeDouble(envelope.getMaxY());
+			writer.putDouble(envelope.getMinX());
+			writer.putDouble(envelope.getMaxX());
+			writer.putDouble(envelope.getMinY());
+			writer.putDouble(envelope.getMaxY());
 
 			// Write z values
 			if (envelope.hasZ()) {
-				writer.writeDouble(envelope.getMinZ());
-				writer.writeDouble(envelope.getMaxZ());
+				writer.putDouble(envelope.getMinZ());
+				writer.putDouble(envelope.getMaxZ());
 			}
 
 			// Write m values
 			if (envelope.hasM()) {
-				writer.writeDouble(envelope.getMinM());
-				writer.writeDouble(envelope.getMaxM());
+				writer.putDouble(envelope.getMinM());
+				writer.putDouble(envelope.getMaxM());
 			}
 		}
 	}
@@ -414,9 +659,47 @@ public class GeoPackageGeometryData {
 	 * @return geometry
 	 */
 	public Geometry getGeometry() {
+		if (geometryPending) {
+			geometry = readGeometry();
+			geometryPending = false;
+		}
+		return geometry;
+	}
+
+	/**
+	 * Read the Well-Known Binary geometry, with the sf-wkb reader when
+	 * populated from bytes or the {@link GeometryBufferReader} when populated
+	 * from a byte buffer
+	 * 
+	 * @return geometry
+	 */
+	private Geometry readGeometry() {
+		Geometry geometry = null;
+		if (bufferCodec) {
+			ByteBuffer reader = buffer.duplicate();
+			reader.position(wkbGeometryIndex);
+			geometry = GeometryBufferReader.readGeometry(reader);
+		} else {
+			ByteReader reader = new ByteReader(bytes);
+			for (int i = 0; i < wkbGeometryIndex; i++) {
+				reader.readByte();
+			}
+			geometry = GeometryReader.readGeometry(reader);
+		}
 		return geometry;
 	}
 
+	/**
+	 * Is the geometry read pending, populated from bytes in lazy mode and not
+	 * yet requested
+	 * 
+	 * @return true if the geometry has not been read from the bytes
+	 * @since 3.4.1
+	 */
+	public boolean isGeometryPending() {
+		return geometryPending;
+	}
+
 	/**
 	 * Set the extended flag
 	 * 
@@ -476,6 +759,7 @@ public class GeoPackageGeometryData {
 	 */
 	public void setGeometry(Geometry geometry) {
 		this.geometry = geometry;
+		geometryPending = false;
 		empty = geometry == null;
 		if (geometry != null) {
 			extended = GeometryExtensions.isNonStandard(geometry
@@ -490,6 +774,12 @@ public class GeoPackageGeometryData {
 	 * @return bytes
 	 */
 	public byte[] getBytes() {
+		if (bytes == null && buffer != null) {
+			bytes = new byte[buffer.limit()];
+			ByteBuffer copy = buffer.duplicate();
+			copy.position(0);
+			copy.get(bytes);
+		}
 		return bytes;
 	}
 
@@ -500,7 +790,7 @@ public class GeoPackageGeometryData {
 	 */
 	public byte[] getHeaderBytes() {
 		byte[] headerBytes = new byte[wkbGeometryIndex];
-		System.arraycopy(bytes, 0, headerBytes, 0, wkbGeometryIndex);
+		getHeaderByteBuffer().get(headerBytes);
 		return headerBytes;
 	}
 
@@ -510,7 +800,10 @@ public class GeoPackageGeometryData {
 	 * @return byte buffer
 	 */
 	public ByteBuffer getHeaderByteBuffer() {
-		return ByteBuffer.wrap(bytes, 0, wkbGeometryIndex).order(byteOrder);
+		ByteBuffer headerBuffer = buffer.duplicate();
+		headerBuffer.position(0);
+		headerBuffer.limit(wkbGeometryIndex);
+		return headerBuffer.order(byteOrder);
 	}
 
 	/**
@@ -519,9 +812,9 @@ public class GeoPackageGeometryData {
 	 * @return bytes
 	 */
 	public byte[] getWkbBytes() {
-		int wkbByteCount = bytes.length - wkbGeometryIndex;
-		byte[] wkbBytes = new byte[wkbByteCount];
-		System.arraycopy(bytes, wkbGeometryIndex, wkbBytes, 0, wkbByteCount);
+		ByteBuffer wkbBuffer = getWkbByteBuffer();
+		byte[] wkbBytes = new byte[wkbBuffer.remaining()];
+		wkbBuffer.get(wkbBytes);
 		return wkbBytes;
 	}
 
@@ -531,8 +824,10 @@ public class GeoPackageGeometryData {
 	 * @return byte buffer
 	 */
 	public ByteBuffer getWkbByteBuffer() {
-		return ByteBuffer.wrap(bytes, wkbGeometryIndex,
-				bytes.length - wkbGeometryIndex).order(byteOrder);
+		ByteBuffer wkbBuffer = buffer.duplicate();
+		wkbBuffer.position(wkbGeometryIndex);
+		wkbBuffer.limit(buffer.limit());
+		return wkbBuffer.order(byteOrder);
 	}
 
 	/**
@@ -545,7 +840,9 @@ public class GeoPackageGeometryData {
 	}
 
 	/**
-	 * Get the envelope if it exists or build it from the geometry if not null
+	 * Get the envelope if it exists or build it from the geometry if not null.
+	 * When the geometry read is pending, the envelope is scanned from the
+	 * Well-Known Binary bytes without reading the geometry.
 	 * 
 	 * @return geometry envelope
 	 * @since 3.1.0
@@ -553,14 +850,35 @@ public class GeoPackageGeometryData {
 	public GeometryEnvelope getOrBuildEnvelope() {
 		GeometryEnvelope envelope = getEnvelope();
 		if (envelope == null) {
-			Geometry geometry = getGeometry();
-			if (geometry != null) {
+			if (geometryPending) {
+				ByteBuffer reader = buffer.duplicate();
+				reader.position(wkbGeometryIndex);
+				envelope = GeometryEnvelopeScanner.scan(reader);
+			} else if (geometry != null) {
 				envelope = GeometryEnvelopeBuilder.buildEnvelope(geometry);
 			}
 		}
 		return envelope;
 	}
 
+	/**
+	 * Determine if the GeoPackage geometry bytes are flagged as an empty
+	 * geometry, checking only the flags byte
+	 * 
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @return true if empty
+	 * @since 3.4.1
+	 */
+	public static boolean isEmpty(byte[] bytes) {
+		if (bytes.length < 4) {
+			throw new GeoPackageException(
+					"Unexpected GeoPackage Geometry byte length: "
+							+ bytes.length);
+		}
+		return ((bytes[3] >> 4) & 1) == 1;
+	}
+
 	/**
 	 * Get the envelope flag indicator
 	 * 
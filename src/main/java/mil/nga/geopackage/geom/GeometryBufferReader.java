@@ -0,0 +1,279 @@
+package mil.nga.geopackage.geom;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.sf.CircularString;
+import mil.nga.sf.CompoundCurve;
+import mil.nga.sf.Curve;
+import mil.nga.sf.CurvePolygon;
+import mil.nga.sf.Geometry;
+import mil.nga.sf.GeometryCollection;
+import mil.nga.sf.GeometryType;
+import mil.nga.sf.LineString;
+import mil.nga.sf.MultiLineString;
+import mil.nga.sf.MultiPoint;
+import mil.nga.sf.MultiPolygon;
+import mil.nga.sf.Point;
+import mil.nga.sf.Polygon;
+import mil.nga.sf.PolyhedralSurface;
+import mil.nga.sf.TIN;
+import mil.nga.sf.Triangle;
+import mil.nga.sf.wkb.GeometryCodes;
+
+/**
+ * Well-Known Binary Geometry reader decoding directly from a
+ * {@link ByteBuffer}, heap or direct, without copying the bytes into an
+ * array. Reads the same geometries as {@link mil.nga.sf.wkb.GeometryReader}.
+ *
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class GeometryBufferReader {
+
+	/**
+	 * Extended WKB 2.5D geometry type flag
+	 */
+	private static final long WKB25D = 0x80000000L;
+
+	/**
+	 * Read a geometry from the buffer at the current position. The buffer
+	 * position is advanced past the geometry and the buffer byte order is
+	 * restored.
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @return geometry
+	 */
+	public static Geometry readGeometry(ByteBuffer buffer) {
+		ByteOrder originalOrder = buffer.order();
+		Geometry geometry = null;
+		try {
+			geometry = readGeometry(buffer, Geometry.class);
+		} catch (BufferUnderflowException e) {
+			throw new GeoPackageException(
+					"Unexpected end of Well-Known Binary geometry bytes", e);
+		} finally {
+			buffer.order(originalOrder);
+		}
+		return geometry;
+	}
+
+	/**
+	 * Read a geometry with its byte order and type header
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param expectedType
+	 *            expected geometry class
+	 * @param <T>
+	 *            geometry type
+	 * @return geometry
+	 */
+	private static <T extends Geometry> T readGeometry(ByteBuffer buffer,
+			Class<T> expectedType) {
+
+		// Read the byte order and geometry type, decoded as the sf-wkb
+		// reader does so both readers accept the same geometry type codes
+		byte byteOrderValue = buffer.get();
+		buffer.order(byteOrderValue == 0 ? ByteOrder.BIG_ENDIAN
+				: ByteOrder.LITTLE_ENDIAN);
+		long unsignedCode = buffer.getInt() & 0xffffffffL;
+		boolean hasZ = false;
+		if (unsignedCode > WKB25D) {
+			hasZ = true;
+			unsignedCode -= WKB25D;
+		}
+		int code = (int) unsignedCode;
+		GeometryType geometryType = GeometryCodes.getGeometryType(code);
+		if (!hasZ) {
+			hasZ = GeometryCodes.hasZ(code);
+		}
+		boolean hasM = GeometryCodes.hasM(code);
+
+		Geometry geometry = null;
+
+		switch (geometryType) {
+		case POINT:
+			geometry = readPoint(buffer, hasZ, hasM);
+			break;
+		case LINESTRING:
+			geometry = readPoints(buffer, new LineString(hasZ, hasM));
+			break;
+		case CIRCULARSTRING:
+			geometry = readPoints(buffer, new CircularString(hasZ, hasM));
+			break;
+		case POLYGON:
+			geometry = readRings(buffer, new Polygon(hasZ, hasM));
+			break;
+		case TRIANGLE:
+			geometry = readRings(buffer, new Triangle(hasZ, hasM));
+			break;
+		case MULTIPOINT:
+			MultiPoint multiPoint = new MultiPoint(hasZ, hasM);
+			int numPoints = buffer.getInt();
+			for (int i = 0; i < numPoints; i++) {
+				multiPoint.addPoint(readGeometry(buffer, Point.class));
+			}
+			geometry = multiPoint;
+			break;
+		case MULTILINESTRING:
+			MultiLineString multiLineString = new MultiLineString(hasZ, hasM);
+			int numLineStrings = buffer.getInt();
+			for (int i = 0; i < numLineStrings; i++) {
+				multiLineString.addLineString(
+						readGeometry(buffer, LineString.class));
+			}
+			geometry = multiLineString;
+			break;
+		case MULTIPOLYGON:
+			MultiPolygon multiPolygon = new MultiPolygon(hasZ, hasM);
+			int numPolygons = buffer.getInt();
+			for (int i = 0; i < numPolygons; i++) {
+				multiPolygon.addPolygon(readGeometry(buffer, Polygon.class));
+			}
+			geometry = multiPolygon;
+			break;
+		case GEOMETRYCOLLECTION:
+			GeometryCollection<Geometry> geometryCollection = new GeometryCollection<Geometry>(
+					hasZ, hasM);
+			int numGeometries = buffer.getInt();
+			for (int i = 0; i < numGeometries; i++) {
+				geometryCollection.addGeometry(
+						readGeometry(buffer, Geometry.class));
+			}
+			geometry = geometryCollection;
+			break;
+		case COMPOUNDCURVE:
+			CompoundCurve compoundCurve = new CompoundCurve(hasZ, hasM);
+			int numCurves = buffer.getInt();
+			for (int i = 0; i < numCurves; i++) {
+				compoundCurve.addLineString(
+						readGeometry(buffer, LineString.class));
+			}
+			geometry = compoundCurve;
+			break;
+		case CURVEPOLYGON:
+			CurvePolygon<Curve> curvePolygon = new CurvePolygon<Curve>(hasZ,
+					hasM);
+			int numRings = buffer.getInt();
+			for (int i = 0; i < numRings; i++) {
+				curvePolygon.addRing(readGeometry(buffer, Curve.class));
+			}
+			geometry = curvePolygon;
+			break;
+		case POLYHEDRALSURFACE:
+			geometry = readPolygons(buffer,
+					new PolyhedralSurface(hasZ, hasM), Polygon.class);
+			break;
+		case TIN:
+			geometry = readPolygons(buffer, new TIN(hasZ, hasM),
+					Polygon.class);
+			break;
+		default:
+			throw new GeoPackageException(
+					"Geometry Type not supported: " + geometryType);
+		}
+
+		if (!expectedType.isInstance(geometry)) {
+			throw new GeoPackageException("Unexpected Geometry Type. Expected: "
+					+ expectedType.getSimpleName() + ", Actual: "
+					+ geometry.getClass().getSimpleName());
+		}
+
+		return expectedType.cast(geometry);
+	}
+
+	/**
+	 * Read point coordinates
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param hasZ
+	 *            true if the point has a z value
+	 * @param hasM
+	 *            true if the point has a m value
+	 * @return point
+	 */
+	private static Point readPoint(ByteBuffer buffer, boolean hasZ,
+			boolean hasM) {
+		double x = buffer.getDouble();
+		double y = buffer.getDouble();
+		Point point = new Point(hasZ, hasM, x, y);
+		if (hasZ) {
+			point.setZ(buffer.getDouble());
+		}
+		if (hasM) {
+			point.setM(buffer.getDouble());
+		}
+		return point;
+	}
+
+	/**
+	 * Read count prefixed point coordinates into the line string
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param lineString
+	 *            line string
+	 * @param <T>
+	 *            line string type
+	 * @return line string
+	 */
+	private static <T extends LineString> T readPoints(ByteBuffer buffer,
+			T lineString) {
+		int numPoints = buffer.getInt();
+		for (int i = 0; i < numPoints; i++) {
+			lineString.addPoint(
+					readPoint(buffer, lineString.hasZ(), lineString.hasM()));
+		}
+		return lineString;
+	}
+
+	/**
+	 * Read count prefixed line string rings into the polygon
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param polygon
+	 *            polygon
+	 * @param <T>
+	 *            polygon type
+	 * @return polygon
+	 */
+	private static <T extends Polygon> T readRings(ByteBuffer buffer,
+			T polygon) {
+		int numRings = buffer.getInt();
+		for (int i = 0; i < numRings; i++) {
+			polygon.addRing(readPoints(buffer,
+					new LineString(polygon.hasZ(), polygon.hasM())));
+		}
+		return polygon;
+	}
+
+	/**
+	 * Read count prefixed polygons into the polyhedral surface
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param surface
+	 *            polyhedral surface
+	 * @param polygonType
+	 *            expected polygon class
+	 * @param <T>
+	 *            polyhedral surface type
+	 * @return polyhedral surface
+	 */
+	private static <T extends PolyhedralSurface> T readPolygons(
+			ByteBuffer buffer, T surface,
+			Class<? extends Polygon> polygonType) {
+		int numPolygons = buffer.getInt();
+		for (int i = 0; i < numPolygons; i++) {
+			surface.addPolygon(readGeometry(buffer, polygonType));
+		}
+		return surface;
+	}
+
+}
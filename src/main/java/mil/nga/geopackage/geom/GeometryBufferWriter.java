@@ -0,0 +1,254 @@
+package mil.nga.geopackage.geom;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.sf.CompoundCurve;
+import mil.nga.sf.CurvePolygon;
+import mil.nga.sf.Geometry;
+import mil.nga.sf.GeometryCollection;
+import mil.nga.sf.LineString;
+import mil.nga.sf.Point;
+import mil.nga.sf.PolyhedralSurface;
+import mil.nga.sf.wkb.GeometryCodes;
+
+/**
+ * Well-Known Binary Geometry writer encoding directly into a
+ * {@link ByteBuffer}, heap or direct, using the buffer byte order. Produces
+ * the same bytes as {@link mil.nga.sf.wkb.GeometryWriter} without an
+ * intermediate byte array.
+ *
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class GeometryBufferWriter {
+
+	/**
+	 * Write a geometry to the buffer at the current position
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param geometry
+	 *            geometry
+	 * @throws java.nio.BufferOverflowException
+	 *             if the buffer does not have {@link #getByteSize(Geometry)}
+	 *             bytes remaining
+	 */
+	public static void writeGeometry(ByteBuffer buffer, Geometry geometry) {
+
+		// Write the single byte order byte
+		buffer.put(buffer.order() == ByteOrder.BIG_ENDIAN ? (byte) 0
+				: (byte) 1);
+
+		// Write the geometry type integer
+		buffer.putInt(GeometryCodes.getCode(geometry));
+
+		switch (geometry.getGeometryType()) {
+		case POINT:
+			writePoint(buffer, (Point) geometry);
+			break;
+		case LINESTRING:
+		case CIRCULARSTRING:
+			writePoints(buffer, ((LineString) geometry).getPoints());
+			break;
+		case POLYGON:
+		case TRIANGLE:
+			writeGeometries(buffer, ((CurvePolygon<?>) geometry).getRings(),
+					false);
+			break;
+		case CURVEPOLYGON:
+			writeGeometries(buffer, ((CurvePolygon<?>) geometry).getRings(),
+					true);
+			break;
+		case COMPOUNDCURVE:
+			writeGeometries(buffer,
+					((CompoundCurve) geometry).getLineStrings(), true);
+			break;
+		case POLYHEDRALSURFACE:
+		case TIN:
+			writeGeometries(buffer,
+					((PolyhedralSurface) geometry).getPolygons(), true);
+			break;
+		case MULTIPOINT:
+		case MULTILINESTRING:
+		case MULTIPOLYGON:
+		case GEOMETRYCOLLECTION:
+			writeGeometries(buffer,
+					((GeometryCollection<?>) geometry).getGeometries(), true);
+			break;
+		default:
+			throw new GeoPackageException("Geometry Type not supported: "
+					+ geometry.getGeometryType());
+		}
+	}
+
+	/**
+	 * Get the number of bytes the geometry occupies as Well-Known Binary
+	 *
+	 * @param geometry
+	 *            geometry
+	 * @return byte size
+	 */
+	public static int getByteSize(Geometry geometry) {
+
+		// Byte order byte and geometry type integer
+		int size = 5;
+
+		switch (geometry.getGeometryType()) {
+		case POINT:
+			size += getPointByteSize(geometry);
+			break;
+		case LINESTRING:
+		case CIRCULARSTRING:
+			size += getPointsByteSize(((LineString) geometry).getPoints());
+			break;
+		case POLYGON:
+		case TRIANGLE:
+			size += getByteSize(((CurvePolygon<?>) geometry).getRings(),
+					false);
+			break;
+		case CURVEPOLYGON:
+			size += getByteSize(((CurvePolygon<?>) geometry).getRings(),
+					true);
+			break;
+		case COMPOUNDCURVE:
+			size += getByteSize(((CompoundCurve) geometry).getLineStrings(),
+					true);
+			break;
+		case POLYHEDRALSURFACE:
+		case TIN:
+			size += getByteSize(((PolyhedralSurface) geometry).getPolygons(),
+					true);
+			break;
+		case MULTIPOINT:
+		case MULTILINESTRING:
+		case MULTIPOLYGON:
+		case GEOMETRYCOLLECTION:
+			size += getByteSize(
+					((GeometryCollection<?>) geometry).getGeometries(), true);
+			break;
+		default:
+			throw new GeoPackageException("Geometry Type not supported: "
+					+ geometry.getGeometryType());
+		}
+
+		return size;
+	}
+
+	/**
+	 * Write the point coordinates
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param point
+	 *            point
+	 */
+	private static void writePoint(ByteBuffer buffer, Point point) {
+		buffer.putDouble(point.getX());
+		buffer.putDouble(point.getY());
+		if (point.hasZ()) {
+			buffer.putDouble(point.getZ());
+		}
+		if (point.hasM()) {
+			buffer.putDouble(point.getM());
+		}
+	}
+
+	/**
+	 * Write the count prefixed point coordinates
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param points
+	 *            points
+	 */
+	private static void writePoints(ByteBuffer buffer, List<Point> points) {
+		buffer.putInt(points.size());
+		for (Point point : points) {
+			writePoint(buffer, point);
+		}
+	}
+
+	/**
+	 * Write the count prefixed child geometries
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param geometries
+	 *            child geometries
+	 * @param typed
+	 *            true to write each child with a byte order and type header,
+	 *            false to write only the point lists of line string rings
+	 */
+	private static void writeGeometries(ByteBuffer buffer,
+			List<? extends Geometry> geometries, boolean typed) {
+		buffer.putInt(geometries.size());
+		for (Geometry geometry : geometries) {
+			if (typed) {
+				writeGeometry(buffer, geometry);
+			} else {
+				writePoints(buffer, ((LineString) geometry).getPoints());
+			}
+		}
+	}
+
+	/**
+	 * Get the point coordinate byte size of a geometry
+	 *
+	 * @param geometry
+	 *            geometry
+	 * @return coordinate byte size
+	 */
+	private static int getPointByteSize(Geometry geometry) {
+		int size = 16;
+		if (geometry.hasZ()) {
+			size += 8;
+		}
+		if (geometry.hasM()) {
+			size += 8;
+		}
+		return size;
+	}
+
+	/**
+	 * Get the byte size of count prefixed point coordinates
+	 *
+	 * @param points
+	 *            points
+	 * @return byte size
+	 */
+	private static int getPointsByteSize(List<Point> points) {
+		int size = 4;
+		for (Point point : points) {
+			size += getPointByteSize(point);
+		}
+		return size;
+	}
+
+	/**
+	 * Get the byte size of count prefixed child geometries
+	 *
+	 * @param geometries
+	 *            child geometries
+	 * @param typed
+	 *            true if each child is written with a byte order and type
+	 *            header
+	 * @return byte size
+	 */
+	private static int getByteSize(List<? extends Geometry> geometries,
+			boolean typed) {
+		int size = 4;
+		for (Geometry geometry : geometries) {
+			if (typed) {
+				size += getByteSize(geometry);
+			} else {
+				size += getPointsByteSize(
+						((LineString) geometry).getPoints());
+			}
+		}
+		return size;
+	}
+
+}
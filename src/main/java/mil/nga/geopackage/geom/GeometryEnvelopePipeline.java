@@ -0,0 +1,307 @@
+package mil.nga.geopackage.geom;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * Geometry Envelope Pipeline for index builds. A single producer thread adds
+ * geometry ids and GeoPackage geometry bytes in chunks, fork join worker
+ * threads scan the envelopes with {@link GeometryEnvelopeScanner}, and the
+ * results are handed to the {@link Writer} on the producer thread in the same
+ * order they were added. The producer can keep reading the next chunk from
+ * the database while previous chunks are being scanned, and all database
+ * writes remain on the single producer thread.
+ *
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class GeometryEnvelopePipeline implements Closeable {
+
+	/**
+	 * Envelope writer, called on the producer thread in added order
+	 */
+	public interface Writer {
+
+		/**
+		 * Write the envelope for the id
+		 *
+		 * @param id
+		 *            geometry id
+		 * @param envelope
+		 *            geometry envelope or null if empty
+		 */
+		public void write(long id, GeometryEnvelope envelope);
+
+	}
+
+	/**
+	 * Default number of chunks allowed to be scanning before the producer
+	 * waits
+	 */
+	public static final int DEFAULT_MAX_PENDING_CHUNKS = 4;
+
+	/**
+	 * Minimum number of geometries scanned by a single fork join task
+	 */
+	private static final int TASK_THRESHOLD = 64;
+
+	/**
+	 * Fork join pool
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * True if the pool was created by and is shutdown with this pipeline
+	 */
+	private final boolean ownsPool;
+
+	/**
+	 * Geometries per chunk
+	 */
+	private final int chunkSize;
+
+	/**
+	 * Max chunks scanning before the producer waits
+	 */
+	private final int maxPendingChunks;
+
+	/**
+	 * Envelope writer
+	 */
+	private final Writer writer;
+
+	/**
+	 * Chunks submitted for scanning, in added order
+	 */
+	private final Deque<Chunk> pending = new ArrayDeque<>();
+
+	/**
+	 * Chunk currently being filled by the producer
+	 */
+	private Chunk current;
+
+	/**
+	 * Constructor, creates a fork join pool with the parallelism
+	 *
+	 * @param parallelism
+	 *            number of worker threads
+	 * @param chunkSize
+	 *            geometries per chunk
+	 * @param writer
+	 *            envelope writer
+	 */
+	public GeometryEnvelopePipeline(int parallelism, int chunkSize,
+			Writer writer) {
+		this(new ForkJoinPool(Math.max(1, parallelism)), true, chunkSize,
+				DEFAULT_MAX_PENDING_CHUNKS, writer);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param pool
+	 *            fork join pool, not shutdown by the pipeline
+	 * @param chunkSize
+	 *            geometries per chunk
+	 * @param maxPendingChunks
+	 *            max chunks scanning before the producer waits
+	 * @param writer
+	 *            envelope writer
+	 */
+	public GeometryEnvelopePipeline(ForkJoinPool pool, int chunkSize,
+			int maxPendingChunks, Writer writer) {
+		this(pool, false, chunkSize, maxPendingChunks, writer);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param pool
+	 *            fork join pool
+	 * @param ownsPool
+	 *            true to shutdown the pool on close
+	 * @param chunkSize
+	 *            geometries per chunk
+	 * @param maxPendingChunks
+	 *            max chunks scanning before the producer waits
+	 * @param writer
+	 *            envelope writer
+	 */
+	private GeometryEnvelopePipeline(ForkJoinPool pool, boolean ownsPool,
+			int chunkSize, int maxPendingChunks, Writer writer) {
+		this.pool = pool;
+		this.ownsPool = ownsPool;
+		this.chunkSize = Math.max(1, chunkSize);
+		this.maxPendingChunks = Math.max(1, maxPendingChunks);
+		this.writer = writer;
+	}
+
+	/**
+	 * Add a geometry to the pipeline. Completed chunks are written before
+	 * returning, waiting when the max pending chunks are scanning.
+	 *
+	 * @param id
+	 *            geometry id
+	 * @param geometryBytes
+	 *            GeoPackage geometry bytes
+	 * @return true if the geometry is not empty and will produce an envelope
+	 */
+	public boolean add(long id, byte[] geometryBytes) {
+		if (current == null) {
+			current = new Chunk(chunkSize);
+		}
+		current.add(id, geometryBytes);
+		if (current.count == chunkSize) {
+			submit();
+		}
+		return geometryBytes != null
+				&& !GeoPackageGeometryData.isEmpty(geometryBytes);
+	}
+
+	/**
+	 * Submit the partially filled chunk and write all pending envelopes
+	 */
+	public void flush() {
+		submit();
+		while (!pending.isEmpty()) {
+			write(pending.removeFirst());
+		}
+	}
+
+	/**
+	 * Flush the pipeline and shutdown an owned pool
+	 */
+	@Override
+	public void close() {
+		try {
+			flush();
+		} finally {
+			pending.clear();
+			current = null;
+			if (ownsPool) {
+				pool.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Discard the pending chunks without writing them and shutdown an owned
+	 * pool, for use when indexing fails
+	 */
+	public void cancel() {
+		try {
+			for (Chunk chunk : pending) {
+				chunk.task.cancel(true);
+			}
+		} finally {
+			pending.clear();
+			current = null;
+			if (ownsPool) {
+				pool.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Submit the current chunk for scanning and write completed chunks
+	 */
+	private void submit() {
+		if (current != null && current.count > 0) {
+			current.task = pool
+					.submit(new ScanTask(current, 0, current.count));
+			pending.addLast(current);
+		}
+		current = null;
+
+		// Write finished chunks in order, waiting when too many are pending
+		while (!pending.isEmpty() && (pending.size() > maxPendingChunks
+				|| pending.peekFirst().task.isDone())) {
+			write(pending.removeFirst());
+		}
+	}
+
+	/**
+	 * Wait for the chunk to be scanned and write the envelopes
+	 *
+	 * @param chunk
+	 *            chunk
+	 */
+	private void write(Chunk chunk) {
+		try {
+			chunk.task.join();
+		} catch (RuntimeException e) {
+			throw new GeoPackageException(
+					"Failed to scan geometry envelopes", e);
+		}
+		for (int i = 0; i < chunk.count; i++) {
+			writer.write(chunk.ids[i], chunk.envelopes[i]);
+		}
+	}
+
+	/**
+	 * Chunk of geometry ids, bytes, and scanned envelopes
+	 */
+	private static class Chunk {
+
+		private final long[] ids;
+		private final byte[][] bytes;
+		private final GeometryEnvelope[] envelopes;
+		private int count = 0;
+		private ForkJoinTask<?> task;
+
+		Chunk(int size) {
+			ids = new long[size];
+			bytes = new byte[size][];
+			envelopes = new GeometryEnvelope[size];
+		}
+
+		void add(long id, byte[] geometryBytes) {
+			ids[count] = id;
+			bytes[count] = geometryBytes;
+			count++;
+		}
+
+	}
+
+	/**
+	 * Recursive fork join task scanning a range of chunk geometries
+	 */
+	private static class ScanTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Chunk chunk;
+		private final int start;
+		private final int end;
+
+		ScanTask(Chunk chunk, int start, int end) {
+			this.chunk = chunk;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= TASK_THRESHOLD) {
+				for (int i = start; i < end; i++) {
+					chunk.envelopes[i] = GeometryEnvelopeScanner
+							.getOrScanEnvelope(chunk.bytes[i]);
+					chunk.bytes[i] = null;
+				}
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new ScanTask(chunk, start, middle),
+						new ScanTask(chunk, middle, end));
+			}
+		}
+
+	}
+
+}
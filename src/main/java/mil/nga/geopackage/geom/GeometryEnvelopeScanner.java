@@ -0,0 +1,263 @@
+package mil.nga.geopackage.geom;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.sf.GeometryEnvelope;
+import mil.nga.sf.GeometryType;
+import mil.nga.sf.wkb.GeometryCodes;
+
+/**
+ * Geometry Envelope Scanner. Builds a geometry envelope by walking the
+ * Well-Known Binary coordinates directly from the bytes, without reading the
+ * geometry into simple feature objects. Produces the same envelopes as
+ * {@link mil.nga.sf.util.GeometryEnvelopeBuilder} for the geometry types
+ * supported by {@link mil.nga.sf.wkb.GeometryReader}.
+ *
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class GeometryEnvelopeScanner {
+
+	/**
+	 * Extended WKB 2.5D geometry type flag
+	 */
+	private static final long WKB25D = 0x80000000L;
+
+	/**
+	 * Envelope values
+	 */
+	private double minX = Double.MAX_VALUE;
+	private double maxX = -Double.MAX_VALUE;
+	private double minY = Double.MAX_VALUE;
+	private double maxY = -Double.MAX_VALUE;
+	private boolean hasZ = false;
+	private boolean zSet = false;
+	private double minZ;
+	private double maxZ;
+	private boolean hasM = false;
+	private boolean mSet = false;
+	private double minM;
+	private double maxM;
+
+	/**
+	 * Constructor
+	 */
+	private GeometryEnvelopeScanner() {
+
+	}
+
+	/**
+	 * Get the envelope of a GeoPackage geometry blob. The header envelope is
+	 * returned when present, otherwise the envelope is scanned from the
+	 * Well-Known Binary bytes.
+	 *
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @return geometry envelope or null if empty
+	 */
+	public static GeometryEnvelope getOrScanEnvelope(byte[] bytes) {
+		GeometryEnvelope envelope = null;
+		if (bytes != null) {
+			GeoPackageGeometryData geometryData = new GeoPackageGeometryData(
+					bytes, true);
+			envelope = geometryData.getOrBuildEnvelope();
+		}
+		return envelope;
+	}
+
+	/**
+	 * Scan the envelope of the Well-Known Binary geometry starting at the
+	 * offset
+	 *
+	 * @param bytes
+	 *            bytes
+	 * @param offset
+	 *            Well-Known Binary start index
+	 * @return geometry envelope
+	 */
+	public static GeometryEnvelope scan(byte[] bytes, int offset) {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		buffer.position(offset);
+		return scan(buffer);
+	}
+
+	/**
+	 * Scan the envelope of the Well-Known Binary geometry starting at the
+	 * buffer position. The buffer position is advanced past the geometry and
+	 * the buffer byte order is modified.
+	 *
+	 * @param buffer
+	 *            byte buffer, heap or direct
+	 * @return geometry envelope
+	 */
+	public static GeometryEnvelope scan(ByteBuffer buffer) {
+		GeometryEnvelopeScanner scanner = new GeometryEnvelopeScanner();
+		try {
+			scanner.scanGeometry(buffer);
+		} catch (BufferUnderflowException e) {
+			throw new GeoPackageException(
+					"Unexpected end of Well-Known Binary geometry bytes", e);
+		}
+		return scanner.buildEnvelope();
+	}
+
+	/**
+	 * Scan a geometry including its byte order and type header
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 */
+	private void scanGeometry(ByteBuffer buffer) {
+
+		ByteOrder originalOrder = buffer.order();
+
+		// Read the byte order and geometry type
+		byte byteOrderValue = buffer.get();
+		buffer.order(byteOrderValue == 0 ? ByteOrder.BIG_ENDIAN
+				: ByteOrder.LITTLE_ENDIAN);
+		long unsignedCode = buffer.getInt() & 0xffffffffL;
+		boolean z = false;
+		if (unsignedCode > WKB25D) {
+			z = true;
+			unsignedCode -= WKB25D;
+		}
+		int code = (int) unsignedCode;
+		GeometryType geometryType = GeometryCodes.getGeometryType(code);
+		if (!z) {
+			z = GeometryCodes.hasZ(code);
+		}
+		boolean m = GeometryCodes.hasM(code);
+
+		hasZ = hasZ || z;
+		hasM = hasM || m;
+
+		switch (geometryType) {
+		case POINT:
+			scanPoint(buffer, z, m);
+			break;
+		case LINESTRING:
+		case CIRCULARSTRING:
+			scanPoints(buffer, z, m);
+			break;
+		case POLYGON:
+		case TRIANGLE:
+			int numRings = buffer.getInt();
+			for (int i = 0; i < numRings; i++) {
+				scanPoints(buffer, z, m);
+			}
+			break;
+		case MULTIPOINT:
+		case MULTILINESTRING:
+		case MULTIPOLYGON:
+		case GEOMETRYCOLLECTION:
+		case COMPOUNDCURVE:
+		case CURVEPOLYGON:
+		case POLYHEDRALSURFACE:
+		case TIN:
+			int numGeometries = buffer.getInt();
+			for (int i = 0; i < numGeometries; i++) {
+				scanGeometry(buffer);
+			}
+			break;
+		default:
+			throw new GeoPackageException(
+					"Geometry Type not supported: " + geometryType);
+		}
+
+		buffer.order(originalOrder);
+	}
+
+	/**
+	 * Scan a count prefixed list of points
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param z
+	 *            true if points have z values
+	 * @param m
+	 *            true if points have m values
+	 */
+	private void scanPoints(ByteBuffer buffer, boolean z, boolean m) {
+		int numPoints = buffer.getInt();
+		for (int i = 0; i < numPoints; i++) {
+			scanPoint(buffer, z, m);
+		}
+	}
+
+	/**
+	 * Scan a single point
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param z
+	 *            true if the point has a z value
+	 * @param m
+	 *            true if the point has a m value
+	 */
+	private void scanPoint(ByteBuffer buffer, boolean z, boolean m) {
+
+		double x = buffer.getDouble();
+		double y = buffer.getDouble();
+
+		if (x < minX) {
+			minX = x;
+		}
+		if (x > maxX) {
+			maxX = x;
+		}
+		if (y < minY) {
+			minY = y;
+		}
+		if (y > maxY) {
+			maxY = y;
+		}
+
+		if (z) {
+			double zValue = buffer.getDouble();
+			if (!zSet || zValue < minZ) {
+				minZ = zValue;
+			}
+			if (!zSet || zValue > maxZ) {
+				maxZ = zValue;
+			}
+			zSet = true;
+		}
+
+		if (m) {
+			double mValue = buffer.getDouble();
+			if (!mSet || mValue < minM) {
+				minM = mValue;
+			}
+			if (!mSet || mValue > maxM) {
+				maxM = mValue;
+			}
+			mSet = true;
+		}
+	}
+
+	/**
+	 * Build the envelope from the scanned values
+	 *
+	 * @return geometry envelope
+	 */
+	private GeometryEnvelope buildEnvelope() {
+		GeometryEnvelope envelope = new GeometryEnvelope(hasZ, hasM);
+		envelope.setMinX(minX);
+		envelope.setMaxX(maxX);
+		envelope.setMinY(minY);
+		envelope.setMaxY(maxY);
+		if (zSet) {
+			envelope.setMinZ(minZ);
+			envelope.setMaxZ(maxZ);
+		}
+		if (mSet) {
+			envelope.setMinM(minM);
+			envelope.setMaxM(maxM);
+		}
+		return envelope;
+	}
+
+}
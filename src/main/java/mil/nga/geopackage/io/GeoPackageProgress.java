@@ -39,4 +39,17 @@ public interface GeoPackageProgress {
 	 */
 	public boolean cleanupOnCancel();
 
+	/**
+	 * Report the current processing rate of a long running bulk operation.
+	 * Called periodically, such as after each committed chunk. Ignored by
+	 * default.
+	 * 
+	 * @param rate
+	 *            items processed per second
+	 * @since 3.4.1
+	 */
+	public default void setRate(double rate) {
+		// Override if needed
+	}
+
 }
@@ -0,0 +1,764 @@
+package mil.nga.geopackage.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import mil.nga.geopackage.GeoPackageException;
+
+/**
+ * HTTP GET transport for web service requests. Response streams are read
+ * and closed without disconnecting so the underlying connections are kept
+ * alive and reused, gzip compressed responses are requested and decoded, and
+ * an optional disk cache keyed by URL stores responses carrying an ETag or
+ * Last-Modified validator. Cached responses are revalidated with conditional
+ * requests and served from disk when the server responds not modified.
+ *
+ * Subclasses may override {@link #openConnection(URL)} to configure
+ * connections or {@link #get(URL, String)} to plug in another HTTP client.
+ * Instances are thread safe.
+ *
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class HttpTransport {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger
+			.getLogger(HttpTransport.class.getName());
+
+	/**
+	 * Cache file extension
+	 */
+	public static final String CACHE_EXTENSION = "cache";
+
+	/**
+	 * Gzip content encoding
+	 */
+	private static final String GZIP = "gzip";
+
+	/**
+	 * Deflate content encoding
+	 */
+	private static final String DEFLATE = "deflate";
+
+	/**
+	 * Connect timeout in milliseconds, 0 for no timeout
+	 */
+	private int connectTimeout = 0;
+
+	/**
+	 * Read timeout in milliseconds, 0 for no timeout
+	 */
+	private int readTimeout = 0;
+
+	/**
+	 * Request compressed responses flag
+	 */
+	private boolean compression = true;
+
+	/**
+	 * Response cache directory, null when not caching
+	 */
+	private File cacheDirectory = null;
+
+	/**
+	 * Number of responses downloaded
+	 */
+	private final AtomicLong downloads = new AtomicLong();
+
+	/**
+	 * Number of responses served from the cache after revalidation
+	 */
+	private final AtomicLong cacheHits = new AtomicLong();
+
+	/**
+	 * Constructor
+	 */
+	public HttpTransport() {
+
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param cacheDirectory
+	 *            response cache directory
+	 */
+	public HttpTransport(File cacheDirectory) {
+		setCacheDirectory(cacheDirectory);
+	}
+
+	/**
+	 * Get the connect timeout
+	 *
+	 * @return connect timeout in milliseconds, 0 for no timeout
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * Set the connect timeout
+	 *
+	 * @param connectTimeout
+	 *            connect timeout in milliseconds, 0 for no timeout
+	 */
+	public void setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	/**
+	 * Get the read timeout
+	 *
+	 * @return read timeout in milliseconds, 0 for no timeout
+	 */
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	/**
+	 * Set the read timeout
+	 *
+	 * @param readTimeout
+	 *            read timeout in milliseconds, 0 for no timeout
+	 */
+	public void setReadTimeout(int readTimeout) {
+		this.readTimeout = readTimeout;
+	}
+
+	/**
+	 * Are compressed responses requested
+	 *
+	 * @return true if requesting compression
+	 */
+	public boolean isCompression() {
+		return compression;
+	}
+
+	/**
+	 * Set if compressed responses are requested
+	 *
+	 * @param compression
+	 *            true to request compression
+	 */
+	public void setCompression(boolean compression) {
+		this.compression = compression;
+	}
+
+	/**
+	 * Get the response cache directory
+	 *
+	 * @return cache directory, null when not caching
+	 */
+	public File getCacheDirectory() {
+		return cacheDirectory;
+	}
+
+	/**
+	 * Set the response cache directory, creating it if needed
+	 *
+	 * @param cacheDirectory
+	 *            cache directory, null to not cache
+	 */
+	public void setCacheDirectory(File cacheDirectory) {
+		if (cacheDirectory != null && !cacheDirectory.isDirectory()
+				&& !cacheDirectory.mkdirs()) {
+			throw new GeoPackageException(
+					"Failed to create the cache directory: "
+							+ cacheDirectory.getAbsolutePath());
+		}
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Get the number of responses downloaded
+	 *
+	 * @return downloads
+	 */
+	public long getDownloads() {
+		return downloads.get();
+	}
+
+	/**
+	 * Get the number of responses served from the cache after the server
+	 * responded not modified
+	 *
+	 * @return cache hits
+	 */
+	public long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	/**
+	 * Request the URL, returning the decoded response body. Closing the
+	 * stream releases the connection for reuse. Cacheable responses are fully
+	 * read into the cache when the stream is closed.
+	 *
+	 * @param url
+	 *            URL
+	 * @param accept
+	 *            accept header value, may be null
+	 * @return response body stream
+	 * @throws IOException
+	 *             upon failure
+	 */
+	public InputStream get(URL url, String accept) throws IOException {
+
+		File cacheFile = getCacheFile(url);
+		CacheEntry entry = cacheFile != null ? readEntry(cacheFile, url)
+				: null;
+
+		HttpURLConnection connection = connect(url, accept, entry);
+		InputStream stream = null;
+		try {
+
+			int responseCode = connection.getResponseCode();
+			if (entry != null
+					&& responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+				release(connection.getInputStream());
+				stream = openEntry(cacheFile, url);
+				if (stream != null) {
+					cacheHits.incrementAndGet();
+				} else {
+					connection = connect(url, accept, null);
+					responseCode = connection.getResponseCode();
+				}
+			}
+
+			if (stream == null) {
+
+				if (responseCode != HttpURLConnection.HTTP_OK) {
+					String message = connection.getResponseMessage();
+					release(connection.getErrorStream());
+					throw new GeoPackageException("Failed request. URL: " + url
+							+ ", Response Code: " + responseCode
+							+ ", Response Message: " + message);
+				}
+
+				downloads.incrementAndGet();
+				stream = decode(connection);
+
+				String etag = connection.getHeaderField("ETag");
+				String lastModified = connection
+						.getHeaderField("Last-Modified");
+				if (cacheFile != null
+						&& (etag != null || lastModified != null)) {
+					stream = new CachingInputStream(stream, cacheFile,
+							new CacheEntry(url.toString(), etag,
+									lastModified));
+				}
+			}
+
+		} catch (IOException | RuntimeException e) {
+			connection.disconnect();
+			throw e;
+		}
+
+		return stream;
+	}
+
+	/**
+	 * Open a connection to the URL. Override to configure connections, such
+	 * as authentication or proxy settings.
+	 *
+	 * @param url
+	 *            URL
+	 * @return connection, not yet connected
+	 * @throws IOException
+	 *             upon failure
+	 */
+	protected HttpURLConnection openConnection(URL url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) url
+				.openConnection();
+		connection.setConnectTimeout(connectTimeout);
+		connection.setReadTimeout(readTimeout);
+		return connection;
+	}
+
+	/**
+	 * Connect to the URL, following a redirect across protocols
+	 *
+	 * @param url
+	 *            URL
+	 * @param accept
+	 *            accept header value, may be null
+	 * @param entry
+	 *            cache entry to revalidate, may be null
+	 * @return connected connection
+	 * @throws IOException
+	 *             upon failure
+	 */
+	private HttpURLConnection connect(URL url, String accept, CacheEntry entry)
+			throws IOException {
+
+		HttpURLConnection connection = request(url, accept, entry);
+
+		int responseCode = connection.getResponseCode();
+		if (responseCode == HttpURLConnection.HTTP_MOVED_PERM
+				|| responseCode == HttpURLConnection.HTTP_MOVED_TEMP
+				|| responseCode == HttpURLConnection.HTTP_SEE_OTHER) {
+			String redirect = connection.getHeaderField("Location");
+			release(connection.getErrorStream());
+			connection = request(new URL(url, redirect), accept, entry);
+		}
+
+		return connection;
+	}
+
+	/**
+	 * Send a request to the URL
+	 *
+	 * @param url
+	 *            URL
+	 * @param accept
+	 *            accept header value, may be null
+	 * @param entry
+	 *            cache entry to revalidate, may be null
+	 * @return connected connection
+	 * @throws IOException
+	 *             upon failure
+	 */
+	private HttpURLConnection request(URL url, String accept, CacheEntry entry)
+			throws IOException {
+
+		HttpURLConnection connection = openConnection(url);
+		try {
+			if (accept != null) {
+				connection.setRequestProperty("Accept", accept);
+			}
+			if (compression) {
+				connection.setRequestProperty("Accept-Encoding", GZIP);
+			}
+			if (entry != null) {
+				if (entry.etag != null) {
+					connection.setRequestProperty("If-None-Match", entry.etag);
+				}
+				if (entry.lastModified != null) {
+					connection.setRequestProperty("If-Modified-Since",
+							entry.lastModified);
+				}
+			}
+			connection.connect();
+		} catch (IOException | RuntimeException e) {
+			connection.disconnect();
+			throw e;
+		}
+
+		return connection;
+	}
+
+	/**
+	 * Get the decoded response body stream
+	 *
+	 * @param connection
+	 *            connection
+	 * @return response body stream
+	 * @throws IOException
+	 *             upon failure
+	 */
+	private InputStream decode(HttpURLConnection connection)
+			throws IOException {
+		InputStream stream = connection.getInputStream();
+		String encoding = connection.getContentEncoding();
+		if (encoding != null) {
+			if (encoding.equalsIgnoreCase(GZIP)) {
+				stream = new GZIPInputStream(stream,
+						GeoPackageIOUtils.COPY_BUFFER_SIZE);
+			} else if (encoding.equalsIgnoreCase(DEFLATE)) {
+				stream = new InflaterInputStream(stream);
+			}
+		}
+		return stream;
+	}
+
+	/**
+	 * Read and close a response stream so the connection can be reused
+	 *
+	 * @param stream
+	 *            response stream, may be null
+	 */
+	private static void release(InputStream stream) {
+		if (stream != null) {
+			try {
+				drain(stream);
+			} catch (IOException e) {
+				// Connection will not be reused
+			}
+			GeoPackageIOUtils.closeQuietly(stream);
+		}
+	}
+
+	/**
+	 * Read the remaining stream bytes
+	 *
+	 * @param stream
+	 *            stream
+	 * @throws IOException
+	 *             upon failure
+	 */
+	private static void drain(InputStream stream) throws IOException {
+		byte[] buffer = new byte[GeoPackageIOUtils.COPY_BUFFER_SIZE];
+		while (stream.read(buffer) != -1) {
+		}
+	}
+
+	/**
+	 * Get the cache file for the URL
+	 *
+	 * @param url
+	 *            URL
+	 * @return cache file, null when not caching
+	 */
+	private File getCacheFile(URL url) {
+		File file = null;
+		if (cacheDirectory != null) {
+			MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new GeoPackageException("Failed to hash the URL: " + url,
+						e);
+			}
+			byte[] hash = digest
+					.digest(url.toString().getBytes(StandardCharsets.UTF_8));
+			StringBuilder name = new StringBuilder();
+			for (byte b : hash) {
+				name.append(String.format("%02x", b));
+			}
+			name.append(".");
+			name.append(CACHE_EXTENSION);
+			file = new File(cacheDirectory, name.toString());
+		}
+		return file;
+	}
+
+	/**
+	 * Read the cache entry validators
+	 *
+	 * @param cacheFile
+	 *            cache file
+	 * @param url
+	 *            URL
+	 * @return cache entry, null if not cached
+	 */
+	private static CacheEntry readEntry(File cacheFile, URL url) {
+		CacheEntry entry = null;
+		DataInputStream stream = openCache(cacheFile, url);
+		if (stream != null) {
+			try {
+				entry = new CacheEntry(url.toString(), readValue(stream),
+						readValue(stream));
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING,
+						"Failed to read cache file: " + cacheFile, e);
+			} finally {
+				GeoPackageIOUtils.closeQuietly(stream);
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Open the cache entry body
+	 *
+	 * @param cacheFile
+	 *            cache file
+	 * @param url
+	 *            URL
+	 * @return body stream, null if not cached
+	 */
+	private static InputStream openEntry(File cacheFile, URL url) {
+		DataInputStream stream = openCache(cacheFile, url);
+		if (stream != null) {
+			try {
+				readValue(stream);
+				readValue(stream);
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING,
+						"Failed to read cache file: " + cacheFile, e);
+				GeoPackageIOUtils.closeQuietly(stream);
+				stream = null;
+			}
+		}
+		return stream;
+	}
+
+	/**
+	 * Open the cache file, verifying the URL
+	 *
+	 * @param cacheFile
+	 *            cache file
+	 * @param url
+	 *            URL
+	 * @return stream positioned at the validators, null if not cached
+	 */
+	private static DataInputStream openCache(File cacheFile, URL url) {
+		DataInputStream stream = null;
+		if (cacheFile.isFile()) {
+			try {
+				stream = new DataInputStream(new BufferedInputStream(
+						new FileInputStream(cacheFile),
+						GeoPackageIOUtils.COPY_BUFFER_SIZE));
+				if (!url.toString().equals(stream.readUTF())) {
+					GeoPackageIOUtils.closeQuietly(stream);
+					stream = null;
+				}
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING,
+						"Failed to read cache file: " + cacheFile, e);
+				if (stream != null) {
+					GeoPackageIOUtils.closeQuietly(stream);
+					stream = null;
+				}
+			}
+		}
+		return stream;
+	}
+
+	/**
+	 * Read an optional cache header value
+	 *
+	 * @param stream
+	 *            cache stream
+	 * @return value, null if empty
+	 * @throws IOException
+	 *             upon failure
+	 */
+	private static String readValue(DataInputStream stream)
+			throws IOException {
+		String value = stream.readUTF();
+		return value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * Cache entry URL and validators
+	 */
+	private static class CacheEntry {
+
+		/**
+		 * URL
+		 */
+		private final String url;
+
+		/**
+		 * ETag validator
+		 */
+		private final String etag;
+
+		/**
+		 * Last-Modified validator
+		 */
+		private final String lastModified;
+
+		/**
+		 * Constructor
+		 *
+		 * @param url
+		 *            URL
+		 * @param etag
+		 *            ETag, may be null
+		 * @param lastModified
+		 *            Last-Modified, may be null
+		 */
+		CacheEntry(String url, String etag, String lastModified) {
+			this.url = url;
+			this.etag = etag;
+			this.lastModified = lastModified;
+		}
+
+	}
+
+	/**
+	 * Response stream copying the body to a temporary cache file, replacing
+	 * the cache file once the full body has been read
+	 */
+	private static class CachingInputStream extends FilterInputStream {
+
+		/**
+		 * Cache file
+		 */
+		private final File cacheFile;
+
+		/**
+		 * Temporary cache file
+		 */
+		private File tempFile;
+
+		/**
+		 * Temporary cache file output
+		 */
+		private DataOutputStream output;
+
+		/**
+		 * End of the response body read flag
+		 */
+		private boolean eof = false;
+
+		/**
+		 * Closed flag
+		 */
+		private boolean closed = false;
+
+		/**
+		 * Constructor
+		 *
+		 * @param stream
+		 *            response stream
+		 * @param cacheFile
+		 *            cache file
+		 * @param entry
+		 *            cache entry
+		 */
+		CachingInputStream(InputStream stream, File cacheFile,
+				CacheEntry entry) {
+			super(stream);
+			this.cacheFile = cacheFile;
+			try {
+				tempFile = File.createTempFile(cacheFile.getName(), ".tmp",
+						cacheFile.getParentFile());
+				output = new DataOutputStream(new BufferedOutputStream(
+						new FileOutputStream(tempFile),
+						GeoPackageIOUtils.COPY_BUFFER_SIZE));
+				output.writeUTF(entry.url);
+				output.writeUTF(entry.etag != null ? entry.etag : "");
+				output.writeUTF(
+						entry.lastModified != null ? entry.lastModified : "");
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING,
+						"Failed to create cache file: " + cacheFile, e);
+				discard();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int read() throws IOException {
+			int value = super.read();
+			if (value == -1) {
+				eof = true;
+			} else if (output != null) {
+				try {
+					output.write(value);
+				} catch (IOException e) {
+					discard();
+				}
+			}
+			return value;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int count = super.read(b, off, len);
+			if (count == -1) {
+				eof = true;
+			} else if (count > 0 && output != null) {
+				try {
+					output.write(b, off, count);
+				} catch (IOException e) {
+					discard();
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long skip(long n) throws IOException {
+			byte[] buffer = new byte[(int) Math.min(n,
+					GeoPackageIOUtils.COPY_BUFFER_SIZE)];
+			long skipped = 0;
+			while (skipped < n) {
+				int count = read(buffer, 0,
+						(int) Math.min(n - skipped, buffer.length));
+				if (count == -1) {
+					break;
+				}
+				skipped += count;
+			}
+			return skipped;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		/**
+		 * Replace the cache file when the full body has been read, and close
+		 * the response stream. Closing before the end of the body discards the
+		 * partial cache file without reading the remaining body.
+		 */
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				try {
+					if (output != null && eof) {
+						output.close();
+						output = null;
+						Files.move(tempFile.toPath(), cacheFile.toPath(),
+								StandardCopyOption.REPLACE_EXISTING,
+								StandardCopyOption.ATOMIC_MOVE);
+						tempFile = null;
+					}
+				} catch (IOException e) {
+					LOGGER.log(Level.WARNING,
+							"Failed to write cache file: " + cacheFile, e);
+				} finally {
+					discard();
+					super.close();
+				}
+			}
+		}
+
+		/**
+		 * Stop caching and delete the temporary cache file
+		 */
+		private void discard() {
+			if (output != null) {
+				GeoPackageIOUtils.closeQuietly(output);
+				output = null;
+			}
+			if (tempFile != null) {
+				if (!tempFile.delete()) {
+					tempFile.deleteOnExit();
+				}
+				tempFile = null;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,219 @@
+package mil.nga.geopackage.user;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Compiled user table query. The SQL is built once from the columns, where
+ * template, and ordering, and executed many times with new bind arguments
+ * through {@link UserCoreDao#queryCompiled(UserCompiledQuery, String[])}.
+ * Connections may reuse the prepared statement for the SQL across executions.
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class UserCompiledQuery {
+
+	/**
+	 * Table name
+	 */
+	private final String tableName;
+
+	/**
+	 * Columns
+	 */
+	private final String[] columns;
+
+	/**
+	 * Where clause template with bind parameters
+	 */
+	private final String where;
+
+	/**
+	 * Query SQL
+	 */
+	private final String sql;
+
+	/**
+	 * Count SQL
+	 */
+	private final String countSql;
+
+	/**
+	 * Number of bind parameters
+	 */
+	private final int parameterCount;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param tableName
+	 *            table name
+	 * @param columns
+	 *            columns
+	 * @param where
+	 *            where clause template
+	 * @param sql
+	 *            query SQL
+	 * @param countSql
+	 *            count SQL
+	 */
+	UserCompiledQuery(String tableName, String[] columns, String where,
+			String sql, String countSql) {
+		this.tableName = tableName;
+		this.columns = columns;
+		this.where = where;
+		this.sql = sql;
+		this.countSql = countSql;
+		this.parameterCount = countParameters(sql);
+	}
+
+	/**
+	 * Get the table name
+	 * 
+	 * @return table name
+	 */
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * Get the query columns
+	 * 
+	 * @return columns
+	 */
+	public String[] getColumns() {
+		return Arrays.copyOf(columns, columns.length);
+	}
+
+	/**
+	 * Get the where clause template
+	 * 
+	 * @return where clause, null if none
+	 */
+	public String getWhere() {
+		return where;
+	}
+
+	/**
+	 * Get the query SQL
+	 * 
+	 * @return SQL
+	 */
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * Get the count SQL, counting the rows the query matches
+	 * 
+	 * @return count SQL
+	 */
+	public String getCountSql() {
+		return countSql;
+	}
+
+	/**
+	 * Get the number of bind parameters
+	 * 
+	 * @return parameter count
+	 */
+	public int getParameterCount() {
+		return parameterCount;
+	}
+
+	/**
+	 * Count the bind parameters as SQLite numbers them, outside of comments,
+	 * quoted strings, and identifiers. A bare ? takes the number after the
+	 * largest assigned, ?NNN takes NNN, and each distinct :name, @name, or
+	 * $name takes the number after the largest assigned on its first use. The
+	 * count is the largest parameter number.
+	 * 
+	 * @param sql
+	 *            SQL
+	 * @return parameter count
+	 */
+	static int countParameters(String sql) {
+		int count = 0;
+		Set<String> names = new HashSet<>();
+		int length = sql.length();
+		int i = 0;
+		while (i < length) {
+			char c = sql.charAt(i++);
+			int start = i;
+			switch (c) {
+			case '\'':
+			case '"':
+			case '`':
+				i = skipPast(sql, i, String.valueOf(c));
+				break;
+			case '[':
+				i = skipPast(sql, i, "]");
+				break;
+			case '-':
+				if (i < length && sql.charAt(i) == '-') {
+					i = skipPast(sql, i + 1, "\n");
+				}
+				break;
+			case '/':
+				if (i < length && sql.charAt(i) == '*') {
+					i = skipPast(sql, i + 1, "*/");
+				}
+				break;
+			case '?':
+				while (i < length && Character.isDigit(sql.charAt(i))) {
+					i++;
+				}
+				if (i > start) {
+					count = Math.max(count,
+							Integer.parseInt(sql.substring(start, i)));
+				} else {
+					count++;
+				}
+				break;
+			case ':':
+			case '@':
+			case '$':
+				while (i < length && isNameCharacter(sql.charAt(i))) {
+					i++;
+				}
+				if (i > start && names.add(sql.substring(start - 1, i))) {
+					count++;
+				}
+				break;
+			default:
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Get the index after the next occurrence of the terminator
+	 * 
+	 * @param sql
+	 *            SQL
+	 * @param index
+	 *            search start index
+	 * @param terminator
+	 *            terminator
+	 * @return index after the terminator, or the SQL length when not
+	 *         terminated
+	 */
+	private static int skipPast(String sql, int index, String terminator) {
+		int end = sql.indexOf(terminator, index);
+		return end >= 0 ? end + terminator.length() : sql.length();
+	}
+
+	/**
+	 * Determine if the character continues a named parameter
+	 * 
+	 * @param c
+	 *            character
+	 * @return true if a name character
+	 */
+	private static boolean isNameCharacter(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+	}
+
+}
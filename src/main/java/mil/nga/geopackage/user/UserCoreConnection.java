@@ -1,5 +1,7 @@
 package mil.nga.geopackage.user;
 
+import mil.nga.geopackage.db.Bindings;
+
 /**
  * GeoPackage Connection used to define common functionality within different
  * connection types
@@ -29,6 +31,65 @@ public abstract class UserCoreConnection<TColumn extends UserColumn, TTable exte
 	 */
 	public abstract TResult rawQuery(String sql, String[] selectionArgs);
 
+	/**
+	 * Runs the compiled query with the bind arguments and returns a
+	 * {@link UserCoreResult} over the result set, reusing the prepared
+	 * statement of the query SQL such as through a
+	 * {@link mil.nga.geopackage.db.StatementCache}
+	 * 
+	 * @param query
+	 *            compiled query
+	 * @param args
+	 *            bind arguments
+	 * @return result
+	 * @since 3.4.1
+	 */
+	public abstract TResult queryCompiled(UserCompiledQuery query,
+			String[] args);
+
+	/**
+	 * Runs the provided SQL with typed bind arguments, bound natively by
+	 * storage class, and returns a {@link UserCoreResult} over the result set
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @param bindings
+	 *            typed selection arguments
+	 * @return result
+	 * @since 3.4.1
+	 */
+	public abstract TResult rawQueryBound(String sql, Bindings bindings);
+
+	/**
+	 * Runs the compiled query with typed bind arguments, bound natively by
+	 * storage class, and returns a {@link UserCoreResult} over the result
+	 * set, reusing the prepared statement of the query SQL
+	 * 
+	 * @param query
+	 *            compiled query
+	 * @param bindings
+	 *            typed bind arguments
+	 * @return result
+	 * @since 3.4.1
+	 */
+	public abstract TResult queryCompiledBound(UserCompiledQuery query,
+			Bindings bindings);
+
+	/**
+	 * Runs the insert SQL with typed bind arguments, bound natively by storage
+	 * class, reusing the prepared statement of the SQL. The insert runs on the
+	 * same connection as the transactions of the user DAO, such as
+	 * {@link UserCoreDao#beginTransaction()}.
+	 * 
+	 * @param sql
+	 *            insert sql statement
+	 * @param bindings
+	 *            typed arguments
+	 * @return row id of the last inserted row
+	 * @since 3.4.1
+	 */
+	public abstract long insertBound(String sql, Bindings bindings);
+
 	/**
 	 * Query the given table, returning a {@link UserCoreResult} over the result
 	 * set.
@@ -1,12 +1,17 @@
 package mil.nga.geopackage.user;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.locationtech.proj4j.units.Units;
 
@@ -14,9 +19,12 @@ import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.core.contents.Contents;
 import mil.nga.geopackage.db.AlterTable;
+import mil.nga.geopackage.db.Bindings;
 import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.DateConverter;
 import mil.nga.geopackage.db.GeoPackageCoreConnection;
 import mil.nga.geopackage.db.GeoPackageDataType;
+import mil.nga.geopackage.geom.GeoPackageGeometryData;
 import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
 import mil.nga.sf.proj.Projection;
 import mil.nga.sf.proj.ProjectionConstants;
@@ -38,6 +46,13 @@ import mil.nga.sf.proj.ProjectionTransform;
  */
 public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends UserTable<TColumn>, TRow extends UserCoreRow<TColumn, TTable>, TResult extends UserCoreResult<TColumn, TTable, TRow>> {
 
+	/**
+	 * Default number of rows inserted per transaction by the batch inserts
+	 * 
+	 * @since 3.4.1
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
 	/**
 	 * Database
 	 */
@@ -63,6 +78,22 @@ public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends Use
 	 */
 	protected Projection projection;
 
+	/**
+	 * Read only DAO factory for concurrent partitioned scans
+	 */
+	private UserReadDaoFactory<TColumn, TTable, TRow, TResult> readDaoFactory;
+
+	/**
+	 * Rows inserted per transaction by the batch inserts
+	 */
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	/**
+	 * True to insert batches with multiple row statements, false to insert
+	 * each batch row with {@link #insert(UserCoreRow)}
+	 */
+	private boolean batchStatements = true;
+
 	/**
 	 * Constructor
 	 * 
@@ -736,6 +767,20 @@ public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends Use
 		return result;
 	}
 
+	/**
+	 * Query for rows with typed bind arguments
+	 * 
+	 * @param where
+	 *            where clause
+	 * @param bindings
+	 *            typed where arguments
+	 * @return result
+	 * @since 3.4.1
+	 */
+	public TResult queryBound(String where, Bindings bindings) {
+		return queryCompiledBound(compileQuery(where), bindings);
+	}
+
 	/**
 	 * Query SQL for rows
 	 * 
@@ -823,6 +868,216 @@ public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends Use
 		return result;
 	}
 
+	/**
+	 * Compile a query for all columns with the where clause template
+	 * 
+	 * @param where
+	 *            where clause with ? bind parameters, null for all rows
+	 * @return compiled query
+	 * @since 3.4.1
+	 */
+	public UserCompiledQuery compileQuery(String where) {
+		return compileQuery(table.getColumnNames(), where, null);
+	}
+
+	/**
+	 * Compile a query with the columns, where clause template, and order
+	 * 
+	 * @param columns
+	 *            columns
+	 * @param where
+	 *            where clause with ? bind parameters, null for all rows
+	 * @param orderBy
+	 *            order by
+	 * @return compiled query
+	 * @since 3.4.1
+	 */
+	public UserCompiledQuery compileQuery(String[] columns, String where,
+			String orderBy) {
+		return compileQuery(columns, where, null, null, orderBy, null);
+	}
+
+	/**
+	 * Compile a query
+	 * 
+	 * @param columns
+	 *            columns
+	 * @param where
+	 *            where clause with ? bind parameters, null for all rows
+	 * @param groupBy
+	 *            group by
+	 * @param having
+	 *            having
+	 * @param orderBy
+	 *            order by
+	 * @param limit
+	 *            limit
+	 * @return compiled query
+	 * @since 3.4.1
+	 */
+	public UserCompiledQuery compileQuery(String[] columns, String where,
+			String groupBy, String having, String orderBy, String limit) {
+		String sql = userDb.querySQL(getTableName(), columns, where, groupBy,
+				having, orderBy, limit);
+		String countSql = "SELECT COUNT(*) FROM (" + sql + ")";
+		return new UserCompiledQuery(getTableName(), columns, where, sql,
+				countSql);
+	}
+
+	/**
+	 * Compile a query for rows where the field equals a bind value
+	 * 
+	 * @param fieldName
+	 *            field name
+	 * @return compiled query
+	 * @since 3.4.1
+	 */
+	public UserCompiledQuery compileQueryForEq(String fieldName) {
+		return compileQueryForFieldValues(fieldName);
+	}
+
+	/**
+	 * Compile a query for rows where each field equals a bind value, in the
+	 * field order
+	 * 
+	 * @param fieldNames
+	 *            field names
+	 * @return compiled query
+	 * @since 3.4.1
+	 */
+	public UserCompiledQuery compileQueryForFieldValues(String... fieldNames) {
+		StringBuilder where = new StringBuilder();
+		for (String fieldName : fieldNames) {
+			if (where.length() > 0) {
+				where.append(" AND ");
+			}
+			where.append(CoreSQLUtils.quoteWrap(fieldName)).append(" = ?");
+		}
+		return compileQuery(where.length() > 0 ? where.toString() : null);
+	}
+
+	/**
+	 * Compile a query for rows with ids in the nested SQL query and matching
+	 * the where clause template. Bind arguments are the where arguments
+	 * followed by the nested arguments.
+	 * 
+	 * @param nestedSQL
+	 *            nested SQL returning ids
+	 * @param where
+	 *            where clause with ? bind parameters
+	 * @return compiled query
+	 * @since 3.4.1
+	 */
+	public UserCompiledQuery compileQueryIn(String nestedSQL, String where) {
+		return compileQuery(buildWhereIn(nestedSQL, where));
+	}
+
+	/**
+	 * Query for rows with the compiled query and bind arguments
+	 * 
+	 * @param query
+	 *            compiled query
+	 * @param args
+	 *            bind arguments
+	 * @return result
+	 * @since 3.4.1
+	 */
+	public TResult queryCompiled(UserCompiledQuery query, String[] args) {
+		validateCompiledQuery(query, args);
+		TResult result = userDb.queryCompiled(query, args);
+		prepareResult(result);
+		return result;
+	}
+
+	/**
+	 * Count the rows matching the compiled query and bind arguments
+	 * 
+	 * @param query
+	 *            compiled query
+	 * @param args
+	 *            bind arguments
+	 * @return count
+	 * @since 3.4.1
+	 */
+	public int countCompiled(UserCompiledQuery query, String[] args) {
+		validateCompiledQuery(query, args);
+		Object count = db.querySingleResultCompiled(query.getCountSql(), args,
+				0, null);
+		return count != null ? ((Number) count).intValue() : 0;
+	}
+
+	/**
+	 * Query for rows with the compiled query and typed bind arguments
+	 * 
+	 * @param query
+	 *            compiled query
+	 * @param bindings
+	 *            typed bind arguments
+	 * @return result
+	 * @since 3.4.1
+	 */
+	public TResult queryCompiledBound(UserCompiledQuery query,
+			Bindings bindings) {
+		validateCompiledQuery(query,
+				bindings != null ? bindings.size() : 0);
+		TResult result = userDb.queryCompiledBound(query, bindings);
+		prepareResult(result);
+		return result;
+	}
+
+	/**
+	 * Count the rows matching the compiled query and typed bind arguments
+	 * 
+	 * @param query
+	 *            compiled query
+	 * @param bindings
+	 *            typed bind arguments
+	 * @return count
+	 * @since 3.4.1
+	 */
+	public int countCompiledBound(UserCompiledQuery query, Bindings bindings) {
+		validateCompiledQuery(query,
+				bindings != null ? bindings.size() : 0);
+		Object count = db.querySingleResultBound(query.getCountSql(),
+				bindings);
+		return count != null ? ((Number) count).intValue() : 0;
+	}
+
+	/**
+	 * Validate the compiled query belongs to this table and the bind argument
+	 * count
+	 * 
+	 * @param query
+	 *            compiled query
+	 * @param args
+	 *            bind arguments
+	 */
+	private void validateCompiledQuery(UserCompiledQuery query, String[] args) {
+		validateCompiledQuery(query, args != null ? args.length : 0);
+	}
+
+	/**
+	 * Validate the compiled query belongs to this table and the bind argument
+	 * count
+	 * 
+	 * @param query
+	 *            compiled query
+	 * @param argCount
+	 *            bind argument count
+	 */
+	private void validateCompiledQuery(UserCompiledQuery query, int argCount) {
+		if (!getTableName().equals(query.getTableName())) {
+			throw new GeoPackageException("Compiled query for table "
+					+ query.getTableName() + " executed on table "
+					+ getTableName());
+		}
+		if (argCount != query.getParameterCount()) {
+			throw new GeoPackageException("Compiled query expected "
+					+ query.getParameterCount() + " arguments, received "
+					+ argCount + ". SQL: " + query.getSql());
+		}
+	}
+
 	/**
 	 * Query for id ordered rows starting at the offset and returning no more
 	 * than the limit.
@@ -927,6 +1182,153 @@ public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends Use
 				buildLimit(limit, offset));
 	}
 
+	/**
+	 * Query for id ordered rows with ids greater than the previous id,
+	 * returning no more than the limit. Unlike offset chunks, the cost of each
+	 * keyset chunk is independent of its depth into the table.
+	 * 
+	 * @param previousId
+	 *            previous chunk last id, null for the first chunk
+	 * @param limit
+	 *            chunk limit
+	 * @return result
+	 * @since 3.4.1
+	 */
+	public TResult queryForKeysetChunk(Long previousId, int limit) {
+		return queryForKeysetChunk(null, null, previousId, limit);
+	}
+
+	/**
+	 * Query for id ordered rows with ids greater than the previous id,
+	 * returning no more than the limit. Unlike offset chunks, the cost of each
+	 * keyset chunk is independent of its depth into the table.
+	 * 
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @param previousId
+	 *            previous chunk last id, null for the first chunk
+	 * @param limit
+	 *            chunk limit
+	 * @return result
+	 * @since 3.4.1
+	 */
+	public TResult queryForKeysetChunk(String where, String[] whereArgs,
+			Long previousId, int limit) {
+		String pkColumn = table.getPkColumn().getName();
+		String whereClause = where;
+		String[] args = whereArgs;
+		if (previousId != null) {
+			String keysetWhere = buildWhere(pkColumn, previousId, ">");
+			String[] keysetArgs = buildWhereArgs(previousId);
+			if (where == null) {
+				whereClause = keysetWhere;
+				args = keysetArgs;
+			} else {
+				whereClause = keysetWhere + " AND (" + where + ")";
+				args = buildWhereInArgs(whereArgs, keysetArgs);
+			}
+		}
+		return query(whereClause, args, null, null,
+				CoreSQLUtils.quoteWrap(pkColumn), String.valueOf(limit));
+	}
+
+	/**
+	 * Iterate over all id ordered rows, querying keyset chunks of no more
+	 * than the limit as needed. The iterator should be closed if not
+	 * iterated to completion.
+	 * 
+	 * @param limit
+	 *            chunk limit
+	 * @return row iterator
+	 * @since 3.4.1
+	 */
+	public UserKeysetIterator<TColumn, TTable, TRow, TResult> iterateKeyset(
+			int limit) {
+		return iterateKeyset(null, null, limit);
+	}
+
+	/**
+	 * Iterate over id ordered rows matching the where clause, querying keyset
+	 * chunks of no more than the limit as needed. The iterator should be
+	 * closed if not iterated to completion.
+	 * 
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @param limit
+	 *            chunk limit
+	 * @return row iterator
+	 * @since 3.4.1
+	 */
+	public UserKeysetIterator<TColumn, TTable, TRow, TResult> iterateKeyset(
+			String where, String[] whereArgs, int limit) {
+		return new UserKeysetIterator<TColumn, TTable, TRow, TResult>(this,
+				where, whereArgs, limit);
+	}
+
+	/**
+	 * Get the read only DAO factory for concurrent partitioned scans
+	 * 
+	 * @return read DAO factory, null if partitions scan sequentially
+	 * @since 3.4.1
+	 */
+	public UserReadDaoFactory<TColumn, TTable, TRow, TResult> getReadDaoFactory() {
+		return readDaoFactory;
+	}
+
+	/**
+	 * Set the read only DAO factory for concurrent partitioned scans
+	 * 
+	 * @param readDaoFactory
+	 *            read DAO factory, null to scan partitions sequentially
+	 * @since 3.4.1
+	 */
+	public void setReadDaoFactory(
+			UserReadDaoFactory<TColumn, TTable, TRow, TResult> readDaoFactory) {
+		this.readDaoFactory = readDaoFactory;
+	}
+
+	/**
+	 * Create a partitioned scan over all rows
+	 * 
+	 * @return partitioned scan
+	 * @since 3.4.1
+	 */
+	public UserPartitionedScan<TColumn, TTable, TRow, TResult> partitionedScan() {
+		return partitionedScan(null, null);
+	}
+
+	/**
+	 * Create a partitioned scan over rows matching the where clause
+	 * 
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @return partitioned scan
+	 * @since 3.4.1
+	 */
+	public UserPartitionedScan<TColumn, TTable, TRow, TResult> partitionedScan(
+			String where, String[] whereArgs) {
+		return new UserPartitionedScan<TColumn, TTable, TRow, TResult>(this,
+				where, whereArgs);
+	}
+
+	/**
+	 * Stream all rows across id range partitions, one per available
+	 * processor. The stream is parallel when a read DAO factory is set.
+	 * 
+	 * @return row stream
+	 * @since 3.4.1
+	 */
+	public Stream<TRow> parallelStream() {
+		return partitionedScan().stream(
+				Runtime.getRuntime().availableProcessors());
+	}
+
 	/**
 	 * Build a limit String with the limit and offset
 	 * 
@@ -1054,6 +1456,20 @@ public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends Use
 		return db.delete(getTableName(), whereClause, whereArgs);
 	}
 
+	/**
+	 * Delete rows matching the where clause with typed bind arguments
+	 * 
+	 * @param whereClause
+	 *            where clause
+	 * @param bindings
+	 *            typed where arguments
+	 * @return deleted count
+	 * @since 3.4.1
+	 */
+	public int deleteBound(String whereClause, Bindings bindings) {
+		return db.deleteBound(getTableName(), whereClause, bindings);
+	}
+
 	/**
 	 * Delete rows matching the field values
 	 * 
@@ -1098,6 +1514,307 @@ public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends Use
 	 */
 	public abstract long insert(TRow row);
 
+	/**
+	 * Get the number of rows inserted per transaction by the batch inserts
+	 * 
+	 * @return batch size
+	 * @since 3.4.1
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Set the number of rows inserted per transaction by the batch inserts
+	 * 
+	 * @param batchSize
+	 *            batch size
+	 * @since 3.4.1
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new GeoPackageException(
+					"Batch size must be positive, size: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Determine if batches are inserted with multiple row statements
+	 * 
+	 * @return true if multiple row statements, false if inserting each row
+	 *         with {@link #insert(UserCoreRow)}
+	 * @since 3.4.1
+	 */
+	public boolean isBatchStatements() {
+		return batchStatements;
+	}
+
+	/**
+	 * Set if batches are inserted with multiple row statements through the
+	 * user connection, see {@link #insertBatch(List, long[], int)}. DAOs
+	 * whose {@link #insert(UserCoreRow)} does more than insert the row, such
+	 * as maintaining an index, should disable batch statements or override
+	 * {@link #insertBatch(List, long[], int)}.
+	 * 
+	 * @param batchStatements
+	 *            true to insert multiple row statements, false to insert each
+	 *            row with {@link #insert(UserCoreRow)}
+	 * @since 3.4.1
+	 */
+	public void setBatchStatements(boolean batchStatements) {
+		this.batchStatements = batchStatements;
+	}
+
+	/**
+	 * Insert the rows in batches, see {@link #insert(Iterator)}
+	 * 
+	 * @param rows
+	 *            rows
+	 * @return row ids in insert order
+	 * @since 3.4.1
+	 */
+	public long[] insert(Iterable<TRow> rows) {
+		return insert(rows.iterator());
+	}
+
+	/**
+	 * Insert the rows in batches, see {@link #insert(Iterator)}
+	 * 
+	 * @param rows
+	 *            rows
+	 * @return row ids in insert order
+	 * @since 3.4.1
+	 */
+	public long[] insert(Stream<TRow> rows) {
+		return insert(rows.iterator());
+	}
+
+	/**
+	 * Insert the rows in batches of the {@link #getBatchSize()}. When not
+	 * already within a transaction, each batch is committed in its own
+	 * transaction and a failure rolls back only the current batch. Within an
+	 * existing transaction the caller controls the commits.
+	 * 
+	 * @param rows
+	 *            rows
+	 * @return row ids in insert order
+	 * @since 3.4.1
+	 */
+	public long[] insert(Iterator<TRow> rows) {
+
+		long[] ids = new long[0];
+		int count = 0;
+
+		boolean transaction = !inTransaction();
+		if (transaction) {
+			beginTransaction();
+		}
+		boolean successful = false;
+		try {
+
+			List<TRow> batch = new ArrayList<>();
+			while (rows.hasNext()) {
+				batch.add(rows.next());
+				if (batch.size() >= batchSize || !rows.hasNext()) {
+					if (ids.length < count + batch.size()) {
+						ids = Arrays.copyOf(ids, Math.max(ids.length * 2,
+								count + batch.size()));
+					}
+					insertBatch(batch, ids, count);
+					count += batch.size();
+					batch.clear();
+					if (transaction && rows.hasNext()) {
+						endAndBeginTransaction();
+					}
+				}
+			}
+
+			successful = true;
+		} finally {
+			if (transaction) {
+				endTransaction(successful);
+			}
+		}
+
+		return ids.length == count ? ids : Arrays.copyOf(ids, count);
+	}
+
+	/**
+	 * Insert a batch of rows, setting the row ids into the ids array starting
+	 * at the offset. When {@link #isBatchStatements()}, consecutive rows with
+	 * the same set columns are inserted together in multiple row VALUES
+	 * statements within the SQLite bind variable limit, through
+	 * {@link UserCoreConnection#insertBound(String, Bindings)} on the
+	 * connection of the DAO transactions. Only the set (non null) values of
+	 * a row are inserted, so unset columns receive their column defaults as
+	 * with a single row insert. Rows without a set primary key are assigned
+	 * the consecutive row ids ending at the last inserted row id. Otherwise
+	 * each row is inserted with {@link #insert(UserCoreRow)}.
+	 * 
+	 * @param rows
+	 *            batch rows
+	 * @param ids
+	 *            row ids in insert order
+	 * @param offset
+	 *            ids offset of the first batch row
+	 * @since 3.4.1
+	 */
+	protected void insertBatch(List<TRow> rows, long[] ids, int offset) {
+
+		if (batchStatements) {
+			insertBatchStatements(rows, ids, offset);
+		} else {
+			for (int i = 0; i < rows.size(); i++) {
+				ids[offset + i] = insert(rows.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Insert a batch of rows with multiple row statements of the set columns,
+	 * see {@link #insertBatch(List, long[], int)}
+	 * 
+	 * @param rows
+	 *            batch rows
+	 * @param ids
+	 *            row ids in insert order
+	 * @param offset
+	 *            ids offset of the first batch row
+	 */
+	private void insertBatchStatements(List<TRow> rows, long[] ids,
+			int offset) {
+
+		List<List<TColumn>> rowColumns = new ArrayList<>(rows.size());
+		for (TRow row : rows) {
+			rowColumns.add(getInsertColumns(row));
+		}
+
+		int start = 0;
+		while (start < rows.size()) {
+
+			List<TColumn> columns = rowColumns.get(start);
+			int maxRows = columns.isEmpty() ? 1
+					: CoreSQLUtils.maxInsertRows(columns.size());
+			int end = start + 1;
+			while (end < rows.size() && end - start < maxRows
+					&& columns.equals(rowColumns.get(end))) {
+				end++;
+			}
+
+			List<TRow> statementRows = rows.subList(start, end);
+			long lastId = userDb.insertBound(
+					buildInsertSQL(columns, statementRows.size()),
+					buildInsertBindings(columns, statementRows));
+
+			boolean pkSet = table.hasPkColumn()
+					&& columns.contains(table.getPkColumn());
+			for (int i = 0; i < statementRows.size(); i++) {
+				TRow row = statementRows.get(i);
+				long id;
+				if (pkSet) {
+					id = row.getId();
+				} else {
+					id = lastId - (statementRows.size() - 1 - i);
+					row.setId(id);
+				}
+				ids[offset + start + i] = id;
+			}
+
+			start = end;
+		}
+	}
+
+	/**
+	 * Get the columns with set (non null) values in the row, inserted by
+	 * {@link #insertBatch(List, long[], int)}
+	 * 
+	 * @param row
+	 *            row
+	 * @return insert columns in column order
+	 * @since 3.4.1
+	 */
+	public List<TColumn> getInsertColumns(TRow row) {
+		List<TColumn> columns = new ArrayList<>();
+		for (TColumn column : table.getColumns()) {
+			if (row.getValue(column.getIndex()) != null) {
+				columns.add(column);
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Build the insert SQL for the number of rows, binding the columns in
+	 * order. Without columns, a single row of default values is inserted.
+	 * 
+	 * @param columns
+	 *            insert columns
+	 * @param rowCount
+	 *            number of rows
+	 * @return insert SQL
+	 * @since 3.4.1
+	 */
+	public String buildInsertSQL(List<TColumn> columns, int rowCount) {
+		String[] columnNames = new String[columns.size()];
+		for (int i = 0; i < columnNames.length; i++) {
+			columnNames[i] = columns.get(i).getName();
+		}
+		return CoreSQLUtils.insertSQL(getTableName(), columnNames, rowCount);
+	}
+
+	/**
+	 * Build the typed bind arguments of the column values for inserting the
+	 * rows with {@link #buildInsertSQL(List, int)}
+	 * 
+	 * @param columns
+	 *            insert columns
+	 * @param rows
+	 *            rows
+	 * @return insert bindings
+	 * @since 3.4.1
+	 */
+	public Bindings buildInsertBindings(List<TColumn> columns,
+			List<TRow> rows) {
+		Bindings bindings = new Bindings(rows.size() * columns.size());
+		for (TRow row : rows) {
+			for (TColumn column : columns) {
+				bindings.bind(getInsertValue(column,
+						row.getValue(column.getIndex())));
+			}
+		}
+		return bindings;
+	}
+
+	/**
+	 * Get the database value of the row value for inserting, formatting dates
+	 * and writing geometry data bytes
+	 * 
+	 * @param column
+	 *            column
+	 * @param value
+	 *            row value
+	 * @return insert value
+	 * @since 3.4.1
+	 */
+	protected Object getInsertValue(TColumn column, Object value) {
+		Object insertValue = value;
+		if (value instanceof Date) {
+			insertValue = DateConverter.converter(column.getDataType())
+					.stringValue((Date) value);
+		} else if (value instanceof GeoPackageGeometryData) {
+			try {
+				insertValue = ((GeoPackageGeometryData) value).toBytes();
+			} catch (IOException e) {
+				throw new GeoPackageException(
+						"Failed to write geometry data bytes. Column: "
+								+ column.getName(),
+						e);
+			}
+		}
+		return insertValue;
+	}
+
 	/**
 	 * Get the primary key where clause
 	 * 
@@ -1120,6 +1837,18 @@ public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends Use
 		return buildWhereArgs(id);
 	}
 
+	/**
+	 * Get the primary key typed where arguments
+	 * 
+	 * @param id
+	 *            id
+	 * @return primary key where bindings
+	 * @since 3.4.1
+	 */
+	protected Bindings getPkWhereBindings(long id) {
+		return new Bindings(1).bind(id);
+	}
+
 	/**
 	 * Build where (or selection) statement from the fields
 	 * 
@@ -1349,6 +2078,62 @@ public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends Use
 		return args;
 	}
 
+	/**
+	 * Build typed where (or selection) bind arguments for the values, skipping
+	 * null values checked with "IS NULL"
+	 * 
+	 * @param values
+	 *            values
+	 * @return where bindings
+	 * @since 3.4.1
+	 */
+	public Bindings buildWhereBindings(Collection<Object> values) {
+		return Bindings.ofNonNull(values);
+	}
+
+	/**
+	 * Build typed where (or selection) bind arguments for the value
+	 * 
+	 * @param value
+	 *            value
+	 * @return where bindings, empty for a null value
+	 * @since 3.4.1
+	 */
+	public Bindings buildWhereBindings(Object value) {
+		Bindings bindings = new Bindings(1);
+		if (value != null) {
+			bindings.bind(value);
+		}
+		return bindings;
+	}
+
+	/**
+	 * Build typed where (or selection) bind arguments for the column values,
+	 * binding tolerance ranges as float values
+	 * 
+	 * @param values
+	 *            column values
+	 * @return where bindings
+	 * @since 3.4.1
+	 */
+	public Bindings buildValueWhereBindings(Collection<ColumnValue> values) {
+		Bindings bindings = new Bindings(values.size());
+		for (ColumnValue value : values) {
+			if (value != null && value.getValue() != null) {
+				if (value.getTolerance() != null) {
+					double doubleValue = ((Number) value.getValue())
+							.doubleValue();
+					double tolerance = value.getTolerance();
+					bindings.bind(doubleValue - tolerance);
+					bindings.bind(doubleValue + tolerance);
+				} else {
+					bindings.bind(value.getValue());
+				}
+			}
+		}
+		return bindings;
+	}
+
 	/**
 	 * Build where statement for ids in the nested SQL query
 	 * 
@@ -1435,6 +2220,20 @@ public abstract class UserCoreDao<TColumn extends UserColumn, TTable extends Use
 		return db.count(getTableName(), where, args);
 	}
 
+	/**
+	 * Get the count with typed bind arguments
+	 * 
+	 * @param where
+	 *            where clause
+	 * @param bindings
+	 *            typed where arguments
+	 * @return count
+	 * @since 3.4.1
+	 */
+	public int countBound(String where, Bindings bindings) {
+		return db.countBound(getTableName(), where, bindings);
+	}
+
 	/**
 	 * Get the min result of the column
 	 * 
@@ -1,6 +1,8 @@
 package mil.nga.geopackage.user;
 
+import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.db.Result;
+import mil.nga.geopackage.db.ResultUtils;
 
 /**
  * Abstract User Cursor
@@ -79,6 +81,180 @@ public interface UserCoreResult<TColumn extends UserColumn, TTable extends UserT
 	 */
 	public TRow getRow();
 
+	/**
+	 * Get the row at the current cursor position, refilling the provided row
+	 * in place instead of allocating a new row. Scans can pass the previously
+	 * returned row to reuse a single flyweight row instance for every
+	 * position. The reused row is only valid until the next move, copy it to
+	 * retain values.
+	 * 
+	 * @param row
+	 *            row to refill, null to create a new row
+	 * @return row
+	 * @since 3.4.1
+	 */
+	public default TRow getRow(TRow row) {
+		if (row == null) {
+			row = getRow();
+		} else {
+			validateRow(row);
+			row.readRow(this);
+		}
+		return row;
+	}
+
+	/**
+	 * Move to the next position and refill the provided flyweight row, see
+	 * {@link #getRow(UserCoreRow)}
+	 * 
+	 * @param row
+	 *            row to refill, null to only move, as with
+	 *            {@link #getRow(UserCoreRow)} reading no existing row
+	 * @return true if moved to the next row
+	 * @since 3.4.1
+	 */
+	public default boolean moveToNext(TRow row) {
+		if (row != null) {
+			validateRow(row);
+		}
+		boolean next = moveToNext();
+		if (next && row != null) {
+			row.readRow(this);
+		}
+		return next;
+	}
+
+	/**
+	 * Validate the flyweight row belongs to the result table and can be
+	 * refilled
+	 * 
+	 * @param row
+	 *            row to refill
+	 * @since 3.4.1
+	 */
+	public default void validateRow(TRow row) {
+		if (row.getTable() != getTable()) {
+			throw new GeoPackageException("Row of table "
+					+ row.getTable().getTableName()
+					+ " can not be refilled from a result of table "
+					+ getTable().getTableName());
+		}
+	}
+
+	/**
+	 * Check if the column value is null at the current cursor position
+	 * 
+	 * @param column
+	 *            column
+	 * @return true if null
+	 * @since 3.4.1
+	 */
+	public default boolean isNull(TColumn column) {
+		return getType(column.getIndex()) == ResultUtils.FIELD_TYPE_NULL;
+	}
+
+	/**
+	 * Get the integer column value without boxing, 0 when null
+	 * 
+	 * @param column
+	 *            column
+	 * @return long value
+	 * @since 3.4.1
+	 */
+	public default long getLong(TColumn column) {
+		return getLong(column.getIndex());
+	}
+
+	/**
+	 * Get the integer column value without boxing
+	 * 
+	 * @param column
+	 *            column
+	 * @param nullValue
+	 *            value returned when null
+	 * @return long value
+	 * @since 3.4.1
+	 */
+	public default long getLong(TColumn column, long nullValue) {
+		return isNull(column) ? nullValue : getLong(column.getIndex());
+	}
+
+	/**
+	 * Get the integer column value without boxing, 0 when null
+	 * 
+	 * @param column
+	 *            column
+	 * @return int value
+	 * @since 3.4.1
+	 */
+	public default int getInt(TColumn column) {
+		return getInt(column.getIndex());
+	}
+
+	/**
+	 * Get the integer column value without boxing
+	 * 
+	 * @param column
+	 *            column
+	 * @param nullValue
+	 *            value returned when null
+	 * @return int value
+	 * @since 3.4.1
+	 */
+	public default int getInt(TColumn column, int nullValue) {
+		return isNull(column) ? nullValue : getInt(column.getIndex());
+	}
+
+	/**
+	 * Get the float column value without boxing, 0 when null
+	 * 
+	 * @param column
+	 *            column
+	 * @return double value
+	 * @since 3.4.1
+	 */
+	public default double getDouble(TColumn column) {
+		return getDouble(column.getIndex());
+	}
+
+	/**
+	 * Get the float column value without boxing
+	 * 
+	 * @param column
+	 *            column
+	 * @param nullValue
+	 *            value returned when null, such as {@link Double#NaN}
+	 * @return double value
+	 * @since 3.4.1
+	 */
+	public default double getDouble(TColumn column, double nullValue) {
+		return isNull(column) ? nullValue : getDouble(column.getIndex());
+	}
+
+	/**
+	 * Get the text column value without date conversion
+	 * 
+	 * @param column
+	 *            column
+	 * @return string value or null
+	 * @since 3.4.1
+	 */
+	public default String getString(TColumn column) {
+		return getString(column.getIndex());
+	}
+
+	/**
+	 * Get the blob column value
+	 * 
+	 * @param column
+	 *            column
+	 * @return blob value or null
+	 * @since 3.4.1
+	 */
+	public default byte[] getBlob(TColumn column) {
+		return isNull(column) ? null : getBlob(column.getIndex());
+	}
+
 	/**
 	 * Get the count of results
 	 * 
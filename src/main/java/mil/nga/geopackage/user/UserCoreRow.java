@@ -75,7 +75,7 @@ public abstract class UserCoreRow<TColumn extends UserColumn, TTable extends Use
 	 */
 	protected UserCoreRow(UserCoreRow<TColumn, TTable> userCoreRow) {
 		this.table = userCoreRow.table;
-		this.columnTypes = userCoreRow.columnTypes;
+		this.columnTypes = userCoreRow.columnTypes.clone();
 		this.values = new Object[userCoreRow.values.length];
 		for (int i = 0; i < this.values.length; i++) {
 			Object value = userCoreRow.values[i];
@@ -86,6 +86,26 @@ public abstract class UserCoreRow<TColumn extends UserColumn, TTable extends Use
 		}
 	}
 
+	/**
+	 * Refill the column types and values in place from the current position
+	 * of the result, used to reuse the row as a flyweight across result
+	 * positions. Each value is read through
+	 * {@link UserCoreResult#getValue(UserColumn)}, as when the result creates
+	 * a new row, so results converting column values (such as feature
+	 * geometries) fill the same values.
+	 * 
+	 * @param result
+	 *            user result with the table columns
+	 * @since 3.4.1
+	 */
+	protected void readRow(UserCoreResult<TColumn, TTable, ?> result) {
+		for (TColumn column : table.getColumns()) {
+			int index = column.getIndex();
+			columnTypes[index] = result.getType(index);
+			values[index] = result.getValue(column);
+		}
+	}
+
 	/**
 	 * Copy the value of the data type
 	 * 
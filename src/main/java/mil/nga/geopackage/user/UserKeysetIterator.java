@@ -0,0 +1,198 @@
+package mil.nga.geopackage.user;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * User row iterator over keyset chunks. Rows are read in primary key order
+ * by querying chunks of ids greater than the last read id, holding at most
+ * one open chunk result at a time.
+ * 
+ * @param <TColumn>
+ *            column type
+ * @param <TTable>
+ *            table type
+ * @param <TRow>
+ *            row type
+ * @param <TResult>
+ *            result type
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class UserKeysetIterator<TColumn extends UserColumn, TTable extends UserTable<TColumn>, TRow extends UserCoreRow<TColumn, TTable>, TResult extends UserCoreResult<TColumn, TTable, TRow>>
+		implements Iterator<TRow>, Closeable {
+
+	/**
+	 * User DAO
+	 */
+	private final UserCoreDao<TColumn, TTable, TRow, TResult> dao;
+
+	/**
+	 * Where clause
+	 */
+	private final String where;
+
+	/**
+	 * Where arguments
+	 */
+	private final String[] whereArgs;
+
+	/**
+	 * Chunk limit
+	 */
+	private final int limit;
+
+	/**
+	 * Current chunk result
+	 */
+	private TResult result;
+
+	/**
+	 * Rows read from the current chunk
+	 */
+	private int chunkCount;
+
+	/**
+	 * Last read id
+	 */
+	private Long lastId;
+
+	/**
+	 * Next row
+	 */
+	private TRow next;
+
+	/**
+	 * True when all chunks have been read
+	 */
+	private boolean finished;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param dao
+	 *            user DAO
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @param limit
+	 *            chunk limit
+	 */
+	public UserKeysetIterator(
+			UserCoreDao<TColumn, TTable, TRow, TResult> dao, String where,
+			String[] whereArgs, int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException(
+					"Chunk limit must be positive: " + limit);
+		}
+		this.dao = dao;
+		this.where = where;
+		this.whereArgs = whereArgs;
+		this.limit = limit;
+	}
+
+	/**
+	 * Get the chunk limit
+	 * 
+	 * @return chunk limit
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Get the last read id
+	 * 
+	 * @return last id, null if no rows have been read
+	 */
+	public Long getLastId() {
+		return lastId;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+		if (next == null && !finished) {
+			next = readNext();
+		}
+		return next != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public TRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		TRow row = next;
+		next = null;
+		return row;
+	}
+
+	/**
+	 * Read the next row, querying the next chunk when the current chunk is
+	 * exhausted
+	 * 
+	 * @return next row or null when finished
+	 */
+	private TRow readNext() {
+		TRow row = null;
+		while (row == null && !finished) {
+			if (result == null) {
+				result = dao.queryForKeysetChunk(where, whereArgs, lastId,
+						limit);
+				chunkCount = 0;
+			}
+			if (result.moveToNext()) {
+				row = result.getRow();
+				lastId = row.getId();
+				chunkCount++;
+			} else {
+				boolean lastChunk = chunkCount < limit;
+				closeResult();
+				finished = lastChunk;
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * Get a spliterator over the remaining rows
+	 * 
+	 * @return spliterator
+	 */
+	public Spliterator<TRow> spliterator() {
+		return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED
+				| Spliterator.DISTINCT | Spliterator.NONNULL);
+	}
+
+	/**
+	 * Close the current chunk result and finish iterating
+	 */
+	@Override
+	public void close() {
+		closeResult();
+		next = null;
+		finished = true;
+	}
+
+	/**
+	 * Close the current chunk result
+	 */
+	private void closeResult() {
+		if (result != null) {
+			result.close();
+			result = null;
+		}
+	}
+
+}
@@ -0,0 +1,425 @@
+package mil.nga.geopackage.user;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import mil.nga.geopackage.db.CoreSQLUtils;
+
+/**
+ * Partitioned user table scan. The table is split into primary key ranges
+ * using the min and max ids, and each range is read in id order through
+ * keyset chunks. When a read DAO factory is set on the DAO, each partition
+ * runs concurrently on its own read connection. Otherwise partitions run
+ * sequentially on the DAO connection.
+ * 
+ * @param <TColumn>
+ *            column type
+ * @param <TTable>
+ *            table type
+ * @param <TRow>
+ *            row type
+ * @param <TResult>
+ *            result type
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class UserPartitionedScan<TColumn extends UserColumn, TTable extends UserTable<TColumn>, TRow extends UserCoreRow<TColumn, TTable>, TResult extends UserCoreResult<TColumn, TTable, TRow>> {
+
+	/**
+	 * Default keyset chunk limit within each partition
+	 */
+	public static final int DEFAULT_CHUNK_LIMIT = 1000;
+
+	/**
+	 * Consumer of the ordered rows of a single partition
+	 * 
+	 * @param <TRow>
+	 *            row type
+	 */
+	public interface PartitionConsumer<TRow> {
+
+		/**
+		 * Consume the partition rows, called on the partition thread
+		 * 
+		 * @param partition
+		 *            partition
+		 * @param rows
+		 *            id ordered partition rows
+		 */
+		public void accept(Partition partition, Iterator<TRow> rows);
+
+	}
+
+	/**
+	 * Inclusive primary key range of a partition
+	 */
+	public static class Partition {
+
+		/**
+		 * Partition index
+		 */
+		private final int index;
+
+		/**
+		 * Min id (inclusive)
+		 */
+		private final long minId;
+
+		/**
+		 * Max id (inclusive)
+		 */
+		private final long maxId;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param index
+		 *            partition index
+		 * @param minId
+		 *            min id (inclusive)
+		 * @param maxId
+		 *            max id (inclusive)
+		 */
+		public Partition(int index, long minId, long maxId) {
+			this.index = index;
+			this.minId = minId;
+			this.maxId = maxId;
+		}
+
+		/**
+		 * Get the partition index
+		 * 
+		 * @return index
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * Get the min id
+		 * 
+		 * @return min id (inclusive)
+		 */
+		public long getMinId() {
+			return minId;
+		}
+
+		/**
+		 * Get the max id
+		 * 
+		 * @return max id (inclusive)
+		 */
+		public long getMaxId() {
+			return maxId;
+		}
+
+	}
+
+	/**
+	 * User DAO
+	 */
+	private final UserCoreDao<TColumn, TTable, TRow, TResult> dao;
+
+	/**
+	 * Where clause
+	 */
+	private final String where;
+
+	/**
+	 * Where arguments
+	 */
+	private final String[] whereArgs;
+
+	/**
+	 * Keyset chunk limit within each partition
+	 */
+	private int chunkLimit = DEFAULT_CHUNK_LIMIT;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param dao
+	 *            user DAO
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 */
+	public UserPartitionedScan(
+			UserCoreDao<TColumn, TTable, TRow, TResult> dao, String where,
+			String[] whereArgs) {
+		this.dao = dao;
+		this.where = where;
+		this.whereArgs = whereArgs;
+	}
+
+	/**
+	 * Get the keyset chunk limit within each partition
+	 * 
+	 * @return chunk limit
+	 */
+	public int getChunkLimit() {
+		return chunkLimit;
+	}
+
+	/**
+	 * Set the keyset chunk limit within each partition
+	 * 
+	 * @param chunkLimit
+	 *            chunk limit
+	 */
+	public void setChunkLimit(int chunkLimit) {
+		this.chunkLimit = chunkLimit;
+	}
+
+	/**
+	 * Determine if partitions run concurrently on separate read connections
+	 * 
+	 * @return true if concurrent
+	 */
+	public boolean isConcurrent() {
+		return dao.getReadDaoFactory() != null;
+	}
+
+	/**
+	 * Split the matching rows into id range partitions of equal id spans
+	 * 
+	 * @param partitions
+	 *            max number of partitions
+	 * @return partitions, empty if no rows match
+	 */
+	public List<Partition> partition(int partitions) {
+
+		List<Partition> results = new ArrayList<>();
+
+		String pkColumn = CoreSQLUtils
+				.quoteWrap(dao.getTable().getPkColumn().getName());
+		StringBuilder sql = new StringBuilder();
+		sql.append("SELECT MIN(").append(pkColumn).append("), MAX(")
+				.append(pkColumn).append(") FROM ")
+				.append(CoreSQLUtils.quoteWrap(dao.getTableName()));
+		if (where != null) {
+			sql.append(" WHERE ").append(where);
+		}
+
+		List<Object> minMax = dao.querySingleRowResults(sql.toString(),
+				whereArgs);
+		if (minMax != null && minMax.get(0) != null && minMax.get(1) != null) {
+			results = partition(((Number) minMax.get(0)).longValue(),
+					((Number) minMax.get(1)).longValue(), partitions);
+		}
+
+		return results;
+	}
+
+	/**
+	 * Split the inclusive id range into partitions of equal id spans
+	 * 
+	 * @param minId
+	 *            min id (inclusive)
+	 * @param maxId
+	 *            max id (inclusive)
+	 * @param partitions
+	 *            max number of partitions
+	 * @return partitions
+	 */
+	public static List<Partition> partition(long minId, long maxId,
+			int partitions) {
+
+		List<Partition> results = new ArrayList<>();
+
+		long span = maxId - minId + 1;
+		long count = Math.max(1, Math.min(partitions, span));
+		long size = (span + count - 1) / count;
+		long start = minId;
+		for (int index = 0; start <= maxId; index++) {
+			long end = Math.min(maxId, start + size - 1);
+			results.add(new Partition(index, start, end));
+			if (end == maxId) {
+				break;
+			}
+			start = end + 1;
+		}
+
+		return results;
+	}
+
+	/**
+	 * Stream the rows of the partitions. The stream is parallel when
+	 * partitions run concurrently, with each partition delivering its rows in
+	 * id order on a single thread. Close the stream if not fully consumed.
+	 * 
+	 * @param partitions
+	 *            max number of partitions
+	 * @return row stream
+	 */
+	public Stream<TRow> stream(int partitions) {
+		Stream<Partition> stream = partition(partitions).stream();
+		if (isConcurrent()) {
+			stream = stream.parallel();
+		}
+		return stream.flatMap(new Function<Partition, Stream<TRow>>() {
+			@Override
+			public Stream<TRow> apply(Partition partition) {
+				return stream(partition);
+			}
+		});
+	}
+
+	/**
+	 * Stream the id ordered rows of a single partition on a read DAO,
+	 * releasing the read DAO when the stream is closed
+	 * 
+	 * @param partition
+	 *            partition
+	 * @return row stream
+	 */
+	public Stream<TRow> stream(Partition partition) {
+		final UserCoreDao<TColumn, TTable, TRow, TResult> readDao = openReadDao();
+		final UserKeysetIterator<TColumn, TTable, TRow, TResult> rows;
+		try {
+			rows = iterate(readDao, partition);
+		} catch (RuntimeException e) {
+			closeReadDao(readDao);
+			throw e;
+		}
+		return StreamSupport.stream(rows.spliterator(), false)
+				.onClose(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							rows.close();
+						} finally {
+							closeReadDao(readDao);
+						}
+					}
+				});
+	}
+
+	/**
+	 * Create a fork join task scanning each partition with the consumer
+	 * 
+	 * @param partitions
+	 *            max number of partitions
+	 * @param consumer
+	 *            partition consumer
+	 * @return fork join task
+	 */
+	public ForkJoinTask<Void> task(final int partitions,
+			final PartitionConsumer<TRow> consumer) {
+		return new RecursiveAction() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				List<Partition> partitionList = partition(partitions);
+				if (isConcurrent()) {
+					List<RecursiveAction> tasks = new ArrayList<>();
+					for (final Partition partition : partitionList) {
+						tasks.add(new RecursiveAction() {
+
+							private static final long serialVersionUID = 1L;
+
+							@Override
+							protected void compute() {
+								scan(partition, consumer);
+							}
+
+						});
+					}
+					invokeAll(tasks);
+				} else {
+					for (Partition partition : partitionList) {
+						scan(partition, consumer);
+					}
+				}
+			}
+
+		};
+	}
+
+	/**
+	 * Scan the partition rows with the consumer on a read DAO
+	 * 
+	 * @param partition
+	 *            partition
+	 * @param consumer
+	 *            partition consumer
+	 */
+	public void scan(Partition partition, PartitionConsumer<TRow> consumer) {
+		UserCoreDao<TColumn, TTable, TRow, TResult> readDao = openReadDao();
+		try {
+			UserKeysetIterator<TColumn, TTable, TRow, TResult> rows = iterate(
+					readDao, partition);
+			try {
+				consumer.accept(partition, rows);
+			} finally {
+				rows.close();
+			}
+		} finally {
+			closeReadDao(readDao);
+		}
+	}
+
+	/**
+	 * Iterate the partition rows in keyset chunks
+	 * 
+	 * @param readDao
+	 *            read DAO
+	 * @param partition
+	 *            partition
+	 * @return row iterator
+	 */
+	private UserKeysetIterator<TColumn, TTable, TRow, TResult> iterate(
+			UserCoreDao<TColumn, TTable, TRow, TResult> readDao,
+			Partition partition) {
+
+		String pkColumn = dao.getTable().getPkColumn().getName();
+		String rangeWhere = dao.buildWhere(pkColumn, partition.getMinId(),
+				">=") + " AND "
+				+ dao.buildWhere(pkColumn, partition.getMaxId(), "<=");
+		String[] rangeArgs = dao.buildWhereArgs(new Object[] {
+				partition.getMinId(), partition.getMaxId() });
+		if (where != null) {
+			rangeWhere += " AND (" + where + ")";
+			rangeArgs = dao.buildWhereInArgs(whereArgs, rangeArgs);
+		}
+
+		return readDao.iterateKeyset(rangeWhere, rangeArgs, chunkLimit);
+	}
+
+	/**
+	 * Open a read DAO from the factory, or use the DAO when not concurrent
+	 * 
+	 * @return read DAO
+	 */
+	private UserCoreDao<TColumn, TTable, TRow, TResult> openReadDao() {
+		UserReadDaoFactory<TColumn, TTable, TRow, TResult> factory = dao
+				.getReadDaoFactory();
+		return factory != null ? factory.open() : dao;
+	}
+
+	/**
+	 * Close a read DAO opened from the factory
+	 * 
+	 * @param readDao
+	 *            read DAO
+	 */
+	private void closeReadDao(
+			UserCoreDao<TColumn, TTable, TRow, TResult> readDao) {
+		UserReadDaoFactory<TColumn, TTable, TRow, TResult> factory = dao
+				.getReadDaoFactory();
+		if (factory != null && readDao != dao) {
+			factory.close(readDao);
+		}
+	}
+
+}
@@ -0,0 +1,37 @@
+package mil.nga.geopackage.user;
+
+/**
+ * Factory for user DAOs on separate read only connections, used to run
+ * partitioned table scans concurrently. Implementations open a DAO for the
+ * same table on its own connection and release it when closed.
+ * 
+ * @param <TColumn>
+ *            column type
+ * @param <TTable>
+ *            table type
+ * @param <TRow>
+ *            row type
+ * @param <TResult>
+ *            result type
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public interface UserReadDaoFactory<TColumn extends UserColumn, TTable extends UserTable<TColumn>, TRow extends UserCoreRow<TColumn, TTable>, TResult extends UserCoreResult<TColumn, TTable, TRow>> {
+
+	/**
+	 * Open a user DAO on a read only connection
+	 * 
+	 * @return user DAO
+	 */
+	public UserCoreDao<TColumn, TTable, TRow, TResult> open();
+
+	/**
+	 * Close or release a user DAO opened by this factory
+	 * 
+	 * @param dao
+	 *            user DAO
+	 */
+	public void close(UserCoreDao<TColumn, TTable, TRow, TResult> dao);
+
+}
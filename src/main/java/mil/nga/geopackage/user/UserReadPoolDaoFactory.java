@@ -0,0 +1,164 @@
+package mil.nga.geopackage.user;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.GeoPackageConnectionPool;
+import mil.nga.geopackage.db.GeoPackageConnectionPool.Lease;
+import mil.nga.geopackage.db.GeoPackageCoreConnection;
+
+/**
+ * Read DAO factory leasing read connections from a connection pool. Read DAOs
+ * are created once per pooled connection and table, and reused across leases
+ * along with any statements they hold. Set on a user DAO to route its
+ * partitioned scans and other leased reads to pooled readers while writes
+ * continue through the primary connection.
+ * 
+ * @param <TColumn>
+ *            column type
+ * @param <TTable>
+ *            table type
+ * @param <TRow>
+ *            row type
+ * @param <TResult>
+ *            result type
+ * 
+ * @author osbornb
+ * @since 3.4.1
+ */
+public class UserReadPoolDaoFactory<TColumn extends UserColumn, TTable extends UserTable<TColumn>, TRow extends UserCoreRow<TColumn, TTable>, TResult extends UserCoreResult<TColumn, TTable, TRow>>
+		implements UserReadDaoFactory<TColumn, TTable, TRow, TResult> {
+
+	/**
+	 * Creator of read DAOs on a read connection
+	 * 
+	 * @param <TColumn>
+	 *            column type
+	 * @param <TTable>
+	 *            table type
+	 * @param <TRow>
+	 *            row type
+	 * @param <TResult>
+	 *            result type
+	 */
+	public interface DaoCreator<TColumn extends UserColumn, TTable extends UserTable<TColumn>, TRow extends UserCoreRow<TColumn, TTable>, TResult extends UserCoreResult<TColumn, TTable, TRow>> {
+
+		/**
+		 * Create a DAO for the table on the read connection
+		 * 
+		 * @param connection
+		 *            read connection
+		 * @param tableName
+		 *            table name
+		 * @return user DAO
+		 */
+		public UserCoreDao<TColumn, TTable, TRow, TResult> create(
+				GeoPackageCoreConnection connection, String tableName);
+
+	}
+
+	/**
+	 * Connection pool
+	 */
+	private final GeoPackageConnectionPool pool;
+
+	/**
+	 * Table name
+	 */
+	private final String tableName;
+
+	/**
+	 * DAO creator
+	 */
+	private final DaoCreator<TColumn, TTable, TRow, TResult> creator;
+
+	/**
+	 * Resource key of the read DAO on pooled connections
+	 */
+	private final String resourceKey;
+
+	/**
+	 * Leases of the open DAOs
+	 */
+	private final Map<UserCoreDao<TColumn, TTable, TRow, TResult>, Lease> leases = new IdentityHashMap<>();
+
+	/**
+	 * Constructor
+	 * 
+	 * @param pool
+	 *            connection pool
+	 * @param tableName
+	 *            table name
+	 * @param creator
+	 *            DAO creator
+	 */
+	public UserReadPoolDaoFactory(GeoPackageConnectionPool pool,
+			String tableName,
+			DaoCreator<TColumn, TTable, TRow, TResult> creator) {
+		this.pool = pool;
+		this.tableName = tableName;
+		this.creator = creator;
+		resourceKey = UserReadPoolDaoFactory.class.getName() + ":"
+				+ tableName;
+	}
+
+	/**
+	 * Get the connection pool
+	 * 
+	 * @return connection pool
+	 */
+	public GeoPackageConnectionPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Get the table name
+	 * 
+	 * @return table name
+	 */
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public UserCoreDao<TColumn, TTable, TRow, TResult> open() {
+		Lease lease = pool.lease();
+		UserCoreDao<TColumn, TTable, TRow, TResult> dao;
+		try {
+			dao = lease.getResource(resourceKey);
+			if (dao == null) {
+				dao = creator.create(lease.getConnection(), tableName);
+				lease.setResource(resourceKey, dao);
+			}
+			synchronized (leases) {
+				leases.put(dao, lease);
+			}
+		} catch (RuntimeException e) {
+			lease.close();
+			throw e;
+		}
+		return dao;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close(UserCoreDao<TColumn, TTable, TRow, TResult> dao) {
+		Lease lease;
+		synchronized (leases) {
+			lease = leases.remove(dao);
+		}
+		if (lease == null) {
+			throw new GeoPackageException(
+					"DAO was not opened by this factory for table: "
+							+ tableName);
+		}
+		lease.close();
+	}
+
+}
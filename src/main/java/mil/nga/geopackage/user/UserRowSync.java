@@ -1,16 +1,21 @@
 package mil.nga.geopackage.user;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 
 import mil.nga.geopackage.GeoPackageException;
 
 /**
  * User Row Sync to support sharing a single user row read copy when multiple
- * near simultaneous asynchronous requests are made
+ * near simultaneous asynchronous requests are made. Each in progress row id
+ * maps to a future completed by the reading thread, so requests for different
+ * ids never contend.
  * 
  * @param <TColumn>
  *            column type
@@ -25,44 +30,54 @@ import mil.nga.geopackage.GeoPackageException;
 public class UserRowSync<TColumn extends UserColumn, TTable extends UserTable<TColumn>, TRow extends UserCoreRow<TColumn, TTable>> {
 
 	/**
-	 * Synchronous lock
+	 * Mapping between in progress row ids and row futures
+	 * 
+	 * @since 3.4.1
 	 */
-	protected Lock lock = new ReentrantLock();
+	protected final ConcurrentMap<Long, CompletableFuture<TRow>> rowFutures = new ConcurrentHashMap<>();
 
 	/**
-	 * Mapping between row ids and row conditions
+	 * Max time in milliseconds to wait for another thread reading the same
+	 * row, 0 to wait until the row is set or failed
 	 */
-	protected Map<Long, RowCondition> rows = new HashMap<>();
+	private volatile long timeout = 0;
 
 	/**
-	 * Condition and row wrapper
+	 * Constructor
 	 */
-	protected class RowCondition {
-
-		/**
-		 * Wait and signal condition
-		 */
-		private Condition condition;
-
-		/**
-		 * Row
-		 */
-		private TRow row;
+	protected UserRowSync() {
 
 	}
 
 	/**
-	 * Constructor
+	 * Get the max time in milliseconds to wait for another thread reading the
+	 * same row
+	 * 
+	 * @return timeout in milliseconds, 0 for no timeout
+	 * @since 3.4.1
 	 */
-	protected UserRowSync() {
+	public long getTimeout() {
+		return timeout;
+	}
 
+	/**
+	 * Set the max time in milliseconds to wait for another thread reading the
+	 * same row. A waiting request that times out returns null from
+	 * {@link #getRowOrLock(long)} and reads the row itself.
+	 * 
+	 * @param timeout
+	 *            timeout in milliseconds, 0 for no timeout
+	 * @since 3.4.1
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
 	}
 
 	/**
 	 * Get the row if another same id request has been made by waiting until the
 	 * row has been set. If no current request, lock the for the calling thread
 	 * which should read the row and call {@link #setRow(long, UserCoreRow)}
-	 * when complete.
+	 * when complete, or {@link #failRow(long, Throwable)} if the read fails.
 	 * 
 	 * @param id
 	 *            user row id
@@ -73,31 +88,59 @@ public class UserRowSync<TColumn extends UserColumn, TTable extends UserTable<TC
 
 		TRow row = null;
 
-		lock.lock();
+		final boolean[] locked = new boolean[1];
+		CompletableFuture<TRow> future = rowFutures.computeIfAbsent(id,
+				new Function<Long, CompletableFuture<TRow>>() {
+					@Override
+					public CompletableFuture<TRow> apply(Long key) {
+						// The calling thread is now responsible for
+						// retrieving the row
+						locked[0] = true;
+						return new CompletableFuture<>();
+					}
+				});
+		if (!locked[0]) {
+			// Another thread is currently retrieving the row, wait
+			row = waitForRow(id, future);
+		}
+
+		return row;
+	}
+
+	/**
+	 * Wait for another thread currently retrieving the row to set or fail the
+	 * row, up to the {@link #getTimeout()}
+	 * 
+	 * @param id
+	 *            user row id
+	 * @param future
+	 *            in progress row future
+	 * @return row, or null if timed out and the calling thread should read
+	 *         the row
+	 * @since 3.4.1
+	 */
+	protected TRow waitForRow(long id, CompletableFuture<TRow> future) {
+
+		TRow row = null;
+
 		try {
-			RowCondition rowCondition = rows.get(id);
-			if (rowCondition != null) {
-				row = rowCondition.row;
-				if (row == null) {
-					// Another thread is currently retrieving the row, wait
-					rowCondition.condition.await();
-
-					// Row has now been retrieved
-					row = rowCondition.row;
-				}
+			if (timeout > 0) {
+				row = future.get(timeout, TimeUnit.MILLISECONDS);
 			} else {
-				// Set the row condition and the calling thread is now
-				// responsible for retrieving the row
-				rowCondition = new RowCondition();
-				rowCondition.condition = lock.newCondition();
-				rows.put(id, rowCondition);
+				row = future.get();
 			}
+		} catch (TimeoutException e) {
+			// Read the row in the calling thread
 		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 			throw new GeoPackageException(
-					"Interruption obtaining cached row or row lock. id: " + id,
+					"Interruption obtaining cached row or row lock. id: "
+							+ id,
 					e);
-		} finally {
-			lock.unlock();
+		} catch (ExecutionException e) {
+			throw new GeoPackageException(
+					"Failed to read row in another request. id: " + id,
+					e.getCause());
 		}
 
 		return row;
@@ -112,17 +155,64 @@ public class UserRowSync<TColumn extends UserColumn, TTable extends UserTable<TC
 	 *            user row or null
 	 */
 	public void setRow(long id, TRow row) {
+		CompletableFuture<TRow> future = rowFutures.remove(id);
+		if (future != null) {
+			future.complete(row);
+		}
+	}
 
-		lock.lock();
-		try {
-			RowCondition rowCondition = rows.remove(id);
-			if (rowCondition != null) {
-				rowCondition.row = row;
-				rowCondition.condition.signalAll();
+	/**
+	 * Fail the row read and propagate the failure to all waiting threads,
+	 * which throw a {@link GeoPackageException} with the cause
+	 * 
+	 * @param id
+	 *            user row id
+	 * @param cause
+	 *            read failure
+	 * @since 3.4.1
+	 */
+	public void failRow(long id, Throwable cause) {
+		CompletableFuture<TRow> future = rowFutures.remove(id);
+		if (future != null) {
+			future.completeExceptionally(cause);
+		}
+	}
+
+	/**
+	 * Get the row, sharing a single read across near simultaneous requests
+	 * for the same id. The calling thread reads the row with the loader when
+	 * no other request is in progress, and waits for the in progress read
+	 * otherwise.
+	 * 
+	 * @param id
+	 *            user row id
+	 * @param loader
+	 *            row loader
+	 * @return row
+	 * @since 3.4.1
+	 */
+	public TRow getRow(long id, LongFunction<TRow> loader) {
+		TRow row = getRowOrLock(id);
+		if (row == null) {
+			try {
+				row = loader.apply(id);
+			} catch (RuntimeException | Error e) {
+				failRow(id, e);
+				throw e;
 			}
-		} finally {
-			lock.unlock();
+			setRow(id, row);
 		}
+		return row;
+	}
+
+	/**
+	 * Get the number of row reads in progress
+	 * 
+	 * @return in progress count
+	 * @since 3.4.1
+	 */
+	public int inProgress() {
+		return rowFutures.size();
 	}
 
 }
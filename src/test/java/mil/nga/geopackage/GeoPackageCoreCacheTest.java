@@ -0,0 +1,114 @@
+package mil.nga.geopackage;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * GeoPackage Core Cache Test
+ * 
+ * @author osbornb
+ */
+public class GeoPackageCoreCacheTest {
+
+	/**
+	 * Closed GeoPackage names
+	 */
+	private final List<String> closed = new ArrayList<>();
+
+	/**
+	 * Opened GeoPackage names
+	 */
+	private final List<String> opened = new ArrayList<>();
+
+	/**
+	 * Test least recently used eviction, pinning, and reopening
+	 */
+	@Test
+	public void testBoundedCache() {
+
+		GeoPackageCoreCache<GeoPackageCore> cache = new GeoPackageCoreCache<GeoPackageCore>(
+				2, new GeoPackageCoreCache.Loader<GeoPackageCore>() {
+					@Override
+					public GeoPackageCore open(String name) {
+						opened.add(name);
+						return createGeoPackage(name);
+					}
+				}) {
+		};
+
+		GeoPackageCore a = cache.getOrOpen("a");
+		TestCase.assertNotNull(a);
+		cache.getOrOpen("b");
+		TestCase.assertSame(a, cache.getOrOpen("a"));
+		TestCase.assertEquals(2, opened.size());
+
+		// b is least recently used
+		cache.getOrOpen("c");
+		TestCase.assertEquals(2, cache.size());
+		TestCase.assertFalse(cache.has("b"));
+		TestCase.assertEquals(1, closed.size());
+		TestCase.assertEquals("b", closed.get(0));
+		TestCase.assertEquals(1, cache.getEvictions());
+
+		// Pinned GeoPackages are not evicted
+		TestCase.assertSame(a, cache.pin("a"));
+		cache.get("c");
+		cache.pin("b");
+		TestCase.assertTrue(cache.has("a"));
+		TestCase.assertTrue(cache.has("b"));
+		TestCase.assertFalse(cache.has("c"));
+		TestCase.assertEquals("c", closed.get(1));
+
+		// Over capacity while all pinned, evicted once unpinned
+		cache.getOrOpen("d");
+		TestCase.assertEquals(2, closed.size());
+		TestCase.assertEquals(3, cache.size());
+		cache.unpin("a");
+		TestCase.assertEquals(2, cache.size());
+		TestCase.assertFalse(cache.has("a"));
+		TestCase.assertEquals("a", closed.get(2));
+		TestCase.assertTrue(cache.isPinned("b"));
+
+		TestCase.assertEquals(3, cache.getHits());
+		TestCase.assertEquals(5, cache.getMisses());
+
+		cache.closeAll();
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertFalse(cache.isPinned("b"));
+		TestCase.assertEquals(5, closed.size());
+	}
+
+	/**
+	 * Create a GeoPackage proxy recording closes
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @return GeoPackage
+	 */
+	private GeoPackageCore createGeoPackage(final String name) {
+		return (GeoPackageCore) Proxy.newProxyInstance(
+				GeoPackageCore.class.getClassLoader(),
+				new Class<?>[] { GeoPackageCore.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method,
+							Object[] args) {
+						Object value = null;
+						if (method.getName().equals("getName")) {
+							value = name;
+						} else if (method.getName().equals("close")) {
+							closed.add(name);
+						}
+						return value;
+					}
+				});
+	}
+
+}
@@ -0,0 +1,41 @@
+package mil.nga.geopackage.db;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * Bindings Test
+ * 
+ * @author osbornb
+ */
+public class BindingsTest {
+
+	/**
+	 * Test binding typed values
+	 */
+	@Test
+	public void testBind() {
+
+		Bindings bindings = Bindings.of(5, 2.5f, "text", true, null,
+				new byte[] { 1, 2 });
+		TestCase.assertEquals(6, bindings.size());
+		TestCase.assertEquals(ResultUtils.FIELD_TYPE_INTEGER,
+				bindings.getType(0));
+		TestCase.assertEquals(5L, bindings.getLong(0));
+		TestCase.assertEquals(ResultUtils.FIELD_TYPE_FLOAT,
+				bindings.getType(1));
+		TestCase.assertEquals(2.5, bindings.getDouble(1));
+		TestCase.assertEquals("text", bindings.getString(2));
+		TestCase.assertEquals(1L, bindings.getLong(3));
+		TestCase.assertEquals(ResultUtils.FIELD_TYPE_NULL,
+				bindings.getType(4));
+		TestCase.assertNull(bindings.getValue(4));
+		TestCase.assertEquals(2, bindings.getBlob(5).length);
+
+		Bindings copy = new Bindings(1).bindAll(bindings).bindAll(bindings);
+		TestCase.assertEquals(12, copy.size());
+		TestCase.assertEquals("text", copy.getString(8));
+	}
+
+}
@@ -0,0 +1,118 @@
+package mil.nga.geopackage.db;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.GeoPackageException;
+
+import org.junit.Test;
+
+/**
+ * Date Converter Test
+ * 
+ * @author osbornb
+ */
+public class DateConverterTest {
+
+	/**
+	 * Test formatting and parsing matches simple date formats
+	 */
+	@Test
+	public void testSimpleDateFormatResults() {
+
+		String[] values = new String[] { "2020-01-01", "2020/01/01",
+				"2020-02-29", "2019-02-29", "2020-13-01", "2020-1-5",
+				"1582-10-10", "0001-01-01", "2020-01-01T12:34:56.789Z",
+				"2020-01-01T12:34:56Z", "2020-01-01T24:00:00.000Z",
+				"2020-01-01T23:59:60Z", "1500-06-15T01:02:03.004Z",
+				"2020-01-01T12:34:56.7Z", "2020-01-01 12:34:56",
+				"2020-01-01T12:34:56.789Zextra", "2020/01/01T00:00:00Z",
+				"20200101", "", "date", "9999-12-31T23:59:59.999Z" };
+
+		String[][] converterFormats = new String[][] {
+				{ DateConverter.DATE_FORMAT, DateConverter.DATE_FORMAT2 },
+				{ DateConverter.DATETIME_FORMAT,
+						DateConverter.DATETIME_FORMAT2 },
+				{ DateConverter.DATETIME_FORMAT2 },
+				{ DateConverter.DATE_FORMAT, DateConverter.DATETIME_FORMAT },
+				{ DateConverter.DATETIME_FORMAT2, "yyyyMMdd" } };
+
+		Random random = new Random(7);
+		for (String[] formats : converterFormats) {
+			DateConverter converter = DateConverter.dateConverter(formats);
+			SimpleDateFormat[] sdfs = createFormats(formats);
+
+			for (String value : values) {
+				Date expected = parse(sdfs, value);
+				if (expected == null) {
+					try {
+						converter.dateValue(value);
+						TestCase.fail("Expected parse failure: " + value);
+					} catch (GeoPackageException e) {
+						// expected
+					}
+				} else {
+					TestCase.assertEquals(value, expected,
+							converter.dateValue(value));
+				}
+			}
+
+			for (int i = 0; i < 1000; i++) {
+				Date date = new Date((long) ((random.nextDouble() * 2 - 1)
+						* 100000000000000L));
+				String expected = sdfs[0].format(date);
+				TestCase.assertEquals(expected, converter.stringValue(date));
+				TestCase.assertEquals(expected, parse(sdfs, expected),
+						converter.dateValue(expected));
+			}
+		}
+
+		TestCase.assertSame(DateConverter.dateTimeConverter(),
+				DateConverter.converter(GeoPackageDataType.DATETIME));
+		TestCase.assertNull(DateConverter.dateConverter().stringValue(null));
+		TestCase.assertNull(DateConverter.dateConverter().dateValue(null));
+	}
+
+	/**
+	 * Create UTC simple date formats
+	 * 
+	 * @param formats
+	 *            formats
+	 * @return simple date formats
+	 */
+	private static SimpleDateFormat[] createFormats(String[] formats) {
+		SimpleDateFormat[] sdfs = new SimpleDateFormat[formats.length];
+		for (int i = 0; i < formats.length; i++) {
+			sdfs[i] = new SimpleDateFormat(formats[i]);
+			sdfs[i].setTimeZone(TimeZone.getTimeZone("UTC"));
+		}
+		return sdfs;
+	}
+
+	/**
+	 * Parse the value with the first successful simple date format
+	 * 
+	 * @param sdfs
+	 *            simple date formats
+	 * @param value
+	 *            date string
+	 * @return date or null
+	 */
+	private static Date parse(SimpleDateFormat[] sdfs, String value) {
+		Date date = null;
+		for (SimpleDateFormat sdf : sdfs) {
+			try {
+				date = sdf.parse(value);
+				break;
+			} catch (ParseException e) {
+				// try the next format
+			}
+		}
+		return date;
+	}
+
+}
@@ -0,0 +1,159 @@
+package mil.nga.geopackage.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.db.GeoPackageConnectionPool.Lease;
+
+import org.junit.Test;
+
+import com.j256.ormlite.support.ConnectionSource;
+
+/**
+ * GeoPackage Connection Pool Test
+ * 
+ * @author osbornb
+ */
+public class GeoPackageConnectionPoolTest {
+
+	/**
+	 * Test leasing, reusing, and closing read connections
+	 * 
+	 * @throws InterruptedException
+	 *             upon interruption
+	 */
+	@Test
+	public void testLeases() throws InterruptedException {
+
+		final List<TestConnection> opened = new ArrayList<>();
+		GeoPackageConnectionPool pool = new GeoPackageConnectionPool(
+				new TestConnection(),
+				new GeoPackageConnectionPool.ConnectionFactory() {
+					@Override
+					public GeoPackageCoreConnection open() {
+						TestConnection connection = new TestConnection();
+						opened.add(connection);
+						return connection;
+					}
+				}, 2);
+
+		Lease lease1 = pool.lease();
+		Lease lease2 = pool.lease();
+		TestCase.assertEquals(2, pool.getSize());
+		TestCase.assertEquals(2, pool.getLeased());
+		TestCase.assertNotSame(lease1.getConnection(), lease2.getConnection());
+		TestCase.assertNull(pool.lease(10, TimeUnit.MILLISECONDS));
+		for (TestConnection connection : opened) {
+			TestCase.assertTrue(
+					connection.sql.contains("PRAGMA query_only = true"));
+		}
+
+		GeoPackageCoreConnection connection2 = lease2.getConnection();
+		lease2.setResource("key", "value");
+		lease2.close();
+		lease2.close();
+		TestCase.assertTrue(lease2.isReleased());
+		TestCase.assertEquals(1, pool.getIdle());
+		TestCase.assertEquals(1, pool.getLeased());
+
+		Lease lease3 = pool.lease();
+		TestCase.assertSame(connection2, lease3.getConnection());
+		TestCase.assertEquals("value", lease3.<String> getResource("key"));
+		TestCase.assertEquals(2, opened.size());
+		lease3.close();
+
+		pool.close();
+		TestCase.assertTrue(opened.get(1).closed);
+		TestCase.assertFalse(opened.get(0).closed);
+		lease1.close();
+		TestCase.assertTrue(opened.get(0).closed);
+		TestCase.assertEquals(0, pool.getSize());
+	}
+
+	/**
+	 * Connection recording executed SQL
+	 */
+	private static class TestConnection extends GeoPackageCoreConnection {
+
+		private final List<String> sql = new ArrayList<>();
+
+		private boolean closed = false;
+
+		TestConnection() {
+			super((ConnectionSource) null);
+		}
+
+		@Override
+		public void execSQL(String sql) {
+			this.sql.add(sql);
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+
+		@Override
+		public void beginTransaction() {
+		}
+
+		@Override
+		public void endTransaction(boolean successful) {
+		}
+
+		@Override
+		public void commit() {
+		}
+
+		@Override
+		public boolean inTransaction() {
+			return false;
+		}
+
+		@Override
+		public int delete(String table, String whereClause,
+				String[] whereArgs) {
+			return 0;
+		}
+
+		@Override
+		public int count(String table, String where, String[] args) {
+			return 0;
+		}
+
+		@Override
+		public Integer min(String table, String column, String where,
+				String[] args) {
+			return null;
+		}
+
+		@Override
+		public Integer max(String table, String column, String where,
+				String[] args) {
+			return null;
+		}
+
+		@Override
+		public Object querySingleResult(String sql, String[] args,
+				int column, GeoPackageDataType dataType) {
+			return null;
+		}
+
+		@Override
+		public List<Object> querySingleColumnResults(String sql,
+				String[] args, int column, GeoPackageDataType dataType,
+				Integer limit) {
+			return null;
+		}
+
+		@Override
+		public List<List<Object>> queryResults(String sql, String[] args,
+				GeoPackageDataType[] dataTypes, Integer limit) {
+			return null;
+		}
+
+	}
+
+}
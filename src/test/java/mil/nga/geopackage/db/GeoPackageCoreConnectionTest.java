@@ -0,0 +1,321 @@
+package mil.nga.geopackage.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * GeoPackage Core Connection Test, running compiled statements against a
+ * stand in database echoing the bound arguments as the result row
+ *
+ * @author osbornb
+ */
+public class GeoPackageCoreConnectionTest {
+
+	/**
+	 * Compiled SQL statements
+	 */
+	private final List<String> compiled = new ArrayList<>();
+
+	/**
+	 * Closed SQL statements
+	 */
+	private final List<String> closed = new ArrayList<>();
+
+	/**
+	 * Bound argument SQL types of the last run
+	 */
+	private final List<SqlType> sqlTypes = new ArrayList<>();
+
+	/**
+	 * Test compiled queries reuse the prepared statement of the SQL
+	 */
+	@Test
+	public void testCompiledStatementCache() {
+
+		TestConnection connection = new TestConnection(connectionSource());
+
+		TestCase.assertEquals(Arrays.asList(Arrays.<Object> asList("a", "b")),
+				connection.queryResultsCompiled("SELECT ?, ?",
+						new String[] { "a", "b" }, null, null));
+		TestCase.assertEquals(Arrays.asList(Arrays.<Object> asList("c", "d")),
+				connection.queryResultsCompiled("SELECT ?, ?",
+						new String[] { "c", "d" }, null, null));
+		TestCase.assertEquals(Arrays.asList(SqlType.STRING, SqlType.STRING),
+				sqlTypes);
+		TestCase.assertEquals("e", connection.querySingleResultCompiled(
+				"SELECT ?", new String[] { "e" }, 0, null));
+
+		TestCase.assertEquals(Arrays.asList("SELECT ?, ?", "SELECT ?"),
+				compiled);
+		StatementCache<?> cache = connection.getStatementCache();
+		TestCase.assertEquals(2, cache.size());
+		TestCase.assertEquals(1, cache.getHits());
+		TestCase.assertEquals(2, cache.getMisses());
+		TestCase.assertTrue(closed.isEmpty());
+
+		connection.close();
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertEquals(2, closed.size());
+	}
+
+	/**
+	 * Test typed bind arguments bind natively by storage class, including
+	 * blobs that can not bind as text
+	 */
+	@Test
+	public void testBoundNative() {
+
+		TestConnection connection = new TestConnection(connectionSource());
+
+		byte[] blob = new byte[] { 1, 2 };
+		List<List<Object>> results = connection.queryResultsBound(
+				"SELECT ?, ?, ?, ?, ?",
+				Bindings.of(7, 1.5, "a", blob, null));
+		TestCase.assertEquals(Arrays.asList(SqlType.LONG, SqlType.DOUBLE,
+				SqlType.STRING, SqlType.BYTE_ARRAY, SqlType.STRING), sqlTypes);
+		List<Object> row = results.get(0);
+		TestCase.assertEquals(7L, row.get(0));
+		TestCase.assertEquals(1.5, row.get(1));
+		TestCase.assertEquals("a", row.get(2));
+		TestCase.assertSame(blob, row.get(3));
+		TestCase.assertNull(row.get(4));
+
+		TestCase.assertEquals(7L, connection
+				.querySingleResultBound("SELECT ?", Bindings.of(7L)));
+		TestCase.assertEquals(Arrays.asList(SqlType.LONG), sqlTypes);
+
+		TestCase.assertEquals(2, connection.deleteBound("t", "a = ? AND b = ?",
+				Bindings.of(1L, blob)));
+		TestCase.assertEquals(Arrays.asList(SqlType.LONG, SqlType.BYTE_ARRAY),
+				sqlTypes);
+		TestCase.assertEquals(3, connection.countBound("t", "a = ?",
+				Bindings.of(3L)));
+		TestCase.assertEquals(Arrays.asList("SELECT ?, ?, ?, ?, ?",
+				"SELECT ?", "DELETE FROM \"t\" WHERE a = ? AND b = ?",
+				"SELECT COUNT(*) FROM \"t\" WHERE a = ?"), compiled);
+	}
+
+	/**
+	 * Create a connection source with a single connection compiling echo
+	 * statements
+	 *
+	 * @return connection source
+	 */
+	private ConnectionSource connectionSource() {
+		final DatabaseConnection connection = proxy(DatabaseConnection.class,
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method,
+							Object[] args) {
+						Object value = null;
+						if (method.getName().equals("compileStatement")) {
+							String sql = (String) args[0];
+							compiled.add(sql);
+							value = statement(sql);
+						}
+						return value;
+					}
+				});
+		return proxy(ConnectionSource.class, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				Object value = null;
+				if (method.getName().equals("getReadWriteConnection")) {
+					value = connection;
+				}
+				return value;
+			}
+		});
+	}
+
+	/**
+	 * Create a compiled statement returning the bound arguments as the
+	 * single result row
+	 *
+	 * @param sql
+	 *            SQL
+	 * @return compiled statement
+	 */
+	private CompiledStatement statement(final String sql) {
+		final List<Object> bound = new ArrayList<>();
+		return proxy(CompiledStatement.class, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				Object value = null;
+				switch (method.getName()) {
+				case "setObject":
+					int index = (Integer) args[0];
+					if (index == 0) {
+						bound.clear();
+						sqlTypes.clear();
+					}
+					bound.add(args[1]);
+					sqlTypes.add((SqlType) args[2]);
+					break;
+				case "runQuery":
+					value = results(new ArrayList<>(bound));
+					break;
+				case "runUpdate":
+					value = bound.size();
+					break;
+				case "closeQuietly":
+					closed.add(sql);
+					break;
+				default:
+				}
+				return value;
+			}
+		});
+	}
+
+	/**
+	 * Create database results of a single row
+	 *
+	 * @param row
+	 *            row values
+	 * @return database results
+	 */
+	private static DatabaseResults results(final List<Object> row) {
+		return proxy(DatabaseResults.class, new InvocationHandler() {
+
+			private boolean next = true;
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				Object value = null;
+				switch (method.getName()) {
+				case "next":
+					value = next;
+					next = false;
+					break;
+				case "getColumnCount":
+					value = row.size();
+					break;
+				case "wasNull":
+					value = row.get((Integer) args[0]) == null;
+					break;
+				case "getObject":
+				case "getString":
+				case "getBytes":
+					value = row.get((Integer) args[0]);
+					break;
+				case "getLong":
+					value = ((Number) row.get((Integer) args[0])).longValue();
+					break;
+				case "getDouble":
+					value = ((Number) row.get((Integer) args[0]))
+							.doubleValue();
+					break;
+				default:
+				}
+				return value;
+			}
+		});
+	}
+
+	/**
+	 * Create an interface proxy
+	 *
+	 * @param type
+	 *            interface type
+	 * @param handler
+	 *            invocation handler
+	 * @param <T>
+	 *            interface type
+	 * @return proxy
+	 */
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(),
+				new Class<?>[] { type }, handler));
+	}
+
+	/**
+	 * Connection without direct query support, running only compiled
+	 * statements
+	 */
+	private static class TestConnection extends GeoPackageCoreConnection {
+
+		TestConnection(ConnectionSource connectionSource) {
+			super(connectionSource);
+		}
+
+		@Override
+		public void execSQL(String sql) {
+		}
+
+		@Override
+		public void beginTransaction() {
+		}
+
+		@Override
+		public void endTransaction(boolean successful) {
+		}
+
+		@Override
+		public void commit() {
+		}
+
+		@Override
+		public boolean inTransaction() {
+			return false;
+		}
+
+		@Override
+		public int delete(String table, String whereClause,
+				String[] whereArgs) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int count(String table, String where, String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Integer min(String table, String column, String where,
+				String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Integer max(String table, String column, String where,
+				String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Object querySingleResult(String sql, String[] args,
+				int column, GeoPackageDataType dataType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Object> querySingleColumnResults(String sql,
+				String[] args, int column, GeoPackageDataType dataType,
+				Integer limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<List<Object>> queryResults(String sql, String[] args,
+				GeoPackageDataType[] dataTypes, Integer limit) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
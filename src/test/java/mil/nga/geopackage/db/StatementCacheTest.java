@@ -0,0 +1,63 @@
+package mil.nga.geopackage.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * Statement Cache Test
+ * 
+ * @author osbornb
+ */
+public class StatementCacheTest {
+
+	/**
+	 * Test taking, releasing, and evicting statements
+	 */
+	@Test
+	public void testCache() {
+
+		final List<String> closed = new ArrayList<>();
+		StatementCache<String> cache = new StatementCache<>(
+				new StatementCache.Closer<String>() {
+					@Override
+					public void close(String statement) {
+						closed.add(statement);
+					}
+				}, 2);
+
+		TestCase.assertNull(cache.take("a"));
+		cache.release("a", "statement a");
+		cache.release("b", "statement b");
+		TestCase.assertEquals(2, cache.size());
+
+		TestCase.assertEquals("statement a", cache.take("a"));
+		TestCase.assertNull(cache.take("a"));
+		TestCase.assertEquals(1, cache.size());
+		cache.release("a", "statement a");
+
+		cache.release("c", "statement c");
+		TestCase.assertEquals(2, cache.size());
+		TestCase.assertEquals(1, closed.size());
+		TestCase.assertEquals("statement b", closed.get(0));
+		TestCase.assertEquals(1, cache.getEvictions());
+
+		cache.release("a", "statement a2");
+		TestCase.assertEquals("statement a", closed.get(1));
+
+		TestCase.assertEquals(1, cache.getHits());
+		TestCase.assertEquals(2, cache.getMisses());
+
+		cache.setMaxSize(1);
+		TestCase.assertEquals(1, cache.size());
+		TestCase.assertEquals("statement c", closed.get(2));
+
+		cache.clear();
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertEquals("statement a2", closed.get(3));
+	}
+
+}
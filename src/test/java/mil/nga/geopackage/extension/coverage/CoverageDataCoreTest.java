@@ -0,0 +1,288 @@
+package mil.nga.geopackage.extension.coverage;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+import org.locationtech.proj4j.CoordinateTransform;
+import org.locationtech.proj4j.ProjCoordinate;
+
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.GeoPackageCore;
+import mil.nga.geopackage.core.srs.SpatialReferenceSystem;
+import mil.nga.geopackage.tiles.matrixset.TileMatrixSet;
+import mil.nga.sf.proj.ProjectionConstants;
+import mil.nga.sf.proj.ProjectionFactory;
+import mil.nga.sf.proj.ProjectionTransform;
+
+/**
+ * Coverage Data Core Test
+ *
+ * @author osbornb
+ */
+public class CoverageDataCoreTest {
+
+	/**
+	 * Coverage data width and height
+	 */
+	private static final int COVERAGE_SIZE = 200;
+
+	/**
+	 * Requested width
+	 */
+	private static final int REQUESTED_WIDTH = 150;
+
+	/**
+	 * Requested height
+	 */
+	private static final int REQUESTED_HEIGHT = 120;
+
+	/**
+	 * Coverage data bounding box in EPSG:4326
+	 */
+	private static final BoundingBox COVERAGE_BOUNDING_BOX = new BoundingBox(
+			-10.0, -10.0, 10.0, 10.0);
+
+	/**
+	 * Test parallel banded reprojection matches the exact single threaded
+	 * reprojection
+	 */
+	@Test
+	public void testReprojectBands() {
+
+		ProjectionTransform transform = requestToCoverage();
+		BoundingBox requestBoundingBox = requestBoundingBox();
+
+		TestCoverageData coverageData = new TestCoverageData();
+		int[] expected = coverageData.getReprojectedPixels(COVERAGE_SIZE,
+				COVERAGE_SIZE, REQUESTED_WIDTH, REQUESTED_HEIGHT,
+				requestBoundingBox, transform, COVERAGE_BOUNDING_BOX);
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			coverageData.setReprojectionExecutor(executor);
+			for (int bands : new int[] { 0, 1, 4, 7, REQUESTED_HEIGHT }) {
+				coverageData.setReprojectionBands(bands);
+				int[] pixels = coverageData.getReprojectedPixels(
+						COVERAGE_SIZE, COVERAGE_SIZE, REQUESTED_WIDTH,
+						REQUESTED_HEIGHT, requestBoundingBox, transform,
+						COVERAGE_BOUNDING_BOX);
+				TestCase.assertEquals(expected.length, pixels.length);
+				for (int i = 0; i < expected.length; i++) {
+					TestCase.assertEquals(expected[i], pixels[i]);
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Test approximate reprojection keeps source pixels within the max error
+	 * of the exact transforms for an EPSG:4326 coverage requested in Web
+	 * Mercator
+	 */
+	@Test
+	public void testReprojectApproximate() {
+
+		ProjectionTransform transform = requestToCoverage();
+		BoundingBox requestBoundingBox = requestBoundingBox();
+
+		double maxError = 0.25;
+
+		TestCoverageData coverageData = new TestCoverageData();
+		coverageData.setReprojectionMaxError(maxError);
+		int[] pixels = coverageData.getReprojectedPixels(COVERAGE_SIZE,
+				COVERAGE_SIZE, REQUESTED_WIDTH, REQUESTED_HEIGHT,
+				requestBoundingBox, transform, COVERAGE_BOUNDING_BOX);
+
+		// The rounded source pixel is within half a pixel of the
+		// approximated source pixel
+		double tolerance = maxError + 0.5;
+
+		CoordinateTransform coordinateTransform = transform.getTransform();
+		ProjCoordinate from = new ProjCoordinate();
+		ProjCoordinate to = new ProjCoordinate();
+		double widthUnitsPerPixel = (requestBoundingBox.getMaxLongitude() - requestBoundingBox
+				.getMinLongitude()) / REQUESTED_WIDTH;
+		double heightUnitsPerPixel = (requestBoundingBox.getMaxLatitude() - requestBoundingBox
+				.getMinLatitude()) / REQUESTED_HEIGHT;
+		double coverageWidth = COVERAGE_BOUNDING_BOX.getMaxLongitude()
+				- COVERAGE_BOUNDING_BOX.getMinLongitude();
+		double coverageHeight = COVERAGE_BOUNDING_BOX.getMaxLatitude()
+				- COVERAGE_BOUNDING_BOX.getMinLatitude();
+
+		int index = 0;
+		for (int y = 0; y < REQUESTED_HEIGHT; y++) {
+			for (int x = 0; x < REQUESTED_WIDTH; x++) {
+
+				from.x = requestBoundingBox.getMinLongitude()
+						+ (x * widthUnitsPerPixel);
+				from.y = requestBoundingBox.getMaxLatitude()
+						- (y * heightUnitsPerPixel);
+				coordinateTransform.transform(from, to);
+				double xSource = clamp(
+						((to.x - COVERAGE_BOUNDING_BOX.getMinLongitude()) / coverageWidth)
+								* COVERAGE_SIZE, COVERAGE_SIZE - 1);
+				double ySource = clamp(
+						((COVERAGE_BOUNDING_BOX.getMaxLatitude() - to.y) / coverageHeight)
+								* COVERAGE_SIZE, COVERAGE_SIZE - 1);
+
+				int pixel = pixels[index++];
+				TestCase.assertTrue(Math.abs(pixel % COVERAGE_SIZE - xSource)
+						<= tolerance);
+				TestCase.assertTrue(Math.abs(pixel / COVERAGE_SIZE - ySource)
+						<= tolerance);
+			}
+		}
+	}
+
+	/**
+	 * Clamp the value between 0 and the max
+	 *
+	 * @param value
+	 *            value
+	 * @param max
+	 *            max value
+	 * @return clamped value
+	 */
+	private static double clamp(double value, double max) {
+		return Math.min(max, Math.max(0, value));
+	}
+
+	/**
+	 * Get the transform from Web Mercator requests to the EPSG:4326 coverage
+	 *
+	 * @return projection transform
+	 */
+	private static ProjectionTransform requestToCoverage() {
+		return ProjectionFactory.getProjection(
+				ProjectionConstants.EPSG_WEB_MERCATOR).getTransformation(
+				ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM);
+	}
+
+	/**
+	 * Get the Web Mercator request bounding box covering the coverage data
+	 *
+	 * @return request bounding box
+	 */
+	private static BoundingBox requestBoundingBox() {
+		return COVERAGE_BOUNDING_BOX.transform(ProjectionFactory.getProjection(
+				ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM)
+				.getTransformation(ProjectionConstants.EPSG_WEB_MERCATOR));
+	}
+
+	/**
+	 * Coverage data exposing reprojection without coverage data tiles
+	 */
+	private static class TestCoverageData extends
+			CoverageDataCore<CoverageDataImage> {
+
+		/**
+		 * Constructor
+		 */
+		TestCoverageData() {
+			super(createGeoPackage(), createTileMatrixSet());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Double getValue(GriddedTile griddedTile,
+				CoverageDataImage image, int x, int y) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CoverageDataGrid getGridValues(CoverageDataRequest request,
+				Integer width, Integer height) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CoverageDataGrid getGridValuesUnbounded(
+				CoverageDataRequest request) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * Create a GeoPackage supplying only the gridded coverage DAO
+		 *
+		 * @return GeoPackage
+		 */
+		private static GeoPackageCore createGeoPackage() {
+
+			final GriddedCoverageDao griddedCoverageDao;
+			try {
+				griddedCoverageDao = new GriddedCoverageDao(null,
+						GriddedCoverage.class) {
+
+					@Override
+					public boolean isTableExists() {
+						return true;
+					}
+
+					@Override
+					public GriddedCoverage query(TileMatrixSet tileMatrixSet) {
+						return new GriddedCoverage();
+					}
+
+				};
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+
+			return (GeoPackageCore) Proxy.newProxyInstance(
+					GeoPackageCore.class.getClassLoader(),
+					new Class<?>[] { GeoPackageCore.class },
+					new InvocationHandler() {
+						@Override
+						public Object invoke(Object proxy, Method method,
+								Object[] args) {
+							Object value = null;
+							if (method.getName().equals(
+									"getGriddedCoverageDao")) {
+								value = griddedCoverageDao;
+							} else if (method.getReturnType() == boolean.class) {
+								value = Boolean.FALSE;
+							}
+							return value;
+						}
+					});
+		}
+
+		/**
+		 * Create the EPSG:4326 coverage tile matrix set
+		 *
+		 * @return tile matrix set
+		 */
+		private static TileMatrixSet createTileMatrixSet() {
+			SpatialReferenceSystem srs = new SpatialReferenceSystem();
+			srs.setOrganization(ProjectionConstants.AUTHORITY_EPSG);
+			srs.setOrganizationCoordsysId(
+					ProjectionConstants.EPSG_WORLD_GEODETIC_SYSTEM);
+			TileMatrixSet tileMatrixSet = new TileMatrixSet();
+			tileMatrixSet.setSrs(srs);
+			tileMatrixSet.setMinX(COVERAGE_BOUNDING_BOX.getMinLongitude());
+			tileMatrixSet.setMinY(COVERAGE_BOUNDING_BOX.getMinLatitude());
+			tileMatrixSet.setMaxX(COVERAGE_BOUNDING_BOX.getMaxLongitude());
+			tileMatrixSet.setMaxY(COVERAGE_BOUNDING_BOX.getMaxLatitude());
+			return tileMatrixSet;
+		}
+
+	}
+
+}
@@ -0,0 +1,53 @@
+package mil.nga.geopackage.extension.coverage;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * Coverage Data Grid Test
+ * 
+ * @author osbornb
+ */
+public class CoverageDataGridTest {
+
+	/**
+	 * Test converting between boxed results and primitive grids
+	 */
+	@Test
+	public void testBoxing() {
+
+		Double[][] values = new Double[][] { { 1.0, null, 3.5 },
+				{ null, -2.0, 0.0 } };
+
+		CoverageDataResults results = new CoverageDataResults(values, null);
+		CoverageDataGrid grid = results.getGrid();
+
+		TestCase.assertEquals(3, grid.getWidth());
+		TestCase.assertEquals(2, grid.getHeight());
+		TestCase.assertEquals(6, grid.getValues().length);
+		TestCase.assertEquals(3.5, grid.getValue(0, 2));
+		TestCase.assertTrue(grid.isNoData(0, 1));
+		TestCase.assertTrue(grid.isNoData(1, 0));
+		TestCase.assertFalse(grid.isNoData(1, 2));
+
+		CoverageDataResults gridResults = new CoverageDataResults(grid);
+		TestCase.assertEquals(3, gridResults.getWidth());
+		TestCase.assertEquals(2, gridResults.getHeight());
+		TestCase.assertNull(gridResults.getValue(0, 1));
+		TestCase.assertEquals(-2.0, gridResults.getValue(1, 1));
+
+		Double[][] boxed = gridResults.getValues();
+		for (int row = 0; row < values.length; row++) {
+			for (int column = 0; column < values[row].length; column++) {
+				TestCase.assertEquals(values[row][column], boxed[row][column]);
+			}
+		}
+
+		CoverageDataGrid empty = new CoverageDataGrid(4, 3, null);
+		for (double value : empty.getValues()) {
+			TestCase.assertTrue(CoverageDataGrid.isNoData(value));
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+package mil.nga.geopackage.extension.coverage;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * Coverage Data Tile Cache Test
+ * 
+ * @author osbornb
+ */
+public class CoverageDataTileCacheTest {
+
+	/**
+	 * Test least recently used eviction, invalidation, and statistics
+	 */
+	@Test
+	public void testCache() {
+
+		CoverageDataTile tile = new CoverageDataTile(null, 10, 10,
+				new short[100]);
+		long tileBytes = tile.getByteSize();
+
+		CoverageDataTileCache cache = new CoverageDataTileCache(tileBytes * 2);
+
+		cache.put("table", 1, 0, 0, tile);
+		cache.put("table", 1, 1, 0, tile);
+		TestCase.assertEquals(2, cache.size());
+		TestCase.assertEquals(tileBytes * 2, cache.getBytes());
+
+		// Use the first tile so the second is least recently used
+		TestCase.assertSame(tile, cache.get("table", 1, 0, 0));
+		cache.put("table", 1, 2, 0, tile);
+		TestCase.assertEquals(2, cache.size());
+		TestCase.assertEquals(1, cache.getEvictions());
+		TestCase.assertNull(cache.get("table", 1, 1, 0));
+		TestCase.assertNotNull(cache.get("table", 1, 0, 0));
+		TestCase.assertNull(cache.get("other", 1, 0, 0));
+
+		TestCase.assertEquals(2, cache.getHits());
+		TestCase.assertEquals(2, cache.getMisses());
+
+		TestCase.assertTrue(cache.invalidate("table", 1, 0, 0));
+		TestCase.assertFalse(cache.invalidate("table", 1, 0, 0));
+		TestCase.assertEquals(1, cache.size());
+		TestCase.assertEquals(tileBytes, cache.getBytes());
+
+		cache.put("other", 1, 0, 0, tile);
+		TestCase.assertEquals(1, cache.invalidate("table"));
+		TestCase.assertEquals(1, cache.size());
+
+		cache.clear();
+		TestCase.assertEquals(0, cache.size());
+		TestCase.assertEquals(0, cache.getBytes());
+	}
+
+}
@@ -0,0 +1,80 @@
+package mil.nga.geopackage.extension.coverage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import mil.nga.geopackage.GeoPackageException;
+
+/**
+ * Coverage Data Tile Pipeline Test
+ * 
+ * @author osbornb
+ */
+public class CoverageDataTilePipelineTest {
+
+	/**
+	 * Test sampling tiles into their grid regions in parallel
+	 */
+	@Test
+	public void testSample() {
+
+		final int tileSize = 8;
+		final int tiles = 6;
+
+		List<Integer> columns = new ArrayList<>();
+		for (int column = 0; column < tiles; column++) {
+			columns.add(column);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			CoverageDataTilePipeline<Integer> pipeline = new CoverageDataTilePipeline<>(
+					executor, 2);
+
+			CoverageDataGrid grid = pipeline.sample(columns.iterator(),
+					new CoverageDataTilePipeline.TileSampler<Integer>() {
+						@Override
+						public void sample(Integer column,
+								CoverageDataGrid grid) {
+							for (int row = 0; row < tileSize; row++) {
+								for (int x = 0; x < tileSize; x++) {
+									grid.setValue(row, column * tileSize + x,
+											column);
+								}
+							}
+						}
+					}, new CoverageDataGrid(tileSize * tiles, tileSize, null));
+
+			for (int row = 0; row < grid.getHeight(); row++) {
+				for (int column = 0; column < grid.getWidth(); column++) {
+					TestCase.assertEquals((double) (column / tileSize),
+							grid.getValue(row, column));
+				}
+			}
+
+			try {
+				pipeline.sample(columns.iterator(),
+						new CoverageDataTilePipeline.TileSampler<Integer>() {
+							@Override
+							public void sample(Integer column,
+									CoverageDataGrid grid) {
+								throw new IllegalStateException("decode");
+							}
+						}, grid);
+				TestCase.fail("Expected sampling failure");
+			} catch (GeoPackageException e) {
+				TestCase.assertTrue(
+						e.getCause() instanceof IllegalStateException);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,376 @@
+package mil.nga.geopackage.features;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.core.srs.SpatialReferenceSystem;
+import mil.nga.geopackage.db.GeoPackageDataType;
+import mil.nga.geopackage.features.columns.GeometryColumns;
+import mil.nga.geopackage.features.user.FeatureColumn;
+import mil.nga.sf.Geometry;
+import mil.nga.sf.Point;
+
+import org.junit.Test;
+
+/**
+ * Feature Core Generator Test
+ *
+ * @author osbornb
+ */
+public class FeatureCoreGeneratorTest {
+
+	/**
+	 * Test inferring schema types from sampled values
+	 */
+	@Test
+	public void testSchemaType() {
+
+		TestCase.assertNull(FeatureCoreGenerator.getSchemaType(null, null));
+		TestCase.assertEquals(GeoPackageDataType.INT,
+				FeatureCoreGenerator.getSchemaType(null, 1));
+		TestCase.assertEquals(GeoPackageDataType.INT, FeatureCoreGenerator
+				.getSchemaType(GeoPackageDataType.INT, 2L));
+		TestCase.assertEquals(GeoPackageDataType.INT, FeatureCoreGenerator
+				.getSchemaType(GeoPackageDataType.INT, null));
+		TestCase.assertEquals(GeoPackageDataType.DOUBLE,
+				FeatureCoreGenerator.getSchemaType(null, 1.5f));
+		TestCase.assertEquals(GeoPackageDataType.DOUBLE, FeatureCoreGenerator
+				.getSchemaType(GeoPackageDataType.INT, 1.5));
+		TestCase.assertEquals(GeoPackageDataType.TEXT, FeatureCoreGenerator
+				.getSchemaType(GeoPackageDataType.INT, "a"));
+		TestCase.assertEquals(GeoPackageDataType.TEXT, FeatureCoreGenerator
+				.getSchemaType(GeoPackageDataType.BOOLEAN, 1));
+		TestCase.assertEquals(GeoPackageDataType.BOOLEAN,
+				FeatureCoreGenerator.getSchemaType(null, true));
+	}
+
+	/**
+	 * Test converting values to schema column types
+	 */
+	@Test
+	public void testSchemaValue() {
+
+		TestCase.assertEquals(3L, FeatureCoreGenerator.getSchemaValue(3,
+				GeoPackageDataType.INT));
+		TestCase.assertEquals(3L, FeatureCoreGenerator.getSchemaValue(3.0,
+				GeoPackageDataType.INT));
+		TestCase.assertEquals(3.0, FeatureCoreGenerator.getSchemaValue(3,
+				GeoPackageDataType.DOUBLE));
+		TestCase.assertEquals("3", FeatureCoreGenerator.getSchemaValue(3,
+				GeoPackageDataType.TEXT));
+		TestCase.assertNull(FeatureCoreGenerator.getSchemaValue(null,
+				GeoPackageDataType.INT));
+
+		try {
+			FeatureCoreGenerator.getSchemaValue(1.5, GeoPackageDataType.INT);
+			TestCase.fail("Fractional value converted to an integer column");
+		} catch (GeoPackageException e) {
+			// Expected
+		}
+		try {
+			FeatureCoreGenerator.getSchemaValue(Long.MAX_VALUE,
+					GeoPackageDataType.MEDIUMINT);
+			TestCase.fail("Out of range value converted to an integer column");
+		} catch (GeoPackageException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Test sampling features to create the table once with the inferred
+	 * schema before writing indexed values
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testSchemaSample() throws SQLException {
+
+		TestGenerator generator = new TestGenerator();
+		generator.setSchemaSampleSize(3);
+
+		generator.createFeature(new Point(0, 0), properties("a", 1, "b", "x"));
+		generator.createFeature(new Point(1, 1),
+				properties("a", 2L, "b", null, "c", 1.5));
+		TestCase.assertNull(generator.tableColumns);
+		TestCase.assertTrue(generator.saved.isEmpty());
+
+		generator.createFeature(new Point(2, 2), properties("a", 3, "c", 2));
+		TestCase.assertEquals(
+				Arrays.asList("a:INT", "b:TEXT", "c:DOUBLE"),
+				generator.tableColumns);
+		TestCase.assertEquals(3, generator.saved.size());
+		TestCase.assertEquals(Arrays.asList(1L, "x", null),
+				generator.saved.get(0));
+		TestCase.assertEquals(Arrays.asList(2L, null, 1.5),
+				generator.saved.get(1));
+		TestCase.assertEquals(Arrays.asList(3L, null, 2.0),
+				generator.saved.get(2));
+
+		generator.createFeature(new Point(3, 3), properties("a", 4, "d", true));
+		TestCase.assertEquals(Arrays.asList("d:BOOLEAN"),
+				generator.addedColumns);
+		TestCase.assertEquals(Arrays.asList(4L, null, null, true),
+				generator.saved.get(3));
+		TestCase.assertEquals(4, generator.getSchemaColumns().size());
+
+		generator.finishFeatures();
+		TestCase.assertEquals(4, generator.saved.size());
+	}
+
+	/**
+	 * Test finishing features writes samples when fewer features than the
+	 * sample size are created
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testSchemaSampleFinish() throws SQLException {
+
+		TestGenerator generator = new TestGenerator();
+		generator.setSchemaSampleSize(10);
+
+		generator.createFeature(new Point(0, 0), properties("a", null));
+		generator.createFeature(new Point(1, 1), properties("b", 1.5));
+		TestCase.assertNull(generator.tableColumns);
+
+		generator.finishFeatures();
+		TestCase.assertEquals(Arrays.asList("a:TEXT", "b:DOUBLE"),
+				generator.tableColumns);
+		TestCase.assertEquals(2, generator.saved.size());
+		TestCase.assertEquals(Arrays.asList(null, 1.5),
+				generator.saved.get(1));
+	}
+
+	/**
+	 * Test a failed sample save is not written again, the remaining samples
+	 * are written before later features, and the table is created once
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testSchemaSampleSaveFailure() throws SQLException {
+
+		TestGenerator generator = new TestGenerator();
+		generator.setSchemaSampleSize(3);
+		generator.failValue = 2L;
+
+		generator.createFeature(new Point(0, 0), properties("a", 1));
+		generator.createFeature(new Point(1, 1), properties("a", 2));
+		try {
+			generator.createFeature(new Point(2, 2), properties("a", 3));
+			TestCase.fail("Sample save failure not thrown");
+		} catch (GeoPackageException e) {
+			// Expected
+		}
+		TestCase.assertEquals(Arrays.asList("a:INT"), generator.tableColumns);
+		TestCase.assertEquals(1, generator.saved.size());
+
+		generator.createFeature(new Point(3, 3), properties("a", 4));
+		TestCase.assertEquals(3, generator.saved.size());
+		TestCase.assertEquals(Arrays.asList(3L), generator.saved.get(1));
+		TestCase.assertEquals(Arrays.asList(4L), generator.saved.get(2));
+
+		generator.finishFeatures();
+		TestCase.assertEquals(3, generator.saved.size());
+		TestCase.assertEquals(1, generator.getSchemaColumns().size());
+	}
+
+	/**
+	 * Test finishing features writes the samples remaining after a failed
+	 * sample save
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testSchemaSampleFinishFailure() throws SQLException {
+
+		TestGenerator generator = new TestGenerator();
+		generator.setSchemaSampleSize(10);
+		generator.failValue = 1L;
+
+		generator.createFeature(new Point(0, 0), properties("a", 1));
+		generator.createFeature(new Point(1, 1), properties("a", 2));
+		try {
+			generator.finishFeatures();
+			TestCase.fail("Sample save failure not thrown");
+		} catch (GeoPackageException e) {
+			// Expected
+		}
+		TestCase.assertTrue(generator.saved.isEmpty());
+
+		generator.finishFeatures();
+		TestCase.assertEquals(1, generator.saved.size());
+		TestCase.assertEquals(Arrays.asList(2L), generator.saved.get(0));
+		TestCase.assertEquals(Arrays.asList("a:INT"), generator.tableColumns);
+	}
+
+	/**
+	 * Test schema features saved by default through one reused value map
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testSchemaSampleValueMap() throws SQLException {
+
+		TestGenerator generator = new TestGenerator();
+		generator.mapValues = true;
+		generator.setSchemaSampleSize(2);
+
+		generator.createFeature(new Point(0, 0), properties("a", 1, "b", "x"));
+		generator.createFeature(new Point(1, 1), properties("a", 2));
+		generator.createFeature(new Point(2, 2), properties("b", "z"));
+
+		TestCase.assertEquals(3, generator.saved.size());
+		TestCase.assertEquals(Arrays.asList(1L, "x"), generator.saved.get(0));
+		TestCase.assertEquals(Arrays.asList(2L, null),
+				generator.saved.get(1));
+		TestCase.assertEquals(Arrays.asList(null, "z"),
+				generator.saved.get(2));
+		TestCase.assertSame(generator.savedMaps.get(0),
+				generator.savedMaps.get(1));
+		TestCase.assertSame(generator.savedMaps.get(0),
+				generator.savedMaps.get(2));
+	}
+
+	/**
+	 * Create properties from name value pairs
+	 *
+	 * @param values
+	 *            name value pairs
+	 * @return properties
+	 */
+	private static Map<String, Object> properties(Object... values) {
+		Map<String, Object> properties = new HashMap<>();
+		for (int i = 0; i < values.length; i += 2) {
+			properties.put((String) values[i], values[i + 1]);
+		}
+		return properties;
+	}
+
+	/**
+	 * Generator recording the created table and saved feature values
+	 */
+	private static class TestGenerator extends FeatureCoreGenerator {
+
+		/**
+		 * Created table columns as name:type
+		 */
+		private List<String> tableColumns;
+
+		/**
+		 * Columns added after the table was created
+		 */
+		private final List<String> addedColumns = new ArrayList<>();
+
+		/**
+		 * Saved feature values
+		 */
+		private final List<List<Object>> saved = new ArrayList<>();
+
+		/**
+		 * Value failing the feature save, null to save all features
+		 */
+		private Object failValue;
+
+		/**
+		 * True to save schema features through the default value mapping
+		 */
+		private boolean mapValues = false;
+
+		/**
+		 * Saved feature value maps, by identity
+		 */
+		private final List<Map<String, Object>> savedMaps = new ArrayList<>();
+
+		/**
+		 * Constructor
+		 */
+		TestGenerator() {
+			super(FeatureCoreGeneratorTestUtils.geoPackage(), "test");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int generateFeatures() {
+			return 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void createSrs() {
+			srs = new SpatialReferenceSystem();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void createTable(List<FeatureColumn> featureColumns) {
+			TestCase.assertNull(tableColumns);
+			tableColumns = new ArrayList<>();
+			for (FeatureColumn featureColumn : featureColumns) {
+				tableColumns.add(featureColumn.getName() + ":"
+						+ featureColumn.getDataType());
+				columns.put(featureColumn.getName(), featureColumn);
+			}
+			geometryColumns = new GeometryColumns();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void addColumn(FeatureColumn featureColumn) {
+			addedColumns.add(featureColumn.getName() + ":"
+					+ featureColumn.getDataType());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void saveFeature(Geometry geometry, Object[] values) {
+			if (mapValues) {
+				super.saveFeature(geometry, values);
+			} else {
+				if (failValue != null
+						&& Arrays.asList(values).contains(failValue)) {
+					throw new GeoPackageException("Failed to save feature");
+				}
+				saved.add(new ArrayList<>(Arrays.asList(values)));
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void saveFeature(Geometry geometry,
+				Map<String, Object> values) {
+			TestCase.assertTrue("Map values saved in schema mode", mapValues);
+			savedMaps.add(values);
+			List<Object> savedValues = new ArrayList<>();
+			for (FeatureColumn column : getSchemaColumns()) {
+				savedValues.add(values.get(column.getName()));
+			}
+			saved.add(savedValues);
+		}
+
+	}
+
+}
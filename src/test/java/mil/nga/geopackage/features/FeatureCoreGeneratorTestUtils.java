@@ -0,0 +1,39 @@
+package mil.nga.geopackage.features;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import mil.nga.geopackage.GeoPackageCore;
+
+/**
+ * Feature Core Generator test utils
+ *
+ * @author osbornb
+ */
+public class FeatureCoreGeneratorTestUtils {
+
+	/**
+	 * Create a GeoPackage stand in for generators that do not touch the
+	 * database, returning false from boolean methods and null otherwise
+	 *
+	 * @return GeoPackage
+	 */
+	public static GeoPackageCore geoPackage() {
+		return (GeoPackageCore) Proxy.newProxyInstance(
+				GeoPackageCore.class.getClassLoader(),
+				new Class<?>[] { GeoPackageCore.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method,
+							Object[] args) {
+						Object value = null;
+						if (method.getReturnType() == boolean.class) {
+							value = Boolean.FALSE;
+						}
+						return value;
+					}
+				});
+	}
+
+}
@@ -0,0 +1,575 @@
+package mil.nga.geopackage.features;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.features.user.FeatureColumn;
+import mil.nga.oapi.features.json.FeatureCollection;
+import mil.nga.oapi.features.json.Link;
+import mil.nga.sf.Geometry;
+import mil.nga.sf.geojson.Feature;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * OGC API Features Core Generator Test, harvesting a synthetic collection
+ * served by a local HTTP server
+ *
+ * @author osbornb
+ */
+public class OAPIFeatureCoreGeneratorTest {
+
+	/**
+	 * Synthetic feature coordinate step
+	 */
+	private static final int STEP = 5;
+
+	/**
+	 * Synthetic feature coordinate maximum
+	 */
+	private static final int MAX = 30;
+
+	/**
+	 * Server page size
+	 */
+	private static final int PAGE_SIZE = 4;
+
+	/**
+	 * Local server
+	 */
+	private HttpServer server;
+
+	/**
+	 * Include the number returned in served pages
+	 */
+	private volatile boolean numberReturned = true;
+
+	/**
+	 * Start the local server
+	 *
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Before
+	public void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/collections/c", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				String path = exchange.getRequestURI().getPath();
+				String body;
+				if (path.endsWith("/items")) {
+					body = items(exchange.getRequestURI().getRawQuery());
+				} else {
+					body = "{\"id\":\"c\",\"links\":[],\"crs\":[]}";
+				}
+				byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type",
+						"application/geo+json");
+				exchange.sendResponseHeaders(200, bytes.length);
+				OutputStream out = exchange.getResponseBody();
+				out.write(bytes);
+				out.close();
+			}
+		});
+		server.setExecutor(null);
+		server.start();
+	}
+
+	/**
+	 * Stop the local server
+	 */
+	@After
+	public void stopServer() {
+		server.stop(0);
+	}
+
+	/**
+	 * Test splitting a bounding box into a partition grid
+	 */
+	@Test
+	public void testPartition() {
+
+		List<BoundingBox> partitions = OAPIFeatureCoreGenerator
+				.partition(new BoundingBox(0.0, 0.0, 30.0, 30.0), 3);
+		TestCase.assertEquals(9, partitions.size());
+
+		BoundingBox first = partitions.get(0);
+		TestCase.assertEquals(0.0, first.getMinLongitude());
+		TestCase.assertEquals(0.0, first.getMinLatitude());
+		TestCase.assertEquals(10.0, first.getMaxLongitude());
+		TestCase.assertEquals(10.0, first.getMaxLatitude());
+
+		BoundingBox last = partitions.get(8);
+		TestCase.assertEquals(20.0, last.getMinLongitude());
+		TestCase.assertEquals(20.0, last.getMinLatitude());
+		TestCase.assertEquals(30.0, last.getMaxLongitude());
+		TestCase.assertEquals(30.0, last.getMaxLatitude());
+
+		TestCase.assertEquals(1, OAPIFeatureCoreGenerator
+				.partition(new BoundingBox(0.0, 0.0, 30.0, 30.0), 1).size());
+	}
+
+	/**
+	 * Test a partitioned harvest writes each feature once, including features
+	 * on partition edges returned by multiple partitions
+	 *
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testPartitionedHarvest() throws Exception {
+
+		TestGenerator generator = new TestGenerator();
+		generator.setBoundingBox(new BoundingBox(0.0, 0.0, MAX, MAX));
+		generator.setPartitionGrid(3);
+		generator.setPartitionParallelism(4);
+
+		int count = generator.generateFeatures();
+
+		int expected = (MAX / STEP + 1) * (MAX / STEP + 1);
+		TestCase.assertEquals(expected, count);
+		TestCase.assertEquals(expected, generator.ids.size());
+		TestCase.assertEquals(expected, new HashSet<>(generator.ids).size());
+	}
+
+	/**
+	 * Test a partitioned harvest stops at the total limit
+	 *
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testPartitionedHarvestTotalLimit() throws Exception {
+
+		TestGenerator generator = new TestGenerator();
+		generator.setBoundingBox(new BoundingBox(0.0, 0.0, MAX, MAX));
+		generator.setPartitionGrid(2);
+		generator.setTotalLimit(10);
+
+		TestCase.assertEquals(10, generator.generateFeatures());
+		TestCase.assertEquals(10, generator.ids.size());
+		TestCase.assertEquals(10, new HashSet<>(generator.ids).size());
+	}
+
+	/**
+	 * Test a partitioned harvest ends when the last partition finishes with
+	 * the batch queue filled by a slow writer. Each of the four partitions
+	 * returns a single page, written much slower than it is downloaded, so
+	 * the last batch fills the queue as the last partition finishes.
+	 *
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testPartitionedHarvestSlowWriter() throws Exception {
+
+		final TestGenerator generator = new TestGenerator();
+		generator.setBoundingBox(new BoundingBox(0.0, 0.0, STEP, MAX));
+		generator.setPartitionGrid(2);
+		generator.setPartitionParallelism(1);
+		generator.setPipelineQueueSize(1);
+		generator.writeDelay = 200;
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Integer> count = executor.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					return generator.generateFeatures();
+				}
+			});
+			int expected = 2 * (MAX / STEP + 1);
+			TestCase.assertEquals(expected,
+					count.get(30, TimeUnit.SECONDS).intValue());
+			TestCase.assertEquals(expected, generator.ids.size());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test the page pipeline harvests every page of the collection by
+	 * following the next links
+	 *
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testPagedHarvest() throws Exception {
+
+		TestGenerator generator = new TestGenerator();
+
+		int expected = (MAX / STEP + 1) * (MAX / STEP + 1);
+		TestCase.assertEquals(expected, generator.generateFeatures());
+		TestCase.assertEquals(expected, generator.ids.size());
+		TestCase.assertEquals(expected, new HashSet<>(generator.ids).size());
+	}
+
+	/**
+	 * Test the page pipeline stops at the total limit with and without the
+	 * number returned in the served pages
+	 *
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testPagedHarvestTotalLimit() throws Exception {
+
+		TestGenerator generator = new TestGenerator();
+		generator.setTotalLimit(10);
+		TestCase.assertEquals(10, generator.generateFeatures());
+		TestCase.assertEquals(10, generator.ids.size());
+
+		numberReturned = false;
+		generator = new TestGenerator();
+		generator.setTotalLimit(10);
+		TestCase.assertEquals(10, generator.generateFeatures());
+		TestCase.assertEquals(10, generator.ids.size());
+		TestCase.assertEquals(10, new HashSet<>(generator.ids).size());
+	}
+
+	/**
+	 * Test the streaming pipeline harvests every page of the collection
+	 *
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testStreamedHarvest() throws Exception {
+
+		TestGenerator generator = new TestGenerator();
+		generator.setStreaming(true);
+		generator.setStreamBatchSize(3);
+		generator.setTotalLimit(30);
+
+		TestCase.assertEquals(30, generator.generateFeatures());
+		TestCase.assertEquals(30, generator.ids.size());
+		TestCase.assertEquals(30, new HashSet<>(generator.ids).size());
+	}
+
+	/**
+	 * Test stream parsing splits the features into batches of the stream
+	 * batch size without an empty trailing batch
+	 *
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testStreamBatches() throws Exception {
+
+		TestGenerator generator = new TestGenerator();
+		generator.setStreamBatchSize(2);
+
+		List<Integer> batches = new ArrayList<>();
+		generator.streamFeatures(featuresStream(features(5)),
+				batchSizes(batches));
+		TestCase.assertEquals(Arrays.asList(2, 2, 1), batches);
+
+		batches.clear();
+		generator.streamFeatures(featuresStream(features(4)),
+				batchSizes(batches));
+		TestCase.assertEquals(Arrays.asList(2, 2), batches);
+
+		batches.clear();
+		FeatureCollection featureCollection = generator.streamFeatures(
+				featuresStream(features(0)), batchSizes(batches));
+		TestCase.assertTrue(batches.isEmpty());
+		TestCase.assertTrue(featureCollection.getFeatureCollection()
+				.getFeatures().isEmpty());
+	}
+
+	/**
+	 * Test stream parsing reads the page metadata around the features,
+	 * including next links after the features array and a missing type
+	 *
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testStreamMetadata() throws Exception {
+
+		TestGenerator generator = new TestGenerator();
+
+		List<Integer> batches = new ArrayList<>();
+		FeatureCollection featureCollection = generator.streamFeatures(
+				stream("{\"numberMatched\":9,\"features\":[", features(3),
+						"],\"numberReturned\":3,\"links\":[{\"rel\":"
+								+ "\"next\",\"href\":\"http://localhost/next\"}]}"),
+				batchSizes(batches));
+
+		TestCase.assertEquals(Arrays.asList(3), batches);
+		TestCase.assertEquals(Integer.valueOf(9),
+				featureCollection.getNumberMatched());
+		TestCase.assertEquals(Integer.valueOf(3),
+				featureCollection.getNumberReturned());
+		List<Link> next = featureCollection.getRelationLinks()
+				.get(FeatureCollection.LINK_RELATION_NEXT);
+		TestCase.assertEquals(1, next.size());
+		TestCase.assertEquals("http://localhost/next", next.get(0).getHref());
+	}
+
+	/**
+	 * Test stream parsing fails on features array elements that are not
+	 * objects
+	 *
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testStreamNonObjectFeature() throws Exception {
+
+		TestGenerator generator = new TestGenerator();
+
+		List<Integer> batches = new ArrayList<>();
+		try {
+			generator.streamFeatures(
+					featuresStream(features(1) + ",1," + features(1)),
+					batchSizes(batches));
+			TestCase.fail("Non object feature did not fail");
+		} catch (GeoPackageException e) {
+			// Expected
+		}
+		TestCase.assertTrue(batches.isEmpty());
+	}
+
+	/**
+	 * Create the JSON features array elements of point features
+	 *
+	 * @param count
+	 *            number of features
+	 * @return features array elements JSON
+	 */
+	private static String features(int count) {
+		StringBuilder json = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				json.append(",");
+			}
+			json.append("{\"type\":\"Feature\",\"id\":\"" + i
+					+ "\",\"geometry\":{\"type\":\"Point\","
+					+ "\"coordinates\":[" + i + "," + i
+					+ "]},\"properties\":{}}");
+		}
+		return json.toString();
+	}
+
+	/**
+	 * Create a stream of a features response of the features array elements
+	 * in a feature collection without a type
+	 *
+	 * @param features
+	 *            features array elements JSON
+	 * @return stream
+	 */
+	private static InputStream featuresStream(String features) {
+		return stream("{\"features\":[", features, "]}");
+	}
+
+	/**
+	 * Create a stream of a features response
+	 *
+	 * @param json
+	 *            features response JSON parts
+	 * @return stream
+	 */
+	private static InputStream stream(String... json) {
+		StringBuilder response = new StringBuilder();
+		for (String part : json) {
+			response.append(part);
+		}
+		return new ByteArrayInputStream(
+				response.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Create a feature batch handler recording the batch sizes
+	 *
+	 * @param batches
+	 *            batch sizes
+	 * @return feature batch handler
+	 */
+	private static OAPIFeatureCoreGenerator.FeatureBatchHandler batchSizes(
+			final List<Integer> batches) {
+		return new OAPIFeatureCoreGenerator.FeatureBatchHandler() {
+			@Override
+			public void features(List<Feature> features) {
+				batches.add(features.size());
+			}
+		};
+	}
+
+	/**
+	 * Serve a page of the synthetic items, points on a grid filtered by the
+	 * inclusive bounding box and paged by offset
+	 *
+	 * @param query
+	 *            request query
+	 * @return feature collection JSON
+	 */
+	private String items(String query) {
+
+		Map<String, String> params = new HashMap<>();
+		if (query != null) {
+			for (String param : query.split("&")) {
+				int index = param.indexOf('=');
+				params.put(param.substring(0, index),
+						param.substring(index + 1));
+			}
+		}
+
+		double[] bbox = { -180, -90, 180, 90 };
+		if (params.containsKey("bbox")) {
+			String[] values = params.get("bbox").split(",");
+			for (int i = 0; i < bbox.length; i++) {
+				bbox[i] = Double.parseDouble(values[i]);
+			}
+		}
+		int limit = params.containsKey("limit")
+				? Math.min(Integer.parseInt(params.get("limit")), PAGE_SIZE)
+				: PAGE_SIZE;
+		int offset = params.containsKey("offset")
+				? Integer.parseInt(params.get("offset"))
+				: 0;
+
+		List<String> features = new ArrayList<>();
+		for (int x = 0; x <= MAX; x += STEP) {
+			for (int y = 0; y <= MAX; y += STEP) {
+				if (x >= bbox[0] && y >= bbox[1] && x <= bbox[2]
+						&& y <= bbox[3]) {
+					features.add("{\"type\":\"Feature\",\"id\":\"" + x + "_" + y
+							+ "\",\"geometry\":{\"type\":\"Point\","
+							+ "\"coordinates\":[" + x + "," + y
+							+ "]},\"properties\":{}}");
+				}
+			}
+		}
+
+		int end = Math.min(offset + limit, features.size());
+		StringBuilder json = new StringBuilder(
+				"{\"type\":\"FeatureCollection\",\"numberMatched\":");
+		json.append(features.size());
+		if (numberReturned) {
+			json.append(",\"numberReturned\":");
+			json.append(end - offset);
+		}
+		json.append(",\"features\":[");
+		for (int i = offset; i < end; i++) {
+			if (i > offset) {
+				json.append(",");
+			}
+			json.append(features.get(i));
+		}
+		json.append("],\"links\":[");
+		if (end < features.size()) {
+			json.append("{\"rel\":\"next\",\"href\":\"");
+			json.append(baseUrl());
+			json.append("/collections/c/items?bbox=");
+			json.append(bbox[0] + "," + bbox[1] + "," + bbox[2] + ","
+					+ bbox[3]);
+			json.append("&offset=");
+			json.append(end);
+			json.append("&limit=");
+			json.append(limit);
+			json.append("\"}");
+		}
+		json.append("]}");
+
+		return json.toString();
+	}
+
+	/**
+	 * Get the local server base URL
+	 *
+	 * @return base URL
+	 */
+	private String baseUrl() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * Generator recording the written feature ids
+	 */
+	private class TestGenerator extends OAPIFeatureCoreGenerator {
+
+		/**
+		 * Written feature ids
+		 */
+		private final List<String> ids = new ArrayList<>();
+
+		/**
+		 * Write delay in milliseconds per batch
+		 */
+		private long writeDelay = 0;
+
+		/**
+		 * Constructor
+		 */
+		TestGenerator() {
+			super(FeatureCoreGeneratorTestUtils.geoPackage(), "test",
+					baseUrl(), "c");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected int createFeatures(List<Feature> features) {
+			if (writeDelay > 0) {
+				try {
+					Thread.sleep(writeDelay);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			Set<String> page = new HashSet<>();
+			for (Feature feature : features) {
+				page.add(feature.getId());
+			}
+			ids.addAll(page);
+			return page.size();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void addColumn(FeatureColumn column) {
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void saveFeature(Geometry geometry,
+				Map<String, Object> values) {
+		}
+
+	}
+
+}
@@ -0,0 +1,400 @@
+package mil.nga.geopackage.geom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.sf.CircularString;
+import mil.nga.sf.CompoundCurve;
+import mil.nga.sf.CurvePolygon;
+import mil.nga.sf.Geometry;
+import mil.nga.sf.GeometryCollection;
+import mil.nga.sf.LineString;
+import mil.nga.sf.MultiLineString;
+import mil.nga.sf.MultiPoint;
+import mil.nga.sf.MultiPolygon;
+import mil.nga.sf.Point;
+import mil.nga.sf.Polygon;
+import mil.nga.sf.PolyhedralSurface;
+import mil.nga.sf.TIN;
+import mil.nga.sf.Triangle;
+import mil.nga.sf.util.ByteReader;
+import mil.nga.sf.util.ByteWriter;
+import mil.nga.sf.util.GeometryEnvelopeBuilder;
+import mil.nga.sf.wkb.GeometryReader;
+import mil.nga.sf.wkb.GeometryWriter;
+
+/**
+ * Geometry Byte Buffer read and write Test
+ * 
+ * @author osbornb
+ */
+public class GeometryBufferTest {
+
+	/**
+	 * Test buffer written bytes match the Well-Known Binary writer and read
+	 * back from heap and direct buffers
+	 * 
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testReadWrite() throws IOException {
+
+		LineString lineString = new LineString(true, false);
+		lineString.addPoint(new Point(-10.0, 5.0, 1.0));
+		lineString.addPoint(new Point(20.0, -5.0, 2.0));
+		lineString.addPoint(new Point(3.0, 40.0, 3.0));
+		testReadWrite(lineString);
+
+		Polygon polygon = new Polygon();
+		LineString ring = new LineString();
+		ring.addPoint(new Point(0.0, 0.0));
+		ring.addPoint(new Point(10.0, 0.0));
+		ring.addPoint(new Point(10.0, 10.0));
+		ring.addPoint(new Point(0.0, 0.0));
+		polygon.addRing(ring);
+		MultiPolygon multiPolygon = new MultiPolygon();
+		multiPolygon.addPolygon(polygon);
+		multiPolygon.addPolygon(polygon);
+		testReadWrite(multiPolygon);
+
+		CompoundCurve compoundCurve = new CompoundCurve();
+		compoundCurve.addLineString(ring);
+		GeometryCollection<Geometry> collection = new GeometryCollection<>();
+		collection.addGeometry(new Point(-100.0, 50.0));
+		collection.addGeometry(compoundCurve);
+		testReadWrite(collection);
+	}
+
+	/**
+	 * Test every geometry type in every dimension matches the Well-Known
+	 * Binary reader and writer byte for byte in both byte orders
+	 * 
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testAllTypes() throws IOException {
+
+		boolean[][] dimensions = { { false, false }, { true, false },
+				{ false, true }, { true, true } };
+
+		for (boolean[] dimension : dimensions) {
+			boolean hasZ = dimension[0];
+			boolean hasM = dimension[1];
+
+			testReadWrite(point(hasZ, hasM, 1));
+
+			LineString lineString = lineString(hasZ, hasM, 0);
+			testReadWrite(lineString);
+
+			CircularString circularString = new CircularString(hasZ, hasM);
+			circularString.addPoint(point(hasZ, hasM, 0));
+			circularString.addPoint(point(hasZ, hasM, 1));
+			circularString.addPoint(point(hasZ, hasM, 2));
+			testReadWrite(circularString);
+
+			Polygon polygon = polygon(hasZ, hasM, 0);
+			testReadWrite(polygon);
+
+			Triangle triangle = new Triangle(hasZ, hasM);
+			triangle.addRing(ring(hasZ, hasM, 3));
+			testReadWrite(triangle);
+
+			CurvePolygon<LineString> curvePolygon = new CurvePolygon<>(hasZ,
+					hasM);
+			curvePolygon.addRing(ring(hasZ, hasM, 4));
+			curvePolygon.addRing(ring(hasZ, hasM, 5));
+			testReadWrite(curvePolygon);
+
+			CompoundCurve compoundCurve = new CompoundCurve(hasZ, hasM);
+			compoundCurve.addLineString(lineString);
+			compoundCurve.addLineString(lineString(hasZ, hasM, 6));
+			testReadWrite(compoundCurve);
+
+			MultiPoint multiPoint = new MultiPoint(hasZ, hasM);
+			multiPoint.addPoint(point(hasZ, hasM, 7));
+			multiPoint.addPoint(point(hasZ, hasM, 8));
+			testReadWrite(multiPoint);
+
+			MultiLineString multiLineString = new MultiLineString(hasZ, hasM);
+			multiLineString.addLineString(lineString);
+			multiLineString.addLineString(lineString(hasZ, hasM, 9));
+			testReadWrite(multiLineString);
+
+			MultiPolygon multiPolygon = new MultiPolygon(hasZ, hasM);
+			multiPolygon.addPolygon(polygon);
+			multiPolygon.addPolygon(polygon(hasZ, hasM, 10));
+			testReadWrite(multiPolygon);
+
+			PolyhedralSurface polyhedralSurface = new PolyhedralSurface(hasZ,
+					hasM);
+			polyhedralSurface.addPolygon(polygon);
+			polyhedralSurface.addPolygon(polygon(hasZ, hasM, 11));
+			testReadWrite(polyhedralSurface);
+
+			TIN tin = new TIN(hasZ, hasM);
+			tin.addPolygon(polygon);
+			tin.addPolygon(polygon(hasZ, hasM, 12));
+			testReadWrite(tin);
+
+			GeometryCollection<Geometry> collection = new GeometryCollection<>(
+					hasZ, hasM);
+			collection.addGeometry(point(hasZ, hasM, 13));
+			collection.addGeometry(compoundCurve);
+			collection.addGeometry(multiPolygon);
+			testReadWrite(collection);
+		}
+	}
+
+	/**
+	 * Test empty geometries match the Well-Known Binary reader and writer
+	 * 
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testEmpty() throws IOException {
+
+		testReadWrite(new LineString());
+		testReadWrite(new CircularString(true, false));
+		testReadWrite(new Polygon(false, true));
+		testReadWrite(new CurvePolygon<LineString>());
+		testReadWrite(new CompoundCurve());
+		testReadWrite(new MultiPoint(true, true));
+		testReadWrite(new MultiLineString());
+		testReadWrite(new MultiPolygon());
+		testReadWrite(new PolyhedralSurface());
+		testReadWrite(new TIN());
+		testReadWrite(new GeometryCollection<Geometry>());
+
+		Polygon polygon = new Polygon();
+		polygon.addRing(new LineString());
+		testReadWrite(polygon);
+	}
+
+	/**
+	 * Test the buffer reader accepts and rejects the same geometry type codes
+	 * as the Well-Known Binary reader
+	 */
+	@Test
+	public void testGeometryTypeCodes() {
+
+		long[] codes = { 1, 1001, 2001, 3001, 0x80000001L, 0x80000000L,
+				0x80000002L, 99, 3999 };
+
+		for (long code : codes) {
+			for (ByteOrder byteOrder : new ByteOrder[] { ByteOrder.BIG_ENDIAN,
+					ByteOrder.LITTLE_ENDIAN }) {
+
+				ByteBuffer wkb = ByteBuffer.allocate(5 + 8 * 8)
+						.order(byteOrder);
+				wkb.put(byteOrder == ByteOrder.BIG_ENDIAN ? (byte) 0
+						: (byte) 1);
+				wkb.putInt((int) code);
+				while (wkb.hasRemaining()) {
+					wkb.putDouble(0.0);
+				}
+				byte[] bytes = wkb.array();
+
+				Geometry expected = null;
+				RuntimeException expectedError = null;
+				try {
+					expected = GeometryReader
+							.readGeometry(new ByteReader(bytes));
+				} catch (RuntimeException e) {
+					expectedError = e;
+				}
+
+				Geometry geometry = null;
+				RuntimeException error = null;
+				try {
+					geometry = GeometryBufferReader
+							.readGeometry(ByteBuffer.wrap(bytes));
+				} catch (RuntimeException e) {
+					error = e;
+				}
+
+				TestCase.assertEquals("Code: " + code, expectedError == null,
+						error == null);
+				TestCase.assertEquals("Code: " + code, expected, geometry);
+			}
+		}
+	}
+
+	/**
+	 * Test a truncated geometry fails as a GeoPackage exception
+	 * 
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testTruncated() throws IOException {
+
+		ByteWriter writer = new ByteWriter();
+		GeometryWriter.writeGeometry(writer, lineString(true, true, 0));
+		byte[] wkb = writer.getBytes();
+		writer.close();
+
+		try {
+			GeometryBufferReader.readGeometry(
+					ByteBuffer.wrap(Arrays.copyOf(wkb, wkb.length - 4)));
+			TestCase.fail("Truncated geometry read");
+		} catch (GeoPackageException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Create a point
+	 * 
+	 * @param hasZ
+	 *            has z
+	 * @param hasM
+	 *            has m
+	 * @param offset
+	 *            coordinate offset
+	 * @return point
+	 */
+	private static Point point(boolean hasZ, boolean hasM, double offset) {
+		Point point = new Point(hasZ, hasM, offset + 0.5, -offset - 1.25);
+		if (hasZ) {
+			point.setZ(offset * 10 + 3.0);
+		}
+		if (hasM) {
+			point.setM(offset * 100 + 7.0);
+		}
+		return point;
+	}
+
+	/**
+	 * Create a line string
+	 * 
+	 * @param hasZ
+	 *            has z
+	 * @param hasM
+	 *            has m
+	 * @param offset
+	 *            coordinate offset
+	 * @return line string
+	 */
+	private static LineString lineString(boolean hasZ, boolean hasM,
+			double offset) {
+		LineString lineString = new LineString(hasZ, hasM);
+		lineString.addPoint(point(hasZ, hasM, offset));
+		lineString.addPoint(point(hasZ, hasM, offset + 1));
+		lineString.addPoint(point(hasZ, hasM, offset + 2));
+		return lineString;
+	}
+
+	/**
+	 * Create a closed ring
+	 * 
+	 * @param hasZ
+	 *            has z
+	 * @param hasM
+	 *            has m
+	 * @param offset
+	 *            coordinate offset
+	 * @return ring
+	 */
+	private static LineString ring(boolean hasZ, boolean hasM,
+			double offset) {
+		LineString ring = lineString(hasZ, hasM, offset);
+		ring.addPoint(point(hasZ, hasM, offset));
+		return ring;
+	}
+
+	/**
+	 * Create a polygon with an exterior and interior ring
+	 * 
+	 * @param hasZ
+	 *            has z
+	 * @param hasM
+	 *            has m
+	 * @param offset
+	 *            coordinate offset
+	 * @return polygon
+	 */
+	private static Polygon polygon(boolean hasZ, boolean hasM,
+			double offset) {
+		Polygon polygon = new Polygon(hasZ, hasM);
+		polygon.addRing(ring(hasZ, hasM, offset));
+		polygon.addRing(ring(hasZ, hasM, offset + 0.25));
+		return polygon;
+	}
+
+	/**
+	 * Test reading and writing the geometry
+	 * 
+	 * @param geometry
+	 *            geometry
+	 * @throws IOException
+	 *             upon error
+	 */
+	private void testReadWrite(Geometry geometry) throws IOException {
+
+		for (ByteOrder byteOrder : new ByteOrder[] { ByteOrder.BIG_ENDIAN,
+				ByteOrder.LITTLE_ENDIAN }) {
+
+			ByteWriter writer = new ByteWriter();
+			writer.setByteOrder(byteOrder);
+			GeometryWriter.writeGeometry(writer, geometry);
+			byte[] expectedWkb = writer.getBytes();
+			writer.close();
+
+			ByteBuffer wkbBuffer = ByteBuffer
+					.allocate(GeometryBufferWriter.getByteSize(geometry))
+					.order(byteOrder);
+			GeometryBufferWriter.writeGeometry(wkbBuffer, geometry);
+			TestCase.assertFalse(wkbBuffer.hasRemaining());
+			TestCase.assertTrue(
+					Arrays.equals(expectedWkb, wkbBuffer.array()));
+
+			Geometry expectedGeometry = GeometryReader
+					.readGeometry(new ByteReader(expectedWkb));
+			TestCase.assertEquals(expectedGeometry, GeometryBufferReader
+					.readGeometry(ByteBuffer.wrap(expectedWkb)));
+
+			GeoPackageGeometryData geometryData = new GeoPackageGeometryData(
+					4326);
+			geometryData.setByteOrder(byteOrder);
+			geometryData.setGeometry(geometry);
+			if (!geometry.isEmpty()) {
+				geometryData.setEnvelope(
+						GeometryEnvelopeBuilder.buildEnvelope(geometry));
+			}
+			byte[] bytes = geometryData.toBytes();
+			TestCase.assertEquals(bytes.length, geometryData.getByteSize());
+
+			ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 10);
+			direct.position(5);
+			int written = geometryData.toByteBuffer(direct);
+			TestCase.assertEquals(bytes.length, written);
+			direct.position(5);
+			direct.limit(5 + written);
+
+			GeoPackageGeometryData readData = new GeoPackageGeometryData(
+					direct);
+			TestCase.assertEquals(5, direct.position());
+			TestCase.assertEquals(geometry, readData.getGeometry());
+			TestCase.assertEquals(geometryData.getEnvelope(),
+					readData.getEnvelope());
+			TestCase.assertEquals(4326, readData.getSrsId());
+			TestCase.assertTrue(Arrays.equals(bytes, readData.getBytes()));
+			TestCase.assertTrue(
+					Arrays.equals(expectedWkb, readData.getWkbBytes()));
+
+			TestCase.assertEquals(geometry,
+					new GeoPackageGeometryData(bytes).getGeometry());
+		}
+	}
+
+}
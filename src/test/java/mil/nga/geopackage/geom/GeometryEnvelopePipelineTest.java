@@ -0,0 +1,92 @@
+package mil.nga.geopackage.geom;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import mil.nga.sf.GeometryEnvelope;
+import mil.nga.sf.Point;
+
+/**
+ * Geometry Envelope Pipeline Test
+ *
+ * @author osbornb
+ */
+public class GeometryEnvelopePipelineTest {
+
+	/**
+	 * Test closing writes all envelopes in added order
+	 *
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testClose() throws IOException {
+
+		final List<Long> written = new ArrayList<>();
+		GeometryEnvelopePipeline pipeline = new GeometryEnvelopePipeline(2, 4,
+				new GeometryEnvelopePipeline.Writer() {
+					@Override
+					public void write(long id, GeometryEnvelope envelope) {
+						TestCase.assertEquals((double) id, envelope.getMinX());
+						written.add(id);
+					}
+				});
+
+		for (long id = 0; id < 10; id++) {
+			pipeline.add(id, pointBytes(id));
+		}
+		pipeline.close();
+
+		TestCase.assertEquals(10, written.size());
+		for (int i = 0; i < written.size(); i++) {
+			TestCase.assertEquals(i, written.get(i).longValue());
+		}
+	}
+
+	/**
+	 * Test cancelling discards pending envelopes without writing them
+	 *
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testCancel() throws IOException {
+
+		final List<Long> written = new ArrayList<>();
+		GeometryEnvelopePipeline pipeline = new GeometryEnvelopePipeline(2, 4,
+				new GeometryEnvelopePipeline.Writer() {
+					@Override
+					public void write(long id, GeometryEnvelope envelope) {
+						written.add(id);
+					}
+				});
+
+		for (long id = 0; id < 3; id++) {
+			pipeline.add(id, pointBytes(id));
+		}
+		pipeline.cancel();
+
+		TestCase.assertTrue(written.isEmpty());
+	}
+
+	/**
+	 * Create GeoPackage geometry bytes for a point
+	 *
+	 * @param x
+	 *            x coordinate
+	 * @return geometry bytes
+	 * @throws IOException
+	 *             upon error
+	 */
+	private static byte[] pointBytes(double x) throws IOException {
+		GeoPackageGeometryData geometryData = new GeoPackageGeometryData(4326);
+		geometryData.setGeometry(new Point(x, 0.0));
+		return geometryData.toBytes();
+	}
+
+}
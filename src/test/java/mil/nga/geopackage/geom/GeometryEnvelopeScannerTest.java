@@ -0,0 +1,118 @@
+package mil.nga.geopackage.geom;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import mil.nga.sf.Geometry;
+import mil.nga.sf.GeometryCollection;
+import mil.nga.sf.GeometryEnvelope;
+import mil.nga.sf.LineString;
+import mil.nga.sf.Point;
+import mil.nga.sf.Polygon;
+import mil.nga.sf.util.GeometryEnvelopeBuilder;
+
+/**
+ * Geometry Envelope Scanner Test
+ * 
+ * @author osbornb
+ */
+public class GeometryEnvelopeScannerTest {
+
+	/**
+	 * Test scanned envelopes match built envelopes
+	 * 
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testScan() throws IOException {
+
+		testScan(new Point(1.5, -2.5));
+		testScan(new Point(1.0, 2.0, 3.0, 4.0));
+
+		LineString lineString = new LineString();
+		lineString.addPoint(new Point(-10.0, 5.0));
+		lineString.addPoint(new Point(20.0, -5.0));
+		lineString.addPoint(new Point(3.0, 40.0));
+		testScan(lineString);
+
+		Polygon polygon = new Polygon(true, false);
+		LineString ring = new LineString(true, false);
+		ring.addPoint(new Point(0.0, 0.0, -1.0));
+		ring.addPoint(new Point(10.0, 0.0, 5.0));
+		ring.addPoint(new Point(10.0, 10.0, 2.0));
+		ring.addPoint(new Point(0.0, 0.0, -1.0));
+		polygon.addRing(ring);
+		testScan(polygon);
+
+		GeometryCollection<Geometry> collection = new GeometryCollection<>();
+		collection.addGeometry(new Point(-100.0, 50.0));
+		collection.addGeometry(lineString);
+		testScan(collection);
+	}
+
+	/**
+	 * Test empty geometry data
+	 * 
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testEmpty() throws IOException {
+
+		GeoPackageGeometryData geometryData = new GeoPackageGeometryData(4326);
+		byte[] bytes = geometryData.toBytes();
+
+		TestCase.assertTrue(GeoPackageGeometryData.isEmpty(bytes));
+		TestCase.assertNull(GeometryEnvelopeScanner.getOrScanEnvelope(bytes));
+		TestCase.assertNull(GeometryEnvelopeScanner.getOrScanEnvelope(null));
+	}
+
+	/**
+	 * Test the scanned envelope in both byte orders
+	 * 
+	 * @param geometry
+	 *            geometry
+	 * @throws IOException
+	 *             upon error
+	 */
+	private void testScan(Geometry geometry) throws IOException {
+
+		GeometryEnvelope expected = GeometryEnvelopeBuilder
+				.buildEnvelope(geometry);
+
+		for (ByteOrder byteOrder : new ByteOrder[] { ByteOrder.BIG_ENDIAN,
+				ByteOrder.LITTLE_ENDIAN }) {
+
+			GeoPackageGeometryData geometryData = new GeoPackageGeometryData(
+					4326);
+			geometryData.setByteOrder(byteOrder);
+			geometryData.setGeometry(geometry);
+			byte[] bytes = geometryData.toBytes();
+
+			TestCase.assertFalse(GeoPackageGeometryData.isEmpty(bytes));
+			TestCase.assertEquals(expected,
+					GeometryEnvelopeScanner.getOrScanEnvelope(bytes));
+
+			GeoPackageGeometryData lazyData = new GeoPackageGeometryData(bytes,
+					true);
+			TestCase.assertTrue(lazyData.isGeometryPending());
+			TestCase.assertEquals(expected, lazyData.getOrBuildEnvelope());
+			TestCase.assertTrue(lazyData.isGeometryPending());
+			TestCase.assertEquals(geometry, lazyData.getGeometry());
+			TestCase.assertFalse(lazyData.isGeometryPending());
+		}
+
+		GeoPackageGeometryData geometryData = new GeoPackageGeometryData(
+				4326);
+		geometryData.setGeometry(geometry);
+		geometryData.setEnvelope(expected);
+		TestCase.assertEquals(expected, GeometryEnvelopeScanner
+				.getOrScanEnvelope(geometryData.toBytes()));
+	}
+
+}
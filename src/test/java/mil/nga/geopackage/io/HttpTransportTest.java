@@ -0,0 +1,264 @@
+package mil.nga.geopackage.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import junit.framework.TestCase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * HTTP Transport Test
+ *
+ * @author osbornb
+ */
+public class HttpTransportTest {
+
+	/**
+	 * Temporary cache folder
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Local server
+	 */
+	private HttpServer server;
+
+	/**
+	 * Current response version, used as the ETag
+	 */
+	private volatile int version = 1;
+
+	/**
+	 * Number of full responses sent
+	 */
+	private volatile int fullResponses = 0;
+
+	/**
+	 * Number of not modified responses sent
+	 */
+	private volatile int notModifiedResponses = 0;
+
+	/**
+	 * Number of gzip encoded responses sent
+	 */
+	private volatile int gzipResponses = 0;
+
+	/**
+	 * Client ports of the requests
+	 */
+	private final Set<Integer> clientPorts = new HashSet<>();
+
+	/**
+	 * Start the local server
+	 *
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Before
+	public void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/data", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				synchronized (clientPorts) {
+					clientPorts.add(exchange.getRemoteAddress().getPort());
+				}
+				String etag = "\"" + version + "\"";
+				exchange.getResponseHeaders().set("ETag", etag);
+				if (etag.equals(exchange.getRequestHeaders()
+						.getFirst("If-None-Match"))) {
+					notModifiedResponses++;
+					exchange.sendResponseHeaders(304, -1);
+					exchange.close();
+					return;
+				}
+				byte[] bytes = body().getBytes(StandardCharsets.UTF_8);
+				String encoding = exchange.getRequestHeaders()
+						.getFirst("Accept-Encoding");
+				if (encoding != null && encoding.contains("gzip")) {
+					ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+					GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+					gzip.write(bytes);
+					gzip.close();
+					bytes = compressed.toByteArray();
+					exchange.getResponseHeaders().set("Content-Encoding",
+							"gzip");
+					gzipResponses++;
+				}
+				fullResponses++;
+				exchange.sendResponseHeaders(200, bytes.length);
+				OutputStream out = exchange.getResponseBody();
+				out.write(bytes);
+				out.close();
+			}
+		});
+		server.setExecutor(null);
+		server.start();
+	}
+
+	/**
+	 * Stop the local server
+	 */
+	@After
+	public void stopServer() {
+		server.stop(0);
+	}
+
+	/**
+	 * Test requests are compressed, revalidated from the disk cache, and
+	 * downloaded again when changed
+	 *
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Test
+	public void testCache() throws IOException {
+
+		File cacheDirectory = folder.newFolder("cache");
+		HttpTransport transport = new HttpTransport(cacheDirectory);
+		URL url = url();
+
+		TestCase.assertEquals(body(), request(transport, url));
+		TestCase.assertEquals(1, fullResponses);
+		TestCase.assertEquals(1, gzipResponses);
+		TestCase.assertEquals(1, transport.getDownloads());
+		TestCase.assertEquals(1, cacheDirectory.listFiles().length);
+
+		// A new transport sharing the cache, as on a later harvest run
+		transport = new HttpTransport(cacheDirectory);
+		TestCase.assertEquals(body(), request(transport, url));
+		TestCase.assertEquals(1, fullResponses);
+		TestCase.assertEquals(1, notModifiedResponses);
+		TestCase.assertEquals(1, transport.getCacheHits());
+		TestCase.assertEquals(0, transport.getDownloads());
+
+		version++;
+		TestCase.assertEquals(body(), request(transport, url));
+		TestCase.assertEquals(2, fullResponses);
+		TestCase.assertEquals(1, transport.getDownloads());
+
+		TestCase.assertEquals(body(), request(transport, url));
+		TestCase.assertEquals(2, notModifiedResponses);
+		TestCase.assertEquals(2, transport.getCacheHits());
+		TestCase.assertEquals(1, cacheDirectory.listFiles().length);
+	}
+
+	/**
+	 * Test closing a response before the end of the body discards the
+	 * partial cache file without caching the response
+	 *
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Test
+	public void testEarlyClose() throws IOException {
+
+		File cacheDirectory = folder.newFolder("cache");
+		HttpTransport transport = new HttpTransport(cacheDirectory);
+		URL url = url();
+
+		try (InputStream stream = transport.get(url, "application/json")) {
+			byte[] bytes = new byte[10];
+			TestCase.assertEquals(bytes.length, stream.read(bytes));
+			TestCase.assertEquals(body().substring(0, bytes.length),
+					new String(bytes, StandardCharsets.UTF_8));
+		}
+		TestCase.assertEquals(0, cacheDirectory.listFiles().length);
+
+		TestCase.assertEquals(body(), request(transport, url));
+		TestCase.assertEquals(2, fullResponses);
+		TestCase.assertEquals(0, notModifiedResponses);
+		TestCase.assertEquals(1, cacheDirectory.listFiles().length);
+	}
+
+	/**
+	 * Test uncompressed requests without a cache reuse the connection
+	 *
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Test
+	public void testKeepAlive() throws IOException {
+
+		HttpTransport transport = new HttpTransport();
+		transport.setCompression(false);
+		URL url = url();
+
+		for (int i = 0; i < 3; i++) {
+			TestCase.assertEquals(body(), request(transport, url));
+		}
+		TestCase.assertEquals(3, fullResponses);
+		TestCase.assertEquals(0, gzipResponses);
+		TestCase.assertEquals(0, notModifiedResponses);
+		TestCase.assertEquals(1, clientPorts.size());
+	}
+
+	/**
+	 * Request the URL as a string
+	 *
+	 * @param transport
+	 *            transport
+	 * @param url
+	 *            URL
+	 * @return response
+	 * @throws IOException
+	 *             upon failure
+	 */
+	private static String request(HttpTransport transport, URL url)
+			throws IOException {
+		try (InputStream stream = transport.get(url, "application/json")) {
+			return GeoPackageIOUtils.streamString(stream);
+		}
+	}
+
+	/**
+	 * Get the local server data URL
+	 *
+	 * @return URL
+	 * @throws IOException
+	 *             upon failure
+	 */
+	private URL url() throws IOException {
+		return new URL(
+				"http://localhost:" + server.getAddress().getPort() + "/data");
+	}
+
+	/**
+	 * Get the current response body
+	 *
+	 * @return body
+	 */
+	private String body() {
+		StringBuilder body = new StringBuilder("{\"version\":");
+		body.append(version);
+		body.append(",\"values\":[");
+		for (int i = 0; i < 1000; i++) {
+			if (i > 0) {
+				body.append(",");
+			}
+			body.append(i);
+		}
+		body.append("]}");
+		return body.toString();
+	}
+
+}
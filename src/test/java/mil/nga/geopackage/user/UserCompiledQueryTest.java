@@ -0,0 +1,64 @@
+package mil.nga.geopackage.user;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * User Compiled Query Test
+ * 
+ * @author osbornb
+ */
+public class UserCompiledQueryTest {
+
+	/**
+	 * Test counting bind parameters
+	 */
+	@Test
+	public void testParameterCount() {
+
+		TestCase.assertEquals(0,
+				UserCompiledQuery.countParameters("SELECT * FROM t"));
+		TestCase.assertEquals(2, UserCompiledQuery.countParameters(
+				"SELECT * FROM \"t\" WHERE \"a\" = ? AND \"b\" > ?"));
+		TestCase.assertEquals(1, UserCompiledQuery.countParameters(
+				"SELECT * FROM t WHERE a = '?' AND \"b?\" = ? AND [c?] = 1"));
+	}
+
+	/**
+	 * Test counting numbered and named parameters as SQLite numbers them
+	 */
+	@Test
+	public void testNumberedAndNamedParameterCount() {
+
+		TestCase.assertEquals(3, UserCompiledQuery
+				.countParameters("SELECT * FROM t WHERE a = ?3 OR b = ?1"));
+		TestCase.assertEquals(4, UserCompiledQuery.countParameters(
+				"SELECT * FROM t WHERE a = ?3 AND b = ?"));
+		TestCase.assertEquals(2, UserCompiledQuery.countParameters(
+				"SELECT * FROM t WHERE a = :a AND b = :a AND c = @c"));
+		TestCase.assertEquals(3, UserCompiledQuery.countParameters(
+				"SELECT * FROM t WHERE a = $a AND b = ? AND c = :c"));
+		TestCase.assertEquals(2, UserCompiledQuery.countParameters(
+				"SELECT * FROM t WHERE a = ?2 AND b = ?2 AND c = ?1"));
+	}
+
+	/**
+	 * Test parameters inside comments and quoted literals are not counted
+	 */
+	@Test
+	public void testCommentedParameterCount() {
+
+		TestCase.assertEquals(1, UserCompiledQuery.countParameters(
+				"SELECT * FROM t -- a = ?\nWHERE b = ?"));
+		TestCase.assertEquals(1, UserCompiledQuery.countParameters(
+				"SELECT * FROM t /* a = ? :a */ WHERE b = ?"));
+		TestCase.assertEquals(1, UserCompiledQuery.countParameters(
+				"SELECT * FROM t WHERE a = 'it''s ?' AND b = ? - 1"));
+		TestCase.assertEquals(0, UserCompiledQuery.countParameters(
+				"SELECT * FROM t WHERE a = 1 -- ?"));
+		TestCase.assertEquals(0, UserCompiledQuery.countParameters(
+				"SELECT * FROM t WHERE a = 1 /* ?"));
+	}
+
+}
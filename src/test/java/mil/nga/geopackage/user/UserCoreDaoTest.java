@@ -0,0 +1,462 @@
+package mil.nga.geopackage.user;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.db.Bindings;
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.GeoPackageDataType;
+import mil.nga.geopackage.user.custom.UserCustomColumn;
+import mil.nga.geopackage.user.custom.UserCustomTable;
+import mil.nga.sf.proj.Projection;
+
+import org.junit.Test;
+
+/**
+ * User Core DAO Test
+ *
+ * @author osbornb
+ */
+public class UserCoreDaoTest {
+
+	/**
+	 * Test row
+	 */
+	private static class TestRow
+			extends UserCoreRow<UserCustomColumn, UserCustomTable> {
+
+		/**
+		 * Constructor
+		 *
+		 * @param table
+		 *            table
+		 */
+		TestRow(UserCustomTable table) {
+			super(table);
+		}
+
+	}
+
+	/**
+	 * Test result type, never instantiated by the insert tests
+	 */
+	private interface TestResult extends
+			UserCoreResult<UserCustomColumn, UserCustomTable, TestRow> {
+	}
+
+	/**
+	 * User connection recording the insert statements and returning
+	 * consecutive last inserted row ids
+	 */
+	private static class TestConnection extends
+			UserCoreConnection<UserCustomColumn, UserCustomTable, TestRow, TestResult> {
+
+		/**
+		 * Insert SQL statements
+		 */
+		private final List<String> sql = new ArrayList<>();
+
+		/**
+		 * Insert bindings
+		 */
+		private final List<Bindings> bindings = new ArrayList<>();
+
+		/**
+		 * Last inserted row id
+		 */
+		private long lastId = 100;
+
+		/**
+		 * DAO whose transaction must be active for inserts
+		 */
+		private TestDao dao;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long insertBound(String sql, Bindings bindings) {
+			TestCase.assertTrue(dao.inTransaction());
+			this.sql.add(sql);
+			this.bindings.add(bindings);
+			lastId += rowCount(this.sql.size() - 1);
+			return lastId;
+		}
+
+		/**
+		 * Get the number of VALUES rows in the insert statement
+		 *
+		 * @param index
+		 *            statement index
+		 * @return row count
+		 */
+		int rowCount(int index) {
+			return Math.max(1, sql.get(index).split("\\(\\?").length - 1);
+		}
+
+		@Override
+		public TestResult rawQuery(String sql, String[] selectionArgs) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestResult queryCompiled(UserCompiledQuery query,
+				String[] args) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestResult rawQueryBound(String sql, Bindings bindings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestResult queryCompiledBound(UserCompiledQuery query,
+				Bindings bindings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestResult query(String table, String[] columns,
+				String selection, String[] selectionArgs, String groupBy,
+				String having, String orderBy) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestResult query(String table, String[] columns,
+				String[] columnsAs, String selection, String[] selectionArgs,
+				String groupBy, String having, String orderBy) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestResult query(String table, String[] columns,
+				String selection, String[] selectionArgs, String groupBy,
+				String having, String orderBy, String limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TestResult query(String table, String[] columns,
+				String[] columnsAs, String selection, String[] selectionArgs,
+				String groupBy, String having, String orderBy, String limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String querySQL(String table, String[] columns,
+				String selection, String groupBy, String having,
+				String orderBy) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String querySQL(String table, String[] columns,
+				String[] columnsAs, String selection, String groupBy,
+				String having, String orderBy) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String querySQL(String table, String[] columns,
+				String selection, String groupBy, String having,
+				String orderBy, String limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String querySQL(String table, String[] columns,
+				String[] columnsAs, String selection, String groupBy,
+				String having, String orderBy, String limit) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	/**
+	 * DAO over the recording user connection, counting transactions and row
+	 * at a time inserts
+	 */
+	private static class TestDao extends
+			UserCoreDao<UserCustomColumn, UserCustomTable, TestRow, TestResult> {
+
+		/**
+		 * In transaction
+		 */
+		private boolean transaction = false;
+
+		/**
+		 * Committed transactions
+		 */
+		private int commits = 0;
+
+		/**
+		 * Row at a time inserted rows
+		 */
+		private final List<TestRow> inserted = new ArrayList<>();
+
+		/**
+		 * Constructor
+		 *
+		 * @param connection
+		 *            user connection
+		 * @param table
+		 *            table
+		 */
+		TestDao(TestConnection connection, UserCustomTable table) {
+			super("test", null, connection, table);
+			connection.dao = this;
+		}
+
+		@Override
+		public TestRow newRow() {
+			return new TestRow(getTable());
+		}
+
+		@Override
+		public long insert(TestRow row) {
+			inserted.add(row);
+			long id = 1000 + inserted.size();
+			row.setId(id);
+			return id;
+		}
+
+		@Override
+		public void beginTransaction() {
+			TestCase.assertFalse(transaction);
+			transaction = true;
+		}
+
+		@Override
+		public void endTransaction(boolean successful) {
+			TestCase.assertTrue(transaction);
+			transaction = false;
+			if (successful) {
+				commits++;
+			}
+		}
+
+		@Override
+		public void commit() {
+		}
+
+		@Override
+		public boolean inTransaction() {
+			return transaction;
+		}
+
+		@Override
+		public int update(TestRow row) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BoundingBox getBoundingBox() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BoundingBox getBoundingBox(Projection projection) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		protected TestResult prepareResult(TestResult result) {
+			return result;
+		}
+
+	}
+
+	/**
+	 * Test batches split into statements of consecutive rows with the same
+	 * set columns, assigning row ids back from the last inserted row id
+	 */
+	@Test
+	public void testInsertGroups() {
+
+		TestConnection connection = new TestConnection();
+		TestDao dao = new TestDao(connection, createTable());
+
+		List<TestRow> rows = new ArrayList<>();
+		rows.add(createRow(dao, "a", null));
+		rows.add(createRow(dao, "b", null));
+		rows.add(createRow(dao, "c", 3L));
+		rows.add(createRow(dao, "d", null));
+		rows.add(createRow(dao, null, null));
+		rows.add(createRow(dao, null, null));
+
+		long[] ids = dao.insert(rows);
+
+		TestCase.assertEquals(5, connection.sql.size());
+		TestCase.assertEquals(2, connection.rowCount(0));
+		TestCase.assertEquals(1, connection.rowCount(1));
+		TestCase.assertEquals(1, connection.rowCount(2));
+		TestCase.assertTrue(
+				connection.sql.get(3).endsWith("DEFAULT VALUES"));
+		TestCase.assertTrue(
+				connection.sql.get(4).endsWith("DEFAULT VALUES"));
+		TestCase.assertEquals(2, connection.bindings.get(0).size());
+		TestCase.assertEquals("b", connection.bindings.get(0).getString(1));
+		TestCase.assertEquals(2, connection.bindings.get(1).size());
+		TestCase.assertEquals(3L, connection.bindings.get(1).getLong(1));
+		TestCase.assertEquals(0, connection.bindings.get(3).size());
+
+		// Statement last ids of 102, 103, 104, 105, and 106
+		long[] expected = new long[] { 101, 102, 103, 104, 105, 106 };
+		TestCase.assertEquals(expected.length, ids.length);
+		for (int i = 0; i < expected.length; i++) {
+			TestCase.assertEquals(expected[i], ids[i]);
+			TestCase.assertEquals(expected[i], rows.get(i).getId());
+		}
+
+		TestCase.assertEquals(1, dao.commits);
+		TestCase.assertFalse(dao.inTransaction());
+		TestCase.assertTrue(dao.inserted.isEmpty());
+	}
+
+	/**
+	 * Test statements are limited to the max insert rows and batches are
+	 * committed in their own transactions
+	 */
+	@Test
+	public void testInsertMaxRows() {
+
+		TestConnection connection = new TestConnection();
+		TestDao dao = new TestDao(connection, createTable());
+
+		int maxRows = CoreSQLUtils.maxInsertRows(2);
+		int count = maxRows * 2 + 1;
+		List<TestRow> rows = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			rows.add(createRow(dao, "row " + i, (long) i));
+		}
+
+		long[] ids = dao.insert(rows);
+
+		TestCase.assertEquals(3, connection.sql.size());
+		TestCase.assertEquals(maxRows, connection.rowCount(0));
+		TestCase.assertEquals(maxRows, connection.rowCount(1));
+		TestCase.assertEquals(1, connection.rowCount(2));
+		TestCase.assertEquals(maxRows * 2,
+				connection.bindings.get(0).size());
+		TestCase.assertEquals(count, ids.length);
+		for (int i = 0; i < count; i++) {
+			TestCase.assertEquals(101 + i, ids[i]);
+		}
+		TestCase.assertEquals(1, dao.commits);
+
+		connection = new TestConnection();
+		dao = new TestDao(connection, createTable());
+		int batchSize = maxRows / 2;
+		dao.setBatchSize(batchSize);
+		rows.clear();
+		for (int i = 0; i <= batchSize; i++) {
+			rows.add(createRow(dao, "row " + i, (long) i));
+		}
+
+		ids = dao.insert(rows);
+
+		TestCase.assertEquals(2, connection.sql.size());
+		TestCase.assertEquals(batchSize, connection.rowCount(0));
+		TestCase.assertEquals(1, connection.rowCount(1));
+		TestCase.assertEquals(batchSize + 1, ids.length);
+		TestCase.assertEquals(101 + batchSize, ids[batchSize]);
+		TestCase.assertEquals(2, dao.commits);
+	}
+
+	/**
+	 * Test rows with an explicit primary key keep their ids, and an existing
+	 * transaction is left to the caller
+	 */
+	@Test
+	public void testInsertPrimaryKeys() {
+
+		TestConnection connection = new TestConnection();
+		TestDao dao = new TestDao(connection, createTable());
+
+		List<TestRow> rows = new ArrayList<>();
+		for (long id : new long[] { 50, 7, 300 }) {
+			TestRow row = createRow(dao, "id " + id, null);
+			row.setId(id);
+			rows.add(row);
+		}
+		rows.add(createRow(dao, "assigned", null));
+
+		dao.beginTransaction();
+		long[] ids = dao.insert(rows);
+		TestCase.assertTrue(dao.inTransaction());
+		dao.endTransaction();
+
+		TestCase.assertEquals(2, connection.sql.size());
+		TestCase.assertEquals(3, connection.rowCount(0));
+		TestCase.assertEquals(6, connection.bindings.get(0).size());
+		TestCase.assertEquals(50L, connection.bindings.get(0).getLong(0));
+		TestCase.assertEquals(50, ids[0]);
+		TestCase.assertEquals(7, ids[1]);
+		TestCase.assertEquals(300, ids[2]);
+		TestCase.assertEquals(104, ids[3]);
+		TestCase.assertEquals(104, rows.get(3).getId());
+		TestCase.assertEquals(1, dao.commits);
+	}
+
+	/**
+	 * Test inserting each row with the DAO row insert when batch statements
+	 * are disabled
+	 */
+	@Test
+	public void testInsertWithoutBatchStatements() {
+
+		TestConnection connection = new TestConnection();
+		TestDao dao = new TestDao(connection, createTable());
+		dao.setBatchStatements(false);
+
+		List<TestRow> rows = new ArrayList<>();
+		rows.add(createRow(dao, "a", null));
+		rows.add(createRow(dao, "b", 2L));
+
+		long[] ids = dao.insert(rows);
+
+		TestCase.assertTrue(connection.sql.isEmpty());
+		TestCase.assertEquals(rows, dao.inserted);
+		TestCase.assertEquals(1001, ids[0]);
+		TestCase.assertEquals(1002, ids[1]);
+		TestCase.assertEquals(1, dao.commits);
+	}
+
+	/**
+	 * Create a row
+	 *
+	 * @param dao
+	 *            DAO
+	 * @param name
+	 *            name or null
+	 * @param count
+	 *            count or null
+	 * @return row
+	 */
+	private static TestRow createRow(TestDao dao, String name, Long count) {
+		TestRow row = dao.newRow();
+		row.setValue("name", name);
+		row.setValue("count", count);
+		return row;
+	}
+
+	/**
+	 * Create the table
+	 *
+	 * @return table
+	 */
+	private static UserCustomTable createTable() {
+		List<UserCustomColumn> columns = new ArrayList<>();
+		columns.add(UserCustomColumn.createPrimaryKeyColumn(0, "id"));
+		columns.add(UserCustomColumn.createColumn(1, "name",
+				GeoPackageDataType.TEXT));
+		columns.add(UserCustomColumn.createColumn(2, "count",
+				GeoPackageDataType.INTEGER));
+		return new UserCustomTable("test", columns);
+	}
+
+}
@@ -0,0 +1,471 @@
+package mil.nga.geopackage.user;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.GeoPackageDataType;
+import mil.nga.geopackage.db.ResultUtils;
+import mil.nga.geopackage.user.custom.UserCustomColumn;
+import mil.nga.geopackage.user.custom.UserCustomTable;
+
+import org.junit.Test;
+
+/**
+ * User Core Result Test
+ *
+ * @author osbornb
+ */
+public class UserCoreResultTest {
+
+	/**
+	 * Test row
+	 */
+	private static class TestRow
+			extends UserCoreRow<UserCustomColumn, UserCustomTable> {
+
+		/**
+		 * Constructor
+		 *
+		 * @param table
+		 *            table
+		 * @param columnTypes
+		 *            column types
+		 * @param values
+		 *            values
+		 */
+		TestRow(UserCustomTable table, int[] columnTypes, Object[] values) {
+			super(table, columnTypes, values);
+		}
+
+		/**
+		 * Constructor
+		 *
+		 * @param table
+		 *            table
+		 */
+		TestRow(UserCustomTable table) {
+			super(table);
+		}
+
+	}
+
+	/**
+	 * Decoded blob value, standing in for results converting column values
+	 * such as feature geometries
+	 */
+	private static class Decoded {
+
+		/**
+		 * Blob bytes
+		 */
+		private final byte[] bytes;
+
+		/**
+		 * Constructor
+		 *
+		 * @param bytes
+		 *            blob bytes
+		 */
+		Decoded(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+	}
+
+	/**
+	 * In memory result over rows of storage class values, decoding blob
+	 * column values
+	 */
+	private static class TestResult implements
+			UserCoreResult<UserCustomColumn, UserCustomTable, TestRow> {
+
+		/**
+		 * Table
+		 */
+		private final UserCustomTable table;
+
+		/**
+		 * Rows of Long, Double, String, byte[], or null values
+		 */
+		private final Object[][] rows;
+
+		/**
+		 * Position
+		 */
+		private int position = -1;
+
+		/**
+		 * Last read value was null
+		 */
+		private boolean wasNull = false;
+
+		/**
+		 * Constructor
+		 *
+		 * @param table
+		 *            table
+		 * @param rows
+		 *            rows
+		 */
+		TestResult(UserCustomTable table, Object[][] rows) {
+			this.table = table;
+			this.rows = rows;
+		}
+
+		/**
+		 * Get the raw value, tracking null reads
+		 *
+		 * @param index
+		 *            column index
+		 * @return value
+		 */
+		private Object raw(int index) {
+			Object value = rows[position][index];
+			wasNull = value == null;
+			return value;
+		}
+
+		@Override
+		public TestRow getRow(int[] columnTypes, Object[] values) {
+			return new TestRow(table, columnTypes, values);
+		}
+
+		@Override
+		public Object getValue(UserCustomColumn column) {
+			Object value = ResultUtils.getValue(this, column.getIndex(),
+					column.getDataType());
+			if (value instanceof byte[]) {
+				value = new Decoded((byte[]) value);
+			}
+			return value;
+		}
+
+		@Override
+		public Object getValue(int index) {
+			return getValue(table.getColumn(index));
+		}
+
+		@Override
+		public Object getValue(String columnName) {
+			return getValue(table.getColumn(columnName));
+		}
+
+		@Override
+		public Object getValue(int index, GeoPackageDataType dataType) {
+			return ResultUtils.getValue(this, index, dataType);
+		}
+
+		@Override
+		public long getId() {
+			return getLong(table.getPkColumn());
+		}
+
+		@Override
+		public UserCustomTable getTable() {
+			return table;
+		}
+
+		@Override
+		public TestRow getRow() {
+			int[] columnTypes = new int[table.columnCount()];
+			Object[] values = new Object[table.columnCount()];
+			for (UserCustomColumn column : table.getColumns()) {
+				int index = column.getIndex();
+				columnTypes[index] = getType(index);
+				values[index] = getValue(column);
+			}
+			return getRow(columnTypes, values);
+		}
+
+		@Override
+		public int getCount() {
+			return rows.length;
+		}
+
+		@Override
+		public boolean moveToNext() {
+			return moveToPosition(position + 1);
+		}
+
+		@Override
+		public int getPosition() {
+			return position;
+		}
+
+		@Override
+		public boolean moveToFirst() {
+			return moveToPosition(0);
+		}
+
+		@Override
+		public boolean moveToPosition(int position) {
+			this.position = Math.min(position, rows.length);
+			return this.position < rows.length;
+		}
+
+		@Override
+		public int getColumnCount() {
+			return table.columnCount();
+		}
+
+		@Override
+		public int getType(int columnIndex) {
+			Object value = rows[position][columnIndex];
+			int type;
+			if (value == null) {
+				type = ResultUtils.FIELD_TYPE_NULL;
+			} else if (value instanceof Long) {
+				type = ResultUtils.FIELD_TYPE_INTEGER;
+			} else if (value instanceof Double) {
+				type = ResultUtils.FIELD_TYPE_FLOAT;
+			} else if (value instanceof String) {
+				type = ResultUtils.FIELD_TYPE_STRING;
+			} else {
+				type = ResultUtils.FIELD_TYPE_BLOB;
+			}
+			return type;
+		}
+
+		@Override
+		public int getColumnIndex(String columnName) {
+			return table.getColumnIndex(columnName);
+		}
+
+		@Override
+		public String getString(int columnIndex) {
+			Object value = raw(columnIndex);
+			return value != null ? value.toString() : null;
+		}
+
+		@Override
+		public long getLong(int columnIndex) {
+			Object value = raw(columnIndex);
+			return value != null ? ((Number) value).longValue() : 0;
+		}
+
+		@Override
+		public int getInt(int columnIndex) {
+			return (int) getLong(columnIndex);
+		}
+
+		@Override
+		public short getShort(int columnIndex) {
+			return (short) getLong(columnIndex);
+		}
+
+		@Override
+		public double getDouble(int columnIndex) {
+			Object value = raw(columnIndex);
+			return value != null ? ((Number) value).doubleValue() : 0;
+		}
+
+		@Override
+		public float getFloat(int columnIndex) {
+			return (float) getDouble(columnIndex);
+		}
+
+		@Override
+		public byte[] getBlob(int columnIndex) {
+			return (byte[]) raw(columnIndex);
+		}
+
+		@Override
+		public boolean wasNull() {
+			return wasNull;
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+	/**
+	 * Table
+	 */
+	private final UserCustomTable table = new UserCustomTable("test",
+			createColumns());
+
+	/**
+	 * Rows of id, name, value, flag, and data
+	 */
+	private final Object[][] rows = new Object[][] {
+			{ 1L, "one", 1.5, 1L, new byte[] { 1 } },
+			{ 2L, null, null, 0L, null },
+			{ 3L, "three", 3.5, null, new byte[] { 3, 3 } } };
+
+	/**
+	 * Test refilling a flyweight row matches creating a new row at each
+	 * position, including converted column values
+	 */
+	@Test
+	public void testGetRow() {
+
+		TestResult result = new TestResult(table, rows);
+		TestResult expectedResult = new TestResult(table, rows);
+
+		TestCase.assertTrue(result.moveToNext());
+		TestRow row = result.getRow(null);
+		TestCase.assertNotNull(row);
+
+		int count = 0;
+		do {
+			TestCase.assertTrue(expectedResult.moveToNext());
+			TestCase.assertSame(row, result.getRow(row));
+			assertRow(expectedResult.getRow(), row);
+			count++;
+		} while (result.moveToNext());
+		TestCase.assertEquals(rows.length, count);
+
+		TestCase.assertTrue(result.moveToFirst());
+		result.getRow(row);
+		TestCase.assertTrue(row.getValue("data") instanceof Decoded);
+		TestCase.assertEquals(1,
+				((Decoded) row.getValue("data")).bytes.length);
+		TestCase.assertEquals(Boolean.TRUE, row.getValue("flag"));
+	}
+
+	/**
+	 * Test moving to each position while refilling a flyweight row
+	 */
+	@Test
+	public void testMoveToNext() {
+
+		TestResult result = new TestResult(table, rows);
+		TestResult expectedResult = new TestResult(table, rows);
+
+		TestRow row = new TestRow(table);
+		int count = 0;
+		while (result.moveToNext(row)) {
+			TestCase.assertTrue(expectedResult.moveToNext());
+			assertRow(expectedResult.getRow(), row);
+			count++;
+		}
+		TestCase.assertEquals(rows.length, count);
+		TestCase.assertEquals(rows.length, row.getId());
+
+		result = new TestResult(table, rows);
+		TestCase.assertTrue(result.moveToNext(null));
+		TestCase.assertEquals(0, result.getPosition());
+	}
+
+	/**
+	 * Test rows of another table are rejected
+	 */
+	@Test
+	public void testValidateRow() {
+
+		TestResult result = new TestResult(table, rows);
+		TestRow otherRow = new TestRow(
+				new UserCustomTable("other", createColumns()));
+
+		try {
+			result.validateRow(otherRow);
+			TestCase.fail("Validated a row of another table");
+		} catch (GeoPackageException e) {
+			// expected
+		}
+
+		TestCase.assertTrue(result.moveToNext());
+		try {
+			result.getRow(otherRow);
+			TestCase.fail("Refilled a row of another table");
+		} catch (GeoPackageException e) {
+			// expected
+		}
+		try {
+			result.moveToNext(otherRow);
+			TestCase.fail("Moved with a row of another table");
+		} catch (GeoPackageException e) {
+			// expected
+		}
+		TestCase.assertEquals(0, result.getPosition());
+	}
+
+	/**
+	 * Test the typed column accessors with null and non null values
+	 */
+	@Test
+	public void testTypedAccessors() {
+
+		TestResult result = new TestResult(table, rows);
+		UserCustomColumn name = table.getColumn("name");
+		UserCustomColumn value = table.getColumn("value");
+		UserCustomColumn flag = table.getColumn("flag");
+		UserCustomColumn data = table.getColumn("data");
+
+		TestCase.assertTrue(result.moveToNext());
+		TestCase.assertFalse(result.isNull(value));
+		TestCase.assertEquals(1.5, result.getDouble(value));
+		TestCase.assertEquals(1.5, result.getDouble(value, Double.NaN));
+		TestCase.assertEquals(1L, result.getLong(flag));
+		TestCase.assertEquals(1L, result.getLong(flag, -1));
+		TestCase.assertEquals(1, result.getInt(flag, -1));
+		TestCase.assertEquals("one", result.getString(name));
+		TestCase.assertEquals(1, result.getBlob(data).length);
+
+		TestCase.assertTrue(result.moveToNext());
+		TestCase.assertTrue(result.isNull(value));
+		TestCase.assertEquals(0.0, result.getDouble(value));
+		TestCase.assertTrue(Double.isNaN(result.getDouble(value,
+				Double.NaN)));
+		TestCase.assertNull(result.getString(name));
+		TestCase.assertNull(result.getBlob(data));
+		TestCase.assertEquals(0L, result.getLong(flag, -1));
+
+		TestCase.assertTrue(result.moveToNext());
+		TestCase.assertTrue(result.isNull(flag));
+		TestCase.assertEquals(0L, result.getLong(flag));
+		TestCase.assertEquals(-1L, result.getLong(flag, -1));
+		TestCase.assertEquals(-1, result.getInt(flag, -1));
+	}
+
+	/**
+	 * Assert the refilled row matches the expected row
+	 *
+	 * @param expected
+	 *            expected row
+	 * @param row
+	 *            refilled row
+	 */
+	private static void assertRow(TestRow expected, TestRow row) {
+		for (UserCustomColumn column : expected.getTable().getColumns()) {
+			int index = column.getIndex();
+			TestCase.assertEquals(expected.getRowColumnType(index),
+					row.getRowColumnType(index));
+			Object expectedValue = expected.getValue(index);
+			Object value = row.getValue(index);
+			if (expectedValue instanceof Decoded) {
+				TestCase.assertTrue(value instanceof Decoded);
+				TestCase.assertTrue(Arrays.equals(
+						((Decoded) expectedValue).bytes,
+						((Decoded) value).bytes));
+			} else {
+				TestCase.assertEquals(expectedValue, value);
+			}
+		}
+	}
+
+	/**
+	 * Create the table columns
+	 *
+	 * @return columns
+	 */
+	private static List<UserCustomColumn> createColumns() {
+		List<UserCustomColumn> columns = new ArrayList<>();
+		columns.add(UserCustomColumn.createPrimaryKeyColumn(0, "id"));
+		columns.add(UserCustomColumn.createColumn(1, "name",
+				GeoPackageDataType.TEXT));
+		columns.add(UserCustomColumn.createColumn(2, "value",
+				GeoPackageDataType.DOUBLE));
+		columns.add(UserCustomColumn.createColumn(3, "flag",
+				GeoPackageDataType.BOOLEAN));
+		columns.add(UserCustomColumn.createColumn(4, "data",
+				GeoPackageDataType.BLOB));
+		return columns;
+	}
+
+}
@@ -0,0 +1,52 @@
+package mil.nga.geopackage.user;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.user.UserPartitionedScan.Partition;
+
+import org.junit.Test;
+
+/**
+ * User Partitioned Scan Test
+ * 
+ * @author osbornb
+ */
+public class UserPartitionedScanTest {
+
+	/**
+	 * Test splitting id ranges into partitions
+	 */
+	@Test
+	public void testPartition() {
+
+		List<Partition> partitions = UserPartitionedScan.partition(1, 100, 4);
+		TestCase.assertEquals(4, partitions.size());
+		long next = 1;
+		for (int i = 0; i < partitions.size(); i++) {
+			Partition partition = partitions.get(i);
+			TestCase.assertEquals(i, partition.getIndex());
+			TestCase.assertEquals(next, partition.getMinId());
+			TestCase.assertEquals(next + 24, partition.getMaxId());
+			next = partition.getMaxId() + 1;
+		}
+
+		partitions = UserPartitionedScan.partition(5, 7, 8);
+		TestCase.assertEquals(3, partitions.size());
+		TestCase.assertEquals(7, partitions.get(2).getMinId());
+		TestCase.assertEquals(7, partitions.get(2).getMaxId());
+
+		partitions = UserPartitionedScan.partition(1, 10, 3);
+		TestCase.assertEquals(3, partitions.size());
+		TestCase.assertEquals(10, partitions.get(2).getMaxId());
+
+		partitions = UserPartitionedScan.partition(42, 42, 4);
+		TestCase.assertEquals(1, partitions.size());
+
+		partitions = UserPartitionedScan.partition(Long.MAX_VALUE - 1,
+				Long.MAX_VALUE, 4);
+		TestCase.assertEquals(2, partitions.size());
+		TestCase.assertEquals(Long.MAX_VALUE, partitions.get(1).getMaxId());
+	}
+
+}
@@ -0,0 +1,196 @@
+package mil.nga.geopackage.user;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import junit.framework.TestCase;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.user.custom.UserCustomColumn;
+import mil.nga.geopackage.user.custom.UserCustomTable;
+
+import org.junit.Test;
+
+/**
+ * User Row Sync Test
+ * 
+ * @author osbornb
+ */
+public class UserRowSyncTest {
+
+	/**
+	 * Test row
+	 */
+	private static class TestRow
+			extends UserCoreRow<UserCustomColumn, UserCustomTable> {
+
+		/**
+		 * Constructor
+		 * 
+		 * @param table
+		 *            table
+		 */
+		TestRow(UserCustomTable table) {
+			super(table);
+		}
+
+	}
+
+	/**
+	 * Test row sync counting down a latch as each request starts waiting for
+	 * an in progress row
+	 */
+	private static class TestRowSync
+			extends UserRowSync<UserCustomColumn, UserCustomTable, TestRow> {
+
+		/**
+		 * Waiting requests latch
+		 */
+		private final CountDownLatch waiting;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param waiting
+		 *            waiting requests latch
+		 */
+		TestRowSync(CountDownLatch waiting) {
+			this.waiting = waiting;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected TestRow waitForRow(long id,
+				CompletableFuture<TestRow> future) {
+			waiting.countDown();
+			return super.waitForRow(id, future);
+		}
+
+	}
+
+	/**
+	 * Table
+	 */
+	private final UserCustomTable table = new UserCustomTable("test",
+			createColumns());
+
+	/**
+	 * Test sharing a single row read across concurrent requests
+	 * 
+	 * @throws Exception
+	 *             upon error
+	 */
+	@Test
+	public void testSingleRead() throws Exception {
+
+		final CountDownLatch waiting = new CountDownLatch(3);
+		final TestRowSync sync = new TestRowSync(waiting);
+		final AtomicInteger reads = new AtomicInteger();
+		final CountDownLatch release = new CountDownLatch(1);
+		final LongFunction<TestRow> loader = new LongFunction<TestRow>() {
+			@Override
+			public TestRow apply(long id) {
+				reads.incrementAndGet();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new GeoPackageException("Interrupted", e);
+				}
+				return new TestRow(table);
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<TestRow>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(new Callable<TestRow>() {
+					@Override
+					public TestRow call() {
+						return sync.getRow(1, loader);
+					}
+				}));
+			}
+			TestCase.assertTrue(waiting.await(10, TimeUnit.SECONDS));
+			release.countDown();
+
+			TestRow row = futures.get(0).get(10, TimeUnit.SECONDS);
+			TestCase.assertNotNull(row);
+			for (Future<TestRow> future : futures) {
+				TestCase.assertSame(row,
+						future.get(10, TimeUnit.SECONDS));
+			}
+			TestCase.assertEquals(1, reads.get());
+			TestCase.assertEquals(0, sync.inProgress());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test propagating a failed read to waiting requests and timing out
+	 * 
+	 * @throws Exception
+	 *             upon error
+	 */
+	@Test
+	public void testFailureAndTimeout() throws Exception {
+
+		final CountDownLatch waiting = new CountDownLatch(1);
+		final TestRowSync sync = new TestRowSync(waiting);
+		TestCase.assertNull(sync.getRowOrLock(1));
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<TestRow> request = executor.submit(new Callable<TestRow>() {
+				@Override
+				public TestRow call() {
+					return sync.getRowOrLock(1);
+				}
+			});
+			TestCase.assertTrue(waiting.await(10, TimeUnit.SECONDS));
+			sync.failRow(1, new IllegalStateException("read failed"));
+			try {
+				request.get(10, TimeUnit.SECONDS);
+				TestCase.fail("Failure not propagated");
+			} catch (ExecutionException e) {
+				TestCase.assertTrue(
+						e.getCause() instanceof GeoPackageException);
+				TestCase.assertTrue(e.getCause()
+						.getCause() instanceof IllegalStateException);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		TestCase.assertNull(sync.getRowOrLock(2));
+		sync.setTimeout(10);
+		TestCase.assertNull(sync.getRowOrLock(2));
+		TestRow row = new TestRow(table);
+		sync.setRow(2, row);
+		TestCase.assertEquals(0, sync.inProgress());
+	}
+
+	/**
+	 * Create the table columns
+	 * 
+	 * @return columns
+	 */
+	private static List<UserCustomColumn> createColumns() {
+		List<UserCustomColumn> columns = new ArrayList<>();
+		columns.add(UserCustomColumn.createPrimaryKeyColumn(0, "id"));
+		return columns;
+	}
+
+}